@@ -0,0 +1,49 @@
+package net.wcloud.helloworld.dynamicmenu.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzEvent;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzEventBus;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * RBAC 缓存失效监听器
+ *
+ * 职责：
+ * ------------------------------------------------------------
+ * - 监听 AuthzEventBus 分发的事件（已在事务提交之后）
+ * - 通过反向索引计算受影响用户，只失效这些用户的登录主体 / 菜单树
+ * - 仅菜单目录变化这类全局事件才整体清空
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthzCacheInvalidator {
+
+    private final AuthzEventBus authzEventBus;
+    private final PrincipalCache principalCache;
+    private final UserMenuTreeCache userMenuTreeCache;
+
+    @EventListener
+    public void onAuthzEvent(AuthzEvent event) {
+        if (authzEventBus.affectsAllUsers(event)) {
+            principalCache.clear();
+            userMenuTreeCache.clear();
+            log.info("[AuthzCacheInvalidator] 全局事件, 已清空用户级缓存: {}", event);
+            return;
+        }
+
+        Set<Long> users = authzEventBus.affectedUsers(event);
+        if (users.isEmpty()) {
+            log.debug("[AuthzCacheInvalidator] 事件无受影响用户: {}", event);
+            return;
+        }
+
+        principalCache.invalidateUsers(users);
+        userMenuTreeCache.invalidateUsers(users);
+        log.info("[AuthzCacheInvalidator] 已失效受影响用户缓存, userCount={}, event={}", users.size(), event);
+    }
+}
@@ -0,0 +1,142 @@
+package net.wcloud.helloworld.dynamicmenu.cache;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 带 TTL 与容量上限的简单并发缓存
+ *
+ * 设计说明：
+ * ------------------------------------------------------------
+ * - 基于 ConcurrentHashMap，读操作无锁
+ * - 条目过期后在读取时惰性删除
+ * - 超过容量上限时淘汰一批条目（不追求严格 LRU，只防止无限增长）
+ * - 加载与失效的竞争：加载期间若发生过任何失效，加载结果只返回、不写入缓存，
+ * 避免“先读到旧数据 → 失效 → 旧数据写回缓存”
+ *
+ * @param <K> key 类型
+ * @param <V> value 类型
+ */
+public class BoundedTtlCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final Map<K, Entry<V>> map = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+
+    private final int maxEntries;
+
+    /** 失效计数，用于识别“加载期间发生过失效” */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public BoundedTtlCache(long ttlSeconds, int maxEntries) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(ttlSeconds, 1));
+        this.maxEntries = Math.max(maxEntries, 1);
+    }
+
+    /**
+     * 读取缓存，未命中或已过期返回 null
+     */
+    public V getIfPresent(K key) {
+        Entry<V> e = map.get(key);
+        if (e == null) {
+            return null;
+        }
+        if (System.nanoTime() - e.expiresAt() > 0) {
+            map.remove(key, e);
+            return null;
+        }
+        return e.value();
+    }
+
+    /**
+     * 读取缓存，未命中时调用 loader 加载并写入
+     *
+     * 注意：loader 在锁外执行（可能访问数据库），并发未命中时可能重复加载
+     */
+    public V get(K key, Function<K, V> loader) {
+        V v = getIfPresent(key);
+        if (v != null) {
+            return v;
+        }
+
+        long stamp = invalidations.get();
+        v = loader.apply(key);
+        if (v != null && invalidations.get() == stamp) {
+            put(key, v);
+        }
+        return v;
+    }
+
+    /**
+     * 写入缓存
+     */
+    public void put(K key, V value) {
+        if (map.size() >= maxEntries) {
+            evictSome();
+        }
+        map.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * 失效单个 key
+     */
+    public void invalidate(K key) {
+        invalidations.incrementAndGet();
+        map.remove(key);
+    }
+
+    /**
+     * 失效一批 key
+     */
+    public void invalidateAll(Collection<K> keys) {
+        invalidations.incrementAndGet();
+        for (K key : keys) {
+            map.remove(key);
+        }
+    }
+
+    /**
+     * 清空全部条目
+     */
+    public void clear() {
+        invalidations.incrementAndGet();
+        map.clear();
+    }
+
+    /** 当前条目数（包含尚未惰性删除的过期条目） */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * 淘汰约 1/8 的条目：优先删除过期条目，不足时按迭代顺序删除
+     */
+    private void evictSome() {
+        int target = Math.max(maxEntries / 8, 1);
+        long now = System.nanoTime();
+        int removed = 0;
+
+        Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
+        while (it.hasNext() && removed < target) {
+            if (now - it.next().getValue().expiresAt() > 0) {
+                it.remove();
+                removed++;
+            }
+        }
+
+        it = map.entrySet().iterator();
+        while (it.hasNext() && removed < target) {
+            it.next();
+            it.remove();
+            removed++;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package net.wcloud.helloworld.dynamicmenu.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.config.AuthzProperties;
+import net.wcloud.helloworld.dynamicmenu.mapper.UserMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 被禁用的用户（status 不是 1）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 只按 userId 判定、不加载完整登录主体的地方（批量权限判定、授权快照、来源说明）用来排除被禁用的用户
+ * - 使用方：AuthzDecisionService、AuthzSnapshotService、AuthzExplainService
+ *
+ * 刷新：
+ * ------------------------------------------------------------
+ * - 用户状态变化不发布 AuthzEvent，这里整表读取被禁用的用户 ID（通常很少），
+ * 超过 app.authz.cache-ttl-seconds 后下次使用时重新读取，与 PrincipalCache 的生效延迟一致
+ * - 多个线程同时发现过期时只读取一次
+ */
+@Slf4j
+@Component
+public class DisabledUserCache {
+
+    private final UserMapper userMapper;
+
+    private final long ttlMillis;
+
+    private volatile Loaded loaded;
+
+    private record Loaded(List<Long> userIds, Set<Long> lookup, long loadedAtMillis) {
+    }
+
+    public DisabledUserCache(UserMapper userMapper, AuthzProperties properties) {
+        this.userMapper = userMapper;
+        this.ttlMillis = properties.getCacheTtlSeconds() * 1000L;
+    }
+
+    /**
+     * 用户是否已被禁用（不存在的用户返回 false，由调用方按“无角色”处理）
+     */
+    public boolean isDisabled(Long userId) {
+        return userId != null && current().lookup().contains(userId);
+    }
+
+    /**
+     * 被禁用的用户 ID（升序，只读）
+     */
+    public List<Long> userIds() {
+        return current().userIds();
+    }
+
+    private Loaded current() {
+        Loaded l = loaded;
+        if (l != null && System.currentTimeMillis() - l.loadedAtMillis() < ttlMillis) {
+            return l;
+        }
+        synchronized (this) {
+            l = loaded;
+            if (l == null || System.currentTimeMillis() - l.loadedAtMillis() >= ttlMillis) {
+                List<Long> userIds = List.copyOf(userMapper.listDisabledUserIds());
+                l = new Loaded(userIds, Set.copyOf(userIds), System.currentTimeMillis());
+                loaded = l;
+                log.debug("[DisabledUserCache] 被禁用用户已重新读取, count={}", userIds.size());
+            }
+            return l;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package net.wcloud.helloworld.dynamicmenu.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.convert.MenuConvert;
+import net.wcloud.helloworld.dynamicmenu.core.CatalogSnapshot;
+import net.wcloud.helloworld.dynamicmenu.core.MenuDef;
+import net.wcloud.helloworld.dynamicmenu.core.TreeProjector;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuVO;
+import net.wcloud.helloworld.dynamicmenu.vo.RouteVO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户菜单树投影（结构共享）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 投影算法在 dynamic-menu-core 的 TreeProjector 中：每个菜单目录快照只构建一次规范树 /
+ * 规范侧边栏 / 规范路由表，用户菜单树 = 规范树按用户可见菜单裁剪，未裁剪的子树直接引用规范树中的节点
+ * - 本类只决定节点类型：节点为不可变的 MenuVO（MenuConvert 生成），路由为 RouteVO，
+ * 视图为 UserMenuViews
+ * - 可见菜单集合相同（如角色组合相同）的用户拿到同一个 UserMenuViews
+ *
+ * 失效：
+ * ------------------------------------------------------------
+ * - 与菜单目录快照绑定：快照被替换后，下一次投影时重新构建规范树，旧的登记随之丢弃
+ */
+@Slf4j
+@Component
+public class MenuTreeProjector {
+
+    private final TreeProjector<MenuVO, RouteVO, UserMenuViews> projector;
+
+    public MenuTreeProjector(MenuConvert menuConvert) {
+        this.projector = new TreeProjector<>(new TreeProjector.NodeModel<>() {
+
+            @Override
+            public MenuVO node(MenuDef menu, List<MenuVO> children) {
+                return menuConvert.toVO(menu).toBuilder().children(children).build();
+            }
+
+            @Override
+            public MenuVO copy(MenuVO node, boolean implicit, List<MenuVO> children) {
+                return node.toBuilder().implicit(implicit).children(children).build();
+            }
+
+            @Override
+            public long id(MenuVO node) {
+                return node.getId();
+            }
+
+            @Override
+            public boolean implicit(MenuVO node) {
+                return Boolean.TRUE.equals(node.getImplicit());
+            }
+
+            @Override
+            public List<MenuVO> children(MenuVO node) {
+                return node.getChildren();
+            }
+
+            @Override
+            public RouteVO route(MenuVO node, boolean hidden) {
+                return menuConvert.toRoute(node, hidden);
+            }
+
+            @Override
+            public UserMenuViews views(List<MenuVO> tree, List<MenuVO> sidebar, List<RouteVO> routes) {
+                return new UserMenuViews(tree, sidebar, routes);
+            }
+        });
+    }
+
+    /**
+     * 按用户可见菜单投影出三种视图
+     *
+     * @param catalog 菜单目录快照
+     * @param visible menuId → 是否为自动补齐的祖先（RbacEngine.visibleMenus 计算）
+     * @return 用户菜单视图（共享只读对象）
+     */
+    public UserMenuViews project(CatalogSnapshot catalog, Map<Long, Boolean> visible) {
+        UserMenuViews views = projector.project(catalog, visible);
+        log.debug("[MenuTreeProjector] 投影完成, 可见菜单数={}, catalogVersion={}", visible.size(), catalog.version());
+        return views;
+    }
+
+    /**
+     * 当前快照已登记的视图数 / 复制节点数
+     */
+    public Map<String, Object> stats() {
+        return projector.stats();
+    }
+}
@@ -0,0 +1,79 @@
+package net.wcloud.helloworld.dynamicmenu.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.config.AuthzProperties;
+import net.wcloud.helloworld.dynamicmenu.security.LoginUserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 登录主体缓存（username → LoginUserDetails）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - JwtAuthenticationFilter 每个请求都会按 username 加载 UserDetails，
+ * 未缓存时每次需要 3 次查询（用户 / 角色编码 / 权限标识）
+ * - 缓存后只有在 RBAC 变化（事件失效）或 TTL 到期时才重新加载
+ * - 缓存的主体只含 userId / username / status / 驻留的 AuthoritySet，不含密码哈希
+ *
+ * 失效方式：
+ * ------------------------------------------------------------
+ * - 事件按 userId 描述受影响用户，这里额外维护 userId → username 映射
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final BoundedTtlCache<String, LoginUserDetails> byUsername;
+
+    /** userId → username，用于按用户 ID 失效 */
+    private final Map<Long, String> usernameByUserId = new ConcurrentHashMap<>();
+
+    public PrincipalCache(AuthzProperties properties) {
+        this.byUsername = new BoundedTtlCache<>(properties.getCacheTtlSeconds(), properties.getCacheMaxEntries());
+    }
+
+    /**
+     * 读取登录主体，未命中时调用 loader 加载
+     *
+     * @param username 用户名
+     * @param loader   数据库加载逻辑（用户不存在时可抛出异常）
+     * @return 登录主体
+     */
+    public LoginUserDetails get(String username, Function<String, LoginUserDetails> loader) {
+        LoginUserDetails details = byUsername.get(username, loader);
+        if (details != null && details.getUserId() != null) {
+            usernameByUserId.put(details.getUserId(), username);
+        }
+        return details;
+    }
+
+    /**
+     * 失效指定用户的登录主体
+     *
+     * @param userIds 用户 ID 集合
+     */
+    public void invalidateUsers(Collection<Long> userIds) {
+        List<String> usernames = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            String username = usernameByUserId.get(userId);
+            if (username != null) {
+                usernames.add(username);
+            }
+        }
+        byUsername.invalidateAll(usernames);
+        log.debug("[PrincipalCache] 失效登录主体, userCount={}, cachedHit={}", userIds.size(), usernames.size());
+    }
+
+    /** 清空全部登录主体 */
+    public void clear() {
+        byUsername.clear();
+        log.debug("[PrincipalCache] 已清空全部登录主体");
+    }
+}
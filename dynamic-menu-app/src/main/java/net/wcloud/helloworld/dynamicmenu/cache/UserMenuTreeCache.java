@@ -0,0 +1,60 @@
+package net.wcloud.helloworld.dynamicmenu.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.config.AuthzProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * 用户菜单树缓存（userId → 菜单视图 / 菜单摘要）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - MenuServiceImpl 计算的用户菜单视图（完整树 / 侧边栏 / 路由表）一起缓存
+ * - 菜单摘要（登录时返回）单独缓存，计算摘要不需要构建树
+ * - 缓存的树由不可变节点组成（MenuVO），多个请求 / 用户共享同一对象
+ * - 由 AuthzCacheInvalidator 根据 RBAC 事件按用户失效
+ */
+@Slf4j
+@Component
+public class UserMenuTreeCache {
+
+    private final BoundedTtlCache<Long, UserMenuViews> byUserId;
+
+    private final BoundedTtlCache<Long, String> hashByUserId;
+
+    public UserMenuTreeCache(AuthzProperties properties) {
+        this.byUserId = new BoundedTtlCache<>(properties.getCacheTtlSeconds(), properties.getCacheMaxEntries());
+        this.hashByUserId = new BoundedTtlCache<>(properties.getCacheTtlSeconds(), properties.getCacheMaxEntries());
+    }
+
+    /**
+     * 读取用户菜单视图，未命中时调用 loader 构建
+     */
+    public UserMenuViews get(Long userId, Function<Long, UserMenuViews> loader) {
+        return byUserId.get(userId, loader);
+    }
+
+    /**
+     * 读取用户菜单摘要，未命中时调用 loader 计算
+     */
+    public String getHash(Long userId, Function<Long, String> loader) {
+        return hashByUserId.get(userId, loader);
+    }
+
+    /** 失效指定用户的菜单树 */
+    public void invalidateUsers(Collection<Long> userIds) {
+        byUserId.invalidateAll(userIds);
+        hashByUserId.invalidateAll(userIds);
+        log.debug("[UserMenuTreeCache] 失效用户菜单树, userCount={}", userIds.size());
+    }
+
+    /** 清空全部菜单树 */
+    public void clear() {
+        byUserId.clear();
+        hashByUserId.clear();
+        log.debug("[UserMenuTreeCache] 已清空全部用户菜单树");
+    }
+}
@@ -0,0 +1,20 @@
+package net.wcloud.helloworld.dynamicmenu.cache;
+
+import net.wcloud.helloworld.dynamicmenu.vo.MenuVO;
+import net.wcloud.helloworld.dynamicmenu.vo.RouteVO;
+
+import java.util.List;
+
+/**
+ * 用户菜单的三种视图（一次计算、一起缓存）
+ *
+ * 由 MenuTreeProjector 从规范树裁剪得到，节点不可变，可见菜单集合相同的用户共享同一个实例
+ *
+ * @param tree    完整菜单树（目录 + 菜单，含隐藏菜单）
+ * @param sidebar 侧边栏菜单树（只含自身及全部祖先均可见的节点）
+ * @param routes  平铺路由表（菜单类型且配置了 routePath，含隐藏菜单）
+ */
+public record UserMenuViews(List<MenuVO> tree, List<MenuVO> sidebar, List<RouteVO> routes) {
+
+    public static final UserMenuViews EMPTY = new UserMenuViews(List.of(), List.of(), List.of());
+}
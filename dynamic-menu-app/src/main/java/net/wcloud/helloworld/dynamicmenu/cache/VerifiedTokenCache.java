@@ -0,0 +1,79 @@
+package net.wcloud.helloworld.dynamicmenu.cache;
+
+import net.wcloud.helloworld.dynamicmenu.config.AuthzProperties;
+import net.wcloud.helloworld.dynamicmenu.security.JwtTokenUtil;
+import net.wcloud.helloworld.dynamicmenu.security.VerifiedToken;
+import org.springframework.stereotype.Component;
+
+/**
+ * 已验签 token 缓存（token 原文 → VerifiedToken）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 同一个 token 在有效期内会被反复携带（每个请求 / 网关批量内省），
+ * 命中后不再做 HMAC 验签与 JSON 解析
+ * - 使用方：JwtAuthenticationFilter、TokenIntrospectionService
+ *
+ * 规则：
+ * ------------------------------------------------------------
+ * - 只缓存验签通过的 token（伪造 / 格式错误的 token 不会挤占缓存）
+ * - 命中时仍检查 token 自身的过期时间；缓存 TTL / 容量与其他用户级缓存一致（app.authz.cache-*）
+ * - token 无状态、内容不变，不需要随 RBAC 事件失效
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtTokenUtil jwtTokenUtil;
+
+    private final BoundedTtlCache<String, VerifiedToken> byToken;
+
+    public VerifiedTokenCache(JwtTokenUtil jwtTokenUtil, AuthzProperties properties) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.byToken = new BoundedTtlCache<>(properties.getCacheTtlSeconds(), properties.getCacheMaxEntries());
+    }
+
+    /**
+     * 校验 token（先查缓存，未命中时验签并写入）
+     *
+     * @param token JWT 字符串
+     * @return 有效返回 VerifiedToken，无效或已过期返回 null
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = getIfPresent(token);
+        return cached != null ? cached : verifyAndCache(token);
+    }
+
+    /**
+     * 只查缓存（不验签）
+     *
+     * @return 命中且未过期返回 VerifiedToken，否则返回 null
+     */
+    public VerifiedToken getIfPresent(String token) {
+        VerifiedToken cached = byToken.getIfPresent(token);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            byToken.invalidate(token);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * 验签（不查缓存），通过后写入缓存
+     */
+    public VerifiedToken verifyAndCache(String token) {
+        VerifiedToken verified = jwtTokenUtil.verify(token);
+        if (verified == null || verified.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        byToken.put(token, verified);
+        return verified;
+    }
+
+    /** 当前条目数 */
+    public int size() {
+        return byToken.size();
+    }
+}
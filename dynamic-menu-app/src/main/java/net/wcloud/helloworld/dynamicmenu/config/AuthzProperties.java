@@ -0,0 +1,148 @@
+package net.wcloud.helloworld.dynamicmenu.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * RBAC 缓存 / 同步相关配置（从 application.yml 中加载）
+ *
+ * 配置前缀：app.authz
+ *
+ * 示例配置：
+ * ------------------------------------------------------------
+ * app:
+ * authz:
+ * cache-ttl-seconds: 300
+ * cache-max-entries: 100000
+ * change-log-poll-interval-ms: 1000
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * 1. 控制用户级缓存（登录主体、菜单树）的存活时间与容量上限
+ * 2. 事件失效是主要的一致性手段，TTL 只兜底“绕过应用直接改库”的情况
+ * 3. 控制多节点变更日志（dynamicmenu_sys_authz_change_log）的轮询与清理
+ * 4. 控制内存索引与数据库的定期对账
+ * 5. 控制增量菜单同步保留的变更范围
+ * 6. 控制 SSE 变更推送的连接超时 / 合并间隔 / 心跳
+ * 7. 限制批量权限判定的批大小
+ */
+@Slf4j
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.authz")
+public class AuthzProperties {
+
+    /**
+     * 用户级缓存条目存活时间（单位：秒）
+     * 示例：300 = 5 分钟
+     */
+    private long cacheTtlSeconds = 300;
+
+    /**
+     * 单个用户级缓存的最大条目数
+     * 超过后会淘汰部分旧条目，防止用户量大时内存无限增长
+     */
+    private int cacheMaxEntries = 100_000;
+
+    /**
+     * 当前节点 ID（写入变更日志的 origin_node）
+     * 默认每次启动随机生成，同一主机上启动多个实例也不会冲突
+     */
+    private String nodeId = "node-" + UUID.randomUUID().toString().substring(0, 8);
+
+    /**
+     * 是否轮询变更日志（单节点部署可关闭）
+     */
+    private boolean changeLogEnabled = true;
+
+    /**
+     * 变更日志轮询间隔（单位：毫秒）
+     * 其他节点的 RBAC 修改最迟在该间隔后于本节点生效
+     */
+    private long changeLogPollIntervalMs = 1000;
+
+    /**
+     * 单次轮询最多读取的变更条数
+     */
+    private int changeLogBatchSize = 500;
+
+    /**
+     * 变更序号空洞的等待时间（单位：秒）
+     * 自增 id 按分配顺序而非提交顺序出现，未提交事务会暂时留下空洞；
+     * 超过该时间仍未填补则视为已回滚（或遗漏），本节点做一次全量重同步
+     */
+    private long changeLogGapGraceSeconds = 60;
+
+    /**
+     * 变更日志保留时长（单位：小时），过期记录会被定期清理
+     */
+    private long changeLogRetentionHours = 24;
+
+    /**
+     * 是否定期对账内存中的 RBAC 索引（见 AuthzReconciler）
+     */
+    private boolean reconcileEnabled = true;
+
+    /**
+     * 对账间隔（单位：毫秒）
+     * 事件丢失时，最迟在该间隔后被发现并修复
+     */
+    private long reconcileIntervalMs = 300_000;
+
+    /**
+     * 对账每批读取的角色 / 用户数（键集分页）
+     */
+    private int reconcileChunkSize = 1000;
+
+    /**
+     * 增量菜单同步保留的最近变更条数（见 AuthzChangeRing）
+     * 客户端落后超过该范围时返回全量快照
+     */
+    private int deltaRingSize = 1024;
+
+    /**
+     * SSE 推送连接的超时时间（单位：毫秒），到期后客户端（EventSource）会自动重连
+     */
+    private long pushTimeoutMs = 1_800_000;
+
+    /**
+     * SSE 推送检查间隔（单位：毫秒），同一间隔内的多次变更合并为一条通知
+     */
+    private long pushFlushIntervalMs = 500;
+
+    /**
+     * SSE 心跳间隔（单位：秒），用于保持代理连接并及时发现已断开的客户端
+     */
+    private long pushHeartbeatSeconds = 25;
+
+    /**
+     * SSE 发送线程数：写 SSE 在独立线程池上进行，慢客户端不会阻塞定时任务线程
+     */
+    private int pushSendThreads = 2;
+
+    /**
+     * SSE 发送队列容量：每个连接最多排队一个发送任务（后到的通知合并进去），
+     * 队列满时该连接的通知留到下一次 flush 重试
+     */
+    private int pushSendQueueCapacity = 10000;
+
+    /**
+     * 批量权限判定（POST /api/authz/decisions）单批最多的判定个数
+     */
+    private int decisionMaxBatch = 10_000;
+
+    @PostConstruct
+    public void init() {
+        log.info("[AuthzProperties] RBAC 缓存配置加载完成: cacheTtlSeconds={}, cacheMaxEntries={}",
+                cacheTtlSeconds, cacheMaxEntries);
+        log.info("[AuthzProperties] 变更日志配置: nodeId={}, enabled={}, pollIntervalMs={}, gapGraceSeconds={}",
+                nodeId, changeLogEnabled, changeLogPollIntervalMs, changeLogGapGraceSeconds);
+        log.info("[AuthzProperties] 对账配置: enabled={}, intervalMs={}, chunkSize={}",
+                reconcileEnabled, reconcileIntervalMs, reconcileChunkSize);
+    }
+}
@@ -0,0 +1,84 @@
+package net.wcloud.helloworld.dynamicmenu.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuVO;
+import net.wcloud.helloworld.dynamicmenu.vo.UserVO;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 二进制响应格式配置（Smile / CBOR 内容协商）
+ *
+ * 使用方式：
+ * ------------------------------------------------------------
+ * - 请求头 Accept: application/x-jackson-smile 或 application/cbor
+ * - 未指定或 Accept: application/json 时仍返回原有 JSON，老客户端不受影响
+ * - 主要面向 /api/auth/login、/api/auth/me、/api/role/menu/tree 这类携带菜单树的响应
+ *
+ * 紧凑编码规则（只作用于二进制格式）：
+ * ------------------------------------------------------------
+ * 1. 不输出 null 与空集合：叶子节点不再携带 children: []
+ * 2. 不输出 createTime / updateTime（前端不使用）
+ * 3. Smile 开启字段名 / 短字符串回引，菜单树中重复的字段名只编码一次
+ * 4. 字段集合与 JSON 完全一致（同一批 VO），字段顺序按 VO 声明顺序，结构稳定
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 基于 Spring Boot 配置好的 Jackson2ObjectMapperBuilder 构建，
+ * 日期格式 / 模块等与 JSON 保持一致
+ * - 替换 Spring MVC 按类路径自动注册的默认 Smile / CBOR 转换器，追加在 JSON 之后，
+ * Accept: *\/* 时仍优先返回 JSON
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class BinaryCodecConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builderProvider;
+
+    /**
+     * 二进制格式下忽略的字段
+     */
+    @JsonIgnoreProperties({"createTime", "updateTime"})
+    private abstract static class CompactMixin {
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(c -> c instanceof MappingJackson2SmileHttpMessageConverter
+                || c instanceof MappingJackson2CborHttpMessageConverter);
+
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+
+        converters.add(new MappingJackson2SmileHttpMessageConverter(compactMapper(smileFactory)));
+        converters.add(new MappingJackson2CborHttpMessageConverter(compactMapper(new CBORFactory())));
+
+        log.info("[BinaryCodecConfig] 已注册 Smile / CBOR 响应格式");
+    }
+
+    private ObjectMapper compactMapper(JsonFactory factory) {
+        return builderProvider.getObject()
+                .factory(factory)
+                .serializationInclusion(JsonInclude.Include.NON_EMPTY)
+                .mixIn(MenuVO.class, CompactMixin.class)
+                .mixIn(UserVO.class, CompactMixin.class)
+                .build();
+    }
+}
@@ -68,6 +68,16 @@ public class JwtProperties {
      */
     private long expiration = 86400;
 
+    /**
+     * 批量 token 内省（POST /api/auth/introspect）单批最多的 token 数
+     */
+    private int introspectMaxBatch = 1000;
+
+    /**
+     * 批量内省时并行验签的线程数（只用于缓存未命中的 token；<= 0 表示 CPU 核数）
+     */
+    private int introspectParallelism = 0;
+
     /**
      * Bean 初始化完成后打印配置信息
      * （@PostConstruct 仅运行一次，极适合作为配置日志）
@@ -0,0 +1,35 @@
+package net.wcloud.helloworld.dynamicmenu.config;
+
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.OptimisticLockerInnerInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MyBatis-Plus 插件配置
+ *
+ * 已注册插件：
+ * ------------------------------------------------------------
+ * 1. OptimisticLockerInnerInterceptor（乐观锁）
+ * - 实体字段标注 @Version 后，updateById 会自动追加
+ * WHERE version = ? 条件，并把 version + 1 写回
+ * - 更新行数为 0 时说明数据已被其他请求 / 其他节点修改
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 目前仅 Role 使用 @Version（见 RoleServiceImpl 的并发控制说明）
+ */
+@Slf4j
+@Configuration
+public class MybatisPlusConfig {
+
+    @Bean
+    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new OptimisticLockerInnerInterceptor());
+
+        log.info("[MybatisPlusConfig] MyBatis-Plus 拦截器初始化完成, 已启用乐观锁插件");
+        return interceptor;
+    }
+}
@@ -0,0 +1,23 @@
+package net.wcloud.helloworld.dynamicmenu.config;
+
+import net.wcloud.helloworld.dynamicmenu.core.RbacEngine;
+import net.wcloud.helloworld.dynamicmenu.core.RbacLoader;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RBAC 引擎配置
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 菜单目录快照、角色授权位图、权限判定都在 dynamic-menu-core 的 RbacEngine 中（纯 Java）
+ * - 本应用只提供数据来源（MybatisRbacLoader），并由 AuthzEventBus 在 RBAC 变更时通知引擎
+ */
+@Configuration
+public class RbacEngineConfig {
+
+    @Bean
+    public RbacEngine rbacEngine(RbacLoader rbacLoader) {
+        return new RbacEngine(rbacLoader);
+    }
+}
@@ -0,0 +1,17 @@
+package net.wcloud.helloworld.dynamicmenu.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置
+ *
+ * 当前定时任务：
+ * ------------------------------------------------------------
+ * - AuthzChangeLogTailer：轮询 RBAC 变更日志、清理过期日志
+ * - AuthzPushHub：合并推送 RBAC 变更通知、SSE 心跳
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,5 +1,6 @@
 package net.wcloud.helloworld.dynamicmenu.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.wcloud.helloworld.dynamicmenu.security.JwtAuthenticationFilter;
@@ -109,6 +110,10 @@ public class SecurityConfig {
                             // 登录接口放行（匿名访问）
                             .requestMatchers("/api/auth/login").permitAll()
 
+                            // 异步请求（SSE 推送）的再次分派：原始请求已完成认证，
+                            // 无状态模式下 ASYNC 分派没有 SecurityContext，这里直接放行
+                            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                             // 你可以在这里继续添加白名单接口，例如 Swagger、静态资源等：
                             // .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
 
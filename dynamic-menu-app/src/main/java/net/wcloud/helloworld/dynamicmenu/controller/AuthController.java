@@ -0,0 +1,316 @@
+package net.wcloud.helloworld.dynamicmenu.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.common.Result;
+import net.wcloud.helloworld.dynamicmenu.dto.LoginRequestDTO;
+import net.wcloud.helloworld.dynamicmenu.dto.LoginResponseDTO;
+import net.wcloud.helloworld.dynamicmenu.entity.User;
+import net.wcloud.helloworld.dynamicmenu.push.AuthzPushHub;
+import net.wcloud.helloworld.dynamicmenu.security.JwtTokenUtil;
+import net.wcloud.helloworld.dynamicmenu.security.LoginUserDetails;
+import net.wcloud.helloworld.dynamicmenu.service.MenuService;
+import net.wcloud.helloworld.dynamicmenu.service.UserService;
+import net.wcloud.helloworld.dynamicmenu.util.ContentHash;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuVO;
+import net.wcloud.helloworld.dynamicmenu.vo.PageButtonsVO;
+import net.wcloud.helloworld.dynamicmenu.vo.RouteVO;
+import net.wcloud.helloworld.dynamicmenu.vo.UserVO;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 登录 / JWT / 用户信息接口
+ *
+ * 功能说明：
+ * ------------------------------------------------------------
+ * 1. /login 负责用户名密码登录，校验成功后生成 JWT，并返回菜单 / 权限摘要
+ * 2. /me 返回当前登录用户的详细信息（带角色/权限/菜单树）
+ * 3. /menus、/permissions 返回菜单树 / 权限标识，支持 ETag（摘要变化时客户端才需要拉取）
+ * 4. /sidebar 侧边栏菜单树（遵循 visible），/routes 平铺路由表（含隐藏路由）
+ * 5. /buttons 按页面返回按钮权限（进入页面时按需获取）
+ * 6. /events 订阅 RBAC 变更推送（SSE）
+ *
+ * 安全说明：
+ * ------------------------------------------------------------
+ * - 登录成功后不会创建 Session，而是将用户信息写入 JWT
+ * - 后续请求由 JwtAuthenticationFilter 解析 token 设置 SecurityContext
+ *
+ * 日志策略：
+ * ------------------------------------------------------------
+ * - info : 登录成功日志、关键审计行为
+ * - warn : 登录失败（用户名不存在 / 密码错误）
+ * - error : 系统异常
+ * - debug : 开发阶段查看细节（菜单数量、权限数量等）
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+public class AuthController {
+
+    private final AuthenticationManager authenticationManager;
+    private final UserService userService;
+    private final MenuService menuService;
+    private final JwtTokenUtil jwtTokenUtil;
+    private final AuthzPushHub authzPushHub;
+
+    /**
+     * 登录接口（用户名 + 密码）
+     */
+    @PostMapping("/login")
+    public Result<LoginResponseDTO> login(@Valid @RequestBody LoginRequestDTO req) {
+
+        String username = req.getUsername();
+        log.info("[AuthController] 用户请求登录, username={}, ip={}",
+                username, req != null ? "unknown" : "");
+
+        try {
+            // 1) 进行密码校验
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(username, req.getPassword()));
+
+            // 认证成功，写入 SecurityContext
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+
+            // 主体只含 userId / username / 权限（密码哈希已在认证成功后清除）
+            LoginUserDetails loginUser = (LoginUserDetails) authentication.getPrincipal();
+            Long userId = loginUser.getUserId();
+
+            log.info("[AuthController] 登录成功, username={}, userId={}",
+                    loginUser.getUsername(), userId);
+
+            // 2) 创建 JWT Token
+            Map<String, Object> claims = new HashMap<>();
+            claims.put("userId", userId);
+
+            String token = jwtTokenUtil.generateToken(loginUser.getUsername(), claims);
+            log.debug("[AuthController] JWT 生成成功, username={}", loginUser.getUsername());
+
+            // 3) 菜单 / 权限摘要：只计算摘要，不构建菜单树（摘要有缓存）
+            List<String> permissions = loginUser.getPermissions();
+            String menuHash = menuService.getMenuTreeHash(userId);
+            String permissionHash = ContentHash.ofStrings(permissions);
+
+            // 4) 封装登录返回体（昵称不在主体中，按主键读取用户资料）
+            User profile = userService.getById(userId);
+            LoginResponseDTO resp = new LoginResponseDTO();
+            resp.setToken(token);
+            resp.setUserId(userId);
+            resp.setUsername(loginUser.getUsername());
+            resp.setNickname(profile == null ? null : profile.getNickname());
+            resp.setMenuHash(menuHash);
+            resp.setPermissionHash(permissionHash);
+
+            // 老客户端：显式要求时仍随登录返回完整菜单树与权限
+            if (Boolean.TRUE.equals(req.getIncludeMenus())) {
+                List<MenuVO> menus = menuService.listMenuTreeByUserId(userId);
+                resp.setMenus(menus);
+                resp.setPermissions(permissions);
+                log.debug("[AuthController] 登录返回完整菜单, username={}, permCount={}, menuRootCount={}",
+                        loginUser.getUsername(),
+                        permissions == null ? 0 : permissions.size(),
+                        menus == null ? 0 : menus.size());
+            }
+
+            return Result.success(resp);
+
+        } catch (BadCredentialsException e) {
+            log.warn("[AuthController] 登录失败：用户名或密码错误, username={}", username);
+            return Result.fail(401, "用户名或密码错误");
+
+        } catch (Exception e) {
+            log.error("[AuthController] 登录异常, username={}, error={}",
+                    username, e.getMessage(), e);
+            return Result.fail(500, "登录异常：" + e.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * 获取当前登录用户信息（包含角色、权限、菜单树）
+     */
+    @GetMapping("/me")
+    public Result<UserVO> me() {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof LoginUserDetails loginUser)) {
+            log.warn("[AuthController] 未登录访问 /me");
+            return Result.fail(401, "未登录");
+        }
+
+        Long userId = loginUser.getUserId();
+        log.info("[AuthController] 查询当前用户信息 /me, userId={}", userId);
+
+        UserVO userVO = userService.getUserDetail(userId);
+
+        if (log.isDebugEnabled()) {
+            log.debug("[AuthController] /me 返回成功, username={}, menuRootCount={}",
+                    loginUser.getUsername(),
+                    userVO.getMenus() == null ? 0 : userVO.getMenus().size());
+        }
+
+        return Result.success(userVO);
+    }
+
+    /**
+     * 当前用户菜单树（可缓存）
+     *
+     * 说明：
+     * - ETag 为菜单摘要（与登录返回的 menuHash 一致），客户端带 If-None-Match 时摘要未变返回 304
+     * - 摘要命中时不构建菜单树
+     */
+    @GetMapping("/menus")
+    public ResponseEntity<Result<List<MenuVO>>> menus(WebRequest webRequest) {
+
+        LoginUserDetails loginUser = currentUser();
+        if (loginUser == null) {
+            log.warn("[AuthController] 未登录访问 /menus");
+            return ResponseEntity.status(401).body(Result.fail(401, "未登录"));
+        }
+
+        Long userId = loginUser.getUserId();
+        if (webRequest.checkNotModified(etag(menuService.getMenuTreeHash(userId)))) {
+            log.debug("[AuthController] /menus 未变化, 返回 304, userId={}", userId);
+            return null;
+        }
+
+        List<MenuVO> menus = menuService.listMenuTreeByUserId(userId);
+        return cacheable(ContentHash.ofMenus(menus), menus);
+    }
+
+    /**
+     * 当前用户权限标识（可缓存，ETag 为权限摘要，与登录返回的 permissionHash 一致）
+     */
+    @GetMapping("/permissions")
+    public ResponseEntity<Result<List<String>>> permissions(WebRequest webRequest) {
+
+        LoginUserDetails loginUser = currentUser();
+        if (loginUser == null) {
+            log.warn("[AuthController] 未登录访问 /permissions");
+            return ResponseEntity.status(401).body(Result.fail(401, "未登录"));
+        }
+
+        List<String> permissions = loginUser.getPermissions();
+        String hash = ContentHash.ofStrings(permissions);
+        if (webRequest.checkNotModified(etag(hash))) {
+            return null;
+        }
+        return cacheable(hash, permissions);
+    }
+
+    /**
+     * 当前用户侧边栏菜单树（隐藏菜单不显示）
+     */
+    @GetMapping("/sidebar")
+    public Result<List<MenuVO>> sidebar() {
+
+        LoginUserDetails loginUser = currentUser();
+        if (loginUser == null) {
+            log.warn("[AuthController] 未登录访问 /sidebar");
+            return Result.fail(401, "未登录");
+        }
+
+        return Result.success(menuService.listSidebarByUserId(loginUser.getUserId()));
+    }
+
+    /**
+     * 当前用户平铺路由表（含隐藏路由）
+     */
+    @GetMapping("/routes")
+    public Result<List<RouteVO>> routes() {
+
+        LoginUserDetails loginUser = currentUser();
+        if (loginUser == null) {
+            log.warn("[AuthController] 未登录访问 /routes");
+            return Result.fail(401, "未登录");
+        }
+
+        return Result.success(menuService.listRoutesByUserId(loginUser.getUserId()));
+    }
+
+    /**
+     * 当前用户的按钮权限（按页面分组）
+     *
+     * 请求示例：
+     * - GET /api/auth/buttons?route=/system/user：只返回该页面，进入页面时按需获取
+     * - GET /api/auth/buttons?menuId=2
+     * - GET /api/auth/buttons：全部页面
+     */
+    @GetMapping("/buttons")
+    public Result<List<PageButtonsVO>> buttons(@RequestParam(required = false) String route,
+                                               @RequestParam(required = false) Long menuId) {
+
+        LoginUserDetails loginUser = currentUser();
+        if (loginUser == null) {
+            log.warn("[AuthController] 未登录访问 /buttons");
+            return Result.fail(401, "未登录");
+        }
+
+        return Result.success(menuService.listPageButtons(loginUser.getUserId(), route, menuId));
+    }
+
+    /**
+     * 订阅 RBAC 变更推送（Server-Sent Events）
+     *
+     * 说明：
+     * - 代替定时轮询 /me：角色 / 授权 / 菜单目录变化后收到 authz-changed 事件，
+     * data 为 {"version": N}，客户端再调用 GET /api/menu/delta?since=... 拉取增量
+     * - 连接由 Servlet 异步请求保持，不占用容器线程
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events() {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof LoginUserDetails loginUser)) {
+            log.warn("[AuthController] 未登录订阅 /events");
+            throw new BadCredentialsException("未登录");
+        }
+
+        Long userId = loginUser.getUserId();
+        log.info("[AuthController] 订阅 RBAC 变更推送, userId={}", userId);
+        return authzPushHub.subscribe(userId);
+    }
+
+    private LoginUserDetails currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof LoginUserDetails loginUser) {
+            return loginUser;
+        }
+        return null;
+    }
+
+    /**
+     * 弱 ETag：JSON / Smile / CBOR 等不同编码的内容语义相同
+     */
+    private String etag(String hash) {
+        return "W/\"" + hash + "\"";
+    }
+
+    /**
+     * 私有缓存、每次使用前需重新校验（配合 ETag 即可省去响应体）
+     */
+    private <T> ResponseEntity<Result<T>> cacheable(String hash, T data) {
+        return ResponseEntity.ok()
+                .eTag(etag(hash))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(Result.success(data));
+    }
+}
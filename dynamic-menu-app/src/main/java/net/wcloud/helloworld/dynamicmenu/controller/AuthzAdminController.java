@@ -0,0 +1,122 @@
+package net.wcloud.helloworld.dynamicmenu.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.cache.MenuTreeProjector;
+import net.wcloud.helloworld.dynamicmenu.common.Result;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzReconciler;
+import net.wcloud.helloworld.dynamicmenu.push.AuthzPushHub;
+import net.wcloud.helloworld.dynamicmenu.service.AuthzExplainService;
+import net.wcloud.helloworld.dynamicmenu.service.EffectiveMenuService;
+import net.wcloud.helloworld.dynamicmenu.vo.AccessExplanationVO;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * RBAC 运维接口（AuthzAdminController）
+ *
+ * 功能说明：
+ * ------------------------------------------------------------
+ * 1. 查看内存索引对账指标（最近一轮 + 累计）
+ * 2. 手动触发一轮对账
+ * 3. 全量重建用户有效菜单物化表（dynamicmenu_sys_effective_user_menu）
+ * 4. 查看 SSE 推送连接统计
+ * 5. 查看用户菜单树共享统计（已登记的视图 / 复制节点数）
+ * 6. 说明某用户为什么能 / 不能访问某个菜单或权限标识（授权角色 / 补齐的祖先 / 禁用节点）
+ *
+ * 权限说明：
+ * ------------------------------------------------------------
+ * - 仅 ADMIN 角色可访问：角色编码（ROLE_ADMIN）本身就是 GrantedAuthority，
+ * 用 hasRole('ADMIN')（自动补 ROLE_ 前缀），不能写 hasAuthority('ADMIN')
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/authz")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AuthzAdminController {
+
+    private final AuthzReconciler authzReconciler;
+
+    private final EffectiveMenuService effectiveMenuService;
+
+    private final AuthzPushHub authzPushHub;
+
+    private final MenuTreeProjector menuTreeProjector;
+
+    private final AuthzExplainService authzExplainService;
+
+    /**
+     * 对账指标
+     */
+    @GetMapping("/reconcile")
+    public Result<Map<String, Object>> reconcileStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("last", authzReconciler.lastReport());
+        stats.put("totals", authzReconciler.totals());
+        return Result.success(stats);
+    }
+
+    /**
+     * SSE 推送连接统计（分组数 / 用户数 / 连接数 / 排队中的发送任务数）
+     */
+    @GetMapping("/push")
+    public Result<Map<String, Integer>> pushStats() {
+        return Result.success(authzPushHub.stats());
+    }
+
+    /**
+     * 用户菜单树共享统计（当前目录版本下的视图数 / 复制节点数）
+     */
+    @GetMapping("/menu-trees")
+    public Result<Map<String, Object>> menuTreeStats() {
+        return Result.success(menuTreeProjector.stats());
+    }
+
+    /**
+     * 访问来源说明（内存计算）
+     *
+     * 请求示例：
+     * GET /api/authz/explain?userId=2&menuId=105
+     * GET /api/authz/explain?userId=2&perm=sys:user:add
+     */
+    @GetMapping("/explain")
+    public Result<AccessExplanationVO> explain(@RequestParam Long userId,
+                                               @RequestParam(required = false) Long menuId,
+                                               @RequestParam(required = false) String perm) {
+        try {
+            return Result.success(authzExplainService.explain(userId, menuId, perm));
+        } catch (IllegalArgumentException e) {
+            log.warn("[AuthzAdminController] 来源说明参数不合法, userId={}, reason={}", userId, e.getMessage());
+            return Result.fail(400, e.getMessage());
+        }
+    }
+
+    /**
+     * 立即对账一次
+     */
+    @PostMapping("/reconcile")
+    public Result<AuthzReconciler.ReconcileReport> reconcileNow() {
+        log.info("[AuthzAdminController] 手动触发 RBAC 对账");
+        return Result.success(authzReconciler.reconcile());
+    }
+
+    /**
+     * 全量重建用户有效菜单物化表
+     *
+     * 使用场景：
+     * ------------------------------------------------------------
+     * - 首次上线 / 从旧版本升级后初始化
+     * - 绕过应用直接修改了 role_menu / user_role 之后
+     *
+     * @return 重建后的行数
+     */
+    @PostMapping("/effective-menus/rebuild")
+    public Result<Integer> rebuildEffectiveMenus() {
+        log.info("[AuthzAdminController] 手动触发有效菜单物化表全量重建");
+        return Result.success(effectiveMenuService.rebuildAll());
+    }
+}
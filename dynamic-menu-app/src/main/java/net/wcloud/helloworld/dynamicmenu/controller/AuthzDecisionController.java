@@ -0,0 +1,66 @@
+package net.wcloud.helloworld.dynamicmenu.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.common.Result;
+import net.wcloud.helloworld.dynamicmenu.dto.AuthzDecisionRequestDTO;
+import net.wcloud.helloworld.dynamicmenu.service.AuthzDecisionService;
+import net.wcloud.helloworld.dynamicmenu.vo.AuthzDecisionVO;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 批量权限判定接口（AuthzDecisionController）
+ *
+ * 功能说明：
+ * ------------------------------------------------------------
+ * 1. POST /api/authz/decisions：批量回答“用户 U 是否拥有权限 P”，结果为位向量（见 AuthzDecisionVO）
+ * 2. GET /api/authz/decisions/stats：按批大小分组的延迟直方图
+ *
+ * 使用方：
+ * ------------------------------------------------------------
+ * - 其他服务前面的 API 网关：不再通过 /api/auth/me（组装完整 UserVO）推断权限
+ *
+ * 权限说明：
+ * ------------------------------------------------------------
+ * - 判定：ADMIN 角色（角色编码 ROLE_ADMIN），或拥有 authz:decide 的服务账号
+ * - 统计：ADMIN 角色
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/authz/decisions")
+@RequiredArgsConstructor
+public class AuthzDecisionController {
+
+    private final AuthzDecisionService authzDecisionService;
+
+    /**
+     * 批量判定
+     *
+     * 请求示例：
+     * POST /api/authz/decisions
+     * {"userId": 1, "perms": ["sys:user:list", "sys:user:add"]}
+     * 或 {"pairs": [{"userId": 1, "perm": "sys:user:list"}, {"userId": 2, "perm": "sys:role:list"}]}
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'authz:decide')")
+    public Result<AuthzDecisionVO> decide(@RequestBody AuthzDecisionRequestDTO request) {
+        try {
+            return Result.success(authzDecisionService.decide(request));
+        } catch (IllegalArgumentException e) {
+            log.warn("[AuthzDecisionController] 判定请求不合法, reason={}", e.getMessage());
+            return Result.fail(400, e.getMessage());
+        }
+    }
+
+    /**
+     * 延迟直方图（批大小分组 → 批数 / 判定数 / 平均 / p50 / p99 / 最大耗时，单位微秒）
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<Map<String, Map<String, Long>>> stats() {
+        return Result.success(authzDecisionService.latencyStats());
+    }
+}
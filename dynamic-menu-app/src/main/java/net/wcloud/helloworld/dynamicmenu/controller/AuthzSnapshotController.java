@@ -0,0 +1,45 @@
+package net.wcloud.helloworld.dynamicmenu.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.common.Result;
+import net.wcloud.helloworld.dynamicmenu.dto.AuthzSnapshotDTO;
+import net.wcloud.helloworld.dynamicmenu.service.AuthzSnapshotService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * RBAC 授权快照接口（AuthzSnapshotController）
+ *
+ * 功能说明：
+ * ------------------------------------------------------------
+ * 1. 导出 角色 → 权限标识、用户 → 角色 与被禁用的用户，供其他服务在本地校验 token、判定权限
+ * 2. 按版本号拉取：GET /api/authz/snapshot?since=N，版本未变化时只返回版本号
+ *
+ * 权限说明：
+ * ------------------------------------------------------------
+ * - ADMIN 角色（角色编码 ROLE_ADMIN），或拥有 authz:snapshot 的服务账号（客户端 starter 配置的 service-token）
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/authz")
+@RequiredArgsConstructor
+public class AuthzSnapshotController {
+
+    private final AuthzSnapshotService authzSnapshotService;
+
+    /**
+     * 授权快照
+     *
+     * 请求示例：GET /api/authz/snapshot?since=1024
+     * - since 缺省为 -1，总是返回全量
+     */
+    @GetMapping("/snapshot")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'authz:snapshot')")
+    public Result<AuthzSnapshotDTO> snapshot(@RequestParam(defaultValue = "-1") long since) {
+        return Result.success(authzSnapshotService.getSnapshot(since));
+    }
+}
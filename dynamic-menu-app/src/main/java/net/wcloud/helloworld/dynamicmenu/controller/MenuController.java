@@ -0,0 +1,268 @@
+package net.wcloud.helloworld.dynamicmenu.controller;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.common.Result;
+import net.wcloud.helloworld.dynamicmenu.entity.Menu;
+import net.wcloud.helloworld.dynamicmenu.security.LoginUserDetails;
+import net.wcloud.helloworld.dynamicmenu.service.MenuService;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuDeltaVO;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuSearchHitVO;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuVO;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 菜单管理接口（MenuController）
+ *
+ * 功能说明：
+ * ------------------------------------------------------------
+ * 1. 菜单新增 / 修改 / 删除（删除会连同全部下级一起删除）
+ * 2. 同级批量排序（稀疏序号，只更新位置变化的行）
+ * 3. 查询子树 / 祖先链
+ * 4. 整棵子树启用 / 禁用
+ * 5. 移动子树到新的父节点
+ * 6. 由 parent_id 重建闭包表（运维）
+ * 7. 当前用户菜单增量同步（GET /delta?since=N）
+ * 8. 菜单搜索（GET /search?q=...）
+ *
+ * 菜单目录版本号：
+ * ------------------------------------------------------------
+ * - 所有写接口返回写入后的目录版本号（catalogVersion），
+ * 前端 / 下游缓存可据此判断菜单目录是否变化
+ *
+ * 权限说明：
+ * ------------------------------------------------------------
+ * - 查询：sys:menu:list
+ * - 新增：sys:menu:add
+ * - 修改 / 排序 / 移动：sys:menu:update
+ * - 删除：sys:menu:delete
+ * - 重建闭包表：ADMIN 角色（hasRole，角色编码为 ROLE_ADMIN）
+ *
+ * 日志策略：
+ * ------------------------------------------------------------
+ * - info : 菜单结构修改等审计行为
+ * - warn : 菜单不存在 / 非法移动
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/menu")
+@RequiredArgsConstructor
+public class MenuController {
+
+    private final MenuService menuService;
+
+    /**
+     * 当前菜单目录版本号
+     */
+    @GetMapping("/catalog/version")
+    @PreAuthorize("hasAuthority('sys:menu:list')")
+    public Result<Long> catalogVersion() {
+        return Result.success(menuService.currentCatalogVersion());
+    }
+
+    /**
+     * 当前用户菜单增量（登录即可访问，不需要菜单管理权限）
+     *
+     * 请求示例：GET /api/menu/delta?since=1024
+     * - since 缺省或为 0 时返回全量快照
+     */
+    @GetMapping("/delta")
+    public Result<MenuDeltaVO> delta(@RequestParam(defaultValue = "0") long since) {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof LoginUserDetails loginUser)) {
+            log.warn("[MenuController] 未登录访问 /delta");
+            return Result.fail(401, "未登录");
+        }
+
+        return Result.success(menuService.getMenuDelta(loginUser.getUserId(), since));
+    }
+
+    /**
+     * 搜索菜单（名称 / 路由 / 权限标识，不区分大小写的子串匹配）
+     *
+     * 请求示例：GET /api/menu/search?q=user&limit=20
+     * - 返回命中的菜单及其祖先路径（pathNames），便于在授权树中定位
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('sys:menu:list')")
+    public Result<List<MenuSearchHitVO>> search(@RequestParam("q") String query,
+                                                @RequestParam(defaultValue = "20") int limit) {
+        return Result.success(menuService.searchMenus(query, limit));
+    }
+
+    /**
+     * 新增菜单
+     */
+    @PostMapping
+    @PreAuthorize("hasAuthority('sys:menu:add')")
+    public Result<Map<String, Long>> create(@RequestBody Menu menu) {
+
+        log.info("[MenuController] 新增菜单, parentId={}, menuName={}", menu.getParentId(), menu.getMenuName());
+
+        Long version = menuService.createMenu(menu);
+        if (version == null) {
+            return Result.fail(404, "父菜单不存在");
+        }
+
+        Map<String, Long> data = new LinkedHashMap<>();
+        data.put("id", menu.getId());
+        data.put("catalogVersion", version);
+        return Result.success(data);
+    }
+
+    /**
+     * 修改菜单（parentId 变化时按子树移动处理）
+     */
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAuthority('sys:menu:update')")
+    public Result<Long> update(@PathVariable Long id, @RequestBody Menu menu) {
+
+        log.info("[MenuController] 修改菜单, menuId={}", id);
+
+        try {
+            Long version = menuService.updateMenu(id, menu);
+            if (version == null) {
+                return Result.fail(404, "菜单或目标父节点不存在");
+            }
+            return Result.success(version);
+        } catch (IllegalArgumentException e) {
+            log.warn("[MenuController] 非法移动, menuId={}, newParentId={}, reason={}", id, menu.getParentId(), e.getMessage());
+            return Result.fail(400, "不能把菜单移动到自身或其下级节点下");
+        }
+    }
+
+    /**
+     * 删除菜单（连同全部下级）
+     */
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAuthority('sys:menu:delete')")
+    public Result<Long> delete(@PathVariable Long id) {
+
+        log.info("[MenuController] 删除菜单子树, menuId={}", id);
+
+        Long version = menuService.deleteMenu(id);
+        if (version == null) {
+            return Result.fail(404, "菜单不存在");
+        }
+        return Result.success(version);
+    }
+
+    /**
+     * 同级批量排序
+     *
+     * 请求示例：{"parentId": 2, "orderedIds": [9, 7, 8]}
+     */
+    @PutMapping("/reorder")
+    @PreAuthorize("hasAuthority('sys:menu:update')")
+    public Result<Long> reorder(@RequestBody MenuReorderDTO req) {
+
+        log.info("[MenuController] 同级排序, parentId={}, count={}",
+                req.getParentId(), req.getOrderedIds() == null ? 0 : req.getOrderedIds().size());
+
+        try {
+            return Result.success(menuService.reorderChildren(req.getParentId(), req.getOrderedIds()));
+        } catch (IllegalArgumentException e) {
+            log.warn("[MenuController] 排序参数不合法, parentId={}, reason={}", req.getParentId(), e.getMessage());
+            return Result.fail(400, "新顺序必须包含该父节点下的全部子节点且不能重复");
+        }
+    }
+
+    /**
+     * 查询子树内全部菜单（含根节点，平铺，按层级由浅到深）
+     */
+    @GetMapping("/{id}/subtree")
+    @PreAuthorize("hasAuthority('sys:menu:list')")
+    public Result<List<MenuVO>> subtree(@PathVariable Long id) {
+        return Result.success(menuService.listSubtree(id));
+    }
+
+    /**
+     * 查询祖先链（从根到父）
+     */
+    @GetMapping("/{id}/ancestors")
+    @PreAuthorize("hasAuthority('sys:menu:list')")
+    public Result<List<Long>> ancestors(@PathVariable Long id) {
+        return Result.success(menuService.listAncestorIds(id));
+    }
+
+    /**
+     * 启用 / 禁用整棵子树
+     */
+    @PutMapping("/{id}/subtree/status")
+    @PreAuthorize("hasAuthority('sys:menu:update')")
+    public Result<Long> updateSubtreeStatus(@PathVariable Long id, @RequestParam Integer status) {
+
+        log.info("[MenuController] 修改子树状态, menuId={}, status={}", id, status);
+
+        if (status == null || (status != 0 && status != 1)) {
+            return Result.fail(400, "status 只能为 0 或 1");
+        }
+
+        Long version = menuService.updateSubtreeStatus(id, status);
+        if (version == null) {
+            return Result.fail(404, "菜单不存在");
+        }
+        return Result.success(version);
+    }
+
+    /**
+     * 移动子树
+     */
+    @PutMapping("/{id}/move")
+    @PreAuthorize("hasAuthority('sys:menu:update')")
+    public Result<Long> move(@PathVariable Long id, @RequestBody MenuMoveDTO req) {
+
+        log.info("[MenuController] 移动子树, menuId={}, newParentId={}", id, req.getParentId());
+
+        try {
+            Long version = menuService.moveSubtree(id, req.getParentId());
+            if (version == null) {
+                return Result.fail(404, "菜单或目标父节点不存在");
+            }
+            return Result.success(version);
+        } catch (IllegalArgumentException e) {
+            log.warn("[MenuController] 非法移动, menuId={}, newParentId={}, reason={}", id, req.getParentId(), e.getMessage());
+            return Result.fail(400, "不能把菜单移动到自身或其下级节点下");
+        }
+    }
+
+    /**
+     * 由 parent_id 全量重建闭包表
+     */
+    @PostMapping("/closure/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<Integer> rebuildClosure() {
+        log.info("[MenuController] 手动触发菜单闭包表全量重建");
+        return Result.success(menuService.rebuildClosure());
+    }
+
+    /**
+     * 同级排序请求
+     */
+    @Data
+    public static class MenuReorderDTO {
+        /** 父节点 ID（0 表示根） */
+        private Long parentId;
+
+        /** 新顺序：该父节点下全部子节点 ID */
+        private List<Long> orderedIds;
+    }
+
+    /**
+     * 移动子树请求
+     */
+    @Data
+    public static class MenuMoveDTO {
+        /** 新父节点 ID（0 表示移到根） */
+        private Long parentId;
+    }
+}
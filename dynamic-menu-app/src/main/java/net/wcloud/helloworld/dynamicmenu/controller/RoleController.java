@@ -0,0 +1,276 @@
+package net.wcloud.helloworld.dynamicmenu.controller;
+
+import jakarta.validation.Valid;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.common.Result;
+import net.wcloud.helloworld.dynamicmenu.entity.Role;
+import net.wcloud.helloworld.dynamicmenu.mapper.RoleMapper;
+import net.wcloud.helloworld.dynamicmenu.service.MenuService;
+import net.wcloud.helloworld.dynamicmenu.service.RoleService;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuVO;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 角色管理接口（RoleController）
+ *
+ * 功能说明：
+ * ------------------------------------------------------------
+ * 1. 角色 CRUD（列表 / 详情 / 新增 / 修改 / 删除）
+ * 2. 给角色分配菜单（role_menu 关联），或追加授权整棵菜单子树
+ * 3. 查询角色已绑定的菜单 ID（授权页面回显）
+ * 4. 查询系统全部菜单树（给前端展示）
+ *
+ * 数据关系：
+ * ------------------------------------------------------------
+ * 角色与菜单：多对多（role_menu）
+ * 角色与用户：多对多（user_role）
+ *
+ * 并发写入：
+ * ------------------------------------------------------------
+ * - 修改 / 删除 / 授权均走 RoleService（分段锁 + version 乐观锁）
+ * - 版本冲突返回 code=409，前端应重新拉取角色详情后再提交
+ *
+ * 日志策略：
+ * ------------------------------------------------------------
+ * - info : 记录角色增删改 / 授权 等关键审计行为
+ * - warn : 角色不存在 / 删除失败 / 空菜单等
+ * - debug : 参数与返回数据数量
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/role")
+@RequiredArgsConstructor
+public class RoleController {
+
+    /** 版本冲突提示（code=409） */
+    private static final String VERSION_CONFLICT_MESSAGE = "角色已被其他人修改，请刷新后重试";
+
+    private final RoleMapper roleMapper;
+    private final RoleService roleService;
+    private final MenuService menuService;
+
+    /**
+     * 角色列表
+     */
+    @GetMapping("/list")
+    public Result<List<Role>> list() {
+
+        log.info("[RoleController] 请求角色列表");
+
+        List<Role> roles = roleMapper.selectList(null);
+
+        log.debug("[RoleController] 角色数量={}", roles == null ? 0 : roles.size());
+
+        return Result.success(roles);
+    }
+
+    /**
+     * 查询角色详情
+     */
+    @GetMapping("/{id}")
+    public Result<Role> detail(@PathVariable Long id) {
+
+        log.info("[RoleController] 查询角色详情, roleId={}", id);
+
+        Role role = roleMapper.selectById(id);
+
+        if (role == null) {
+            log.warn("[RoleController] 角色不存在, roleId={}", id);
+            return Result.fail(404, "角色不存在");
+        }
+
+        log.debug("[RoleController] 角色详情加载成功, roleId={}, roleName={}", id, role.getRoleName());
+
+        return Result.success(role);
+    }
+
+    /**
+     * 新增角色
+     */
+    @PostMapping
+    public Result<Boolean> create(@Valid @RequestBody Role role) {
+
+        log.info("[RoleController] 新增角色, roleName={}", role.getRoleName());
+
+        if (roleService.createRole(role)) {
+            log.info("[RoleController] 新增角色成功, roleId={}, roleName={}", role.getId(), role.getRoleName());
+            return Result.success(true);
+        } else {
+            log.error("[RoleController] 新增角色失败, roleName={}", role.getRoleName());
+            return Result.fail(500, "新增角色失败");
+        }
+    }
+
+    /**
+     * 修改角色
+     */
+    @PutMapping("/{id}")
+    public Result<Boolean> update(@PathVariable Long id,
+            @Valid @RequestBody Role role) {
+
+        log.info("[RoleController] 修改角色, roleId={}, roleName={}", id, role.getRoleName());
+
+        try {
+            if (roleService.updateRole(id, role)) {
+                log.info("[RoleController] 修改角色成功, roleId={}", id);
+                return Result.success(true);
+            } else {
+                log.warn("[RoleController] 修改角色失败, 角色不存在, roleId={}", id);
+                return Result.fail(404, "角色不存在");
+            }
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("[RoleController] 修改角色版本冲突, roleId={}", id);
+            return Result.fail(409, VERSION_CONFLICT_MESSAGE);
+        }
+    }
+
+    /**
+     * 删除角色
+     */
+    @DeleteMapping("/{id}")
+    public Result<Boolean> delete(@PathVariable Long id,
+            @RequestParam(required = false) Integer version) {
+
+        log.info("[RoleController] 删除角色, roleId={}, version={}", id, version);
+
+        try {
+            if (roleService.deleteRole(id, version)) {
+                log.info("[RoleController] 删除角色成功, roleId={}", id);
+                return Result.success(true);
+            } else {
+                log.warn("[RoleController] 删除角色失败, 角色不存在, roleId={}", id);
+                return Result.fail(404, "角色不存在");
+            }
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("[RoleController] 删除角色版本冲突, roleId={}", id);
+            return Result.fail(409, VERSION_CONFLICT_MESSAGE);
+        }
+    }
+
+    /**
+     * 查询角色已分配的菜单 ID 列表（授权页面回显）
+     */
+    @GetMapping("/{id}/menus")
+    public Result<List<Long>> getRoleMenuIds(@PathVariable Long id) {
+
+        log.info("[RoleController] 查询角色拥有的菜单 ID, roleId={}", id);
+
+        List<Long> menuIds = roleMapper.listMenuIdsByRoleId(id);
+
+        log.debug("[RoleController] 已分配菜单数量={}, roleId={}",
+                menuIds == null ? 0 : menuIds.size(), id);
+
+        return Result.success(menuIds);
+    }
+
+    /**
+     * 给角色分配菜单（保存角色-菜单权限）
+     */
+    @PostMapping("/{id}/menus")
+    public Result<Boolean> assignMenus(@PathVariable Long id,
+            @Valid @RequestBody RoleAssignMenuDTO req) {
+
+        log.info("[RoleController] 角色授权菜单, roleId={}, menuCount={}, version={}",
+                id, req.getMenuIds() == null ? 0 : req.getMenuIds().size(), req.getVersion());
+
+        if (req.getMenuIds() == null || req.getMenuIds().isEmpty()) {
+            log.warn("[RoleController] 新授权菜单为空, 将清空角色菜单, roleId={}", id);
+        }
+
+        try {
+            Integer newVersion = roleService.assignMenus(id, req.getMenuIds(), req.getVersion());
+            if (newVersion == null) {
+                log.warn("[RoleController] 角色授权失败, 角色不存在, roleId={}", id);
+                return Result.fail(404, "角色不存在");
+            }
+
+            log.info("[RoleController] 菜单授权成功, roleId={}, newVersion={}", id, newVersion);
+            return Result.success(true);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("[RoleController] 角色授权版本冲突, roleId={}", id);
+            return Result.fail(409, VERSION_CONFLICT_MESSAGE);
+        }
+    }
+
+    /**
+     * 把菜单子树（含根节点）追加授权给角色
+     */
+    @PostMapping("/{id}/menus/subtree")
+    public Result<Boolean> grantMenuSubtree(@PathVariable Long id, @RequestBody RoleGrantSubtreeDTO req) {
+
+        log.info("[RoleController] 角色授权菜单子树, roleId={}, menuId={}, version={}",
+                id, req.getMenuId(), req.getVersion());
+
+        try {
+            Integer newVersion = roleService.grantMenuSubtree(id, req.getMenuId(), req.getVersion());
+            if (newVersion == null) {
+                log.warn("[RoleController] 子树授权失败, 角色不存在, roleId={}", id);
+                return Result.fail(404, "角色不存在");
+            }
+            return Result.success(true);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("[RoleController] 子树授权版本冲突, roleId={}", id);
+            return Result.fail(409, VERSION_CONFLICT_MESSAGE);
+        }
+    }
+
+    /**
+     * 查询系统全部菜单树（给角色授权时使用）
+     *
+     * 按层加载（菜单目录很大时使用）：
+     * - GET /api/role/menu/tree?depth=2：从根开始返回两层
+     * - GET /api/role/menu/tree?parentId=5&depth=1：展开节点 5
+     * - 节点带 childCount，最后一层的 children 为 null
+     * - 两个参数都不传时返回完整菜单树（兼容原有调用）
+     */
+    @GetMapping("/menu/tree")
+    public Result<List<MenuVO>> allMenuTreeForRole(@RequestParam(required = false) Long parentId,
+                                                   @RequestParam(required = false) Integer depth) {
+
+        if (parentId != null || depth != null) {
+            log.info("[RoleController] 按层查询菜单树, parentId={}, depth={}", parentId, depth);
+            List<MenuVO> slice = menuService.listMenuTreeSlice(parentId, depth == null ? 1 : depth);
+            if (slice == null) {
+                return Result.fail(404, "父菜单不存在");
+            }
+            return Result.success(slice);
+        }
+
+        log.info("[RoleController] 查询系统全量菜单树");
+
+        List<MenuVO> tree = menuService.listAllMenuTree();
+
+        log.debug("[RoleController] 全量菜单树根节点数量={}",
+                tree == null ? 0 : tree.size());
+
+        return Result.success(tree);
+    }
+
+    /**
+     * 接收前端“角色分配菜单”请求的 DTO
+     */
+    @Data
+    public static class RoleAssignMenuDTO {
+        private List<Long> menuIds;
+
+        /** 客户端读取到的角色版本号（可选，用于乐观锁） */
+        private Integer version;
+    }
+
+    /**
+     * 接收“角色授权菜单子树”请求的 DTO
+     */
+    @Data
+    public static class RoleGrantSubtreeDTO {
+        /** 子树根节点菜单 ID */
+        private Long menuId;
+
+        /** 客户端读取到的角色版本号（可选，用于乐观锁） */
+        private Integer version;
+    }
+}
@@ -0,0 +1,53 @@
+package net.wcloud.helloworld.dynamicmenu.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.common.Result;
+import net.wcloud.helloworld.dynamicmenu.dto.TokenIntrospectRequestDTO;
+import net.wcloud.helloworld.dynamicmenu.service.TokenIntrospectionService;
+import net.wcloud.helloworld.dynamicmenu.vo.TokenIntrospectionVO;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 批量 token 内省接口（TokenIntrospectionController）
+ *
+ * 功能说明：
+ * ------------------------------------------------------------
+ * 1. POST /api/auth/introspect：一次提交多个 token，逐个返回 是否有效 / 用户 / 过期时间 / 授权版本号
+ * 2. 网关把同一时刻在途请求的 token 合并成一批，一次往返摊到多个请求上
+ *
+ * 权限说明：
+ * ------------------------------------------------------------
+ * - ADMIN 角色（角色编码 ROLE_ADMIN），或拥有 auth:introspect 的服务账号（网关）
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+public class TokenIntrospectionController {
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    /**
+     * 批量内省
+     *
+     * 请求示例：POST /api/auth/introspect
+     * {"tokens": ["eyJhbGciOiJIUzI1NiJ9...", "eyJhbGciOiJIUzI1NiJ9..."]}
+     */
+    @PostMapping("/introspect")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'auth:introspect')")
+    public Result<List<TokenIntrospectionVO>> introspect(@RequestBody TokenIntrospectRequestDTO request) {
+        try {
+            return Result.success(tokenIntrospectionService.introspect(request.getTokens()));
+        } catch (IllegalArgumentException e) {
+            log.warn("[TokenIntrospectionController] 内省请求不合法, reason={}", e.getMessage());
+            return Result.fail(400, e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package net.wcloud.helloworld.dynamicmenu.controller;
 
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.wcloud.helloworld.dynamicmenu.common.Result;
@@ -16,7 +17,8 @@ import java.util.List;
  * 功能说明：
  * ------------------------------------------------------------
  * 1. 查询用户列表（含角色/权限等）
- * 2. 测试接口：验证 JWT 是否能正常解析
+ * 2. 给用户分配角色
+ * 3. 测试接口：验证 JWT 是否能正常解析
  *
  * 权限说明：
  * ------------------------------------------------------------
@@ -58,6 +60,33 @@ public class UserController {
         return Result.success(list);
     }
 
+    /**
+     * 给用户分配角色（保存用户-角色关系）
+     *
+     * 权限控制：
+     * ------------------------------------------------------------
+     * sys:user:update → 编辑用户按钮权限
+     */
+    @PostMapping("/{id}/roles")
+    @PreAuthorize("hasAuthority('sys:user:update')")
+    public Result<Boolean> assignRoles(@PathVariable Long id, @RequestBody UserAssignRoleDTO req) {
+
+        log.info("[UserController] 用户分配角色, userId={}, roleCount={}",
+                id, req.getRoleIds() == null ? 0 : req.getRoleIds().size());
+
+        try {
+            if (!userService.assignRoles(id, req.getRoleIds())) {
+                log.warn("[UserController] 用户不存在, userId={}", id);
+                return Result.fail(404, "用户不存在");
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("[UserController] 分配角色请求不合法, userId={}, reason={}", id, e.getMessage());
+            return Result.fail(400, e.getMessage());
+        }
+
+        return Result.success(true);
+    }
+
     /**
      * 测试接口：只要用户已登录即可访问
      *
@@ -74,4 +103,12 @@ public class UserController {
 
         return Result.success("You are authenticated.");
     }
+
+    /**
+     * 接收前端“用户分配角色”请求的 DTO
+     */
+    @Data
+    public static class UserAssignRoleDTO {
+        private List<Long> roleIds;
+    }
 }
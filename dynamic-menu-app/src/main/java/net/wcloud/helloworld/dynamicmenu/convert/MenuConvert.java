@@ -0,0 +1,106 @@
+package net.wcloud.helloworld.dynamicmenu.convert;
+
+import net.wcloud.helloworld.dynamicmenu.core.MenuDef;
+import net.wcloud.helloworld.dynamicmenu.entity.Menu;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuVO;
+import net.wcloud.helloworld.dynamicmenu.vo.RouteVO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * MenuConvert
+ *
+ * MapStruct 转换器：将持久层实体（Menu）/ 引擎菜单定义（MenuDef）转换为前端展示层对象（MenuVO）。
+ *
+ * 设计说明：
+ * ------------------------------------------------------------
+ * - MapStruct 是编译期间生成代码，不允许在接口内添加日志逻辑
+ * - 该接口仅负责字段映射，不包含任何业务逻辑（符合转换器职责单一原则）
+ * - 默认会将同名字段自动复制（id → id, parentId → parentId 等）
+ *
+ * 使用场景：
+ * ------------------------------------------------------------
+ * 1. 构建菜单树前，将 Menu / MenuDef 转成 MenuVO（前端使用）
+ * 2. RoleController / MenuService 中调用
+ * 3. 在需要提供不同视图模型时，可扩展新的 toXxx 方法
+ *
+ * 注意点：
+ * ------------------------------------------------------------
+ * - componentModel = "spring"：MapStruct 会生成 Spring Bean，可直接 @Autowired 注入
+ * - 若 MenuVO 中的字段比 Menu 多，需要在此接口中声明 @Mapping
+ * - MapStruct 内不支持 logger，如果需要调试映射，请在调用处添加日志，而不是这里
+ * - MenuVO 不可变，MapStruct 通过 Lombok 生成的 builder 构建
+ */
+@Mapper(componentModel = "spring")
+public interface MenuConvert {
+
+    /**
+     * 单个实体转换为 VO
+     *
+     * @param menu Menu 实体
+     * @return MenuVO 展示对象（implicit 默认为 false）
+     */
+    @Mapping(target = "implicit", constant = "false")
+    @Mapping(target = "childCount", ignore = true)
+    @Mapping(target = "children", ignore = true)
+    MenuVO toVO(Menu menu);
+
+    /**
+     * 菜单目录快照中的菜单转换为 VO
+     *
+     * @param menu 引擎菜单定义
+     * @return MenuVO 展示对象（implicit 默认为 false）
+     */
+    @Mapping(target = "implicit", constant = "false")
+    @Mapping(target = "childCount", ignore = true)
+    @Mapping(target = "children", ignore = true)
+    MenuVO toVO(MenuDef menu);
+
+    /**
+     * 菜单目录快照中的菜单转换为 VO，并指定是否为自动补齐的祖先节点
+     *
+     * @param menu     引擎菜单定义
+     * @param implicit 是否为自动补齐的祖先
+     * @return MenuVO 展示对象
+     */
+    @Mapping(target = "implicit", source = "implicit")
+    @Mapping(target = "childCount", ignore = true)
+    @Mapping(target = "children", ignore = true)
+    MenuVO toVO(MenuDef menu, Boolean implicit);
+
+    /**
+     * 实体 → 引擎菜单定义（RBAC 引擎加载菜单目录时使用）
+     *
+     * @param menu Menu 实体
+     * @return 不可变菜单定义（不含创建 / 更新时间）
+     */
+    MenuDef toDef(Menu menu);
+
+    /**
+     * 批量转换（List<Menu> → List<MenuDef>）
+     *
+     * @param list Menu 实体列表
+     * @return 菜单定义列表
+     */
+    List<MenuDef> toDefList(List<Menu> list);
+
+    /**
+     * 批量转换（List<Menu> → List<MenuVO>）
+     *
+     * @param list Menu 实体列表
+     * @return VO 列表
+     */
+    List<MenuVO> toVOList(List<Menu> list);
+
+    /**
+     * 节点 → 路由表条目
+     *
+     * @param vo     菜单节点
+     * @param hidden 自身或任一祖先是否隐藏
+     * @return 路由
+     */
+    @Mapping(target = "hidden", source = "hidden")
+    RouteVO toRoute(MenuVO vo, boolean hidden);
+}
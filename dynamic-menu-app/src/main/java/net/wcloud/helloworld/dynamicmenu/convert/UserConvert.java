@@ -3,6 +3,7 @@ package net.wcloud.helloworld.dynamicmenu.convert;
 import net.wcloud.helloworld.dynamicmenu.entity.User;
 import net.wcloud.helloworld.dynamicmenu.vo.UserVO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,7 +47,12 @@ public interface UserConvert {
      * - 同名字段自动复制
      * - 不同名字段需手动用 @Mapping 注解（本项目暂不需要）
      * - VO 中缺少的字段自动忽略（如 password）
+     * - 角色 / 权限 / 菜单不在 User 中，由 toVO(user, roleCodes, ...) 或调用方另行填充，这里显式忽略
      */
+    @Mapping(target = "roleCodes", ignore = true)
+    @Mapping(target = "roleNames", ignore = true)
+    @Mapping(target = "permissions", ignore = true)
+    @Mapping(target = "menus", ignore = true)
     UserVO toVO(User user);
 
     /**
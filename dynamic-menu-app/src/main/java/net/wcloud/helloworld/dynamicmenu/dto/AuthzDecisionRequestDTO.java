@@ -0,0 +1,39 @@
+package net.wcloud.helloworld.dynamicmenu.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量权限判定请求（POST /api/authz/decisions）
+ *
+ * 两种形式（二选一，同时给出时以 pairs 为准）：
+ * ------------------------------------------------------------
+ * 1. 单个主体 + 多个权限：{"userId": 1, "perms": ["sys:user:list", "sys:user:add"]}
+ * 2. 多个 (主体, 权限) 对：{"pairs": [{"userId": 1, "perm": "sys:user:list"}, ...]}
+ *
+ * 结果按请求顺序逐位返回（见 AuthzDecisionVO）
+ */
+@Data
+public class AuthzDecisionRequestDTO {
+
+    /** 形式 1：主体（用户 ID） */
+    private Long userId;
+
+    /** 形式 1：权限标识 */
+    private List<String> perms;
+
+    /** 形式 2：(主体, 权限) 对 */
+    private List<Pair> pairs;
+
+    /**
+     * 单个 (主体, 权限)
+     */
+    @Data
+    public static class Pair {
+
+        private Long userId;
+
+        private String perm;
+    }
+}
@@ -0,0 +1,51 @@
+package net.wcloud.helloworld.dynamicmenu.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RBAC 授权快照（供其他服务在本地做权限判定）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - version 与 /api/menu/delta 的版本号同源（AuthzChangeRing.safeVersion），
+ * 客户端携带已持有的版本号请求，未变化时 changed = false，不返回 roles / userRoles
+ * - 角色的 perms 与登录主体的权限标识同一口径（UserMapper.listPermissionsByUserId）：
+ * 授权菜单中非空的 perms，菜单自身及全部祖先都已启用，去重
+ * - 用户状态变化不推进版本号，所以 disabledUsers 每次都返回（含 changed = false），
+ * 服务端按 app.authz.cache-ttl-seconds 重新读取（DisabledUserCache），与登录主体缓存的生效延迟一致
+ * - 客户端：dynamic-menu-spring-boot-starter（DynamicMenuAuthzSnapshot）
+ */
+@Data
+public class AuthzSnapshotDTO {
+
+    /** 快照版本号 */
+    private long version;
+
+    /** 相对客户端持有的版本是否有变化（false 时其余字段为空） */
+    private boolean changed;
+
+    /** roleId → 角色编码 + 权限标识 */
+    private Map<Long, RoleGrant> roles;
+
+    /** userId → 角色 ID（没有角色的用户不出现） */
+    private Map<Long, List<Long>> userRoles;
+
+    /** 被禁用（status 不是 1）的用户 ID（升序；changed = false 时也返回） */
+    private List<Long> disabledUsers;
+
+    /**
+     * 单个角色的授权
+     */
+    @Data
+    public static class RoleGrant {
+
+        /** 角色编码（同时作为 GrantedAuthority） */
+        private String roleCode;
+
+        /** 权限标识（升序，去重） */
+        private List<String> perms;
+    }
+}
@@ -41,4 +41,10 @@ public class LoginRequestDTO {
      */
     @NotBlank(message = "密码不能为空")
     private String password;
+
+    /**
+     * 是否随登录返回完整菜单树与权限（可选，默认只返回摘要）
+     * 兼容尚未改为按摘要拉取 /api/auth/menus 的老客户端
+     */
+    private Boolean includeMenus;
 }
@@ -14,8 +14,9 @@ import java.util.List;
  * 登录成功后，API 返回以下信息：
  * 1. token → 客户端存储，用于后续请求认证
  * 2. 基本用户信息 → userId / username / nickname
- * 3. 用户菜单树 → 前端动态路由 & 菜单渲染
- * 4. 权限标识列表 → 前端按钮级权限控制（v-if / disable）
+ * 3. 菜单 / 权限摘要 → 与本地缓存的摘要不一致时，再调用
+ * GET /api/auth/menus、GET /api/auth/permissions 拉取（支持 ETag）
+ * 4. 用户菜单树、权限标识列表 → 仅请求 includeMenus = true 时返回
  *
  * 安全说明：
  * ------------------------------------------------------------
@@ -39,9 +40,15 @@ public class LoginResponseDTO {
     private String username;
     private String nickname;
 
-    /** 当前用户可访问的菜单树（用于左侧菜单 / 路由） */
+    /** 菜单树摘要（与 GET /api/auth/menus 的 ETag 一致） */
+    private String menuHash;
+
+    /** 权限标识摘要（与 GET /api/auth/permissions 的 ETag 一致） */
+    private String permissionHash;
+
+    /** 当前用户可访问的菜单树（用于左侧菜单 / 路由；仅 includeMenus = true 时返回） */
     private List<MenuVO> menus;
 
-    /** 当前用户拥有的权限列表（如：sys:user:list） */
+    /** 当前用户拥有的权限列表（如：sys:user:list；仅 includeMenus = true 时返回） */
     private List<String> permissions;
 }
@@ -0,0 +1,26 @@
+package net.wcloud.helloworld.dynamicmenu.dto;
+
+import lombok.Data;
+
+/**
+ * RBAC 关联校验和（对账用查询结果）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 按 id（roleId 或 userId）分组，对关联 ID 集合计算：
+ * cnt = 元素个数
+ * checksum = BIT_XOR(CRC32(关联 ID))
+ * - 与顺序无关，内存侧用同样算法计算后直接比较（见 AuthzReconciler）
+ */
+@Data
+public class RbacChecksumDTO {
+
+    /** 分组 ID（roleId / userId） */
+    private Long id;
+
+    /** 关联元素个数 */
+    private Long cnt;
+
+    /** 关联 ID 的 CRC32 异或值 */
+    private Long checksum;
+}
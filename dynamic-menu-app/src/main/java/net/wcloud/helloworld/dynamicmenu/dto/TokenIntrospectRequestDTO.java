@@ -0,0 +1,22 @@
+package net.wcloud.helloworld.dynamicmenu.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量 token 内省请求（POST /api/auth/introspect）
+ *
+ * 示例：{"tokens": ["eyJhbGciOiJIUzI1NiJ9...", "eyJhbGciOiJIUzI1NiJ9..."]}
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - token 不带前缀（带 "Bearer " 也可以，会自动去掉）
+ * - 结果按请求顺序返回，单批上限 app.jwt.introspect-max-batch
+ */
+@Data
+public class TokenIntrospectRequestDTO {
+
+    /** 待内省的 token */
+    private List<String> tokens;
+}
@@ -0,0 +1,48 @@
+package net.wcloud.helloworld.dynamicmenu.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * AuthzChangeLog（RBAC 变更日志实体）
+ *
+ * 所属表：dynamicmenu_sys_authz_change_log
+ *
+ * 用途说明：
+ * ------------------------------------------------------------
+ * - 每次 RBAC 写操作在同一事务内追加一条记录（见 AuthzEventBus）
+ * - 各节点按 id 递增轮询（AuthzChangeLogTailer），在本地重放失效事件
+ * - 不依赖 Redis / Kafka 等外部消息中间件即可实现多节点缓存一致
+ *
+ * 字段说明：
+ * ------------------------------------------------------------
+ * id 变更序号（自增，单调递增）
+ * eventType 事件类型（AuthzEvent 实现类的简单类名）
+ * payload 事件内容（JSON）
+ * originNode 产生该变更的节点 ID（本节点的记录已在提交后直接分发，无需重放）
+ * createTime 创建时间（数据库默认值）
+ */
+@Data
+@TableName("dynamicmenu_sys_authz_change_log")
+public class AuthzChangeLog {
+
+    /** 变更序号（自增） */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /** 事件类型 */
+    private String eventType;
+
+    /** 事件内容（JSON） */
+    private String payload;
+
+    /** 产生该变更的节点 ID */
+    private String originNode;
+
+    /** 创建时间（数据库默认值） */
+    private LocalDateTime createTime;
+}
@@ -24,6 +24,7 @@ import java.time.LocalDateTime;
  * roleCode 角色编码（如：ROLE_ADMIN，必须以 ROLE_ 开头）
  * roleName 角色名称（如：管理员）
  * status 状态（1启用，0禁用）
+ * version 乐观锁版本号（跨节点并发写保护，见 RoleServiceImpl）
  * createTime 创建时间（自动填充）
  * updateTime 更新时间（自动填充）
  *
@@ -58,6 +59,14 @@ public class Role {
     /** 状态：1-启用；0-禁用 */
     private Integer status;
 
+    /**
+     * 乐观锁版本号
+     * - updateById 时由 OptimisticLockerInnerInterceptor 自动追加 version 条件并 +1
+     * - 角色授权菜单时同样会 +1（见 RoleMapper.bumpVersion）
+     */
+    @Version
+    private Integer version;
+
     /** 创建时间（自动填充） */
     @TableField(fill = FieldFill.INSERT)
     private LocalDateTime createTime;
@@ -0,0 +1,42 @@
+package net.wcloud.helloworld.dynamicmenu.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * RoleMenu（角色菜单关联实体）
+ *
+ * 所属表：dynamicmenu_sys_role_menu
+ *
+ * 用途说明：
+ * ------------------------------------------------------------
+ * - 角色与菜单多对多关系的中间表
+ * - 主要用于一次性加载内存中的“角色 → 菜单”索引（RoleMenuIndex）
+ *
+ * 字段说明：
+ * ------------------------------------------------------------
+ * id 主键 ID（自增）
+ * roleId 角色 ID
+ * menuId 菜单 ID
+ * createTime 创建时间
+ */
+@Data
+@TableName("dynamicmenu_sys_role_menu")
+public class RoleMenu {
+
+    /** 主键 ID（自增） */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /** 角色 ID */
+    private Long roleId;
+
+    /** 菜单 ID */
+    private Long menuId;
+
+    /** 创建时间（插入时自动填充） */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,42 @@
+package net.wcloud.helloworld.dynamicmenu.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * UserRole（用户角色关联实体）
+ *
+ * 所属表：dynamicmenu_sys_user_role
+ *
+ * 用途说明：
+ * ------------------------------------------------------------
+ * - 用户与角色多对多关系的中间表
+ * - 主要用于构建“角色 → 用户”反向索引（RoleUserIndex）和用户授权角色
+ *
+ * 字段说明：
+ * ------------------------------------------------------------
+ * id 主键 ID（自增）
+ * userId 用户 ID
+ * roleId 角色 ID
+ * createTime 创建时间
+ */
+@Data
+@TableName("dynamicmenu_sys_user_role")
+public class UserRole {
+
+    /** 主键 ID（自增） */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /** 用户 ID */
+    private Long userId;
+
+    /** 角色 ID */
+    private Long roleId;
+
+    /** 创建时间（插入时自动填充） */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+}
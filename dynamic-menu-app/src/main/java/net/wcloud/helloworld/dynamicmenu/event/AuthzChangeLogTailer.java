@@ -0,0 +1,220 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.config.AuthzProperties;
+import net.wcloud.helloworld.dynamicmenu.entity.AuthzChangeLog;
+import net.wcloud.helloworld.dynamicmenu.mapper.AuthzChangeLogMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RBAC 变更日志跟踪器（多节点缓存一致性）
+ *
+ * 工作方式：
+ * ------------------------------------------------------------
+ * 1. 启动后首次轮询：以空洞宽限期之前的最大 id 为起点，并在本地做一次全量重同步；
+ * 宽限期内的变更随后照常重放（失效操作可重复执行），仍未提交的 id 按空洞等待
+ * 2. 之后每隔 changeLogPollIntervalMs 读取 id > watermark 的新变更
+ * 3. 其他节点产生的变更：反序列化后交给 AuthzEventBus 在本地分发（失效缓存）
+ * 本节点产生的变更：提交后已直接分发，这里只推进序号
+ *
+ * 空洞处理：
+ * ------------------------------------------------------------
+ * - 自增 id 在 INSERT 时分配、在 COMMIT 时可见，
+ * 因此可能先看到 id=11 再看到 id=10（10 所在事务提交较晚）
+ * - watermark 只沿“连续已处理”的 id 推进；比 watermark 大的已处理 id 记在 applied 中
+ * - 空洞超过 changeLogGapGraceSeconds 仍未出现，视为事务已回滚（或已被清理），
+ * 跳过并触发一次本地全量重同步，宁可多失效也不漏失效
+ *
+ * 验证方式：
+ * ------------------------------------------------------------
+ * - 同一台机器以不同端口启动两个实例（--server.port=8081），
+ * 在一个实例上修改角色授权，另一个实例的 /api/auth/me 在一个轮询周期内生效
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthzChangeLogTailer {
+
+    /** 空洞区间超过该长度时不再逐个等待，直接全量重同步 */
+    private static final long MAX_TRACKED_GAP = 100_000;
+
+    /** 每批清理条数 */
+    private static final int CLEANUP_BATCH = 5_000;
+
+    private final AuthzChangeLogMapper changeLogMapper;
+
+    private final AuthzEventBus authzEventBus;
+
+    private final AuthzProperties authzProperties;
+
+    /** 已连续处理到的 id，-1 表示尚未初始化 */
+    private volatile long watermark = -1;
+
+    /** 大于 watermark 且已处理的 id */
+    private final TreeSet<Long> applied = new TreeSet<>();
+
+    /** 大于 watermark 且尚未出现的 id → 首次发现空洞的时间（nanoTime） */
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+
+    /**
+     * 当前节点已连续应用到的变更序号（尚未初始化时返回 0）
+     */
+    public long currentVersion() {
+        return Math.max(watermark, 0);
+    }
+
+    /**
+     * 定时轮询变更日志
+     */
+    @Scheduled(fixedDelayString = "${app.authz.change-log-poll-interval-ms:1000}",
+            initialDelayString = "${app.authz.change-log-poll-interval-ms:1000}")
+    public void poll() {
+        if (!authzProperties.isChangeLogEnabled()) {
+            return;
+        }
+        try {
+            pollOnce();
+        } catch (Exception e) {
+            log.warn("[AuthzChangeLogTailer] 轮询变更日志失败, watermark={}, error={}", watermark, e.getMessage());
+        }
+    }
+
+    /**
+     * 定时清理过期变更日志
+     */
+    @Scheduled(fixedDelay = 3_600_000, initialDelay = 600_000)
+    public void cleanup() {
+        if (!authzProperties.isChangeLogEnabled()) {
+            return;
+        }
+        try {
+            LocalDateTime before = LocalDateTime.now().minusHours(authzProperties.getChangeLogRetentionHours());
+            int total = 0;
+            int rows;
+            do {
+                rows = changeLogMapper.deleteBefore(before, CLEANUP_BATCH);
+                total += rows;
+            } while (rows == CLEANUP_BATCH);
+
+            if (total > 0) {
+                log.info("[AuthzChangeLogTailer] 已清理过期变更日志, rows={}, before={}", total, before);
+            }
+        } catch (Exception e) {
+            log.warn("[AuthzChangeLogTailer] 清理变更日志失败, error={}", e.getMessage());
+        }
+    }
+
+    synchronized void pollOnce() {
+        if (watermark < 0) {
+            // 不能从当前最大 id 开始：更小的 id 可能属于尚未提交的事务，提交后会被永久跳过
+            watermark = changeLogMapper.selectMaxIdCreatedBefore(authzProperties.getChangeLogGapGraceSeconds());
+            log.info("[AuthzChangeLogTailer] 开始跟踪变更日志, nodeId={}, watermark={}",
+                    authzEventBus.nodeId(), watermark);
+            authzEventBus.dispatch(new FullResyncEvent("开始跟踪变更日志"));
+            authzEventBus.changeRing().advanceTo(watermark);
+            return;
+        }
+
+        List<AuthzChangeLog> rows = changeLogMapper.listAfter(watermark, authzProperties.getChangeLogBatchSize());
+        long now = System.nanoTime();
+
+        for (AuthzChangeLog row : rows) {
+            long id = row.getId();
+            if (applied.contains(id)) {
+                continue;
+            }
+            apply(row);
+            applied.add(id);
+            gaps.remove(id);
+        }
+
+        trackGaps(now);
+        advance(now);
+        authzEventBus.changeRing().advanceTo(watermark);
+    }
+
+    /**
+     * 记录 (watermark, 最大已处理 id) 之间尚未出现的 id
+     */
+    private void trackGaps(long now) {
+        if (applied.isEmpty()) {
+            return;
+        }
+
+        long maxApplied = applied.last();
+        if (maxApplied - watermark > MAX_TRACKED_GAP) {
+            log.warn("[AuthzChangeLogTailer] 变更序号跨度过大, 直接跳到最新位置, watermark={}, maxApplied={}",
+                    watermark, maxApplied);
+            watermark = maxApplied;
+            applied.clear();
+            gaps.clear();
+            authzEventBus.dispatch(new FullResyncEvent("变更序号跨度过大"));
+            return;
+        }
+
+        for (long id = watermark + 1; id < maxApplied; id++) {
+            if (!applied.contains(id)) {
+                gaps.putIfAbsent(id, now);
+            }
+        }
+    }
+
+    /**
+     * 沿连续 id 推进 watermark；超时空洞直接跳过
+     */
+    private void advance(long now) {
+        long graceNanos = TimeUnit.SECONDS.toNanos(authzProperties.getChangeLogGapGraceSeconds());
+        int skipped = 0;
+
+        while (true) {
+            long next = watermark + 1;
+            if (applied.remove(next)) {
+                watermark = next;
+                continue;
+            }
+            Long since = gaps.get(next);
+            if (since != null && now - since > graceNanos) {
+                gaps.remove(next);
+                watermark = next;
+                skipped++;
+                continue;
+            }
+            break;
+        }
+
+        if (skipped > 0) {
+            log.warn("[AuthzChangeLogTailer] 跳过超时未出现的变更序号, count={}, watermark={}", skipped, watermark);
+            authzEventBus.dispatch(new FullResyncEvent("变更序号空洞超时"));
+        }
+    }
+
+    private void apply(AuthzChangeLog row) {
+        if (authzEventBus.nodeId().equals(row.getOriginNode())) {
+            log.debug("[AuthzChangeLogTailer] 本节点变更, 已在提交后分发, id={}", row.getId());
+            return;
+        }
+
+        try {
+            AuthzEvent event = authzEventBus.decode(row);
+            if (event == null) {
+                log.warn("[AuthzChangeLogTailer] 未知事件类型, 做全量重同步, id={}, type={}", row.getId(), row.getEventType());
+                authzEventBus.dispatch(new FullResyncEvent("未知事件类型 " + row.getEventType()));
+                return;
+            }
+
+            log.debug("[AuthzChangeLogTailer] 重放远端变更, id={}, origin={}, event={}", row.getId(), row.getOriginNode(), event);
+            authzEventBus.dispatch(event, row.getId());
+        } catch (Exception e) {
+            log.warn("[AuthzChangeLogTailer] 变更解析失败, 做全量重同步, id={}, error={}", row.getId(), e.getMessage());
+            authzEventBus.dispatch(new FullResyncEvent("变更解析失败"));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.config.AuthzProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 最近 RBAC 变更集环形缓冲（增量菜单同步用）
+ *
+ * 版本号：
+ * ------------------------------------------------------------
+ * - 使用变更日志 id（dynamicmenu_sys_authz_change_log.id）作为全局单调版本号，
+ * 所有节点看到的是同一个序列，客户端切换节点也不会错乱
+ * - 对外版本号 safeVersion() = 已连续应用的位置（跟踪器 watermark），
+ * 并且不超过本节点尚未提交完成的本地变更，保证 ≤ 该版本的变更都已记录
+ *
+ * 记录内容：
+ * ------------------------------------------------------------
+ * - 每条变更记录“涉及的菜单 ID”；无法精确描述的变更（删除角色、用户换角色、
+ * 菜单目录整体重建）记为“全部”，查询到这类变更时由调用方返回全量快照
+ * - 用户角色变化只影响该用户，其他用户查询时忽略
+ *
+ * 回退到全量：
+ * ------------------------------------------------------------
+ * - 环满时淘汰最旧的变更，floor 记录被淘汰的最大版本号，since < floor 时返回 null
+ * - 全量重同步后清空，floor 置为“待定”，
+ * 直到跟踪器下一次推进 watermark 时才确定
+ */
+@Slf4j
+@Component
+public class AuthzChangeRing {
+
+    /** floor 待定（清空后尚未得知当前 watermark） */
+    private static final long FLOOR_PENDING = Long.MAX_VALUE;
+
+    private final AuthzProperties authzProperties;
+
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+
+    /** 本节点已写入变更日志、但事务尚未结束的序号 */
+    private final TreeSet<Long> pending = new TreeSet<>();
+
+    /** since 小于该值时无法给出增量 */
+    private long floor;
+
+    /** 跟踪器最近一次告知的 watermark，-1 表示尚未开始跟踪 */
+    private long watermark = -1;
+
+    /** 已记录的最大序号（单节点未开启变更日志跟踪时作为版本号） */
+    private long maxSeq;
+
+    public AuthzChangeRing(AuthzProperties authzProperties) {
+        this.authzProperties = authzProperties;
+    }
+
+    /**
+     * 一条变更集
+     *
+     * @param seq     变更日志序号
+     * @param menuIds 涉及的菜单 ID
+     * @param all     是否无法精确描述（查询到时返回全量）
+     * @param userId  只影响该用户（null 表示影响所有用户）
+     */
+    private record Entry(long seq, Set<Long> menuIds, boolean all, Long userId) {
+    }
+
+    /**
+     * 记录一条变更（本地事务内调用时 pending = true，事务结束后需调用 complete）
+     *
+     * @param seq     变更日志序号
+     * @param event   变更事件
+     * @param pending 是否为尚未提交的本地变更
+     */
+    public synchronized void record(long seq, AuthzEvent event, boolean pending) {
+        if (pending) {
+            this.pending.add(seq);
+        }
+        maxSeq = Math.max(maxSeq, seq);
+
+        Entry entry = toEntry(seq, event);
+        if (entry == null) {
+            return;
+        }
+        entries.addLast(entry);
+
+        int capacity = Math.max(1, authzProperties.getDeltaRingSize());
+        while (entries.size() > capacity) {
+            Entry evicted = entries.removeFirst();
+            if (floor != FLOOR_PENDING) {
+                floor = Math.max(floor, evicted.seq());
+            }
+        }
+    }
+
+    /**
+     * 本地事务结束（提交或回滚）
+     */
+    public synchronized void complete(long seq) {
+        pending.remove(seq);
+    }
+
+    /**
+     * 跟踪器推进 watermark 后调用
+     */
+    public synchronized void advanceTo(long watermark) {
+        this.watermark = watermark;
+        if (floor == FLOOR_PENDING) {
+            floor = watermark;
+        }
+    }
+
+    /**
+     * 清空（全量重同步）
+     */
+    public synchronized void reset() {
+        entries.clear();
+        floor = watermark < 0 ? maxSeq : FLOOR_PENDING;
+        log.info("[AuthzChangeRing] 变更集已清空, 落后的客户端将获取全量快照");
+    }
+
+    /**
+     * 对外版本号：≤ 该版本的变更都已记录
+     */
+    public synchronized long safeVersion() {
+        long version = watermark < 0 ? maxSeq : watermark;
+        if (!pending.isEmpty()) {
+            version = Math.min(version, pending.first() - 1);
+        }
+        return Math.max(version, 0);
+    }
+
+    /**
+     * 已记录的最大序号（可能尚未对外可见）
+     */
+    public synchronized long latestSeq() {
+        return maxSeq;
+    }
+
+    /**
+     * 查询 (since, upTo] 之间某个用户涉及的菜单
+     *
+     * @param since  客户端持有的版本号
+     * @param upTo   本次返回的版本号（safeVersion）
+     * @param userId 用户 ID
+     * @return 涉及的菜单 ID；无法给出增量（太旧 / 含全量变更）时返回 null
+     */
+    public synchronized Set<Long> touchedSince(long since, long upTo, Long userId) {
+        if (since < floor) {
+            return null;
+        }
+
+        Set<Long> touched = new HashSet<>();
+        for (Entry e : entries) {
+            if (e.seq() <= since || e.seq() > upTo) {
+                continue;
+            }
+            if (e.userId() != null && !e.userId().equals(userId)) {
+                continue;
+            }
+            if (e.all()) {
+                return null;
+            }
+            touched.addAll(e.menuIds());
+        }
+        return touched;
+    }
+
+    private Entry toEntry(long seq, AuthzEvent event) {
+        if (event instanceof RoleMenusChangedEvent e) {
+            Set<Long> ids = new HashSet<>(e.added());
+            ids.addAll(e.removed());
+            return new Entry(seq, ids, false, null);
+        }
+        if (event instanceof RoleChangedEvent e) {
+            // 角色改名等不影响菜单；删除角色时已无法得知该角色原有菜单
+            return e.deleted() ? new Entry(seq, Set.of(), true, null) : null;
+        }
+        if (event instanceof UserRolesChangedEvent e) {
+            return new Entry(seq, Set.of(), true, e.userId());
+        }
+        if (event instanceof MenuCatalogChangedEvent e) {
+            return new Entry(seq, Set.copyOf(e.menuIds()), e.menuIds().isEmpty(), null);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,23 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+/**
+ * RBAC 变更事件（失效总线上传递的消息类型）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 所有事件都在事务提交后才分发给监听者（见 AuthzEventBus）
+ * - 事件只描述“哪里变了”，不携带变更后的数据，监听者按需重新加载
+ * - 监听者通过 AuthzEventBus.affectedUsers 计算受影响用户，只失效对应条目
+ *
+ * 事件类型：
+ * ------------------------------------------------------------
+ * - RoleMenusChangedEvent ：角色授权菜单变化（增 / 删）
+ * - RoleChangedEvent ：角色本身新增 / 修改 / 删除
+ * - UserRolesChangedEvent ：用户绑定的角色变化
+ * - MenuCatalogChangedEvent：菜单目录（菜单表）变化
+ * - FullResyncEvent ：本地缓存需要整体重建（仅本节点内分发）
+ */
+public sealed interface AuthzEvent
+        permits RoleMenusChangedEvent, RoleChangedEvent, UserRolesChangedEvent, MenuCatalogChangedEvent,
+        FullResyncEvent {
+}
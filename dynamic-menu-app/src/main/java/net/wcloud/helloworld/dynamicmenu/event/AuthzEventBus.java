@@ -0,0 +1,242 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.config.AuthzProperties;
+import net.wcloud.helloworld.dynamicmenu.entity.AuthzChangeLog;
+import net.wcloud.helloworld.dynamicmenu.mapper.AuthzChangeLogMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * RBAC 缓存失效总线（进程内）
+ *
+ * 职责：
+ * ------------------------------------------------------------
+ * 1. 接收写操作发布的 AuthzEvent
+ * 2. 在同一事务内追加一条变更日志（dynamicmenu_sys_authz_change_log），
+ * 其他节点轮询该表在本地重放（见 AuthzChangeLogTailer）
+ * 3. 若当前处于事务中，则推迟到事务提交之后再分发（回滚则丢弃）
+ * 4. 通过 Spring ApplicationEvent 分发给监听者（@EventListener(AuthzEvent 子类型)）
+ * 5. 持有 角色 → 用户 反向索引，供监听者计算受影响用户
+ * 6. 持有 角色 → 菜单 索引，分发前先刷新，监听者读到的是新授权
+ * 7. 持有菜单目录快照，菜单目录变化时分发前先丢弃
+ * 8. 持有最近变更集环形缓冲（按变更日志序号），供增量菜单同步使用
+ *
+ * 使用方式：
+ * ------------------------------------------------------------
+ * - 写方：在事务内调用 publish(new RoleMenusChangedEvent(...))
+ * - 读方：监听事件后调用 affectedUsers(event) 只失效对应用户的缓存；
+ * affectsAllUsers(event) 为 true 时才需要整体清空
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthzEventBus {
+
+    /** 事件类型名 → 事件类（由 AuthzEvent 的 permits 列表生成） */
+    private static final Map<String, Class<?>> EVENT_TYPES = Arrays.stream(AuthzEvent.class.getPermittedSubclasses())
+            .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, Function.identity()));
+
+    private final ApplicationEventPublisher publisher;
+
+    private final RoleUserIndex roleUserIndex;
+
+    private final RoleMenuIndex roleMenuIndex;
+
+    private final MenuCatalog menuCatalog;
+
+    private final AuthzChangeRing changeRing;
+
+    private final AuthzChangeLogMapper changeLogMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final AuthzProperties authzProperties;
+
+    /**
+     * 发布事件（写入变更日志，事务提交后分发）
+     *
+     * 注意：变更日志写入失败会抛出异常，使业务事务一起回滚，
+     * 保证“数据已改但其他节点收不到通知”的情况不会发生
+     *
+     * @param event RBAC 变更事件
+     */
+    public void publish(AuthzEvent event) {
+        long seq = appendChangeLog(event);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            log.debug("[AuthzEventBus] 事务内发布事件, 提交后分发: {}", event);
+            // 提交前就记入变更集（回滚时多记一条无害），事务结束前不对外推进版本号
+            changeRing.record(seq, event, true);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event, -1);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    changeRing.complete(seq);
+                }
+            });
+        } else {
+            dispatch(event, seq);
+        }
+    }
+
+    /**
+     * 计算事件影响到的用户
+     *
+     * @param event RBAC 变更事件
+     * @return 受影响用户 ID；对 affectsAllUsers 为 true 的事件返回空集合
+     */
+    public Set<Long> affectedUsers(AuthzEvent event) {
+        if (event instanceof RoleMenusChangedEvent e) {
+            return roleUserIndex.usersOfRole(e.roleId());
+        }
+        if (event instanceof RoleChangedEvent e) {
+            return roleUserIndex.usersOfRole(e.roleId());
+        }
+        if (event instanceof UserRolesChangedEvent e) {
+            return Set.of(e.userId());
+        }
+        return Set.of();
+    }
+
+    /**
+     * 事件是否影响全部用户（如菜单目录变化）
+     */
+    public boolean affectsAllUsers(AuthzEvent event) {
+        return event instanceof MenuCatalogChangedEvent || event instanceof FullResyncEvent;
+    }
+
+    /** 角色 → 用户 反向索引 */
+    public RoleUserIndex roleUserIndex() {
+        return roleUserIndex;
+    }
+
+    /** 角色 → 菜单 索引 */
+    public RoleMenuIndex roleMenuIndex() {
+        return roleMenuIndex;
+    }
+
+    /** 菜单目录快照 */
+    public MenuCatalog menuCatalog() {
+        return menuCatalog;
+    }
+
+    /** 最近变更集 */
+    public AuthzChangeRing changeRing() {
+        return changeRing;
+    }
+
+    /**
+     * 分发事件，并在前后维护内存索引：
+     * - 用户角色变化：先刷新索引，监听者看到的是新角色
+     * - 角色授权变化：先刷新角色菜单，监听者重建缓存时读到的是新授权
+     * - 菜单目录变化：先丢弃目录快照，监听者重建缓存时重新加载
+     * - 角色删除：监听者先按旧索引找到受影响用户，分发后再移除
+     * - 变更集：按 seq 记录；只有全量重同步清空变更集
+     *
+     * @param event RBAC 变更事件
+     * @param seq   变更日志序号；-1 表示已在 publish 时记录，0 表示没有序号（仅全量重同步）
+     */
+    void dispatch(AuthzEvent event, long seq) {
+        if (event instanceof FullResyncEvent) {
+            changeRing.reset();
+        } else if (seq > 0) {
+            changeRing.record(seq, event, false);
+        }
+        if (event instanceof UserRolesChangedEvent e) {
+            roleUserIndex.refreshUser(e.userId());
+        }
+        if (event instanceof RoleMenusChangedEvent e) {
+            roleMenuIndex.refreshRole(e.roleId());
+        }
+        if (event instanceof RoleChangedEvent e && e.deleted()) {
+            roleMenuIndex.removeRole(e.roleId());
+        }
+        if (event instanceof MenuCatalogChangedEvent e) {
+            menuCatalog.invalidate(e.catalogVersion());
+        }
+        if (event instanceof FullResyncEvent) {
+            roleUserIndex.reset();
+            roleMenuIndex.reset();
+            menuCatalog.reset();
+        }
+
+        log.info("[AuthzEventBus] 分发 RBAC 变更事件: {}", event);
+        try {
+            publisher.publishEvent(event);
+        } catch (Exception ex) {
+            // 事务已提交，监听者异常不能影响写操作结果
+            log.error("[AuthzEventBus] 事件监听者处理失败, event={}, error={}", event, ex.getMessage(), ex);
+        }
+
+        if (event instanceof RoleChangedEvent e && e.deleted()) {
+            roleUserIndex.removeRole(e.roleId());
+        }
+    }
+
+    /**
+     * 反序列化变更日志中的事件
+     *
+     * @param row 变更日志记录
+     * @return 事件；类型未知（如新版本节点写入的新事件）返回 null
+     */
+    AuthzEvent decode(AuthzChangeLog row) throws JsonProcessingException {
+        Class<?> type = EVENT_TYPES.get(row.getEventType());
+        if (type == null) {
+            return null;
+        }
+        return (AuthzEvent) objectMapper.readValue(row.getPayload(), type);
+    }
+
+    /** 当前节点 ID */
+    String nodeId() {
+        return authzProperties.getNodeId();
+    }
+
+    /**
+     * 本地全量重同步，不写变更日志
+     *
+     * 说明：对账修复有具体的角色 / 用户，走 publish 取得变更日志序号，
+     * 这样只在变更集里记录一条增量，不会让所有客户端退回全量快照
+     */
+    void dispatch(FullResyncEvent event) {
+        dispatch(event, 0);
+    }
+
+    /**
+     * @return 变更日志 id（全量重同步事件不写日志，返回 0）
+     */
+    private long appendChangeLog(AuthzEvent event) {
+        if (event instanceof FullResyncEvent) {
+            return 0;
+        }
+
+        AuthzChangeLog row = new AuthzChangeLog();
+        row.setEventType(event.getClass().getSimpleName());
+        row.setOriginNode(authzProperties.getNodeId());
+        try {
+            row.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("RBAC 变更事件序列化失败: " + event, e);
+        }
+
+        changeLogMapper.insert(row);
+        log.debug("[AuthzEventBus] 已追加变更日志, id={}, type={}", row.getId(), row.getEventType());
+        return row.getId();
+    }
+}
@@ -0,0 +1,284 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.config.AuthzProperties;
+import net.wcloud.helloworld.dynamicmenu.dto.RbacChecksumDTO;
+import net.wcloud.helloworld.dynamicmenu.mapper.RoleMapper;
+import net.wcloud.helloworld.dynamicmenu.mapper.UserRoleMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * RBAC 内存状态对账器（anti-entropy）
+ *
+ * 背景：
+ * ------------------------------------------------------------
+ * - 事件失效是主要的一致性手段，但事件仍可能丢失（节点短暂断库、
+ * 变更日志被提前清理、绕过应用直接改库等），丢失后节点会一直使用旧授权
+ * - 对账器定期把内存索引与数据库比对，只修复不一致的条目
+ *
+ * 对账方式：
+ * ------------------------------------------------------------
+ * 1. 角色侧：MySQL 按 role_id 分组计算 COUNT + BIT_XOR(CRC32(menu_id))，
+ * 与 RoleMenuIndex 中同一角色的菜单集合用同样算法算出的值比较
+ * 2. 用户侧：按 user_id 分组计算角色集合校验和，与 RoleUserIndex 比较
+ * 3. 键集分页（id > 上一批最后一个 id，LIMIT reconcileChunkSize），
+ * 每批只是一次短的索引范围扫描，不会长时间占用连接或锁
+ * 4. 校验和不一致的条目再读一次明细确认（排除对账期间恰好提交的写入），
+ * 确认后发布对应事件：刷新索引 + 失效受影响用户缓存
+ * 5. 修复事件与普通写操作一样写入变更日志，取得真实序号：
+ * 增量菜单同步只多出一条变更（带实际涉及的菜单 ID），不会清空变更集；
+ * 其他节点重放时按数据库重新加载，结果不变
+ *
+ * 指标：
+ * ------------------------------------------------------------
+ * - 每轮结果见 lastReport()，累计值见 totals()，漂移时输出 warn 日志
+ * - 索引尚未加载（还没有人使用过）时跳过对应一侧，内存里没有可漂移的数据
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthzReconciler {
+
+    /** 报告中保留的漂移 ID 上限 */
+    private static final int MAX_REPORTED_IDS = 100;
+
+    private final RoleMapper roleMapper;
+
+    private final UserRoleMapper userRoleMapper;
+
+    private final AuthzEventBus authzEventBus;
+
+    private final AuthzProperties authzProperties;
+
+    private final AtomicLong totalRuns = new AtomicLong();
+    private final AtomicLong totalRolesChecked = new AtomicLong();
+    private final AtomicLong totalUsersChecked = new AtomicLong();
+    private final AtomicLong totalRoleDrift = new AtomicLong();
+    private final AtomicLong totalUserDrift = new AtomicLong();
+    private final AtomicLong totalFailures = new AtomicLong();
+
+    private volatile ReconcileReport lastReport;
+
+    /**
+     * 单轮对账结果
+     *
+     * @param startTime     开始时间
+     * @param durationMs    耗时（毫秒）
+     * @param rolesChecked  比对的角色数（-1 表示索引未加载，已跳过）
+     * @param roleDrift     修复的角色数
+     * @param usersChecked  比对的用户数（-1 表示索引未加载，已跳过）
+     * @param userDrift     修复的用户数
+     * @param driftRoleIds  修复的角色 ID（最多记录 MAX_REPORTED_IDS 个）
+     * @param driftUserIds  修复的用户 ID（最多记录 MAX_REPORTED_IDS 个）
+     */
+    public record ReconcileReport(LocalDateTime startTime, long durationMs,
+                                  long rolesChecked, long roleDrift,
+                                  long usersChecked, long userDrift,
+                                  List<Long> driftRoleIds, List<Long> driftUserIds) {
+    }
+
+    /**
+     * 定时对账
+     */
+    @Scheduled(fixedDelayString = "${app.authz.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.authz.reconcile-interval-ms:300000}")
+    public void scheduledReconcile() {
+        if (!authzProperties.isReconcileEnabled()) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            totalFailures.incrementAndGet();
+            log.warn("[AuthzReconciler] 对账失败, error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 立即执行一轮对账
+     *
+     * @return 本轮结果
+     */
+    public synchronized ReconcileReport reconcile() {
+        LocalDateTime startTime = LocalDateTime.now();
+        long start = System.currentTimeMillis();
+        int chunk = Math.max(1, authzProperties.getReconcileChunkSize());
+
+        RoleMenuIndex roleMenuIndex = authzEventBus.roleMenuIndex();
+        RoleUserIndex roleUserIndex = authzEventBus.roleUserIndex();
+
+        List<Long> driftRoles = new ArrayList<>();
+        long rolesChecked = -1;
+        if (roleMenuIndex.isLoaded()) {
+            rolesChecked = scan(roleMapper::listMenuChecksums, roleMenuIndex.roleIds(),
+                    roleMenuIndex::menusOfRole, chunk, driftRoles);
+            driftRoles.removeIf(roleId -> !repairRole(roleId, roleMenuIndex));
+        }
+
+        List<Long> driftUsers = new ArrayList<>();
+        long usersChecked = -1;
+        if (roleUserIndex.isLoaded()) {
+            usersChecked = scan(userRoleMapper::listRoleChecksums, roleUserIndex.userIds(),
+                    roleUserIndex::rolesOfUser, chunk, driftUsers);
+            driftUsers.removeIf(userId -> !repairUser(userId, roleUserIndex));
+        }
+
+        ReconcileReport report = new ReconcileReport(startTime, System.currentTimeMillis() - start,
+                rolesChecked, driftRoles.size(), usersChecked, driftUsers.size(),
+                List.copyOf(driftRoles.subList(0, Math.min(driftRoles.size(), MAX_REPORTED_IDS))),
+                List.copyOf(driftUsers.subList(0, Math.min(driftUsers.size(), MAX_REPORTED_IDS))));
+
+        totalRuns.incrementAndGet();
+        totalRolesChecked.addAndGet(Math.max(rolesChecked, 0));
+        totalUsersChecked.addAndGet(Math.max(usersChecked, 0));
+        totalRoleDrift.addAndGet(driftRoles.size());
+        totalUserDrift.addAndGet(driftUsers.size());
+        lastReport = report;
+
+        if (driftRoles.isEmpty() && driftUsers.isEmpty()) {
+            log.info("[AuthzReconciler] 对账完成, 无漂移, rolesChecked={}, usersChecked={}, 耗时={}ms",
+                    rolesChecked, usersChecked, report.durationMs());
+        } else {
+            log.warn("[AuthzReconciler] 对账发现漂移并已修复, roleDrift={}, userDrift={}, roles={}, users={}, 耗时={}ms",
+                    driftRoles.size(), driftUsers.size(), report.driftRoleIds(), report.driftUserIds(),
+                    report.durationMs());
+        }
+        return report;
+    }
+
+    /** 最近一轮对账结果（尚未执行过返回 null） */
+    public ReconcileReport lastReport() {
+        return lastReport;
+    }
+
+    /** 累计指标 */
+    public Map<String, Long> totals() {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        totals.put("runs", totalRuns.get());
+        totals.put("failures", totalFailures.get());
+        totals.put("rolesChecked", totalRolesChecked.get());
+        totals.put("roleDrift", totalRoleDrift.get());
+        totals.put("usersChecked", totalUsersChecked.get());
+        totals.put("userDrift", totalUserDrift.get());
+        return totals;
+    }
+
+    /**
+     * 按键集分页逐批比对，收集校验和不一致的 ID
+     *
+     * 说明：
+     * ------------------------------------------------------------
+     * - 数据库中没有关联行的 ID 不会出现在查询结果里，
+     * 因此还要检查内存中落在本批区间 (after, 本批最大 id] 内、但数据库未返回的 ID
+     * - 最后一批（返回行数不足 chunk）的区间上界视为无穷大
+     *
+     * @param fetch    (afterId, limit) → 本批校验和
+     * @param memIds   内存中的全部 ID
+     * @param memState ID → 内存中的关联集合
+     * @param chunk    每批条数
+     * @param drift    输出：不一致的 ID
+     * @return 比对的 ID 数
+     */
+    private long scan(BiFunction<Long, Integer, List<RbacChecksumDTO>> fetch, Set<Long> memIds,
+            Function<Long, Set<Long>> memState, int chunk, List<Long> drift) {
+        long[] sortedMem = memIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        int memPos = 0;
+        long after = 0;
+        long checked = 0;
+
+        while (true) {
+            List<RbacChecksumDTO> rows = fetch.apply(after, chunk);
+            boolean last = rows.size() < chunk;
+            long upper = last ? Long.MAX_VALUE : rows.get(rows.size() - 1).getId();
+
+            Set<Long> seen = new HashSet<>();
+            for (RbacChecksumDTO row : rows) {
+                seen.add(row.getId());
+                Set<Long> mem = memState.apply(row.getId());
+                if (mem.size() != row.getCnt() || checksum(mem) != row.getChecksum()) {
+                    drift.add(row.getId());
+                }
+            }
+            checked += rows.size();
+
+            // 内存中有关联、数据库中已没有的 ID
+            while (memPos < sortedMem.length && sortedMem[memPos] <= upper) {
+                long id = sortedMem[memPos++];
+                if (id > after && !seen.contains(id)) {
+                    checked++;
+                    if (!memState.apply(id).isEmpty()) {
+                        drift.add(id);
+                    }
+                }
+            }
+
+            if (last) {
+                return checked;
+            }
+            after = upper;
+        }
+    }
+
+    /**
+     * 确认并修复角色菜单漂移
+     *
+     * @return true=确实不一致并已修复；false=复核时已一致（对账期间恰好有写入提交）
+     */
+    private boolean repairRole(Long roleId, RoleMenuIndex index) {
+        Set<Long> db = new HashSet<>(roleMapper.listMenuIdsByRoleId(roleId));
+        Set<Long> mem = index.menusOfRole(roleId);
+        if (db.equals(mem)) {
+            return false;
+        }
+
+        List<Long> added = db.stream().filter(m -> !mem.contains(m)).toList();
+        List<Long> removed = mem.stream().filter(m -> !db.contains(m)).toList();
+        log.warn("[AuthzReconciler] 角色菜单漂移, roleId={}, 缺少={}, 多余={}", roleId, added, removed);
+
+        authzEventBus.publish(new RoleMenusChangedEvent(roleId, added, removed));
+        return true;
+    }
+
+    /**
+     * 确认并修复用户角色漂移
+     *
+     * @return true=确实不一致并已修复；false=复核时已一致
+     */
+    private boolean repairUser(Long userId, RoleUserIndex index) {
+        Set<Long> db = new HashSet<>(userRoleMapper.listRoleIdsByUserId(userId));
+        Set<Long> mem = index.rolesOfUser(userId);
+        if (db.equals(mem)) {
+            return false;
+        }
+
+        log.warn("[AuthzReconciler] 用户角色漂移, userId={}, 数据库={}, 内存={}", userId, db, mem);
+
+        authzEventBus.publish(new UserRolesChangedEvent(userId));
+        return true;
+    }
+
+    /**
+     * 与 MySQL BIT_XOR(CRC32(id)) 相同的集合校验和
+     * （CRC32 对整数按十进制字符串计算）
+     */
+    static long checksum(Set<Long> ids) {
+        long x = 0;
+        CRC32 crc = new CRC32();
+        for (Long id : ids) {
+            crc.reset();
+            crc.update(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+            x ^= crc.getValue();
+        }
+        return x;
+    }
+}
@@ -0,0 +1,16 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+/**
+ * 全量重同步事件（仅本节点内分发，不写入变更日志）
+ *
+ * 触发场景：
+ * ------------------------------------------------------------
+ * - 节点开始跟踪变更日志时（此前构建的缓存可能已过期）
+ * - 变更日志出现超时未填补的空洞（可能漏掉了某条变更）
+ *
+ * 监听者收到后应整体丢弃本地 RBAC 缓存。
+ *
+ * @param reason 触发原因（日志用）
+ */
+public record FullResyncEvent(String reason) implements AuthzEvent {
+}
@@ -0,0 +1,53 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+import lombok.RequiredArgsConstructor;
+import net.wcloud.helloworld.dynamicmenu.core.CatalogSnapshot;
+import net.wcloud.helloworld.dynamicmenu.core.RbacEngine;
+import org.springframework.stereotype.Component;
+
+/**
+ * 菜单目录（RbacEngine 菜单目录快照的适配层）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 快照本身（祖先链 / 路径启用 / 页面 → 按钮 / 路由 → 页面 / 父 → 子 索引）
+ * 由 dynamic-menu-core 的 CatalogSnapshot 构建，数据来自 MybatisRbacLoader
+ * - 本类只把 AuthzEventBus 的事件转换为引擎的失效调用，调用方仍通过
+ * authzEventBus.menuCatalog().snapshot() 读取
+ *
+ * 加载与失效：
+ * ------------------------------------------------------------
+ * - 首次使用时一次性加载，并记录加载时的目录版本号
+ * - 菜单目录变化（MenuCatalogChangedEvent）/ 全量重同步时，
+ * 由 AuthzEventBus 在分发前丢弃快照，下次使用时重新加载；
+ * 快照版本号已不低于事件版本号时（如本节点提交后已重新加载）不再丢弃
+ */
+@Component
+@RequiredArgsConstructor
+public class MenuCatalog {
+
+    private final RbacEngine rbacEngine;
+
+    /**
+     * 当前快照（未加载时同步加载）
+     */
+    public CatalogSnapshot snapshot() {
+        return rbacEngine.catalog();
+    }
+
+    /**
+     * 丢弃快照，下次使用时重新加载
+     */
+    public void reset() {
+        rbacEngine.resetCatalog();
+    }
+
+    /**
+     * 菜单目录变化：快照版本号低于 catalogVersion（或版本未知）时丢弃
+     *
+     * @param catalogVersion 变化后的目录版本号，0 表示未知
+     */
+    public void invalidate(long catalogVersion) {
+        rbacEngine.invalidateCatalog(catalogVersion);
+    }
+}
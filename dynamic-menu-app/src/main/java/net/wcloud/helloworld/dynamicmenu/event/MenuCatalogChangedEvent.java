@@ -0,0 +1,22 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+import java.util.List;
+
+/**
+ * 菜单目录变化事件（菜单新增 / 修改 / 删除 / 排序 / 移动）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 菜单是所有用户共享的，因此该事件影响全部用户
+ * - catalogVersion 为写入后的菜单目录版本号（0 表示未知），
+ * 已经加载到该版本的缓存可以跳过失效
+ *
+ * @param menuIds        发生变化的菜单 ID
+ * @param catalogVersion 写入后的菜单目录版本号
+ */
+public record MenuCatalogChangedEvent(List<Long> menuIds, long catalogVersion) implements AuthzEvent {
+
+    public MenuCatalogChangedEvent {
+        menuIds = menuIds == null ? List.of() : List.copyOf(menuIds);
+    }
+}
@@ -0,0 +1,266 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.core.CatalogSnapshot;
+import net.wcloud.helloworld.dynamicmenu.core.MenuDef;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 菜单搜索索引（menuName / routePath / perms 的 n-gram 倒排索引）
+ *
+ * 索引结构：
+ * ------------------------------------------------------------
+ * - 每个菜单占一个槽位（slot），文本 = 小写后的 menuName + routePath + perms（字段间用分隔符隔开）
+ * - 倒排表：单字符 / 相邻两字符 → 槽位列表（int 数组，按槽位递增）
+ * - 查询：取查询串中倒排表最短的那个 gram，只校验这些槽位的文本是否包含查询串，
+ * 候选集很小，10 万节点下也是亚毫秒级
+ *
+ * 增量维护：
+ * ------------------------------------------------------------
+ * - 监听 MenuCatalogChangedEvent，只记下变化的菜单 ID；下次查询前从菜单目录快照取新数据，
+ * 旧槽位作废、新内容追加到新槽位（倒排表保持有序，无需删除）
+ * - 作废槽位超过一半、目录整体重建（menuIds 为空）或全量重同步时整体重建
+ * - 祖先路径在查询时从菜单目录快照读取，祖先改名不需要重建下级的索引
+ *
+ * 线程安全：
+ * ------------------------------------------------------------
+ * - 读写锁：查询共享读锁，应用变更 / 重建时独占写锁
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuSearchIndex {
+
+    /** 字段分隔符（不会出现在查询串中，避免跨字段匹配） */
+    private static final char FIELD_SEPARATOR = '\u0001';
+
+    private final MenuCatalog menuCatalog;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** slot → menuId */
+    private long[] slotMenuIds = new long[0];
+
+    /** slot → 索引文本（作废后为 null） */
+    private String[] slotTexts = new String[0];
+
+    private int slotCount;
+
+    private int deadCount;
+
+    /** menuId → 当前有效 slot */
+    private final Map<Long, Integer> slotByMenu = new HashMap<>();
+
+    /** gram → slots（递增） */
+    private final Map<Integer, IntList> postings = new HashMap<>();
+
+    /** 尚未应用的变化菜单 */
+    private final Set<Long> pendingIds = ConcurrentHashMap.newKeySet();
+
+    /** 需要整体重建 */
+    private volatile boolean stale = true;
+
+    /**
+     * 可增长的 int 数组
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+
+        private int size;
+
+        private void add(int v) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = v;
+        }
+    }
+
+    /**
+     * 搜索
+     *
+     * @param query 查询串（不区分大小写，匹配 menuName / routePath / perms 的任意子串）
+     * @param limit 最多返回条数
+     * @return 命中的菜单 ID（按索引顺序）
+     */
+    public List<Long> search(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        String q = query.trim().toLowerCase(Locale.ROOT);
+        applyPending();
+
+        lock.readLock().lock();
+        try {
+            IntList candidates = shortestPosting(q);
+            if (candidates == null) {
+                return List.of();
+            }
+
+            List<Long> hits = new ArrayList<>(Math.min(limit, candidates.size));
+            for (int i = 0; i < candidates.size && hits.size() < limit; i++) {
+                int slot = candidates.values[i];
+                String text = slotTexts[slot];
+                if (text != null && text.contains(q)) {
+                    hits.add(slotMenuIds[slot]);
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 当前有效的菜单数 */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByMenu.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onAuthzEvent(AuthzEvent event) {
+        if (event instanceof MenuCatalogChangedEvent e) {
+            if (e.menuIds().isEmpty()) {
+                stale = true;
+            } else {
+                pendingIds.addAll(e.menuIds());
+            }
+        } else if (event instanceof FullResyncEvent) {
+            stale = true;
+        }
+    }
+
+    /**
+     * 查询串中倒排表最短的 gram；任一 gram 不存在时返回 null（不可能命中）
+     */
+    private IntList shortestPosting(String q) {
+        if (q.length() == 1) {
+            return postings.get(unigram(q.charAt(0)));
+        }
+        IntList best = null;
+        for (int i = 0; i + 1 < q.length(); i++) {
+            IntList list = postings.get(bigram(q.charAt(i), q.charAt(i + 1)));
+            if (list == null) {
+                return null;
+            }
+            if (best == null || list.size < best.size) {
+                best = list;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 应用积累的变化（必要时整体重建）
+     */
+    private void applyPending() {
+        if (!stale && pendingIds.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // 先取走待处理 ID 再读快照：之后到达的变化会留到下一次，不会被快照覆盖
+            boolean full = stale;
+            stale = false;
+            List<Long> ids = new ArrayList<>(pendingIds);
+            pendingIds.removeAll(ids);
+
+            CatalogSnapshot catalog = menuCatalog.snapshot();
+            if (full || deadCount + ids.size() > slotByMenu.size()) {
+                rebuild(catalog);
+                return;
+            }
+
+            for (Long id : ids) {
+                remove(id);
+                MenuDef menu = catalog.menu(id);
+                if (menu != null) {
+                    add(menu);
+                }
+            }
+            log.debug("[MenuSearchIndex] 增量更新搜索索引, changed={}, size={}", ids.size(), slotByMenu.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuild(CatalogSnapshot catalog) {
+        long start = System.nanoTime();
+        slotMenuIds = new long[Math.max(16, catalog.size())];
+        slotTexts = new String[slotMenuIds.length];
+        slotCount = 0;
+        deadCount = 0;
+        slotByMenu.clear();
+        postings.clear();
+
+        for (MenuDef menu : catalog.menus()) {
+            add(menu);
+        }
+        log.info("[MenuSearchIndex] 搜索索引重建完成, 菜单数={}, gram 数={}, 耗时={}ms",
+                slotByMenu.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void remove(Long menuId) {
+        Integer slot = slotByMenu.remove(menuId);
+        if (slot != null) {
+            slotTexts[slot] = null;
+            deadCount++;
+        }
+    }
+
+    private void add(MenuDef menu) {
+        if (slotCount == slotMenuIds.length) {
+            int capacity = Math.max(16, slotCount * 2);
+            slotMenuIds = Arrays.copyOf(slotMenuIds, capacity);
+            slotTexts = Arrays.copyOf(slotTexts, capacity);
+        }
+
+        int slot = slotCount++;
+        String text = textOf(menu);
+        slotMenuIds[slot] = menu.id();
+        slotTexts[slot] = text;
+        slotByMenu.put(menu.id(), slot);
+
+        // 同一文本内重复的 gram 只记录一次
+        Set<Integer> grams = new HashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(unigram(text.charAt(i)));
+            if (i + 1 < text.length()) {
+                grams.add(bigram(text.charAt(i), text.charAt(i + 1)));
+            }
+        }
+        for (Integer gram : grams) {
+            postings.computeIfAbsent(gram, k -> new IntList()).add(slot);
+        }
+    }
+
+    private static String textOf(MenuDef menu) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(menu.menuName() == null ? "" : menu.menuName()).append(FIELD_SEPARATOR);
+        sb.append(menu.routePath() == null ? "" : menu.routePath()).append(FIELD_SEPARATOR);
+        sb.append(menu.perms() == null ? "" : menu.perms());
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /** 单字符 gram：0 ~ 0xFFFF */
+    private static int unigram(char c) {
+        return c;
+    }
+
+    /** 双字符 gram：高 16 位为首字符（首字符不为 0，不会与单字符冲突） */
+    private static int bigram(char c1, char c2) {
+        return (c1 << 16) | c2;
+    }
+}
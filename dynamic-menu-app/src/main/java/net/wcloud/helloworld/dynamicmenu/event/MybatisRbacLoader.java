@@ -0,0 +1,66 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.RequiredArgsConstructor;
+import net.wcloud.helloworld.dynamicmenu.convert.MenuConvert;
+import net.wcloud.helloworld.dynamicmenu.core.MenuDef;
+import net.wcloud.helloworld.dynamicmenu.core.RbacLoader;
+import net.wcloud.helloworld.dynamicmenu.entity.Menu;
+import net.wcloud.helloworld.dynamicmenu.mapper.CatalogVersionMapper;
+import net.wcloud.helloworld.dynamicmenu.mapper.MenuMapper;
+import net.wcloud.helloworld.dynamicmenu.mapper.RoleMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * RbacLoader 的 MyBatis 实现（RBAC 引擎的数据来源）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 菜单：只查询快照需要的列（不读取 create_time / update_time），实体转换为 MenuDef
+ * - 角色授权：流式读取 dynamicmenu_sys_role_menu（只取两列），不先装入列表
+ * - 目录版本号：dynamicmenu_sys_catalog_version（未初始化时视为 0）
+ */
+@Component
+@RequiredArgsConstructor
+public class MybatisRbacLoader implements RbacLoader {
+
+    private final MenuMapper menuMapper;
+
+    private final RoleMapper roleMapper;
+
+    private final CatalogVersionMapper catalogVersionMapper;
+
+    private final MenuConvert menuConvert;
+
+    @Override
+    public long catalogVersion() {
+        Long version = catalogVersionMapper.selectVersion();
+        return version == null ? 0 : version;
+    }
+
+    @Override
+    public Collection<MenuDef> loadMenus() {
+        List<Menu> list = menuMapper.selectList(Wrappers.<Menu>lambdaQuery()
+                .select(Menu::getId, Menu::getParentId, Menu::getMenuName, Menu::getMenuIcon, Menu::getMenuType,
+                        Menu::getRoutePath, Menu::getComponent, Menu::getPerms, Menu::getVisible,
+                        Menu::getStatus, Menu::getSortOrder));
+        return menuConvert.toDefList(list);
+    }
+
+    @Override
+    public void loadRoleMenus(BiConsumer<Long, Long> sink) {
+        roleMapper.streamAllRoleMenus(ctx -> {
+            var pair = ctx.getResultObject();
+            sink.accept(pair.getRoleId(), pair.getMenuId());
+        });
+    }
+
+    @Override
+    public Collection<Long> loadMenusOfRole(Long roleId) {
+        return roleMapper.listMenuIdsByRoleId(roleId);
+    }
+}
@@ -0,0 +1,10 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+/**
+ * 角色本身变化事件（编码 / 名称 / 状态修改，或角色被删除）
+ *
+ * @param roleId  角色 ID
+ * @param deleted 是否为删除
+ */
+public record RoleChangedEvent(Long roleId, boolean deleted) implements AuthzEvent {
+}
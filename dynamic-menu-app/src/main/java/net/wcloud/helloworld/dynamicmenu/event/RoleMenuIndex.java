@@ -0,0 +1,74 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+import lombok.RequiredArgsConstructor;
+import net.wcloud.helloworld.dynamicmenu.core.RbacEngine;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * 角色 → 菜单 内存索引（RbacEngine 角色授权的适配层）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 每个角色当前授权的菜单 ID 集合及其位图保存在 dynamic-menu-core 的 RoleMenuBitmaps 中，
+ * 供权限计算 / 对账（AuthzReconciler）使用
+ * - 首次使用时由 MybatisRbacLoader 流式读取 dynamicmenu_sys_role_menu（只取两列）
+ * - 之后由 AuthzEventBus 在分发事件前增量维护（refreshRole / removeRole），
+ * 监听者重建缓存时读到的已经是新数据
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleMenuIndex {
+
+    private final RbacEngine rbacEngine;
+
+    /**
+     * 查询角色授权的全部菜单
+     *
+     * @param roleId 角色 ID
+     * @return 菜单 ID 集合（不可变）
+     */
+    public Set<Long> menusOfRole(Long roleId) {
+        return rbacEngine.grants().menusOfRole(roleId);
+    }
+
+    /**
+     * 角色授权变化后，从数据库重新读取该角色的菜单
+     *
+     * @param roleId 角色 ID
+     */
+    public void refreshRole(Long roleId) {
+        rbacEngine.grants().refreshRole(roleId);
+    }
+
+    /**
+     * 角色被删除后，从索引中移除该角色
+     *
+     * @param roleId 角色 ID
+     */
+    public void removeRole(Long roleId) {
+        rbacEngine.grants().removeRole(roleId);
+    }
+
+    /**
+     * 丢弃全部索引，下次使用时重新加载
+     */
+    public void reset() {
+        rbacEngine.grants().reset();
+    }
+
+    /**
+     * 是否已加载（未加载时内存中没有可对账的数据）
+     */
+    public boolean isLoaded() {
+        return rbacEngine.grants().isLoaded();
+    }
+
+    /**
+     * 当前索引中的全部角色 ID（快照，未加载时为空）
+     */
+    public Set<Long> roleIds() {
+        return rbacEngine.grants().roleIds();
+    }
+}
@@ -0,0 +1,18 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+import java.util.List;
+
+/**
+ * 角色授权菜单变化事件
+ *
+ * @param roleId  角色 ID
+ * @param added   新增授权的菜单 ID
+ * @param removed 取消授权的菜单 ID
+ */
+public record RoleMenusChangedEvent(Long roleId, List<Long> added, List<Long> removed) implements AuthzEvent {
+
+    public RoleMenusChangedEvent {
+        added = added == null ? List.of() : List.copyOf(added);
+        removed = removed == null ? List.of() : List.copyOf(removed);
+    }
+}
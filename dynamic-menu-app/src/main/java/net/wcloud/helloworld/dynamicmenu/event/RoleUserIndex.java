@@ -0,0 +1,203 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.entity.UserRole;
+import net.wcloud.helloworld.dynamicmenu.mapper.UserRoleMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 角色 → 用户 反向索引
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 角色授权变化时，快速找到“哪些用户受影响”，只失效这些用户的缓存
+ * - 同时维护 用户 → 角色 正向索引，用于用户角色变化时修正反向索引
+ *
+ * 加载策略：
+ * ------------------------------------------------------------
+ * - 首次使用时一次性加载 dynamicmenu_sys_user_role（只取两列）
+ * - 之后由 AuthzEventBus 在分发事件时增量维护（refreshUser / removeRole）
+ *
+ * 线程安全：
+ * ------------------------------------------------------------
+ * - 读：无锁（ConcurrentHashMap + 并发 Set）
+ * - 写：synchronized，写操作只在 RBAC 变更时发生，频率很低
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleUserIndex {
+
+    private final UserRoleMapper userRoleMapper;
+
+    /** roleId → userIds */
+    private final Map<Long, Set<Long>> usersByRole = new ConcurrentHashMap<>();
+
+    /** userId → roleIds */
+    private final Map<Long, Set<Long>> rolesByUser = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    /**
+     * 查询拥有该角色的全部用户
+     *
+     * @param roleId 角色 ID
+     * @return 用户 ID 集合（只读快照）
+     */
+    public Set<Long> usersOfRole(Long roleId) {
+        ensureLoaded();
+        Set<Long> users = usersByRole.get(roleId);
+        return users == null ? Set.of() : Set.copyOf(users);
+    }
+
+    /**
+     * 查询用户绑定的全部角色
+     *
+     * @param userId 用户 ID
+     * @return 角色 ID 集合（只读快照）
+     */
+    public Set<Long> rolesOfUser(Long userId) {
+        ensureLoaded();
+        Set<Long> roles = rolesByUser.get(userId);
+        return roles == null ? Set.of() : Set.copyOf(roles);
+    }
+
+    /**
+     * 用户角色变化后，从数据库重新读取该用户的角色并修正索引
+     *
+     * @param userId 用户 ID
+     */
+    public synchronized void refreshUser(Long userId) {
+        if (!loaded) {
+            // 尚未加载过，下次使用时会整体加载最新数据
+            return;
+        }
+
+        // 先构建完整的新角色集合再整体替换：无锁读方不会看到“角色已清空、尚未重新关联”的中间状态
+        List<Long> newRoles = userRoleMapper.listRoleIdsByUserId(userId);
+        Set<Long> roles = ConcurrentHashMap.newKeySet();
+        for (Long roleId : newRoles) {
+            if (roleId != null) {
+                roles.add(roleId);
+            }
+        }
+
+        Set<Long> oldRoles = roles.isEmpty() ? rolesByUser.remove(userId) : rolesByUser.put(userId, roles);
+        if (oldRoles == null) {
+            oldRoles = Set.of();
+        }
+
+        // 反向索引只改动实际增减的角色
+        for (Long roleId : roles) {
+            if (!oldRoles.contains(roleId)) {
+                usersByRole.computeIfAbsent(roleId, k -> ConcurrentHashMap.newKeySet()).add(userId);
+            }
+        }
+        for (Long roleId : oldRoles) {
+            if (!roles.contains(roleId)) {
+                Set<Long> users = usersByRole.get(roleId);
+                if (users != null) {
+                    users.remove(userId);
+                }
+            }
+        }
+
+        log.debug("[RoleUserIndex] 刷新用户角色索引, userId={}, oldRoles={}, newRoles={}", userId, oldRoles, newRoles);
+    }
+
+    /**
+     * 角色被删除后，从索引中移除该角色
+     *
+     * @param roleId 角色 ID
+     */
+    public synchronized void removeRole(Long roleId) {
+        if (!loaded) {
+            return;
+        }
+
+        Set<Long> users = usersByRole.remove(roleId);
+        if (users != null) {
+            for (Long userId : users) {
+                Set<Long> roles = rolesByUser.get(userId);
+                if (roles != null) {
+                    roles.remove(roleId);
+                }
+            }
+        }
+
+        log.debug("[RoleUserIndex] 移除角色索引, roleId={}, userCount={}", roleId, users == null ? 0 : users.size());
+    }
+
+    /**
+     * 丢弃全部索引，下次使用时重新加载
+     */
+    public synchronized void reset() {
+        usersByRole.clear();
+        rolesByUser.clear();
+        loaded = false;
+        log.info("[RoleUserIndex] 反向索引已重置");
+    }
+
+    /**
+     * 是否已加载（未加载时内存中没有可对账的数据）
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 全部 用户 → 角色（只读快照，未加载时先加载）
+     *
+     * @return userId → 角色 ID 集合
+     */
+    public Map<Long, Set<Long>> userRoles() {
+        ensureLoaded();
+        Map<Long, Set<Long>> result = new HashMap<>(rolesByUser.size() * 2);
+        rolesByUser.forEach((userId, roles) -> {
+            if (!roles.isEmpty()) {
+                result.put(userId, Set.copyOf(roles));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 当前索引中的全部用户 ID（快照，未加载时为空）
+     */
+    public Set<Long> userIds() {
+        return Set.copyOf(rolesByUser.keySet());
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            List<UserRole> pairs = userRoleMapper.listAllPairs();
+            for (UserRole pair : pairs) {
+                link(pair.getUserId(), pair.getRoleId());
+            }
+            loaded = true;
+
+            log.info("[RoleUserIndex] 反向索引加载完成, 关联数={}, 角色数={}, 用户数={}, 耗时={}ms",
+                    pairs.size(), usersByRole.size(), rolesByUser.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    private void link(Long userId, Long roleId) {
+        if (userId == null || roleId == null) {
+            return;
+        }
+        usersByRole.computeIfAbsent(roleId, k -> ConcurrentHashMap.newKeySet()).add(userId);
+        rolesByUser.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(roleId);
+    }
+}
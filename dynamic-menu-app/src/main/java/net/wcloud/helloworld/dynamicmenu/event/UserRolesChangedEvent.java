@@ -0,0 +1,9 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+/**
+ * 用户绑定角色变化事件
+ *
+ * @param userId 用户 ID
+ */
+public record UserRolesChangedEvent(Long userId) implements AuthzEvent {
+}
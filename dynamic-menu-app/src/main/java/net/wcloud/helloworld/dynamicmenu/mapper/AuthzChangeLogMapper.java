@@ -0,0 +1,78 @@
+package net.wcloud.helloworld.dynamicmenu.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import net.wcloud.helloworld.dynamicmenu.entity.AuthzChangeLog;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * AuthzChangeLogMapper（RBAC 变更日志 Mapper）
+ *
+ * 对应表： dynamicmenu_sys_authz_change_log
+ *
+ * 该 Mapper 主要提供：
+ * ------------------------------------------------------------
+ * 1. 追加变更（BaseMapper.insert，与业务写入同一事务）
+ * 2. 按 id 递增读取新变更（各节点轮询）
+ * 3. 查询空洞宽限期之前的最大 id（节点启动时确定起点）
+ * 4. 清理过期变更
+ */
+@Mapper
+public interface AuthzChangeLogMapper extends BaseMapper<AuthzChangeLog> {
+
+        /**
+         * 读取 id 大于 afterId 的变更（按 id 升序）
+         *
+         * @param afterId 已处理到的 id
+         * @param limit   单次最多读取条数
+         * @return 变更列表
+         */
+        @Select("""
+                        SELECT id, event_type, payload, origin_node, create_time
+                        FROM dynamicmenu_sys_authz_change_log
+                        WHERE id > #{afterId}
+                        ORDER BY id ASC
+                        LIMIT #{limit}
+                        """)
+        List<AuthzChangeLog> listAfter(@Param("afterId") long afterId,
+                        @Param("limit") int limit);
+
+        /**
+         * 创建时间早于 graceSeconds 秒前的最大变更 id（没有时返回 0）
+         *
+         * 说明：
+         * ------------------------------------------------------------
+         * - 节点启动时的起点。比当前最大 id 更小的 id 可能属于尚未提交的事务，
+         * 从最大 id 开始会永久漏掉它们；回退到空洞宽限期之前，
+         * 之后的变更照常读取，仍未出现的 id 按空洞处理
+         * - 只在启动时执行一次，使用数据库时间，与 create_time 默认值一致
+         *
+         * @param graceSeconds 空洞宽限期（秒）
+         */
+        @Select("""
+                        SELECT COALESCE(MAX(id), 0)
+                        FROM dynamicmenu_sys_authz_change_log
+                        WHERE create_time < NOW() - INTERVAL #{graceSeconds} SECOND
+                        """)
+        long selectMaxIdCreatedBefore(@Param("graceSeconds") long graceSeconds);
+
+        /**
+         * 删除指定时间之前的变更（分批删除，避免长事务）
+         *
+         * @param before 截止时间
+         * @param limit  单批最多删除条数
+         * @return 删除条数
+         */
+        @Delete("""
+                        DELETE FROM dynamicmenu_sys_authz_change_log
+                        WHERE create_time < #{before}
+                        LIMIT #{limit}
+                        """)
+        int deleteBefore(@Param("before") LocalDateTime before,
+                        @Param("limit") int limit);
+}
@@ -0,0 +1,59 @@
+package net.wcloud.helloworld.dynamicmenu.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * CatalogVersionMapper（菜单目录版本号 Mapper）
+ *
+ * 对应表： dynamicmenu_sys_catalog_version（只有 id = 1 一行）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 每次菜单写入在同一事务内先 selectVersionForUpdate() 锁住这一行，确有写入时再 bump()，
+ * 因此所有节点上的菜单结构写入天然串行（菜单写入频率很低），无变化的请求不推进版本号
+ * - 版本号供下游缓存判断菜单目录是否变化（MenuCatalog / 前端菜单缓存）
+ */
+@Mapper
+public interface CatalogVersionMapper {
+
+        /**
+         * 版本号 + 1（同时锁住版本行，直到事务结束）
+         *
+         * @return 更新行数（版本行不存在时为 0）
+         */
+        @Update("""
+                        UPDATE dynamicmenu_sys_catalog_version
+                        SET version = version + 1
+                        WHERE id = 1
+                        """)
+        int bump();
+
+        /**
+         * 查询当前版本号并锁住版本行（直到事务结束）
+         *
+         * 菜单写入的第一条语句：与 bump 使用同一把行锁，先确认确有写入再推进版本号
+         *
+         * @return 版本号；版本行不存在时为 null
+         */
+        @Select("""
+                        SELECT version
+                        FROM dynamicmenu_sys_catalog_version
+                        WHERE id = 1
+                        FOR UPDATE
+                        """)
+        Long selectVersionForUpdate();
+
+        /**
+         * 查询当前版本号
+         *
+         * @return 版本号；版本行不存在时为 null
+         */
+        @Select("""
+                        SELECT version
+                        FROM dynamicmenu_sys_catalog_version
+                        WHERE id = 1
+                        """)
+        Long selectVersion();
+}
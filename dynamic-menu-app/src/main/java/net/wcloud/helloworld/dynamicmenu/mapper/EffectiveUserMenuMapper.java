@@ -0,0 +1,253 @@
+package net.wcloud.helloworld.dynamicmenu.mapper;
+
+import org.apache.ibatis.annotations.*;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * EffectiveUserMenuMapper（用户有效菜单物化表 Mapper）
+ *
+ * 对应表： dynamicmenu_sys_effective_user_menu
+ *
+ * 表含义：
+ * ------------------------------------------------------------
+ * - 每行表示“用户 user_id 通过至少一个角色拥有菜单 menu_id”
+ * - perms 冗余自菜单表，查询用户权限时不再需要四表关联
+ * - 主键 (user_id, menu_id)：按用户查询是一次主键范围扫描
+ *
+ * 维护方式：
+ * ------------------------------------------------------------
+ * - 与 role_menu / user_role 的写入在同一事务内增量维护（见 EffectiveMenuService）
+ * - 回收时用 NOT EXISTS 判断用户是否仍通过其他角色拥有该菜单，
+ * 因此必须在关联表本身改完之后执行
+ * - 全量重建：deleteAll + insertAll（同一事务）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 与 MenuMapper.listMenusByUserId 口径一致：不过滤菜单状态，由读方自行过滤
+ */
+@Mapper
+public interface EffectiveUserMenuMapper {
+
+        // ============================================================
+        // 1. 查询
+        // ============================================================
+
+        /**
+         * 查询用户拥有的全部菜单 ID
+         *
+         * @param userId 用户 ID
+         * @return 菜单 ID 列表
+         */
+        @Select("""
+                        SELECT menu_id
+                        FROM dynamicmenu_sys_effective_user_menu
+                        WHERE user_id = #{userId}
+                        """)
+        List<Long> listMenuIdsByUserId(@Param("userId") Long userId);
+
+        /**
+         * 查询用户拥有的权限标识（不过滤菜单状态；UserMapper.listPermissionsByUserId 只产出路径已启用的菜单）
+         *
+         * @param userId 用户 ID
+         * @return 权限标识列表
+         */
+        @Select("""
+                        SELECT DISTINCT perms
+                        FROM dynamicmenu_sys_effective_user_menu
+                        WHERE user_id = #{userId}
+                          AND perms IS NOT NULL
+                          AND perms <> ''
+                        """)
+        List<String> listPermsByUserId(@Param("userId") Long userId);
+
+        // ============================================================
+        // 2. 角色授权菜单变化（role_menu 增量）
+        // ============================================================
+
+        /**
+         * 角色新增菜单：给该角色下所有用户补上这些菜单
+         *
+         * @param roleId  角色 ID
+         * @param menuIds 新增的菜单 ID（不能为空）
+         * @return 影响行数
+         */
+        @Insert("""
+                        <script>
+                        INSERT INTO dynamicmenu_sys_effective_user_menu (user_id, menu_id, perms)
+                        SELECT ur.user_id, m.id, m.perms
+                        FROM dynamicmenu_sys_user_role ur
+                        INNER JOIN dynamicmenu_sys_menu m
+                            ON m.id IN
+                            <foreach collection="menuIds" item="menuId" open="(" separator="," close=")">
+                                #{menuId}
+                            </foreach>
+                        WHERE ur.role_id = #{roleId}
+                        ON DUPLICATE KEY UPDATE perms = m.perms
+                        </script>
+                        """)
+        int grantRoleMenus(@Param("roleId") Long roleId,
+                        @Param("menuIds") Collection<Long> menuIds);
+
+        /**
+         * 回收该角色下用户的菜单（用户仍通过其他角色拥有的保留）
+         *
+         * 说明：
+         * ------------------------------------------------------------
+         * - menuIds 为 null 时回收该角色涉及的全部菜单（删除角色时使用，
+         * 须在删除 role_menu 之后、删除 user_role 之前调用）
+         *
+         * @param roleId  角色 ID
+         * @param menuIds 取消授权的菜单 ID；null 表示全部
+         * @return 删除行数
+         */
+        @Delete("""
+                        <script>
+                        DELETE e
+                        FROM dynamicmenu_sys_effective_user_menu e
+                        INNER JOIN dynamicmenu_sys_user_role ur
+                            ON ur.user_id = e.user_id
+                           AND ur.role_id = #{roleId}
+                        WHERE NOT EXISTS (
+                                SELECT 1
+                                FROM dynamicmenu_sys_user_role ur2
+                                INNER JOIN dynamicmenu_sys_role_menu rm2
+                                    ON rm2.role_id = ur2.role_id
+                                WHERE ur2.user_id = e.user_id
+                                  AND rm2.menu_id = e.menu_id
+                              )
+                        <if test="menuIds != null">
+                          AND e.menu_id IN
+                            <foreach collection="menuIds" item="menuId" open="(" separator="," close=")">
+                                #{menuId}
+                            </foreach>
+                        </if>
+                        </script>
+                        """)
+        int revokeRoleMenus(@Param("roleId") Long roleId,
+                        @Param("menuIds") Collection<Long> menuIds);
+
+        // ============================================================
+        // 3. 用户角色变化（user_role 增量）
+        // ============================================================
+
+        /**
+         * 用户新增角色：补上这些角色的全部菜单
+         *
+         * @param userId  用户 ID
+         * @param roleIds 新增的角色 ID（不能为空）
+         * @return 影响行数
+         */
+        @Insert("""
+                        <script>
+                        INSERT INTO dynamicmenu_sys_effective_user_menu (user_id, menu_id, perms)
+                        SELECT #{userId}, m.id, m.perms
+                        FROM dynamicmenu_sys_role_menu rm
+                        INNER JOIN dynamicmenu_sys_menu m
+                            ON m.id = rm.menu_id
+                        WHERE rm.role_id IN
+                            <foreach collection="roleIds" item="roleId" open="(" separator="," close=")">
+                                #{roleId}
+                            </foreach>
+                        ON DUPLICATE KEY UPDATE perms = m.perms
+                        </script>
+                        """)
+        int grantUserRoles(@Param("userId") Long userId,
+                        @Param("roleIds") Collection<Long> roleIds);
+
+        /**
+         * 用户移除角色后：回收不再由任何角色授予的菜单
+         *
+         * @param userId 用户 ID
+         * @return 删除行数
+         */
+        @Delete("""
+                        DELETE e
+                        FROM dynamicmenu_sys_effective_user_menu e
+                        WHERE e.user_id = #{userId}
+                          AND NOT EXISTS (
+                                SELECT 1
+                                FROM dynamicmenu_sys_user_role ur
+                                INNER JOIN dynamicmenu_sys_role_menu rm
+                                    ON rm.role_id = ur.role_id
+                                WHERE ur.user_id = e.user_id
+                                  AND rm.menu_id = e.menu_id
+                              )
+                        """)
+        int revokeUserOrphans(@Param("userId") Long userId);
+
+        // ============================================================
+        // 4. 菜单本身变化（perms 修改 / 删除）
+        // ============================================================
+
+        /**
+         * 删除指定菜单的全部物化行
+         *
+         * @param menuIds 菜单 ID（不能为空）
+         * @return 删除行数
+         */
+        @Delete("""
+                        <script>
+                        DELETE FROM dynamicmenu_sys_effective_user_menu
+                        WHERE menu_id IN
+                        <foreach collection="menuIds" item="menuId" open="(" separator="," close=")">
+                            #{menuId}
+                        </foreach>
+                        </script>
+                        """)
+        int deleteByMenuIds(@Param("menuIds") Collection<Long> menuIds);
+
+        /**
+         * 重新物化指定菜单（按当前 role_menu / user_role 计算）
+         *
+         * @param menuIds 菜单 ID（不能为空）
+         * @return 插入行数
+         */
+        @Insert("""
+                        <script>
+                        INSERT INTO dynamicmenu_sys_effective_user_menu (user_id, menu_id, perms)
+                        SELECT DISTINCT ur.user_id, m.id, m.perms
+                        FROM dynamicmenu_sys_menu m
+                        INNER JOIN dynamicmenu_sys_role_menu rm
+                            ON rm.menu_id = m.id
+                        INNER JOIN dynamicmenu_sys_user_role ur
+                            ON ur.role_id = rm.role_id
+                        WHERE m.id IN
+                            <foreach collection="menuIds" item="menuId" open="(" separator="," close=")">
+                                #{menuId}
+                            </foreach>
+                        </script>
+                        """)
+        int insertByMenuIds(@Param("menuIds") Collection<Long> menuIds);
+
+        // ============================================================
+        // 5. 全量重建
+        // ============================================================
+
+        /**
+         * 清空物化表（与 insertAll 在同一事务内调用）
+         *
+         * @return 删除行数
+         */
+        @Delete("""
+                        DELETE FROM dynamicmenu_sys_effective_user_menu
+                        """)
+        int deleteAll();
+
+        /**
+         * 按关联表全量物化
+         *
+         * @return 插入行数
+         */
+        @Insert("""
+                        INSERT INTO dynamicmenu_sys_effective_user_menu (user_id, menu_id, perms)
+                        SELECT DISTINCT ur.user_id, m.id, m.perms
+                        FROM dynamicmenu_sys_user_role ur
+                        INNER JOIN dynamicmenu_sys_role_menu rm
+                            ON rm.role_id = ur.role_id
+                        INNER JOIN dynamicmenu_sys_menu m
+                            ON m.id = rm.menu_id
+                        """)
+        int insertAll();
+}
@@ -0,0 +1,189 @@
+package net.wcloud.helloworld.dynamicmenu.mapper;
+
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * MenuClosureMapper（菜单闭包表 Mapper）
+ *
+ * 对应表： dynamicmenu_sys_menu_closure
+ *
+ * 表含义：
+ * ------------------------------------------------------------
+ * - 每一对 (祖先, 后代) 一行，depth 为两者之间的层级差
+ * - 每个菜单都有一行 (自己, 自己, 0)
+ * - 子树 = WHERE ancestor_id = ?；祖先链 = WHERE descendant_id = ?
+ *
+ * 维护规则：
+ * ------------------------------------------------------------
+ * - 新增菜单：复制父节点的全部祖先行（depth + 1），再加自身行
+ * - 移动子树：只删除“子树外祖先 → 子树内节点”的行，再插入“新祖先 × 子树节点”的笛卡尔积，
+ * 子树内部的行保持不变
+ * - 删除子树：删除所有后代在子树内的行
+ * - parent_id 仍是菜单表的权威字段，闭包表可随时由 rebuildAll 从 parent_id 重建
+ */
+@Mapper
+public interface MenuClosureMapper {
+
+        // ============================================================
+        // 1. 查询
+        // ============================================================
+
+        /**
+         * 查询子树内全部菜单 ID（含自身），按层级由浅到深
+         *
+         * @param menuId 子树根节点 ID
+         * @return 菜单 ID 列表；节点不存在时为空
+         */
+        @Select("""
+                        SELECT descendant_id
+                        FROM dynamicmenu_sys_menu_closure
+                        WHERE ancestor_id = #{menuId}
+                        ORDER BY depth
+                        """)
+        List<Long> listSubtreeIds(@Param("menuId") Long menuId);
+
+        /**
+         * 查询全部祖先 ID（不含自身），从根到父
+         *
+         * @param menuId 菜单 ID
+         * @return 祖先 ID 列表
+         */
+        @Select("""
+                        SELECT ancestor_id
+                        FROM dynamicmenu_sys_menu_closure
+                        WHERE descendant_id = #{menuId}
+                          AND depth > 0
+                        ORDER BY depth DESC
+                        """)
+        List<Long> listAncestorIds(@Param("menuId") Long menuId);
+
+        /**
+         * 判断 descendantId 是否在 ancestorId 的子树内（含自身），加锁读取最新数据
+         *
+         * 说明：
+         * ------------------------------------------------------------
+         * - 移动子树前的环检测；FOR UPDATE 保证读到并发移动提交后的结果
+         *
+         * @return 1=是，0=否
+         */
+        @Select("""
+                        SELECT COUNT(*)
+                        FROM dynamicmenu_sys_menu_closure
+                        WHERE ancestor_id = #{ancestorId}
+                          AND descendant_id = #{descendantId}
+                        FOR UPDATE
+                        """)
+        int countPathForUpdate(@Param("ancestorId") Long ancestorId,
+                        @Param("descendantId") Long descendantId);
+
+        // ============================================================
+        // 2. 维护
+        // ============================================================
+
+        /**
+         * 新增菜单节点：继承父节点的全部祖先，并加入自身行
+         *
+         * @param menuId   新菜单 ID
+         * @param parentId 父菜单 ID（0 表示根节点）
+         * @return 插入行数
+         */
+        @Insert("""
+                        INSERT INTO dynamicmenu_sys_menu_closure (ancestor_id, descendant_id, depth)
+                        SELECT ancestor_id, #{menuId}, depth + 1
+                        FROM dynamicmenu_sys_menu_closure
+                        WHERE descendant_id = #{parentId}
+                        UNION ALL
+                        SELECT #{menuId}, #{menuId}, 0
+                        """)
+        int insertNode(@Param("menuId") Long menuId,
+                        @Param("parentId") Long parentId);
+
+        /**
+         * 从原位置摘下子树：删除“子树外祖先 → 子树内节点”的行
+         *
+         * @param menuId 子树根节点 ID
+         * @return 删除行数
+         */
+        @Delete("""
+                        DELETE c
+                        FROM dynamicmenu_sys_menu_closure c
+                        INNER JOIN dynamicmenu_sys_menu_closure sub
+                            ON sub.descendant_id = c.descendant_id
+                           AND sub.ancestor_id = #{menuId}
+                        LEFT JOIN dynamicmenu_sys_menu_closure inner_anc
+                            ON inner_anc.ancestor_id = #{menuId}
+                           AND inner_anc.descendant_id = c.ancestor_id
+                        WHERE inner_anc.ancestor_id IS NULL
+                        """)
+        int detachSubtree(@Param("menuId") Long menuId);
+
+        /**
+         * 把子树挂到新父节点下：插入“新父节点的祖先（含自身）× 子树节点”
+         *
+         * @param menuId      子树根节点 ID
+         * @param newParentId 新父节点 ID（0 表示挂到根，不需要插入）
+         * @return 插入行数
+         */
+        @Insert("""
+                        INSERT INTO dynamicmenu_sys_menu_closure (ancestor_id, descendant_id, depth)
+                        SELECT sup.ancestor_id, sub.descendant_id, sup.depth + sub.depth + 1
+                        FROM dynamicmenu_sys_menu_closure sup
+                        INNER JOIN dynamicmenu_sys_menu_closure sub
+                            ON sub.ancestor_id = #{menuId}
+                        WHERE sup.descendant_id = #{newParentId}
+                        """)
+        int attachSubtree(@Param("menuId") Long menuId,
+                        @Param("newParentId") Long newParentId);
+
+        /**
+         * 删除子树的全部闭包行（须在删除菜单记录之后或同一事务内调用）
+         *
+         * @param menuIds 子树内全部菜单 ID（不能为空）
+         * @return 删除行数
+         */
+        @Delete("""
+                        <script>
+                        DELETE FROM dynamicmenu_sys_menu_closure
+                        WHERE descendant_id IN
+                        <foreach collection="menuIds" item="menuId" open="(" separator="," close=")">
+                            #{menuId}
+                        </foreach>
+                        </script>
+                        """)
+        int deleteByDescendantIds(@Param("menuIds") List<Long> menuIds);
+
+        // ============================================================
+        // 3. 全量重建
+        // ============================================================
+
+        /**
+         * 清空闭包表（与 insertAll 在同一事务内调用）
+         */
+        @Delete("""
+                        DELETE FROM dynamicmenu_sys_menu_closure
+                        """)
+        int deleteAll();
+
+        /**
+         * 由 parent_id 递归展开全量闭包
+         *
+         * @return 插入行数
+         */
+        @Insert("""
+                        INSERT INTO dynamicmenu_sys_menu_closure (ancestor_id, descendant_id, depth)
+                        WITH RECURSIVE t (ancestor_id, descendant_id, depth) AS (
+                            SELECT id, id, 0
+                            FROM dynamicmenu_sys_menu
+                            UNION ALL
+                            SELECT t.ancestor_id, m.id, t.depth + 1
+                            FROM t
+                            INNER JOIN dynamicmenu_sys_menu m
+                                ON m.parent_id = t.descendant_id
+                        )
+                        SELECT ancestor_id, descendant_id, depth
+                        FROM t
+                        """)
+        int insertAll();
+}
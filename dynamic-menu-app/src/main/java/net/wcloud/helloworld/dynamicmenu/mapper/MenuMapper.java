@@ -0,0 +1,281 @@
+package net.wcloud.helloworld.dynamicmenu.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import net.wcloud.helloworld.dynamicmenu.entity.Menu;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.List;
+
+/**
+ * MenuMapper（菜单资源数据访问层）
+ *
+ * 该 Mapper 负责查询 dynamicmenu_sys_menu 角色/用户可访问的菜单记录。
+ * 主要用于 RBAC 权限模型中的：
+ * - 角色 → 菜单
+ * - 用户 → 角色 → 菜单
+ *
+ * 底层表关系（用于理解 SQL）：
+ * ------------------------------------------------------------
+ * 用户表： dynamicmenu_sys_user (user)
+ * 用户角色关联表： dynamicmenu_sys_user_role (user_role)
+ * 角色表： dynamicmenu_sys_role (role)
+ * 角色菜单关联表： dynamicmenu_sys_role_menu (role_menu)
+ * 菜单表： dynamicmenu_sys_menu (menu)
+ *
+ * 核心查询目标：
+ * ------------------------------------------------------------
+ * - 一个用户可以有多个角色
+ * - 一个角色可以拥有多个菜单
+ * - 需要对重复菜单做 DISTINCT 去重
+ *
+ * 注意：
+ * - 返回结果为“平铺列表”，不会构建树，需要在 Service 层组装成树形结构
+ * - 例外：streamMenuTree 通过 MenuTreeResultHandler 边读边组装成树（只查询节点需要的列）
+ */
+@Mapper
+public interface MenuMapper extends BaseMapper<Menu> {
+
+    // ============================================================
+    // 1. 根据角色编码查询菜单
+    // ============================================================
+
+    /**
+     * 根据角色编码查询该角色已授权的菜单列表。
+     *
+     * 使用场景：
+     * - “角色授权菜单”页面回显角色已有菜单
+     *
+     * 逻辑说明：
+     * ------------------------------------------------------------
+     * role_code → role.id → role_menu → menu
+     *
+     * 限制：
+     * - 仅查询 status = 1（启用状态）的菜单
+     *
+     * @param roleCode 角色编码（如 ROLE_ADMIN）
+     * @return 菜单列表（未构建树）
+     */
+    @Select("""
+            SELECT m.*
+            FROM dynamicmenu_sys_menu m
+            INNER JOIN dynamicmenu_sys_role_menu rm
+                ON m.id = rm.menu_id
+            INNER JOIN dynamicmenu_sys_role r
+                ON rm.role_id = r.id
+            WHERE r.role_code = #{roleCode}
+              AND m.status = 1
+            ORDER BY m.sort_order ASC
+            """)
+    List<Menu> selectMenusByRoleCode(@Param("roleCode") String roleCode);
+
+    // ============================================================
+    // 2. 根据用户ID查询菜单（多角色合并 + 去重）
+    // ============================================================
+
+    /**
+     * 查询用户拥有的菜单列表（根据 userId）。
+     *
+     * 使用场景：
+     * - 用户登录后，需要加载动态菜单（前端侧边栏）
+     *
+     * 逻辑说明：
+     * ------------------------------------------------------------
+     * user.id
+     * → user_role.role_id
+     * → role_menu.menu_id
+     * → menu
+     *
+     * 特点：
+     * - DISTINCT 去重（因为用户可能有多个角色）
+     * - 仅查询 status = 1 的菜单
+     *
+     * @param userId 用户ID
+     * @return 用户所有菜单（未构建树）
+     */
+    @Select("""
+            SELECT DISTINCT m.*
+            FROM dynamicmenu_sys_menu m
+            INNER JOIN dynamicmenu_sys_role_menu rm
+                ON m.id = rm.menu_id
+            INNER JOIN dynamicmenu_sys_role r
+                ON rm.role_id = r.id
+            INNER JOIN dynamicmenu_sys_user_role ur
+                ON ur.role_id = r.id
+            WHERE ur.user_id = #{userId}
+              AND m.status = 1
+            ORDER BY m.sort_order ASC
+            """)
+    List<Menu> selectMenusByUserId(@Param("userId") Long userId);
+
+    // ============================================================
+    // 3. 另一版用户菜单查询（SQL 修复版）
+    // ============================================================
+
+    /**
+     * 与上一个 selectMenusByUserId 逻辑相同，但 SQL 更简化。
+     *
+     * ⚠️ 你原代码中 "INNERJOIN" 是拼写错误，我已修复为 "INNER JOIN"
+     *
+     * @param userId 用户ID
+     * @return 用户菜单（未构建树）
+     */
+    @Select("""
+            SELECT DISTINCT m.*
+            FROM dynamicmenu_sys_menu m
+            INNER JOIN dynamicmenu_sys_role_menu rm
+                ON m.id = rm.menu_id
+            INNER JOIN dynamicmenu_sys_user_role ur
+                ON ur.role_id = rm.role_id
+            WHERE ur.user_id = #{userId}
+            ORDER BY m.sort_order ASC
+            """)
+    List<Menu> listMenusByUserId(@Param("userId") Long userId);
+
+    // ============================================================
+    // 4. 子树读写（基于闭包表 dynamicmenu_sys_menu_closure）
+    // ============================================================
+
+    /**
+     * 流式读取子树内全部菜单（含根节点），按层级、排序号排序
+     *
+     * 说明：
+     * - 只查询节点需要的列，每行由 handler 直接转成节点（不经过 Menu 实体）
+     *
+     * @param menuId  子树根节点 ID
+     * @param handler 行处理器
+     */
+    @Select("""
+            SELECT m.id, m.parent_id, m.menu_name, m.menu_icon, m.menu_type,
+                   m.route_path, m.component, m.perms, m.visible, m.sort_order
+            FROM dynamicmenu_sys_menu m
+            INNER JOIN dynamicmenu_sys_menu_closure c
+                ON c.descendant_id = m.id
+            WHERE c.ancestor_id = #{menuId}
+            ORDER BY c.depth ASC, m.sort_order ASC
+            """)
+    @ResultType(MenuTreeResultHandler.Row.class)
+    void streamSubtree(@Param("menuId") Long menuId, ResultHandler<MenuTreeResultHandler.Row> handler);
+
+    /**
+     * 流式读取全部菜单并组装成树（后台菜单管理）
+     *
+     * 说明：
+     * - 只查询节点需要的列；层级取自闭包表（最大 depth）
+     * - 按层级倒序返回：节点到达时其子节点都已到达，MenuTreeResultHandler 一次生成最终节点
+     * - fetchSize = Integer.MIN_VALUE：MySQL 驱动逐行流式返回，不在驱动内缓存整个结果集
+     *
+     * @param handler 树组装器（查询结束后调用 roots() 取结果）
+     */
+    @Select("""
+            SELECT m.id, m.parent_id, m.menu_name, m.menu_icon, m.menu_type,
+                   m.route_path, m.component, m.perms, m.visible, m.sort_order
+            FROM dynamicmenu_sys_menu m
+            LEFT JOIN (
+                SELECT descendant_id, MAX(depth) AS lvl
+                FROM dynamicmenu_sys_menu_closure
+                GROUP BY descendant_id
+            ) c ON c.descendant_id = m.id
+            ORDER BY c.lvl DESC, m.sort_order IS NULL, m.sort_order ASC, m.id ASC
+            """)
+    @ResultType(MenuTreeResultHandler.Row.class)
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    void streamMenuTree(MenuTreeResultHandler handler);
+
+    /**
+     * 一条语句修改整棵子树的状态（如禁用目录及其全部下级）
+     *
+     * @param menuId 子树根节点 ID
+     * @param status 目标状态（0=禁用，1=启用）
+     * @return 更新行数
+     */
+    @Update("""
+            UPDATE dynamicmenu_sys_menu m
+            INNER JOIN dynamicmenu_sys_menu_closure c
+                ON c.descendant_id = m.id
+            SET m.status = #{status}
+            WHERE c.ancestor_id = #{menuId}
+            """)
+    int updateSubtreeStatus(@Param("menuId") Long menuId,
+            @Param("status") Integer status);
+
+    /**
+     * 按 ID 升序加锁读取菜单（移动子树时锁住源节点与目标父节点）
+     *
+     * @param ids 菜单 ID
+     * @return 存在的菜单 ID
+     */
+    @Select("""
+            <script>
+            SELECT id
+            FROM dynamicmenu_sys_menu
+            WHERE id IN
+            <foreach collection="ids" item="id" open="(" separator="," close=")">
+                #{id}
+            </foreach>
+            ORDER BY id
+            FOR UPDATE
+            </script>
+            """)
+    List<Long> lockByIds(@Param("ids") List<Long> ids);
+
+    // ============================================================
+    // 5. 同级排序（稀疏序号）
+    // ============================================================
+
+    /**
+     * 查询某个父节点下的全部直接子节点（只取 id / sort_order），加锁读取
+     *
+     * @param parentId 父节点 ID（0 表示根）
+     * @return 子节点列表（按 sort_order, id 排序）
+     */
+    @Select("""
+            SELECT id, sort_order
+            FROM dynamicmenu_sys_menu
+            WHERE parent_id = #{parentId}
+            ORDER BY sort_order ASC, id ASC
+            FOR UPDATE
+            """)
+    List<Menu> listSiblingsForUpdate(@Param("parentId") Long parentId);
+
+    /**
+     * 查询某个父节点下最大的排序号
+     *
+     * @param parentId 父节点 ID（0 表示根）
+     * @return 最大排序号；没有子节点时为 null
+     */
+    @Select("""
+            SELECT MAX(sort_order)
+            FROM dynamicmenu_sys_menu
+            WHERE parent_id = #{parentId}
+            """)
+    Integer selectMaxSortOrder(@Param("parentId") Long parentId);
+
+    /**
+     * 一条语句批量修改排序号（只传入真正变化的行）
+     *
+     * @param items 只有 id / sortOrder 有值的菜单列表（不能为空）
+     * @return 更新行数
+     */
+    @Update("""
+            <script>
+            UPDATE dynamicmenu_sys_menu
+            SET sort_order = CASE id
+            <foreach collection="items" item="item">
+                WHEN #{item.id} THEN #{item.sortOrder}
+            </foreach>
+            END
+            WHERE id IN
+            <foreach collection="items" item="item" open="(" separator="," close=")">
+                #{item.id}
+            </foreach>
+            </script>
+            """)
+    int batchUpdateSortOrder(@Param("items") List<Menu> items);
+}
@@ -0,0 +1,129 @@
+package net.wcloud.helloworld.dynamicmenu.mapper;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.core.Interner;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuVO;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.*;
+
+/**
+ * 菜单树流式组装（MyBatis ResultHandler）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 配合 MenuMapper.streamMenuTree 使用：每读到一行就直接生成最终的 MenuVO 节点，
+ * 不经过 Menu 实体、MenuConvert 复制，也不保留整张平铺列表
+ * - SQL 只查询节点需要的列（不读取 status / create_time / update_time），
+ * MyBatis 映射到临时的 Row 后立即转成节点，Row 不被持有
+ * - 重复度高的字符串（图标 / 组件 / 权限标识）驻留到 Interner.STRINGS；名称、路由基本不重复，不驻留
+ *
+ * 行顺序约定：
+ * ------------------------------------------------------------
+ * - SQL 按层级倒序（最深的先到）、同级按 sort_order（NULL 在后）、id 排序
+ * - 一个节点到达时它的子节点都已到达，children 一次确定，节点生成后不再修改
+ * - 根节点最后到达，按到达顺序即为排序结果
+ *
+ * 容错：
+ * ------------------------------------------------------------
+ * - 父节点不存在（或闭包表不一致导致子节点晚于父节点到达）的节点按根节点处理，避免数据完全丢失
+ *
+ * 注意：
+ * ------------------------------------------------------------
+ * - 有状态、非线程安全，每次查询新建一个实例
+ */
+@Slf4j
+public class MenuTreeResultHandler implements ResultHandler<MenuTreeResultHandler.Row> {
+
+    /** parentId → 已生成的子节点（按到达顺序，即 sort_order、id） */
+    private final Map<Long, List<MenuVO>> pending = new HashMap<>();
+
+    /** 已生成的节点 ID（判断子节点是否晚于父节点到达） */
+    private final Set<Long> built = new HashSet<>();
+
+    private final List<MenuVO> roots = new ArrayList<>();
+
+    @Override
+    public void handleResult(ResultContext<? extends Row> context) {
+        Row row = context.getResultObject();
+        List<MenuVO> children = pending.remove(row.getId());
+        MenuVO node = toNode(row, children == null ? List.of() : List.copyOf(children));
+        built.add(node.getId());
+
+        Long parentId = node.getParentId();
+        if (parentId == null || parentId == 0) {
+            roots.add(node);
+        } else if (built.contains(parentId)) {
+            log.warn("[MenuTreeResultHandler] 子节点晚于父节点到达（闭包表可能不一致）, 按根节点处理, menuId={}, parentId={}",
+                    node.getId(), parentId);
+            roots.add(node);
+        } else {
+            pending.computeIfAbsent(parentId, k -> new ArrayList<>()).add(node);
+        }
+    }
+
+    /**
+     * 查询结束后取出根节点
+     *
+     * @return 树形菜单列表（只读）
+     */
+    public List<MenuVO> roots() {
+        if (!pending.isEmpty()) {
+            pending.forEach((parentId, orphans) -> {
+                log.warn("[MenuTreeResultHandler] 找不到父节点, 将这些节点视为根节点处理, parentId={}, count={}",
+                        parentId, orphans.size());
+                roots.addAll(orphans);
+            });
+            pending.clear();
+        }
+        return List.copyOf(roots);
+    }
+
+    /**
+     * 一行投影列 → 节点
+     *
+     * @param row      投影列
+     * @param children 子节点（平铺查询传 null）
+     * @return 不可变节点
+     */
+    public static MenuVO toNode(Row row, List<MenuVO> children) {
+        return MenuVO.builder()
+                .id(row.getId())
+                .parentId(row.getParentId())
+                .menuName(row.getMenuName())
+                .menuIcon(Interner.STRINGS.intern(row.getMenuIcon()))
+                .menuType(row.getMenuType())
+                .routePath(row.getRoutePath())
+                .component(Interner.STRINGS.intern(row.getComponent()))
+                .perms(Interner.STRINGS.intern(row.getPerms()))
+                .visible(row.getVisible())
+                .sortOrder(row.getSortOrder())
+                .implicit(false)
+                .children(children)
+                .build();
+    }
+
+    /** 已读取的行数 */
+    public int size() {
+        return built.size();
+    }
+
+    /**
+     * 一行投影列（MyBatis 按列名自动映射，驼峰转换）
+     */
+    @Data
+    public static class Row {
+        private Long id;
+        private Long parentId;
+        private String menuName;
+        private String menuIcon;
+        private Integer menuType;
+        private String routePath;
+        private String component;
+        private String perms;
+        private Integer visible;
+        private Integer sortOrder;
+    }
+}
@@ -0,0 +1,399 @@
+package net.wcloud.helloworld.dynamicmenu.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import net.wcloud.helloworld.dynamicmenu.dto.RbacChecksumDTO;
+import net.wcloud.helloworld.dynamicmenu.entity.Role;
+import net.wcloud.helloworld.dynamicmenu.entity.RoleMenu;
+import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * RoleMapper（角色表 Mapper）
+ *
+ * 对应表： dynamicmenu_sys_role
+ *
+ * RBAC 权限模型中：
+ * ------------------------------------------------------------
+ * - 角色（role）是权限的中间层
+ * - 用户 → 用户角色（user_role）→ 角色
+ * - 角色 → 角色菜单（role_menu）→ 菜单（Menu）
+ *
+ * 该 Mapper 主要提供：
+ * ------------------------------------------------------------
+ * 1. 根据角色编码查角色（用于登录后的权限加载）
+ * 2. 根据 userId 查询用户的角色列表（多角色）
+ * 3. 查询角色已绑定的菜单 ID（菜单授权页面回显）
+ * 4. 删除/插入角色-菜单关联（角色授权时使用）
+ * 5. 角色版本号递增（跨节点并发写保护）
+ *
+ * 注意：
+ * ------------------------------------------------------------
+ * - 所有返回的 Role/ID 均为“平铺结构”，不包含菜单，需要另行查询
+ * - Mapper 层不负责业务逻辑，如合并、构建树、去重等
+ */
+@Mapper
+public interface RoleMapper extends BaseMapper<Role> {
+
+        // ============================================================
+        // 1. 根据 RoleCode 查询角色
+        // ============================================================
+
+        /**
+         * 根据角色编码查询角色。
+         *
+         * 作用场景：
+         * ------------------------------------------------------------
+         * - 登录时，当用户的角色编码保存在 token 时，用于数据库校验
+         * - 权限变更后，根据编码查角色是否存在
+         *
+         * @param roleCode 角色编码（如 ROLE_ADMIN）
+         * @return 匹配的角色对象（role），不存在返回 null
+         */
+        @Select("""
+                        SELECT
+                            id,
+                            role_code,
+                            role_name,
+                            status,
+                            version,
+                            create_time,
+                            update_time
+                        FROM dynamicmenu_sys_role
+                        WHERE role_code = #{roleCode}
+                        LIMIT 1
+                        """)
+        Role selectByRoleCode(@Param("roleCode") String roleCode);
+
+        // ============================================================
+        // 2. 根据用户 ID 查询角色列表（多角色合并）
+        // ============================================================
+
+        /**
+         * 根据用户 ID 查询该用户绑定的所有角色（多角色情况）
+         *
+         * 表关系：
+         * ------------------------------------------------------------
+         * user.id → user_role.role_id → role.id → role
+         *
+         * 使用场景：
+         * ------------------------------------------------------------
+         * - 登录时加载权限
+         * - 用户管理页面“查看用户角色”
+         *
+         * @param userId 用户ID
+         * @return 用户的角色列表（可能多个）
+         */
+        @Select("""
+                        SELECT DISTINCT
+                            r.id,
+                            r.role_code,
+                            r.role_name,
+                            r.status,
+                            r.version,
+                            r.create_time,
+                            r.update_time
+                        FROM dynamicmenu_sys_role r
+                        INNER JOIN dynamicmenu_sys_user_role ur
+                            ON r.id = ur.role_id
+                        WHERE ur.user_id = #{userId}
+                        """)
+        List<Role> listByUserId(@Param("userId") Long userId);
+
+        // ============================================================
+        // 3. 查询角色已绑定的菜单 ID 列表（角色授权页面回显）
+        // ============================================================
+
+        /**
+         * 查询某角色已绑定的菜单 ID 列表。
+         *
+         * 使用场景：
+         * ------------------------------------------------------------
+         * - 角色授权菜单页面（勾选树基本数据）
+         * - 编辑角色时需要回显菜单范围
+         *
+         * @param roleId 角色 ID
+         * @return 菜单 ID 列表
+         */
+        @Select("""
+                        SELECT menu_id
+                        FROM dynamicmenu_sys_role_menu
+                        WHERE role_id = #{roleId}
+                        """)
+        List<Long> listMenuIdsByRoleId(@Param("roleId") Long roleId);
+
+        // ============================================================
+        // 4. 删除角色所有菜单关联（授权前清除旧记录）
+        // ============================================================
+
+        /**
+         * 删除角色的所有菜单绑定记录。
+         *
+         * 作用场景：
+         * ------------------------------------------------------------
+         * - 角色重新授权菜单（先删旧，再插新）
+         *
+         * @param roleId 角色 ID
+         * @return 删除记录数
+         */
+        @Delete("""
+                        DELETE FROM dynamicmenu_sys_role_menu
+                        WHERE role_id = #{roleId}
+                        """)
+        int deleteRoleMenusByRoleId(@Param("roleId") Long roleId);
+
+        // ============================================================
+        // 5. 批量插入角色 - 菜单关联（授权新菜单）
+        // ============================================================
+
+        /**
+         * 批量插入角色与菜单的关联关系。
+         *
+         * 使用 MyBatis Script + foreach 做批量 insert。
+         *
+         * 使用场景：
+         * ------------------------------------------------------------
+         * - 角色授权保存菜单时
+         *
+         * 注意：
+         * ------------------------------------------------------------
+         * - 如果 menuIds 为空，SQL 不会执行
+         * - 只能插入角色尚未拥有的菜单，(role_id, menu_id) 有唯一约束
+         *
+         * @param roleId  角色 ID
+         * @param menuIds 菜单 ID 列表
+         * @return 插入行数
+         */
+        @Insert("""
+                        <script>
+                        INSERT INTO dynamicmenu_sys_role_menu(role_id, menu_id)
+                        VALUES
+                        <foreach collection="menuIds" item="menuId" separator=",">
+                            (#{roleId}, #{menuId})
+                        </foreach>
+                        </script>
+                        """)
+        int insertRoleMenus(@Param("roleId") Long roleId,
+                        @Param("menuIds") List<Long> menuIds);
+
+        // ============================================================
+        // 6. 删除角色的部分菜单关联（增量授权）
+        // ============================================================
+
+        /**
+         * 删除角色与指定菜单的关联关系。
+         *
+         * 使用场景：
+         * ------------------------------------------------------------
+         * - 角色授权保存时只删除“被取消勾选”的菜单，而不是整表删除重插
+         *
+         * @param roleId  角色 ID
+         * @param menuIds 需要取消授权的菜单 ID 列表（不能为空）
+         * @return 删除记录数
+         */
+        @Delete("""
+                        <script>
+                        DELETE FROM dynamicmenu_sys_role_menu
+                        WHERE role_id = #{roleId}
+                          AND menu_id IN
+                        <foreach collection="menuIds" item="menuId" open="(" separator="," close=")">
+                            #{menuId}
+                        </foreach>
+                        </script>
+                        """)
+        int deleteRoleMenus(@Param("roleId") Long roleId,
+                        @Param("menuIds") List<Long> menuIds);
+
+        // ============================================================
+        // 7. 角色版本号递增（乐观锁）
+        // ============================================================
+
+        /**
+         * 当且仅当当前版本号等于 expectedVersion 时，将版本号 +1。
+         *
+         * 作用：
+         * ------------------------------------------------------------
+         * - 角色授权菜单不会修改 role 表本身，需要显式“占用”一次版本号
+         * - 与授权写入在同一事务中执行：返回 0 说明其他节点已抢先修改，
+         * 事务回滚并返回冲突
+         * - 该 UPDATE 同时持有角色行锁，保证同一角色的授权事务跨节点串行
+         *
+         * @param roleId          角色 ID
+         * @param expectedVersion 客户端读取到的版本号
+         * @return 更新行数（1 成功，0 冲突或角色不存在）
+         */
+        @Update("""
+                        UPDATE dynamicmenu_sys_role
+                        SET version = version + 1
+                        WHERE id = #{roleId}
+                          AND version = #{expectedVersion}
+                        """)
+        int bumpVersion(@Param("roleId") Long roleId,
+                        @Param("expectedVersion") Integer expectedVersion);
+
+        /**
+         * 查询角色当前版本号（角色不存在返回 null）
+         *
+         * @param roleId 角色 ID
+         * @return 版本号
+         */
+        @Select("""
+                        SELECT version
+                        FROM dynamicmenu_sys_role
+                        WHERE id = #{roleId}
+                        """)
+        Integer selectVersion(@Param("roleId") Long roleId);
+
+        // ============================================================
+        // 8. 删除角色的所有用户关联（删除角色时使用）
+        // ============================================================
+
+        /**
+         * 删除角色与用户的全部关联记录。
+         *
+         * 使用场景：
+         * ------------------------------------------------------------
+         * - 删除角色时一并清理 user_role，避免残留无效关联
+         *
+         * @param roleId 角色 ID
+         * @return 删除记录数
+         */
+        @Delete("""
+                        DELETE FROM dynamicmenu_sys_user_role
+                        WHERE role_id = #{roleId}
+                        """)
+        int deleteUserRolesByRoleId(@Param("roleId") Long roleId);
+
+        // ============================================================
+        // 9. 角色菜单关联（内存索引加载 / 对账）
+        // ============================================================
+
+        /**
+         * 流式读取全部 (role_id, menu_id) 关联
+         *
+         * 说明：
+         * ------------------------------------------------------------
+         * - fetchSize = Integer.MIN_VALUE：MySQL 驱动逐行流式返回，不在内存中堆积结果集
+         * - 每行交给 handler 处理，RoleMenuIndex 首次加载时使用
+         *
+         * @param handler 逐行处理器（只有 roleId / menuId 有值）
+         */
+        @Select("""
+                        SELECT role_id, menu_id
+                        FROM dynamicmenu_sys_role_menu
+                        """)
+        @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+        @ResultType(RoleMenu.class)
+        void streamAllRoleMenus(ResultHandler<RoleMenu> handler);
+
+        /**
+         * 按角色分批计算菜单集合校验和（键集分页：role_id > afterRoleId）
+         *
+         * 说明：
+         * ------------------------------------------------------------
+         * - 走 uk_role_menu(role_id, menu_id) 索引范围扫描，每批只扫 limit 个角色
+         * - 没有任何菜单的角色不会出现在结果中
+         *
+         * @param afterRoleId 上一批最后一个角色 ID（首批传 0）
+         * @param limit       每批角色数
+         * @return 每个角色的 cnt / checksum
+         */
+        @Select("""
+                        SELECT role_id AS id,
+                               COUNT(*) AS cnt,
+                               BIT_XOR(CRC32(menu_id)) AS checksum
+                        FROM dynamicmenu_sys_role_menu
+                        WHERE role_id > #{afterRoleId}
+                        GROUP BY role_id
+                        ORDER BY role_id
+                        LIMIT #{limit}
+                        """)
+        List<RbacChecksumDTO> listMenuChecksums(@Param("afterRoleId") long afterRoleId,
+                        @Param("limit") int limit);
+
+        /**
+         * 查询子树内尚未授权给该角色的菜单 ID（一条语句，基于闭包表）
+         *
+         * @param roleId 角色 ID
+         * @param menuId 子树根节点 ID
+         * @return 需要新增授权的菜单 ID
+         */
+        @Select("""
+                        SELECT c.descendant_id
+                        FROM dynamicmenu_sys_menu_closure c
+                        LEFT JOIN dynamicmenu_sys_role_menu rm
+                            ON rm.role_id = #{roleId}
+                           AND rm.menu_id = c.descendant_id
+                        WHERE c.ancestor_id = #{menuId}
+                          AND rm.id IS NULL
+                        """)
+        List<Long> listUngrantedSubtreeMenuIds(@Param("roleId") Long roleId,
+                        @Param("menuId") Long menuId);
+
+        /**
+         * 查询授权了这些菜单的角色 ID（删除菜单时通知受影响角色）
+         *
+         * @param menuIds 菜单 ID（不能为空）
+         * @return 角色 ID 列表
+         */
+        @Select("""
+                        <script>
+                        SELECT DISTINCT role_id
+                        FROM dynamicmenu_sys_role_menu
+                        WHERE menu_id IN
+                        <foreach collection="menuIds" item="menuId" open="(" separator="," close=")">
+                            #{menuId}
+                        </foreach>
+                        </script>
+                        """)
+        List<Long> listRoleIdsByMenuIds(@Param("menuIds") List<Long> menuIds);
+
+        /**
+         * 删除这些菜单的全部角色授权（删除菜单时使用）
+         *
+         * @param menuIds 菜单 ID（不能为空）
+         * @return 删除行数
+         */
+        @Delete("""
+                        <script>
+                        DELETE FROM dynamicmenu_sys_role_menu
+                        WHERE menu_id IN
+                        <foreach collection="menuIds" item="menuId" open="(" separator="," close=")">
+                            #{menuId}
+                        </foreach>
+                        </script>
+                        """)
+        int deleteRoleMenusByMenuIds(@Param("menuIds") List<Long> menuIds);
+
+        // ============================================================
+        // 10. 锁定存在的角色（给用户分配角色时校验）
+        // ============================================================
+
+        /**
+         * 查询这些 ID 中实际存在的角色，并加共享锁
+         *
+         * 说明：
+         * ------------------------------------------------------------
+         * - 共享锁让并发的删除角色（先递增版本号）等到本事务提交，
+         * 不会留下指向已删除角色的 user_role
+         *
+         * @param roleIds 角色 ID（不能为空）
+         * @return 存在的角色 ID（升序）
+         */
+        @Select("""
+                        <script>
+                        SELECT id
+                        FROM dynamicmenu_sys_role
+                        WHERE id IN
+                        <foreach collection="roleIds" item="roleId" open="(" separator="," close=")">
+                            #{roleId}
+                        </foreach>
+                        ORDER BY id
+                        LOCK IN SHARE MODE
+                        </script>
+                        """)
+        List<Long> lockExistingIds(@Param("roleIds") Collection<Long> roleIds);
+}
@@ -16,6 +16,7 @@ import java.util.List;
  * - 用户 → 角色编码列表查询
  * - 用户 → 角色名称查询
  * - 用户 → 权限标识（按钮权限 perms）查询
+ * - 被禁用的用户 ID 查询
  *
  * RBAC 权限模型结构：
  * ------------------------------------------------------------
@@ -34,7 +35,7 @@ import java.util.List;
  *
  * 说明：
  * - 非按钮类菜单（目录、菜单）不参与权限点（perms）产出
- * - listPermissionsByUserId 只返回非空 perms
+ * - listPermissionsByUserId 只返回非空 perms，且菜单自身及全部祖先都已启用
  */
 @Mapper
 public interface UserMapper extends BaseMapper<User> {
@@ -135,6 +136,9 @@ public interface UserMapper extends BaseMapper<User> {
          * - perms 字段只在 menu_type=3（按钮）时有值
          * - 自动 DISTINCT 去重
          * - 过滤空字符串 perms
+         * - 菜单路径（自身 + 全部祖先，闭包表 depth = 0 的行即自身）中任一节点被禁用时不产出，
+         * 与 RbacEngine.hasPermission、授权快照同一口径；菜单状态变化发布 MenuCatalogChangedEvent，
+         * 登录主体缓存随之清空
          *
          * @param userId 用户ID
          * @return 权限编码列表，如 ["sys:user:list", "sys:role:assign"]
@@ -148,6 +152,57 @@ public interface UserMapper extends BaseMapper<User> {
                         WHERE ur.user_id = #{userId}
                           AND m.perms IS NOT NULL
                           AND m.perms <> ''
+                          AND NOT EXISTS (
+                              SELECT 1
+                              FROM dynamicmenu_sys_menu_closure c
+                              INNER JOIN dynamicmenu_sys_menu a ON a.id = c.ancestor_id
+                              WHERE c.descendant_id = m.id
+                                AND (a.status IS NULL OR a.status <> 1)
+                          )
                         """)
         List<String> listPermissionsByUserId(@Param("userId") Long userId);
+
+        // ============================================================
+        // 5. 查询被禁用的用户 ID
+        // ============================================================
+
+        /**
+         * 查询状态不是启用（status <> 1）的全部用户 ID
+         *
+         * 使用场景：
+         * ------------------------------------------------------------
+         * - DisabledUserCache：批量权限判定排除被禁用的用户；授权快照带上被禁用的用户，客户端据此拒绝其 token
+         *
+         * @return 用户 ID（升序）
+         */
+        @Select("""
+                        SELECT id
+                        FROM dynamicmenu_sys_user
+                        WHERE status IS NULL OR status <> 1
+                        ORDER BY id
+                        """)
+        List<Long> listDisabledUserIds();
+
+        // ============================================================
+        // 6. 锁定用户行（串行化同一用户的角色分配）
+        // ============================================================
+
+        /**
+         * 对用户行加排他锁
+         *
+         * 使用场景：
+         * ------------------------------------------------------------
+         * - UserServiceImpl.assignRoles：跨节点串行化同一用户的“读取现有角色 → 差量写入”，
+         * 避免并发请求重复插入同一 (user_id, role_id)
+         *
+         * @param userId 用户 ID
+         * @return 用户 ID（用户不存在返回 null）
+         */
+        @Select("""
+                        SELECT id
+                        FROM dynamicmenu_sys_user
+                        WHERE id = #{userId}
+                        FOR UPDATE
+                        """)
+        Long lockById(@Param("userId") Long userId);
 }
@@ -0,0 +1,116 @@
+package net.wcloud.helloworld.dynamicmenu.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import net.wcloud.helloworld.dynamicmenu.dto.RbacChecksumDTO;
+import net.wcloud.helloworld.dynamicmenu.entity.UserRole;
+import org.apache.ibatis.annotations.*;
+
+import java.util.List;
+
+/**
+ * UserRoleMapper（用户角色关联表 Mapper）
+ *
+ * 对应表： dynamicmenu_sys_user_role
+ *
+ * 该 Mapper 主要提供：
+ * ------------------------------------------------------------
+ * 1. 查询用户绑定的角色 ID（构建 / 刷新反向索引）
+ * 2. 查询全部 (user_id, role_id) 关联（反向索引首次加载）
+ * 3. 增量删除 / 插入用户角色（用户授权角色）
+ * 4. 按用户计算角色集合校验和（对账）
+ */
+@Mapper
+public interface UserRoleMapper extends BaseMapper<UserRole> {
+
+        /**
+         * 查询用户绑定的角色 ID 列表
+         *
+         * @param userId 用户 ID
+         * @return 角色 ID 列表
+         */
+        @Select("""
+                        SELECT role_id
+                        FROM dynamicmenu_sys_user_role
+                        WHERE user_id = #{userId}
+                        """)
+        List<Long> listRoleIdsByUserId(@Param("userId") Long userId);
+
+        /**
+         * 查询全部用户角色关联（只取两列）
+         *
+         * 使用场景：
+         * ------------------------------------------------------------
+         * - RoleUserIndex 首次使用时一次性加载
+         *
+         * @return 关联列表（仅 userId / roleId 有值）
+         */
+        @Select("""
+                        SELECT user_id, role_id
+                        FROM dynamicmenu_sys_user_role
+                        """)
+        List<UserRole> listAllPairs();
+
+        /**
+         * 删除用户与指定角色的关联
+         *
+         * @param userId  用户 ID
+         * @param roleIds 角色 ID 列表（不能为空）
+         * @return 删除记录数
+         */
+        @Delete("""
+                        <script>
+                        DELETE FROM dynamicmenu_sys_user_role
+                        WHERE user_id = #{userId}
+                          AND role_id IN
+                        <foreach collection="roleIds" item="roleId" open="(" separator="," close=")">
+                            #{roleId}
+                        </foreach>
+                        </script>
+                        """)
+        int deleteUserRoles(@Param("userId") Long userId,
+                        @Param("roleIds") List<Long> roleIds);
+
+        /**
+         * 批量插入用户与角色的关联
+         *
+         * @param userId  用户 ID
+         * @param roleIds 角色 ID 列表（不能为空）
+         * @return 插入行数
+         */
+        @Insert("""
+                        <script>
+                        INSERT INTO dynamicmenu_sys_user_role(user_id, role_id)
+                        VALUES
+                        <foreach collection="roleIds" item="roleId" separator=",">
+                            (#{userId}, #{roleId})
+                        </foreach>
+                        </script>
+                        """)
+        int insertUserRoles(@Param("userId") Long userId,
+                        @Param("roleIds") List<Long> roleIds);
+
+        /**
+         * 按用户分批计算角色集合校验和（键集分页：user_id > afterUserId）
+         *
+         * 说明：
+         * ------------------------------------------------------------
+         * - 走 uk_user_role(user_id, role_id) 索引范围扫描
+         * - 没有任何角色的用户不会出现在结果中
+         *
+         * @param afterUserId 上一批最后一个用户 ID（首批传 0）
+         * @param limit       每批用户数
+         * @return 每个用户的 cnt / checksum
+         */
+        @Select("""
+                        SELECT user_id AS id,
+                               COUNT(*) AS cnt,
+                               BIT_XOR(CRC32(role_id)) AS checksum
+                        FROM dynamicmenu_sys_user_role
+                        WHERE user_id > #{afterUserId}
+                        GROUP BY user_id
+                        ORDER BY user_id
+                        LIMIT #{limit}
+                        """)
+        List<RbacChecksumDTO> listRoleChecksums(@Param("afterUserId") long afterUserId,
+                        @Param("limit") int limit);
+}
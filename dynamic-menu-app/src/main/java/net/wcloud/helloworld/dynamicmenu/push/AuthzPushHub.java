@@ -0,0 +1,403 @@
+package net.wcloud.helloworld.dynamicmenu.push;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.config.AuthzProperties;
+import net.wcloud.helloworld.dynamicmenu.event.*;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * RBAC 变更推送中心（Server-Sent Events）
+ *
+ * 连接模型：
+ * ------------------------------------------------------------
+ * - 每个订阅是一个 SseEmitter（Servlet 异步请求），建立后立即释放容器线程，
+ * 空闲连接不占用任何线程
+ * - 订阅者按“角色集合”分组（排序后的 roleId 列表作为 key），
+ * 相同角色集合的用户看到的菜单 / 权限变化完全一致，共用一份事件内容
+ *
+ * 推送时机：
+ * ------------------------------------------------------------
+ * 1. 监听 AuthzEvent，只给受影响的分组（或用户）记下“需要达到的版本号”
+ * 2. 定时 flush：当 AuthzChangeRing.safeVersion() 已达到该版本时才发送，
+ * 保证客户端收到通知后调用 /api/menu/delta 一定能拿到这次变化；
+ * 同一周期内的多次变更合并为一条通知
+ * 3. 事件内容很小：event = authz-changed，data = {"version": N}
+ * 4. flush 只挑选要发的连接，写 SSE 交给独立的发送线程池：
+ * 定时任务线程与 AuthzChangeLogTailer 共用，不能被慢客户端的阻塞写拖住
+ *
+ * 发送队列：
+ * ------------------------------------------------------------
+ * - 线程池队列有界（app.authz.push-send-queue-capacity）
+ * - 每个连接同一时刻最多一个发送任务：已有任务排队 / 执行中时，新通知只覆盖待发送的版本号
+ * （版本号只增不减，客户端只需要最新的），心跳在已有待发送内容时直接跳过；
+ * 慢客户端因此最多占一个队列位置，不会无限堆积
+ * - 队列已满时不阻塞 flush：该连接待发送的版本号放回 pending，下一次 flush 重试
+ *
+ * 分组维护：
+ * ------------------------------------------------------------
+ * - 用户换角色：立即移入新分组，并单独通知该用户
+ * - 角色删除：flush 时按最新索引重新分组
+ * - 菜单目录变化 / 全量重同步：通知全部分组
+ */
+@Slf4j
+@Component
+public class AuthzPushHub {
+
+    private static final String EVENT_NAME = "authz-changed";
+
+    private final AuthzEventBus authzEventBus;
+
+    private final AuthzProperties authzProperties;
+
+    /** 角色集合 key → 分组 */
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+
+    /** userId → 该用户的订阅（同一用户可能打开多个标签页） */
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+
+    private volatile long lastHeartbeatNanos = System.nanoTime();
+
+    /** SSE 发送线程池（flush / 心跳只负责提交；队列有界，满时拒绝） */
+    private final ThreadPoolExecutor sender;
+
+    public AuthzPushHub(AuthzEventBus authzEventBus, AuthzProperties authzProperties) {
+        this.authzEventBus = authzEventBus;
+        this.authzProperties = authzProperties;
+
+        AtomicInteger seq = new AtomicInteger();
+        int threads = Math.max(1, authzProperties.getPushSendThreads());
+        this.sender = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, authzProperties.getPushSendQueueCapacity())), r -> {
+            Thread t = new Thread(r, "authz-push-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 相同角色集合的订阅者
+     */
+    private static final class Group {
+
+        private final String key;
+
+        private final Set<Long> roleIds;
+
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+        /** 待推送的目标版本号，0 表示无需推送 */
+        private final AtomicLong pending = new AtomicLong();
+
+        /** 成员的角色可能已变化（如角色被删除），flush 时重新分组 */
+        private volatile boolean regroup;
+
+        private Group(String key, Set<Long> roleIds) {
+            this.key = key;
+            this.roleIds = roleIds;
+        }
+    }
+
+    /**
+     * 单个 SSE 连接
+     */
+    private static final class Subscriber {
+
+        private final Long userId;
+
+        private final SseEmitter emitter;
+
+        /** 只针对该连接的待推送版本号（用户换角色） */
+        private final AtomicLong pending = new AtomicLong();
+
+        /** 已交给发送线程池、尚未写出的版本号，0 表示没有 */
+        private final AtomicLong queuedVersion = new AtomicLong();
+
+        /** 已交给发送线程池、尚未写出的心跳 */
+        private final AtomicBoolean queuedPing = new AtomicBoolean();
+
+        /** 是否已有该连接的发送任务排队或执行中 */
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile Group group;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+
+    /**
+     * 建立订阅
+     *
+     * @param userId 当前用户 ID
+     * @return SseEmitter（由 Spring MVC 以异步请求方式保持连接）
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(authzProperties.getPushTimeoutMs());
+        Subscriber subscriber = new Subscriber(userId, emitter);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        subscribersByUser.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        join(subscriber);
+
+        // 首条事件告知当前版本号，客户端据此判断是否需要先补一次增量
+        send(subscriber, SseEmitter.event()
+                .name("ready")
+                .data(payload(authzEventBus.changeRing().safeVersion()), MediaType.APPLICATION_JSON));
+
+        log.debug("[AuthzPushHub] 新订阅, userId={}, group={}", userId, subscriber.group.key);
+        return emitter;
+    }
+
+    /**
+     * 当前订阅统计
+     */
+    public Map<String, Integer> stats() {
+        Map<String, Integer> stats = new LinkedHashMap<>();
+        stats.put("groups", groups.size());
+        stats.put("users", subscribersByUser.size());
+        stats.put("connections", groups.values().stream().mapToInt(g -> g.subscribers.size()).sum());
+        stats.put("queuedSends", sender.getQueue().size());
+        return stats;
+    }
+
+    @EventListener
+    public void onAuthzEvent(AuthzEvent event) {
+        if (groups.isEmpty()) {
+            return;
+        }
+
+        long target = authzEventBus.changeRing().latestSeq();
+        if (event instanceof UserRolesChangedEvent e) {
+            // 索引已在分发前刷新：移入新分组，只通知该用户
+            for (Subscriber s : subscribersByUser.getOrDefault(e.userId(), Set.of())) {
+                join(s);
+                s.pending.accumulateAndGet(target, Math::max);
+            }
+            return;
+        }
+
+        Long roleId = event instanceof RoleMenusChangedEvent e ? e.roleId()
+                : event instanceof RoleChangedEvent e ? e.roleId()
+                : null;
+        boolean deleted = event instanceof RoleChangedEvent e && e.deleted();
+        if (event instanceof RoleChangedEvent && !deleted) {
+            // 角色名称等变化不影响菜单与权限
+            return;
+        }
+
+        int marked = 0;
+        for (Group g : groups.values()) {
+            if (roleId == null || g.roleIds.contains(roleId)) {
+                g.pending.accumulateAndGet(target, Math::max);
+                g.regroup |= deleted;
+                marked++;
+            }
+        }
+        log.debug("[AuthzPushHub] 标记待推送分组, groups={}, targetVersion={}, event={}", marked, target, event);
+    }
+
+    /**
+     * 定时推送：版本号已对外可见的分组 / 连接才发送；同时发送心跳，及时清理断开的连接
+     */
+    @Scheduled(fixedDelayString = "${app.authz.push-flush-interval-ms:500}")
+    public void flush() {
+        if (groups.isEmpty()) {
+            return;
+        }
+
+        long safe = authzEventBus.changeRing().safeVersion();
+        int sent = 0;
+
+        for (Group g : List.copyOf(groups.values())) {
+            if (g.regroup) {
+                g.regroup = false;
+                g.subscribers.forEach(this::join);
+            }
+
+            long target = g.pending.get();
+            if (target > 0 && target <= safe && g.pending.compareAndSet(target, 0)) {
+                for (Subscriber s : g.subscribers) {
+                    s.pending.set(0);
+                    sent += sendAsync(s, safe) ? 1 : 0;
+                }
+            }
+        }
+
+        for (Set<Subscriber> subs : subscribersByUser.values()) {
+            for (Subscriber s : subs) {
+                long target = s.pending.get();
+                if (target > 0 && target <= safe && s.pending.compareAndSet(target, 0)) {
+                    sent += sendAsync(s, safe) ? 1 : 0;
+                }
+            }
+        }
+
+        if (sent > 0) {
+            log.info("[AuthzPushHub] 已提交 RBAC 变更通知, connections={}, version={}", sent, safe);
+        }
+
+        long now = System.nanoTime();
+        if (now - lastHeartbeatNanos > TimeUnit.SECONDS.toNanos(authzProperties.getPushHeartbeatSeconds())) {
+            lastHeartbeatNanos = now;
+            for (Group g : groups.values()) {
+                for (Subscriber s : g.subscribers) {
+                    if (s.queuedVersion.get() == 0 && s.queuedPing.compareAndSet(false, true)) {
+                        schedule(s);
+                    }
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * 按当前角色加入（或移入）分组
+     */
+    private void join(Subscriber subscriber) {
+        Set<Long> roleIds = new TreeSet<>(authzEventBus.roleUserIndex().rolesOfUser(subscriber.userId));
+        String key = roleIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+
+        Group old = subscriber.group;
+        if (old != null && old.key.equals(key)) {
+            return;
+        }
+
+        groups.compute(key, (k, g) -> {
+            Group target = g != null ? g : new Group(k, Set.copyOf(roleIds));
+            target.subscribers.add(subscriber);
+            subscriber.group = target;
+            return target;
+        });
+
+        if (old != null) {
+            leave(old, subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        Set<Subscriber> subs = subscribersByUser.get(subscriber.userId);
+        if (subs != null) {
+            subs.remove(subscriber);
+            subscribersByUser.computeIfPresent(subscriber.userId, (k, v) -> v.isEmpty() ? null : v);
+        }
+        Group group = subscriber.group;
+        if (group != null) {
+            leave(group, subscriber);
+        }
+        log.debug("[AuthzPushHub] 订阅结束, userId={}", subscriber.userId);
+    }
+
+    private void leave(Group group, Subscriber subscriber) {
+        group.subscribers.remove(subscriber);
+        groups.computeIfPresent(group.key, (k, g) -> g.subscribers.isEmpty() ? null : g);
+    }
+
+    private SseEmitter.SseEventBuilder event(long version, String data) {
+        return SseEmitter.event()
+                .id(String.valueOf(version))
+                .name(EVENT_NAME)
+                .data(data, MediaType.APPLICATION_JSON);
+    }
+
+    private String payload(long version) {
+        return "{\"version\":" + version + "}";
+    }
+
+    /**
+     * 记下该连接要发送的版本号，并确保有一个发送任务（已有任务时合并，不再提交）
+     *
+     * @return 是否已交给发送线程池（队列已满 / 应用关闭中返回 false，版本号放回 pending）
+     */
+    private boolean sendAsync(Subscriber subscriber, long version) {
+        subscriber.queuedVersion.accumulateAndGet(version, Math::max);
+        return schedule(subscriber);
+    }
+
+    /**
+     * 该连接还没有发送任务时提交一个
+     */
+    private boolean schedule(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return true;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+            return true;
+        } catch (RejectedExecutionException e) {
+            subscriber.queuedPing.set(false);
+            long version = subscriber.queuedVersion.getAndSet(0);
+            if (version > 0) {
+                subscriber.pending.accumulateAndGet(version, Math::max);
+            }
+            subscriber.draining.set(false);
+            log.debug("[AuthzPushHub] 发送队列已满, 留到下次推送, userId={}, version={}", subscriber.userId, version);
+            return false;
+        }
+    }
+
+    /**
+     * 发送线程：写出该连接待发送的内容（最新版本号优先，有通知时不再单独发心跳），直到没有新内容
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            while (true) {
+                long version = subscriber.queuedVersion.getAndSet(0);
+                boolean ping = subscriber.queuedPing.getAndSet(false);
+                if (version == 0 && !ping) {
+                    break;
+                }
+                boolean ok = version > 0
+                        ? send(subscriber, event(version, payload(version)))
+                        : send(subscriber, SseEmitter.event().comment("ping"));
+                if (!ok) {
+                    // 连接已关闭，丢弃剩余内容（仍保持 draining，后续通知不再提交）
+                    subscriber.queuedVersion.set(0);
+                    subscriber.queuedPing.set(false);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // 释放前后之间到达的内容：重新占有后继续发送，否则交给下一次 sendAsync
+        } while ((subscriber.queuedVersion.get() > 0 || subscriber.queuedPing.get())
+                && subscriber.draining.compareAndSet(false, true));
+    }
+
+    /**
+     * 发送失败（客户端已断开）时结束该连接
+     */
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (Exception e) {
+            log.debug("[AuthzPushHub] 推送失败, 关闭连接, userId={}, error={}", subscriber.userId, e.getMessage());
+            subscriber.emitter.completeWithError(e);
+            remove(subscriber);
+            return false;
+        }
+    }
+}
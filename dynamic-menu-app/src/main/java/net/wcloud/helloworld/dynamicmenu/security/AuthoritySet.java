@@ -0,0 +1,72 @@
+package net.wcloud.helloworld.dynamicmenu.security;
+
+import net.wcloud.helloworld.dynamicmenu.core.Interner;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 用户的角色编码 + 权限标识（不可变、驻留）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 角色组合相同的用户拥有完全相同的 AuthoritySet，of() 返回驻留池中的同一个实例，
+ * 缓存的 LoginUserDetails 只持有一个引用
+ * - 其中的字符串驻留到 Interner.STRINGS，GrantedAuthority 驻留到 AUTHORITIES
+ * - authorities 在创建时一次生成（角色 + 权限点，去重），不会每个请求重新构建
+ *
+ * @param roleCodes   角色编码（如 ROLE_ADMIN，原样作为 GrantedAuthority，可用 hasRole('ADMIN') 判断）
+ * @param permissions 权限标识（如 sys:user:list）
+ * @param authorities 角色 + 权限点，供 Spring Security 授权判断
+ */
+public record AuthoritySet(List<String> roleCodes, List<String> permissions, List<GrantedAuthority> authorities) {
+
+    public static final AuthoritySet EMPTY = new AuthoritySet(List.of(), List.of(), List.of());
+
+    /** GrantedAuthority 驻留池（角色编码 + 权限标识，取值范围有限） */
+    private static final Interner<GrantedAuthority> AUTHORITIES = new Interner<>(65_536);
+
+    /** AuthoritySet 驻留池（不同的角色组合数） */
+    private static final Interner<AuthoritySet> SETS = new Interner<>(4_096);
+
+    /**
+     * 创建（或取出已驻留的）AuthoritySet
+     *
+     * @param roleCodes   角色编码（可为 null）
+     * @param permissions 权限标识（可为 null）
+     * @return 共享实例
+     */
+    public static AuthoritySet of(List<String> roleCodes, List<String> permissions) {
+        List<String> roles = internAll(roleCodes);
+        List<String> perms = internAll(permissions);
+        if (roles.isEmpty() && perms.isEmpty()) {
+            return EMPTY;
+        }
+
+        // 角色与权限点合并去重，否则重复权限可能导致性能问题
+        Set<String> all = new LinkedHashSet<>(roles);
+        all.addAll(perms);
+        List<GrantedAuthority> authorities = all.stream()
+                .<GrantedAuthority>map(a -> AUTHORITIES.intern(new SimpleGrantedAuthority(a)))
+                .toList();
+
+        return SETS.intern(new AuthoritySet(roles, perms, authorities));
+    }
+
+    /**
+     * 驻留并固定为只读列表（null 元素丢弃，null 列表视为空）
+     */
+    private static List<String> internAll(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return List.of();
+        }
+        return values.stream()
+                .filter(Objects::nonNull)
+                .map(Interner.STRINGS::intern)
+                .toList();
+    }
+}
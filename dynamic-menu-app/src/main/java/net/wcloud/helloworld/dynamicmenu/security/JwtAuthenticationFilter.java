@@ -4,6 +4,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import net.wcloud.helloworld.dynamicmenu.cache.VerifiedTokenCache;
 import net.wcloud.helloworld.dynamicmenu.config.JwtProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,7 +24,7 @@ import java.io.IOException;
  * 功能职责：
  * ------------------------------------------------------------
  * 1. 从请求头中解析 Token（支持 Bearer 模式）
- * 2. 校验 Token 是否有效（签名、过期时间）
+ * 2. 校验 Token 是否有效（签名、过期时间；已验签的 token 走 VerifiedTokenCache）
  * 3. 解析 Token 中的 username
  * 4. 查询数据库（或缓存）获取用户信息 UserDetails
  * 5. 将用户信息写入 SecurityContext，表示登录成功
@@ -46,14 +47,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     private final JwtProperties jwtProperties;
-    private final JwtTokenUtil jwtTokenUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final LoginUserDetailsService userDetailsService;
 
     public JwtAuthenticationFilter(JwtProperties jwtProperties,
-            JwtTokenUtil jwtTokenUtil,
+            VerifiedTokenCache verifiedTokenCache,
             LoginUserDetailsService userDetailsService) {
         this.jwtProperties = jwtProperties;
-        this.jwtTokenUtil = jwtTokenUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
         this.userDetailsService = userDetailsService;
     }
 
@@ -92,21 +93,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             // -------------------------------
-            // Step 4: 校验 Token 签名、有效期
+            // Step 4: 校验 Token 签名、有效期，并解析用户名
+            // （已验签的 token 命中 VerifiedTokenCache，不再重复验签）
             // -------------------------------
-            boolean valid = jwtTokenUtil.validateToken(token);
-            log.debug("[JWT FILTER] Token validate result = {}", valid);
+            VerifiedToken verified = verifiedTokenCache.verify(token);
+            log.debug("[JWT FILTER] Token validate result = {}", verified != null);
 
-            if (!valid) {
+            if (verified == null) {
                 log.warn("[JWT FILTER] Token 无效或已过期, uri={}", requestURI);
                 filterChain.doFilter(request, response);
                 return;
             }
 
             // -------------------------------
-            // Step 5: 从 Token 中解析用户名
+            // Step 5: 从 Token 中取出用户名
             // -------------------------------
-            String username = jwtTokenUtil.getUsername(token);
+            String username = verified.username();
             log.debug("[JWT FILTER] Token username = {}", username);
 
             if (!StringUtils.hasText(username)) {
@@ -118,8 +120,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // -------------------------------
             // Step 6: 查询用户信息
             // -------------------------------
-            log.debug("[JWT FILTER] 通过 UserDetailsService 加载用户信息, username={}", username);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            log.debug("[JWT FILTER] 通过 PrincipalCache 加载用户信息, username={}", username);
+            UserDetails userDetails = userDetailsService.loadPrincipal(username);
 
             if (userDetails == null) {
                 log.warn("[JWT FILTER] 用户不存在或已被禁用, username={}", username);
@@ -18,7 +18,7 @@ import java.util.Map;
  * 主要职责：
  * ------------------------------------------------------------
  * 1. 生成 JWT（包含 username、claims、自定义数据）
- * 2. 校验 JWT 的合法性（签名正确、未过期）
+ * 2. 校验 JWT 的合法性（签名正确、未过期），verify 一次解析出 username / userId / 过期时间
  * 3. 解析 username、userId 等自定义字段
  *
  * 技术说明：
@@ -87,31 +87,45 @@ public class JwtTokenUtil {
      * @return true=有效, false=无效
      */
     public boolean validateToken(String token) {
+        return verify(token) != null;
+    }
+
+    /**
+     * 校验 token 并一次性取出鉴权需要的字段（只解析一次）
+     *
+     * @param token JWT 字符串
+     * @return 校验通过返回 VerifiedToken，签名错误 / 过期 / 格式错误返回 null
+     */
+    public VerifiedToken verify(String token) {
         try {
-            getClaims(token);
-            log.debug("[validateToken] Token 校验通过");
-            return true;
+            Claims claims = getClaims(token);
+            log.debug("[verify] Token 校验通过");
+
+            Object userId = claims.get("userId");
+            return new VerifiedToken(claims.getSubject(),
+                    userId == null ? null : Long.valueOf(userId.toString()),
+                    claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime());
 
         } catch (ExpiredJwtException e) {
-            log.warn("[validateToken] Token 已过期: {}", e.getMessage());
+            log.warn("[verify] Token 已过期: {}", e.getMessage());
 
         } catch (MalformedJwtException e) {
-            log.warn("[validateToken] Token 格式非法: {}", e.getMessage());
+            log.warn("[verify] Token 格式非法: {}", e.getMessage());
 
         } catch (UnsupportedJwtException e) {
-            log.warn("[validateToken] 不支持该 Token: {}", e.getMessage());
+            log.warn("[verify] 不支持该 Token: {}", e.getMessage());
 
         } catch (SignatureException e) {
-            log.warn("[validateToken] Token 签名验证失败（可能被伪造）: {}", e.getMessage());
+            log.warn("[verify] Token 签名验证失败（可能被伪造）: {}", e.getMessage());
 
         } catch (IllegalArgumentException e) {
-            log.warn("[validateToken] Token 为空或解析失败: {}", e.getMessage());
+            log.warn("[verify] Token 为空或解析失败: {}", e.getMessage());
 
         } catch (Exception e) {
-            log.error("[validateToken] Token 验证未知异常: {}", e.getMessage(), e);
+            log.error("[verify] Token 验证未知异常: {}", e.getMessage(), e);
         }
 
-        return false;
+        return null;
     }
 
     /**
@@ -0,0 +1,163 @@
+package net.wcloud.helloworld.dynamicmenu.security;
+
+import lombok.Getter;
+import net.wcloud.helloworld.dynamicmenu.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * LoginUserDetails
+ *
+ * 这是 Spring Security 在用户认证 / 鉴权过程中使用的核心对象。
+ *
+ * 使用场景：
+ * ------------------------------------------------------------
+ * 1. 登录时：UserDetailsService.loadUserByUsername() 返回此对象（携带密码哈希）
+ * 2. 认证成功后：放入 SecurityContextHolder
+ * 3. 每次请求中：JwtAuthenticationFilter 从 PrincipalCache 取出该对象并放入 SecurityContext
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 提供用户 ID、用户名
+ * - 提供角色和权限点（组合成 GrantedAuthority）
+ * - 决定用户是否可用（isEnabled）
+ *
+ * 内存：
+ * ------------------------------------------------------------
+ * - 只保存 userId / username / status 与一个驻留的 AuthoritySet（角色组合相同的用户共享），
+ * 不再持有 User 实体（密码哈希、头像、昵称、时间字段）
+ * - 密码哈希只在登录时临时携带（withPassword 生成的副本）：认证成功后 ProviderManager
+ * 调用 eraseCredentials() 清除；PrincipalCache 中的实例从不携带密码
+ */
+@Getter
+public class LoginUserDetails implements UserDetails, CredentialsContainer {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginUserDetails.class);
+
+    /** 用户 ID */
+    private final Long userId;
+
+    /** 登录账号 */
+    private final String username;
+
+    /** 用户状态（1=启用） */
+    private final Integer status;
+
+    /** 角色编码 + 权限标识（驻留，多个主体共享） */
+    private final AuthoritySet authoritySet;
+
+    /** 密码哈希（仅登录认证期间存在，认证成功后清除） */
+    private String password;
+
+    public LoginUserDetails(User user, List<String> roleCodes, List<String> permissions) {
+        this(user.getId(), user.getUsername(), user.getStatus(), AuthoritySet.of(roleCodes, permissions), null);
+
+        log.debug("[LoginUserDetails] 创建 LoginUserDetails 对象, userId={}, username={}, roleCount={}, permCount={}",
+                userId, username, authoritySet.roleCodes().size(), authoritySet.permissions().size());
+    }
+
+    private LoginUserDetails(Long userId, String username, Integer status, AuthoritySet authoritySet,
+                             String password) {
+        this.userId = userId;
+        this.username = username;
+        this.status = status;
+        this.authoritySet = authoritySet;
+        this.password = password;
+    }
+
+    /**
+     * 携带密码哈希的副本（仅供 DaoAuthenticationProvider 校验密码，不放入缓存）
+     *
+     * @param passwordHash 数据库中的密码哈希
+     * @param status       数据库中的用户状态（缓存中的状态可能已过期）
+     * @return 新对象，与当前对象共享 AuthoritySet
+     */
+    public LoginUserDetails withPassword(String passwordHash, Integer status) {
+        return new LoginUserDetails(userId, username, status, authoritySet, passwordHash);
+    }
+
+    /** 角色编码列表（只读） */
+    public List<String> getRoleCodes() {
+        return authoritySet.roleCodes();
+    }
+
+    /** 权限标识列表（只读，按钮级权限，例如："sys:user:list"） */
+    public List<String> getPermissions() {
+        return authoritySet.permissions();
+    }
+
+    /**
+     * 返回角色 + 权限点，供 Spring Security 授权判断使用。
+     *
+     * Security 中的权限判断规则：
+     * ------------------------------------------------------------
+     * - hasRole("ADMIN") → 实际匹配 ROLE_ADMIN
+     * - hasAuthority("sys:user:list")
+     *
+     * 因此此处包含两类数据：
+     * - SimpleGrantedAuthority("ROLE_ADMIN")
+     * - SimpleGrantedAuthority("sys:user:list")
+     */
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authoritySet.authorities();
+    }
+
+    /**
+     * 返回数据库中保存的加密密码（只有登录认证期间的副本才有值）
+     */
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * 认证成功后由 ProviderManager 调用，清除密码哈希
+     */
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+
+    /** 账户是否未过期，项目未做控制统一返回 true */
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    /** 账户是否未锁定，如需要可扩展 User.locked 字段 */
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    /** 密码凭证是否有效（一般不用） */
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    /**
+     * 是否启用账号（安全控制最常用字段）
+     * status = 1 → 启用
+     * status !=1 → 禁用
+     */
+    @Override
+    public boolean isEnabled() {
+        boolean enabled = status != null && status == 1;
+
+        if (!enabled) {
+            log.warn("[isEnabled] 用户已被禁用, userId={}, username={}", userId, username);
+        } else {
+            log.debug("[isEnabled] 用户可用, username={}", username);
+        }
+
+        return enabled;
+    }
+}
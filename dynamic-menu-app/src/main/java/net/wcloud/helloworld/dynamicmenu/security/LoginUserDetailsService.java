@@ -2,6 +2,7 @@ package net.wcloud.helloworld.dynamicmenu.security;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.cache.PrincipalCache;
 import net.wcloud.helloworld.dynamicmenu.entity.User;
 import net.wcloud.helloworld.dynamicmenu.service.UserService;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,6 +11,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * LoginUserDetailsService
@@ -24,9 +26,17 @@ import java.util.List;
  * 返回对象：
  * ------------------------------------------------------------
  * 返回 LoginUserDetails，包括：
- * - User 实体（id, username, password, status）
- * - roleCodes（ROLE_ADMIN 等）
- * - permissions（sys:user:list 等按钮权限）
+ * - userId / username / status
+ * - roleCodes（ROLE_ADMIN 等）与 permissions（sys:user:list 等按钮权限），合并为驻留的 AuthoritySet
+ *
+ * 缓存：
+ * ------------------------------------------------------------
+ * - 结果按 username 缓存在 PrincipalCache 中，JWT 请求不再每次查库（loadPrincipal）
+ * - 缓存的主体不含密码哈希；密码登录时（loadUserByUsername）每次从数据库读取用户行，
+ * 返回携带密码哈希与最新状态的副本，认证成功后由 ProviderManager 清除
+ * - 用户状态变化不发布事件：密码登录发现缓存中的状态与数据库不一致时失效该用户，
+ * 之后的 JWT 请求重新加载
+ * - 用户角色 / 角色授权变化时由 RBAC 事件按用户失效
  *
  * 日志策略：
  * ------------------------------------------------------------
@@ -41,26 +51,70 @@ public class LoginUserDetailsService implements UserDetailsService {
 
     private final UserService userService;
 
+    private final PrincipalCache principalCache;
+
     /**
-     * 根据 username 加载用户完整权限信息
+     * 密码登录：加载用户与密码哈希（DaoAuthenticationProvider 调用）
+     *
+     * 说明：
+     * - 用户行（密码哈希 / 状态）每次从数据库读取，角色与权限优先读取缓存
+     * - 返回的副本使用数据库中的密码哈希与状态（禁用的用户不能凭缓存中的“启用”登录），
+     * 缓存中的主体不含密码
+     * - 缓存中的状态已过期时失效该用户的缓存主体
      *
      * @param username 登录账号
-     * @return LoginUserDetails
+     * @return LoginUserDetails（携带密码哈希）
      * @throws UsernameNotFoundException 用户不存在时必须抛出
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        User user = findUser(username);
+        LoginUserDetails principal = principalCache.get(username, name -> buildPrincipal(user));
+        if (!Objects.equals(principal.getStatus(), user.getStatus())) {
+            log.info("[LoginUserDetailsService] 缓存中的用户状态已过期, username={}, cached={}, current={}",
+                    username, principal.getStatus(), user.getStatus());
+            principalCache.invalidateUsers(List.of(user.getId()));
+        }
+        return principal.withPassword(user.getPassword(), user.getStatus());
+    }
+
+    /**
+     * JWT 请求：按 username 读取登录主体（优先读取缓存，不含密码哈希）
+     *
+     * @param username 登录账号
+     * @return LoginUserDetails
+     * @throws UsernameNotFoundException 用户不存在
+     */
+    public LoginUserDetails loadPrincipal(String username) throws UsernameNotFoundException {
+        return principalCache.get(username, this::loadFromDatabase);
+    }
+
+    /**
+     * 从数据库加载用户、角色编码、权限标识（缓存未命中时调用）
+     */
+    private LoginUserDetails loadFromDatabase(String username) {
+        return buildPrincipal(findUser(username));
+    }
 
+    /**
+     * 查询用户行（不存在时抛出 UsernameNotFoundException）
+     */
+    private User findUser(String username) {
         log.info("[LoginUserDetailsService] 开始加载用户, username={}", username);
 
-        // 1. 查询用户
         User user = userService.getByUsername(username);
-
         if (user == null) {
             log.warn("[LoginUserDetailsService] 用户不存在, username={}", username);
             throw new UsernameNotFoundException("用户不存在: " + username);
         }
+        return user;
+    }
 
+    /**
+     * 加载角色编码、权限标识，组装登录主体（不含密码哈希）
+     */
+    private LoginUserDetails buildPrincipal(User user) {
+        String username = user.getUsername();
         log.debug("[LoginUserDetailsService] 查询到用户 userId={}, username={}, status={}",
                 user.getId(), user.getUsername(), user.getStatus());
 
@@ -0,0 +1,16 @@
+package net.wcloud.helloworld.dynamicmenu.security;
+
+/**
+ * 已验签的 token（只保留鉴权需要的字段，由 JwtTokenUtil.verify 生成）
+ *
+ * @param username  JWT 的 sub
+ * @param userId    自定义 claim userId（缺失时为 null）
+ * @param expiresAt 过期时间（毫秒时间戳）
+ */
+public record VerifiedToken(String username, Long userId, long expiresAt) {
+
+    /** 给定时刻是否已过期 */
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAt;
+    }
+}
@@ -0,0 +1,39 @@
+package net.wcloud.helloworld.dynamicmenu.service;
+
+import net.wcloud.helloworld.dynamicmenu.dto.AuthzDecisionRequestDTO;
+import net.wcloud.helloworld.dynamicmenu.vo.AuthzDecisionVO;
+
+import java.util.Map;
+
+/**
+ * 批量权限判定（AuthzDecisionService）
+ *
+ * 负责功能：
+ * ------------------------------------------------------------
+ * 1. 回答一批“用户 U 是否拥有权限 P”，结果为位向量
+ * 2. 只读内存索引（用户 → 角色、角色授权位图、菜单目录、被禁用的用户），不逐个查询数据库
+ * 3. 按批大小记录延迟直方图
+ *
+ * 判定口径：
+ * ------------------------------------------------------------
+ * - 与 RbacEngine.hasPermission 一致：配置了该 perms 的任一菜单 / 按钮已授权、且路径已启用
+ * - 只判定权限标识，不判定角色编码
+ * - 被禁用（status 不是 1）的用户没有任何权限：状态取自 DisabledUserCache，
+ * 生效延迟不超过 app.authz.cache-ttl-seconds（与登录主体缓存一致）
+ */
+public interface AuthzDecisionService {
+
+    /**
+     * 批量判定
+     *
+     * @param request 请求（单主体多权限，或多个 (主体, 权限) 对）
+     * @return 判定结果
+     * @throws IllegalArgumentException 批为空或超过 app.authz.decision-max-batch
+     */
+    AuthzDecisionVO decide(AuthzDecisionRequestDTO request);
+
+    /**
+     * 延迟直方图（按批大小分组）
+     */
+    Map<String, Map<String, Long>> latencyStats();
+}
@@ -0,0 +1,25 @@
+package net.wcloud.helloworld.dynamicmenu.service;
+
+import net.wcloud.helloworld.dynamicmenu.vo.AccessExplanationVO;
+
+/**
+ * 用户访问来源说明（AuthzExplainService）
+ *
+ * 负责功能：
+ * ------------------------------------------------------------
+ * 1. 回答“某用户为什么能 / 不能看到某个菜单、为什么有 / 没有某个权限标识”
+ * 2. 由内存索引计算（用户 → 角色、角色授权位图、菜单目录、被禁用的用户），代替手工联表排查
+ */
+public interface AuthzExplainService {
+
+    /**
+     * 说明用户对某个菜单或权限标识的访问来源（menuId 与 perm 二选一）
+     *
+     * @param userId 用户 ID
+     * @param menuId 菜单 ID
+     * @param perm   权限标识
+     * @return 来源说明
+     * @throws IllegalArgumentException userId 为空，或 menuId / perm 未给出或同时给出
+     */
+    AccessExplanationVO explain(Long userId, Long menuId, String perm);
+}
@@ -0,0 +1,26 @@
+package net.wcloud.helloworld.dynamicmenu.service;
+
+import net.wcloud.helloworld.dynamicmenu.dto.AuthzSnapshotDTO;
+
+/**
+ * RBAC 授权快照导出（AuthzSnapshotService）
+ *
+ * 负责功能：
+ * ------------------------------------------------------------
+ * 1. 从内存索引（角色授权、用户角色、菜单目录）组装 角色 → 权限标识 与 用户 → 角色
+ * 2. 按版本号比较：客户端版本与当前版本一致时只返回版本号
+ *
+ * 使用方：
+ * ------------------------------------------------------------
+ * - 其他服务引入 dynamic-menu-spring-boot-starter 后，按版本号定期拉取，在本地完成权限判定
+ */
+public interface AuthzSnapshotService {
+
+    /**
+     * 查询授权快照
+     *
+     * @param since 客户端持有的版本号（首次传 -1）
+     * @return 快照；since 与当前版本一致时 changed = false
+     */
+    AuthzSnapshotDTO getSnapshot(long since);
+}
@@ -0,0 +1,59 @@
+package net.wcloud.helloworld.dynamicmenu.service;
+
+import java.util.Collection;
+
+/**
+ * 用户有效菜单物化服务（EffectiveMenuService）
+ *
+ * 负责功能：
+ * ------------------------------------------------------------
+ * 1. 维护 dynamicmenu_sys_effective_user_menu（user_id, menu_id, perms）
+ * 2. 由角色 / 用户授权写操作在同一事务内调用，增量更新受影响的行
+ * 3. 提供全量重建（初始化、数据修复、绕过应用改库之后）
+ *
+ * 调用约定：
+ * ------------------------------------------------------------
+ * - 增量方法必须在关联表（role_menu / user_role）写入之后调用，
+ * 且与之处于同一事务，回滚时物化表一起回滚
+ */
+public interface EffectiveMenuService {
+
+    /**
+     * 角色授权菜单变化
+     *
+     * @param roleId  角色 ID
+     * @param added   新增的菜单 ID
+     * @param removed 取消的菜单 ID
+     */
+    void onRoleMenusChanged(Long roleId, Collection<Long> added, Collection<Long> removed);
+
+    /**
+     * 角色删除（须在删除 role_menu 之后、删除 user_role 之前调用）
+     *
+     * @param roleId 角色 ID
+     */
+    void onRoleDeleted(Long roleId);
+
+    /**
+     * 用户角色变化
+     *
+     * @param userId  用户 ID
+     * @param added   新增的角色 ID
+     * @param removed 移除的角色 ID
+     */
+    void onUserRolesChanged(Long userId, Collection<Long> added, Collection<Long> removed);
+
+    /**
+     * 菜单本身变化（perms 修改、菜单删除），重新物化这些菜单
+     *
+     * @param menuIds 菜单 ID
+     */
+    void onMenusChanged(Collection<Long> menuIds);
+
+    /**
+     * 全量重建
+     *
+     * @return 重建后的行数
+     */
+    int rebuildAll();
+}
@@ -0,0 +1,292 @@
+package net.wcloud.helloworld.dynamicmenu.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import net.wcloud.helloworld.dynamicmenu.entity.Menu;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuDeltaVO;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuSearchHitVO;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuVO;
+import net.wcloud.helloworld.dynamicmenu.vo.PageButtonsVO;
+import net.wcloud.helloworld.dynamicmenu.vo.RouteVO;
+
+import java.util.List;
+
+/**
+ * 菜单服务接口（MenuService）
+ *
+ * 负责功能：
+ * ------------------------------------------------------------
+ * 1. 构建【用户可见的菜单树】（根据用户 → 角色 → 菜单，多角色合并去重）
+ * 2. 构建【后台管理用的系统全量菜单树】（不考虑权限）
+ * 3. 提供内部查询封装方法（getMenuTreeByUserId）
+ * 4. 子树操作（查询子树 / 祖先、整树启停、移动子树），基于闭包表 dynamicmenu_sys_menu_closure
+ * 5. 菜单写入（新增 / 修改 / 删除 / 同级排序），每次写入推进菜单目录版本号
+ *
+ * 数据背景（核心逻辑）：
+ * ------------------------------------------------------------
+ * 动态菜单系统使用 RBAC 模型：
+ *
+ * 用户(User) ←→ 用户角色(UserRole)
+ * 角色(Role) ←→ 角色菜单(RoleMenu)
+ * 菜单(Menu)（menu_type=1目录、2菜单、3按钮）
+ *
+ * 动态菜单展示过程：
+ * 用户登录 → 查询角色 → 查询角色所拥有的菜单 → 去重 → 构建树
+ *
+ * 菜单存储表结构：
+ * - dynamicmenu_sys_menu : 存储目录、菜单、按钮三类资源
+ * - 字段菜单说明：
+ * id : 主键
+ * parent_id : 上级目录 ID（根节点 parent_id = 0）
+ * menu_type : 菜单类型（1=目录、2=菜单、3=按钮）
+ * status : 菜单状态（1=启用，0=禁用）
+ * sort_order : 排序号（树结构展示顺序）
+ *
+ * 返回对象：
+ * ------------------------------------------------------------
+ * 所有菜单树结果均返回 MenuVO（前端友好结构，可直接渲染）
+ */
+public interface MenuService extends IService<Menu> {
+
+    /**
+     * 查询当前登录用户的【可见菜单树】（多角色合并 + 菜单去重）
+     *
+     * 使用场景：
+     * ------------------------------------------------------------
+     * - 登录成功后，构建前端左侧菜单（侧边栏导航）
+     * - “我的权限菜单”
+     * - 刷新页面后重新加载当前用户的菜单
+     *
+     * 行为说明（逻辑步骤）：
+     * ------------------------------------------------------------
+     * 1. 根据 userId 查询用户所拥有的角色列表
+     * 2. 根据角色查询角色绑定的菜单（目录 / 菜单 / 按钮）
+     * 3. 多角色菜单合并并去重
+     * 4. 过滤掉按钮 menu_type = 3（按钮权限不在菜单树中展示）
+     * 5. 过滤掉禁用菜单 status != 1（祖先被禁用的菜单一并过滤）
+     * 5.1 授权了下级但未授权的祖先目录自动补齐，MenuVO.implicit = true
+     * 6. 按 sortOrder 排序
+     * 7. 按 parentId 构建树形结构
+     *
+     * 注意事项：
+     * ------------------------------------------------------------
+     * - 返回值只包含“目录 + 菜单”，用于构建前端导航菜单
+     * - 按钮权限返回值属于 Role → Permission，不在菜单树中返回
+     *
+     * @param userId 用户 ID
+     * @return 当前登录用户可见的树形菜单
+     */
+    List<MenuVO> listMenuTreeByUserId(Long userId);
+
+    /**
+     * 查询系统所有菜单的树（后台菜单管理使用）
+     *
+     * 使用场景：
+     * ------------------------------------------------------------
+     * - 后台“菜单管理”页面
+     * - 后台“角色分配菜单权限”页面（树 + checkbox）
+     * - 系统管理员查看全量菜单结构
+     *
+     * 行为说明（逻辑步骤）：
+     * ------------------------------------------------------------
+     * 1. 查询 dynamicmenu_sys_menu 全表所有记录
+     * 2. 可选择是否过滤按钮（通常后台管理需要展示按钮）
+     * 3. 按 parentId 构建完整树形结构
+     * 4. 按 sortOrder 排序
+     *
+     * 与 listMenuTreeByUserId 的区别：
+     * ------------------------------------------------------------
+     * - listMenuTreeByUserId 会按用户权限过滤
+     * - listAllMenuTree 不进行权限过滤，展示全量资源
+     *
+     * 注意：
+     * ------------------------------------------------------------
+     * - 在大多数后台管理系统中，菜单管理页面需要展示按钮（menu_type=3）
+     * - 前端也可以在渲染时决定是否隐藏按钮
+     *
+     * @return 系统完整的菜单树（包含目录、菜单、按钮）
+     */
+    List<MenuVO> listAllMenuTree();
+
+    /**
+     * 按层查询系统菜单树（角色授权页面按需展开）
+     *
+     * 说明：
+     * ------------------------------------------------------------
+     * - 返回 parentId 下 depth 层的节点，每个节点带 childCount（直接子节点数）
+     * - 最后一层节点的 children 为 null，前端展开时以该节点为 parentId 再次请求
+     * - 基于菜单目录快照中的 父 → 子 索引，不查询数据库
+     *
+     * @param parentId 父节点 ID（0 表示从根开始）
+     * @param depth    层数（1 ~ 5）
+     * @return 子树切片；parentId 不存在返回 null
+     */
+    List<MenuVO> listMenuTreeSlice(Long parentId, int depth);
+
+    /**
+     * 按名称 / 路由 / 权限标识搜索菜单（内存 n-gram 索引）
+     *
+     * @param query 查询串（不区分大小写的子串匹配）
+     * @param limit 最多返回条数（1 ~ 200）
+     * @return 命中的菜单及其祖先路径
+     */
+    List<MenuSearchHitVO> searchMenus(String query, int limit);
+
+    /**
+     * 根据任意 userId 获取菜单树（与 listMenuTreeByUserId 一致）
+     *
+     * 说明：
+     * ------------------------------------------------------------
+     * - 用于后端内部服务调用，如 UserServiceImpl.getUserDetail() 组装用户信息
+     * - 与 listMenuTreeByUserId 逻辑一样，只是语义不同
+     * - 保留下该方法有助于代码可读性：一个用于“当前登录用户”，一个用于“任意用户”
+     *
+     * 区别（语义级别）：
+     * ------------------------------------------------------------
+     * - listMenuTreeByUserId：强调用于“登录用户”，常配合 SecurityContext 使用
+     * - getMenuTreeByUserId：强调用于“后台业务根据 userId 查询”，不要求用户必须是当前登录者
+     *
+     * @param userId 用户ID
+     * @return 用户可见菜单树（目录 + 菜单）
+     */
+    List<MenuVO> getMenuTreeByUserId(Long userId);
+
+    /**
+     * 查询用户侧边栏菜单树（隐藏菜单及其下级不显示）
+     *
+     * @param userId 用户 ID
+     * @return 侧边栏菜单树（与菜单树一起缓存）
+     */
+    List<MenuVO> listSidebarByUserId(Long userId);
+
+    /**
+     * 查询用户平铺路由表（包含隐藏菜单，前端直接注册路由，无需遍历树）
+     *
+     * @param userId 用户 ID
+     * @return 路由表（按 sortOrder 排序）
+     */
+    List<RouteVO> listRoutesByUserId(Long userId);
+
+    /**
+     * 查询用户的按钮权限，按页面分组
+     *
+     * 说明：
+     * ------------------------------------------------------------
+     * - 指定 routePath 或 menuId 时只返回该页面（前端进入页面时按需获取）
+     * - 都不指定时返回全部有按钮的页面（按钮权限清单）
+     * - 基于菜单目录快照中预先计算的 页面 → 按钮 索引，不查询数据库
+     *
+     * @param userId    用户 ID
+     * @param routePath 页面路由（可选）
+     * @param menuId    页面菜单 ID（可选，优先于 routePath）
+     * @return 页面按钮权限；指定的页面不存在时返回空列表
+     */
+    List<PageButtonsVO> listPageButtons(Long userId, String routePath, Long menuId);
+
+    /**
+     * 用户菜单树的内容摘要（登录时返回，客户端摘要一致时无需重新拉取菜单树）
+     *
+     * @param userId 用户 ID
+     * @return 32 位十六进制摘要，与 GET /api/auth/menus 的 ETag 一致
+     */
+    String getMenuTreeHash(Long userId);
+
+    /**
+     * 查询用户菜单自 since 版本以来的增量
+     *
+     * 说明：
+     * ------------------------------------------------------------
+     * - 版本号为 RBAC 变更日志序号（全局单调递增，所有节点一致）
+     * - 只返回期间变更涉及的节点：当前可见的放入 upserted，已不可见的放入 removed
+     * - since <= 0、已超出最近变更集范围、或期间有无法精确描述的变更（如用户换角色）时返回全量快照
+     *
+     * @param userId 用户 ID
+     * @param since  客户端持有的版本号
+     * @return 增量或全量快照
+     */
+    MenuDeltaVO getMenuDelta(Long userId, long since);
+
+    /**
+     * 查询子树内全部菜单（含根节点，平铺列表，按层级由浅到深）
+     *
+     * @param menuId 子树根节点 ID
+     * @return 菜单列表；节点不存在时为空
+     */
+    List<MenuVO> listSubtree(Long menuId);
+
+    /**
+     * 查询菜单的全部祖先 ID（从根到父，不含自身）
+     *
+     * @param menuId 菜单 ID
+     * @return 祖先 ID 列表
+     */
+    List<Long> listAncestorIds(Long menuId);
+
+    /**
+     * 修改整棵子树的状态（一条 UPDATE）
+     *
+     * @param menuId 子树根节点 ID
+     * @param status 目标状态（0=禁用，1=启用）
+     * @return 写入后的菜单目录版本号；节点不存在返回 null
+     */
+    Long updateSubtreeStatus(Long menuId, Integer status);
+
+    /**
+     * 把子树整体移动到新的父节点下（parent_id 与闭包表在同一事务内更新，排在新父节点的最后）
+     *
+     * @param menuId      子树根节点 ID
+     * @param newParentId 新父节点 ID（0 表示移到根）
+     * @return 写入后的菜单目录版本号；节点或新父节点不存在返回 null
+     * @throws IllegalArgumentException 新父节点位于该子树内（会形成环）
+     */
+    Long moveSubtree(Long menuId, Long newParentId);
+
+    /**
+     * 新增菜单（未指定 sortOrder 时排在同级最后）
+     *
+     * @param menu 菜单信息，成功后回填 id
+     * @return 写入后的菜单目录版本号；父节点不存在返回 null
+     */
+    Long createMenu(Menu menu);
+
+    /**
+     * 修改菜单（只更新非空字段；parentId 变化时按子树移动处理；
+     * status / visible 变化时整棵子树与祖先都列入变更，增量同步据此下发子树的 removed）
+     *
+     * @param menuId 菜单 ID
+     * @param menu   修改内容
+     * @return 写入后的菜单目录版本号（没有任何变化时为当前版本号，不推进）；
+     * 菜单或新父节点不存在返回 null（不做任何修改）
+     * @throws IllegalArgumentException 新父节点位于该子树内
+     */
+    Long updateMenu(Long menuId, Menu menu);
+
+    /**
+     * 删除菜单及其全部下级（同时清理角色授权）
+     *
+     * @param menuId 菜单 ID
+     * @return 写入后的菜单目录版本号；菜单不存在返回 null
+     */
+    Long deleteMenu(Long menuId);
+
+    /**
+     * 同级批量排序（稀疏序号，只更新排序号真正变化的行）
+     *
+     * @param parentId   父节点 ID（0 表示根）
+     * @param orderedIds 新顺序，必须恰好包含该父节点下的全部子节点
+     * @return 写入后的菜单目录版本号（顺序未变化时为当前版本号，不推进）
+     * @throws IllegalArgumentException orderedIds 与实际子节点不一致
+     */
+    Long reorderChildren(Long parentId, List<Long> orderedIds);
+
+    /**
+     * 当前菜单目录版本号（每次菜单写入 +1）
+     */
+    long currentCatalogVersion();
+
+    /**
+     * 由 parent_id 全量重建闭包表
+     *
+     * @return 重建后的行数
+     */
+    int rebuildClosure();
+}
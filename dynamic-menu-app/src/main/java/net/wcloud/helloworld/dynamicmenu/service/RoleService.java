@@ -0,0 +1,80 @@
+package net.wcloud.helloworld.dynamicmenu.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import net.wcloud.helloworld.dynamicmenu.entity.Role;
+
+import java.util.List;
+
+/**
+ * 角色服务接口（RoleService）
+ *
+ * 负责功能：
+ * ------------------------------------------------------------
+ * 1. 角色的新增 / 修改 / 删除
+ * 2. 角色授权菜单（role_menu 增量写入）
+ * 3. 把整棵菜单子树授权给角色（基于闭包表）
+ *
+ * 并发控制：
+ * ------------------------------------------------------------
+ * - 节点内：同一角色的写操作通过分段锁（StripedLocks）串行执行，
+ * 不同角色之间互不阻塞
+ * - 跨节点：dynamicmenu_sys_role.version 乐观锁，
+ * 版本不一致时抛出 OptimisticLockingFailureException，由 Controller 返回 409
+ *
+ * 版本号约定：
+ * ------------------------------------------------------------
+ * - 客户端可携带读取到的 version，服务端严格比对
+ * - 未携带时以服务端读取到的当前版本为准（仍能拦截跨节点的交错写入）
+ */
+public interface RoleService extends IService<Role> {
+
+    /**
+     * 新增角色
+     *
+     * @param role 角色信息
+     * @return 是否成功
+     */
+    boolean createRole(Role role);
+
+    /**
+     * 修改角色
+     *
+     * @param id   角色 ID
+     * @param role 角色信息（version 可选）
+     * @return true=成功，false=角色不存在
+     * @throws org.springframework.dao.OptimisticLockingFailureException 版本冲突
+     */
+    boolean updateRole(Long id, Role role);
+
+    /**
+     * 删除角色（同时清理 role_menu / user_role 关联）
+     *
+     * @param id              角色 ID
+     * @param expectedVersion 客户端读取到的版本号（可选）
+     * @return true=成功，false=角色不存在
+     * @throws org.springframework.dao.OptimisticLockingFailureException 版本冲突
+     */
+    boolean deleteRole(Long id, Integer expectedVersion);
+
+    /**
+     * 给角色分配菜单（只删除取消勾选的、只插入新勾选的）
+     *
+     * @param roleId          角色 ID
+     * @param menuIds         授权后的完整菜单 ID 列表
+     * @param expectedVersion 客户端读取到的版本号（可选）
+     * @return 写入后的新版本号；角色不存在返回 null
+     * @throws org.springframework.dao.OptimisticLockingFailureException 版本冲突
+     */
+    Integer assignMenus(Long roleId, List<Long> menuIds, Integer expectedVersion);
+
+    /**
+     * 把菜单子树（含根节点）追加授权给角色，已授权的菜单保持不变
+     *
+     * @param roleId          角色 ID
+     * @param menuId          子树根节点 ID
+     * @param expectedVersion 客户端读取到的版本号（可选）
+     * @return 写入后的新版本号；角色不存在返回 null
+     * @throws org.springframework.dao.OptimisticLockingFailureException 版本冲突
+     */
+    Integer grantMenuSubtree(Long roleId, Long menuId, Integer expectedVersion);
+}
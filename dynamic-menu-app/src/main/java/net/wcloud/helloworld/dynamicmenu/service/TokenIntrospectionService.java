@@ -0,0 +1,26 @@
+package net.wcloud.helloworld.dynamicmenu.service;
+
+import net.wcloud.helloworld.dynamicmenu.vo.TokenIntrospectionVO;
+
+import java.util.List;
+
+/**
+ * 批量 token 内省（TokenIntrospectionService）
+ *
+ * 负责功能：
+ * ------------------------------------------------------------
+ * 1. 供无法自行验签（没有 HMAC 秘钥）的网关一次提交多个 token
+ * 2. 先查已验签 token 缓存（VerifiedTokenCache），未命中的 token 并行验签后写入缓存
+ * 3. 验签通过后再检查用户状态（登录主体缓存，与 JwtAuthenticationFilter 同源）：用户不存在或已被禁用时无效
+ */
+public interface TokenIntrospectionService {
+
+    /**
+     * 批量内省
+     *
+     * @param tokens token 列表（可带 "Bearer " 前缀）
+     * @return 与请求顺序一一对应的结果
+     * @throws IllegalArgumentException 列表为空或超过 app.jwt.introspect-max-batch
+     */
+    List<TokenIntrospectionVO> introspect(List<String> tokens);
+}
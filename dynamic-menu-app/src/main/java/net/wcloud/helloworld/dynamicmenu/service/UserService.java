@@ -105,4 +105,22 @@ public interface UserService extends IService<User> {
      * @return 用户 VO 列表（带角色/权限信息）
      */
     List<UserVO> listUsersWithDetail();
+
+    /**
+     * 给用户分配角色（只删除取消勾选的、只插入新勾选的）
+     *
+     * 说明：
+     * - 在同一事务中写入 user_role，并发布 UserRolesChangedEvent
+     * - 事务提交后，该用户的登录主体 / 菜单树缓存会被失效
+     * - 同一用户的并发分配串行执行（节点内分段锁 + 用户行锁）
+     *
+     * 使用场景：
+     * - 后台“用户管理 → 分配角色”
+     *
+     * @param userId  用户ID
+     * @param roleIds 分配后的完整角色 ID 列表
+     * @return true=成功，false=用户不存在
+     * @throws IllegalArgumentException 存在不存在的角色 ID（不做任何修改）
+     */
+    boolean assignRoles(Long userId, List<Long> roleIds);
 }
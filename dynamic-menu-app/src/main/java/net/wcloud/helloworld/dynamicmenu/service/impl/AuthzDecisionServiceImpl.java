@@ -0,0 +1,109 @@
+package net.wcloud.helloworld.dynamicmenu.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.cache.DisabledUserCache;
+import net.wcloud.helloworld.dynamicmenu.config.AuthzProperties;
+import net.wcloud.helloworld.dynamicmenu.core.CatalogSnapshot;
+import net.wcloud.helloworld.dynamicmenu.core.RbacEngine;
+import net.wcloud.helloworld.dynamicmenu.dto.AuthzDecisionRequestDTO;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzEventBus;
+import net.wcloud.helloworld.dynamicmenu.service.AuthzDecisionService;
+import net.wcloud.helloworld.dynamicmenu.util.LatencyHistogram;
+import net.wcloud.helloworld.dynamicmenu.vo.AuthzDecisionVO;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 批量权限判定实现
+ *
+ * 计算方式：
+ * ------------------------------------------------------------
+ * - 整批使用同一个菜单目录快照
+ * - 每个主体只合并一次授权位图（多角色按位 OR），同一批内重复出现的主体直接复用
+ * - 被禁用的用户使用空位图（全部判定为否）
+ * - 每个判定 = 该权限标识的候选菜单（通常 1 个）逐个做位测试
+ *
+ * 版本号：
+ * ------------------------------------------------------------
+ * - 先读版本号再读索引：结果只会比版本号新，网关按版本号缓存不会缓存到更旧的结果
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthzDecisionServiceImpl implements AuthzDecisionService {
+
+    private final RbacEngine rbacEngine;
+
+    private final AuthzEventBus authzEventBus;
+
+    private final AuthzProperties authzProperties;
+
+    private final DisabledUserCache disabledUserCache;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    @Override
+    public AuthzDecisionVO decide(AuthzDecisionRequestDTO request) {
+        long start = System.nanoTime();
+
+        List<AuthzDecisionRequestDTO.Pair> pairs = request.getPairs();
+        List<String> perms = request.getPerms();
+        int size = pairs != null ? pairs.size() : (perms == null ? 0 : perms.size());
+        if (size == 0) {
+            throw new IllegalArgumentException("判定列表为空");
+        }
+        if (size > authzProperties.getDecisionMaxBatch()) {
+            throw new IllegalArgumentException("单批最多 " + authzProperties.getDecisionMaxBatch() + " 个判定, 实际=" + size);
+        }
+
+        long version = authzEventBus.changeRing().safeVersion();
+        CatalogSnapshot catalog = rbacEngine.catalog();
+        BitSet result = new BitSet(size);
+
+        if (pairs != null) {
+            Map<Long, BitSet> grantedByUser = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                AuthzDecisionRequestDTO.Pair pair = pairs.get(i);
+                if (pair == null || pair.getUserId() == null) {
+                    continue;
+                }
+                BitSet granted = grantedByUser.computeIfAbsent(pair.getUserId(), userId -> grantedSlots(catalog, userId));
+                if (rbacEngine.hasPermission(catalog, granted, pair.getPerm())) {
+                    result.set(i);
+                }
+            }
+        } else if (request.getUserId() != null) {
+            BitSet granted = grantedSlots(catalog, request.getUserId());
+            for (int i = 0; i < size; i++) {
+                if (rbacEngine.hasPermission(catalog, granted, perms.get(i))) {
+                    result.set(i);
+                }
+            }
+        }
+
+        AuthzDecisionVO vo = new AuthzDecisionVO();
+        vo.setVersion(version);
+        vo.setSize(size);
+        vo.setGranted(result.cardinality());
+        vo.setBits(Arrays.copyOf(result.toByteArray(), (size + 7) / 8));
+
+        long nanos = System.nanoTime() - start;
+        latency.record(size, nanos);
+        log.debug("[AuthzDecisionService] 批量判定完成, size={}, granted={}, 耗时={}µs", size, vo.getGranted(), nanos / 1000);
+        return vo;
+    }
+
+    @Override
+    public Map<String, Map<String, Long>> latencyStats() {
+        return latency.snapshot();
+    }
+
+    private BitSet grantedSlots(CatalogSnapshot catalog, Long userId) {
+        if (disabledUserCache.isDisabled(userId)) {
+            return new BitSet();
+        }
+        return rbacEngine.grantedSlots(catalog, authzEventBus.roleUserIndex().rolesOfUser(userId));
+    }
+}
@@ -0,0 +1,72 @@
+package net.wcloud.helloworld.dynamicmenu.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.cache.DisabledUserCache;
+import net.wcloud.helloworld.dynamicmenu.core.AccessExplanation;
+import net.wcloud.helloworld.dynamicmenu.core.RbacEngine;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzEventBus;
+import net.wcloud.helloworld.dynamicmenu.service.AuthzExplainService;
+import net.wcloud.helloworld.dynamicmenu.vo.AccessExplanationVO;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.Set;
+
+/**
+ * 用户访问来源说明实现
+ *
+ * 计算方式：
+ * ------------------------------------------------------------
+ * - 用户 → 角色：RoleUserIndex
+ * - 角色 → 菜单 / 祖先链 / 启用状态：RbacEngine（explainMenu / explainPermission）
+ * - 用户状态：DisabledUserCache
+ * - 判定口径与用户菜单树（visibleMenus）、批量权限判定（AuthzDecisionService）一致
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 用户不存在或没有角色时结论为 NOT_GRANTED
+ * - 用户被禁用时 allowed = false（与批量权限判定一致），reason 仍按角色说明，便于看出“授权了但账号被禁用”
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthzExplainServiceImpl implements AuthzExplainService {
+
+    private final RbacEngine rbacEngine;
+
+    private final AuthzEventBus authzEventBus;
+
+    private final DisabledUserCache disabledUserCache;
+
+    @Override
+    public AccessExplanationVO explain(Long userId, Long menuId, String perm) {
+        if (userId == null) {
+            throw new IllegalArgumentException("userId 不能为空");
+        }
+        if ((menuId == null) == !StringUtils.hasText(perm)) {
+            throw new IllegalArgumentException("menuId 与 perm 必须且只能给出一个");
+        }
+
+        long start = System.nanoTime();
+        long version = authzEventBus.changeRing().safeVersion();
+        Set<Long> roleIds = authzEventBus.roleUserIndex().rolesOfUser(userId);
+        AccessExplanation explanation = menuId != null
+                ? rbacEngine.explainMenu(roleIds, menuId)
+                : rbacEngine.explainPermission(roleIds, perm);
+
+        AccessExplanationVO vo = new AccessExplanationVO();
+        vo.setUserId(userId);
+        vo.setAuthzVersion(version);
+        boolean userDisabled = disabledUserCache.isDisabled(userId);
+        vo.setUserDisabled(userDisabled);
+        vo.setAllowed(explanation.allowed() && !userDisabled);
+        vo.setReason(explanation.reason());
+        vo.setRoleIds(explanation.roleIds());
+        vo.setTargets(explanation.targets());
+
+        log.info("[AuthzExplainService] 访问来源说明, userId={}, menuId={}, perm={}, reason={}, userDisabled={}, 耗时={}µs",
+                userId, menuId, perm, explanation.reason(), userDisabled, (System.nanoTime() - start) / 1000);
+        return vo;
+    }
+}
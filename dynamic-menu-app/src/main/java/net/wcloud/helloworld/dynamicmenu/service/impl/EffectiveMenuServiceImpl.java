@@ -0,0 +1,89 @@
+package net.wcloud.helloworld.dynamicmenu.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.mapper.EffectiveUserMenuMapper;
+import net.wcloud.helloworld.dynamicmenu.service.EffectiveMenuService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * 用户有效菜单物化实现
+ *
+ * 增量规则：
+ * ------------------------------------------------------------
+ * - 授予（角色加菜单 / 用户加角色）：INSERT ... SELECT ... ON DUPLICATE KEY UPDATE，
+ * 已通过其他角色拥有的行只刷新 perms
+ * - 回收（角色减菜单 / 用户减角色 / 删除角色）：只删除“不再由任何角色授予”的行
+ *
+ * 日志说明：
+ * - debug：每次增量的影响行数
+ * - info：全量重建
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EffectiveMenuServiceImpl implements EffectiveMenuService {
+
+    private final EffectiveUserMenuMapper effectiveUserMenuMapper;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void onRoleMenusChanged(Long roleId, Collection<Long> added, Collection<Long> removed) {
+        int granted = 0;
+        int revoked = 0;
+        if (added != null && !added.isEmpty()) {
+            granted = effectiveUserMenuMapper.grantRoleMenus(roleId, added);
+        }
+        if (removed != null && !removed.isEmpty()) {
+            revoked = effectiveUserMenuMapper.revokeRoleMenus(roleId, removed);
+        }
+        log.debug("[EffectiveMenuService] 角色授权变化, roleId={}, granted={}, revoked={}", roleId, granted, revoked);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void onRoleDeleted(Long roleId) {
+        int revoked = effectiveUserMenuMapper.revokeRoleMenus(roleId, null);
+        log.debug("[EffectiveMenuService] 角色删除, roleId={}, revoked={}", roleId, revoked);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void onUserRolesChanged(Long userId, Collection<Long> added, Collection<Long> removed) {
+        int granted = 0;
+        int revoked = 0;
+        if (removed != null && !removed.isEmpty()) {
+            revoked = effectiveUserMenuMapper.revokeUserOrphans(userId);
+        }
+        if (added != null && !added.isEmpty()) {
+            granted = effectiveUserMenuMapper.grantUserRoles(userId, added);
+        }
+        log.debug("[EffectiveMenuService] 用户角色变化, userId={}, granted={}, revoked={}", userId, granted, revoked);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void onMenusChanged(Collection<Long> menuIds) {
+        if (menuIds == null || menuIds.isEmpty()) {
+            return;
+        }
+        int deleted = effectiveUserMenuMapper.deleteByMenuIds(menuIds);
+        int inserted = effectiveUserMenuMapper.insertByMenuIds(menuIds);
+        log.debug("[EffectiveMenuService] 菜单变化, menuCount={}, deleted={}, inserted={}",
+                menuIds.size(), deleted, inserted);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int rebuildAll() {
+        long start = System.currentTimeMillis();
+        int deleted = effectiveUserMenuMapper.deleteAll();
+        int inserted = effectiveUserMenuMapper.insertAll();
+        log.info("[EffectiveMenuService] 有效菜单物化表全量重建完成, deleted={}, inserted={}, 耗时={}ms",
+                deleted, inserted, System.currentTimeMillis() - start);
+        return inserted;
+    }
+}
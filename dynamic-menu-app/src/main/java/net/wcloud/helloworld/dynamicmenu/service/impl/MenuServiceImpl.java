@@ -0,0 +1,830 @@
+package net.wcloud.helloworld.dynamicmenu.service.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.cache.MenuTreeProjector;
+import net.wcloud.helloworld.dynamicmenu.cache.UserMenuTreeCache;
+import net.wcloud.helloworld.dynamicmenu.cache.UserMenuViews;
+import net.wcloud.helloworld.dynamicmenu.convert.MenuConvert;
+import net.wcloud.helloworld.dynamicmenu.core.CatalogSnapshot;
+import net.wcloud.helloworld.dynamicmenu.core.MenuDef;
+import net.wcloud.helloworld.dynamicmenu.core.RbacEngine;
+import net.wcloud.helloworld.dynamicmenu.entity.Menu;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzChangeRing;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzEventBus;
+import net.wcloud.helloworld.dynamicmenu.event.MenuCatalogChangedEvent;
+import net.wcloud.helloworld.dynamicmenu.event.MenuSearchIndex;
+import net.wcloud.helloworld.dynamicmenu.event.RoleMenusChangedEvent;
+import net.wcloud.helloworld.dynamicmenu.mapper.CatalogVersionMapper;
+import net.wcloud.helloworld.dynamicmenu.mapper.MenuClosureMapper;
+import net.wcloud.helloworld.dynamicmenu.mapper.MenuMapper;
+import net.wcloud.helloworld.dynamicmenu.mapper.MenuTreeResultHandler;
+import net.wcloud.helloworld.dynamicmenu.mapper.RoleMapper;
+import net.wcloud.helloworld.dynamicmenu.service.EffectiveMenuService;
+import net.wcloud.helloworld.dynamicmenu.service.MenuService;
+import net.wcloud.helloworld.dynamicmenu.util.ContentHash;
+import net.wcloud.helloworld.dynamicmenu.util.SparseOrdering;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuDeltaVO;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuSearchHitVO;
+import net.wcloud.helloworld.dynamicmenu.vo.MenuVO;
+import net.wcloud.helloworld.dynamicmenu.vo.PageButtonsVO;
+import net.wcloud.helloworld.dynamicmenu.vo.RouteVO;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * 菜单业务实现类
+ *
+ * 主要职责：
+ * 1. 为【当前用户】构建可访问菜单树（多角色合并 + 去重）
+ * 2. 为【后台菜单管理】提供系统全量菜单树
+ * 3. 内部调用 getMenuTreeByUserId 作为 listMenuTreeByUserId 的别名
+ * 4. 子树操作：读写都基于闭包表，一条语句完成，不做递归遍历
+ * 5. 菜单写入（新增 / 修改 / 删除子树 / 同级排序 / 移动）：
+ * 事务内先锁住菜单目录版本行（dynamicmenu_sys_catalog_version），
+ * 该行锁使所有节点的菜单写入串行；确有写入时推进版本号，提交后发布 MenuCatalogChangedEvent（携带新版本号）；
+ * 不存在 / 无变化时不推进，直接返回
+ * 6. 用户菜单增量：按最近变更集（AuthzChangeRing）只返回变化的节点
+ * 7. 按页面下发按钮权限（菜单目录快照中的 页面 → 按钮 索引）
+ * 8. 侧边栏（遵循 visible）与平铺路由表（含隐藏路由）与菜单树一次计算、一起缓存
+ * 9. 系统菜单树按层 / 按需展开（菜单目录快照中的 父 → 子 索引）
+ * 10. 菜单搜索（MenuSearchIndex，名称 / 路由 / 权限标识子串匹配）
+ * 11. 菜单节点不可变：用户菜单树是规范树的投影（MenuTreeProjector），未裁剪的子树在用户之间共享
+ * 12. 可见菜单 / 按钮授权由 RbacEngine（dynamic-menu-core）按角色位图计算，本类只做 VO 组装与缓存
+ *
+ * 日志说明：
+ * - info：关键业务行为，如查询入口、结果统计
+ * - debug：中间过程，如过滤、树构建细节（默认可在 yml 里将该包的日志级别调为 debug 查看）
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements MenuService {
+
+    /** 按层查询菜单树时的最大层数 */
+    private static final int MAX_SLICE_DEPTH = 5;
+
+    /** 菜单搜索最多返回条数 */
+    private static final int MAX_SEARCH_LIMIT = 200;
+
+    /**
+     * 菜单 Mapper，用于从数据库查询菜单数据
+     */
+    private final MenuMapper menuMapper;
+
+    /**
+     * 菜单实体与 VO 之间的转换组件
+     * 一般使用 MapStruct 或手写 Convert 类实现
+     */
+    private final MenuConvert menuConvert;
+
+    /**
+     * 用户菜单树缓存（RBAC 变化时由事件按用户失效）
+     */
+    private final UserMenuTreeCache userMenuTreeCache;
+
+    /**
+     * 菜单闭包表 Mapper（祖先 / 后代关系）
+     */
+    private final MenuClosureMapper menuClosureMapper;
+
+    /**
+     * RBAC 变更事件总线（菜单目录变化后失效缓存；同时提供 角色 / 菜单 内存索引）
+     */
+    private final AuthzEventBus authzEventBus;
+
+    /**
+     * 菜单目录版本号（每次菜单写入 +1，并串行化菜单写入）
+     */
+    private final CatalogVersionMapper catalogVersionMapper;
+
+    /**
+     * 角色 Mapper（删除菜单时清理角色授权）
+     */
+    private final RoleMapper roleMapper;
+
+    /**
+     * 用户有效菜单物化表维护
+     */
+    private final EffectiveMenuService effectiveMenuService;
+
+    /**
+     * 菜单搜索索引（名称 / 路由 / 权限标识）
+     */
+    private final MenuSearchIndex menuSearchIndex;
+
+    /**
+     * 用户菜单树投影（共享规范树中未被裁剪的子树）
+     */
+    private final MenuTreeProjector menuTreeProjector;
+
+    /**
+     * RBAC 引擎（角色授权位图 + 可见菜单计算）
+     */
+    private final RbacEngine rbacEngine;
+
+    /**
+     * 查询当前登录用户的菜单树（多角色合并 + 去重）
+     *
+     * 说明：
+     * 1) 根据 用户 → 角色 → 角色菜单，得到该用户被授权的菜单（内存索引）
+     * 2) 只保留自身及全部祖先都已启用(status = 1)的菜单，禁用目录会隐藏其下级
+     * 3) 过滤掉按钮(menuType = 3)，只在树中展示【目录 + 菜单】
+     * 4) 授权了下级但未授权的祖先目录按菜单目录的祖先索引自动补齐，标记 implicit = true
+     * 5) 按 sortOrder 排序的树由规范树裁剪得到，未裁剪的子树直接共享规范树中的节点
+     * 6) 结果按 userId 缓存（与侧边栏 / 路由表一起），返回的树为共享的不可变对象
+     *
+     * @param userId 用户 ID
+     * @return 该用户可访问的菜单树（目录 + 菜单）
+     */
+    @Override
+    public List<MenuVO> listMenuTreeByUserId(Long userId) {
+        if (userId == null) {
+            log.warn("[listMenuTreeByUserId] userId is null, return empty list");
+            return Collections.emptyList();
+        }
+
+        return userMenuTreeCache.get(userId, this::loadMenuViews).tree();
+    }
+
+    /**
+     * 侧边栏菜单树：只包含自身及全部祖先均可见(visible = 1)的节点
+     */
+    @Override
+    public List<MenuVO> listSidebarByUserId(Long userId) {
+        if (userId == null) {
+            return Collections.emptyList();
+        }
+        return userMenuTreeCache.get(userId, this::loadMenuViews).sidebar();
+    }
+
+    /**
+     * 平铺路由表：菜单类型(menuType = 2)且配置了 routePath 的节点，包含隐藏菜单
+     */
+    @Override
+    public List<RouteVO> listRoutesByUserId(Long userId) {
+        if (userId == null) {
+            return Collections.emptyList();
+        }
+        return userMenuTreeCache.get(userId, this::loadMenuViews).routes();
+    }
+
+    /**
+     * 由内存索引计算用户菜单视图（缓存未命中时调用）
+     *
+     * 说明：
+     * - 可见菜单集合交给 MenuTreeProjector 裁剪规范树 / 规范侧边栏 / 规范路由表
+     * - 可见性沿祖先链判断：隐藏目录下的菜单不进侧边栏，但仍进路由表（hidden = true）
+     * - 可见菜单集合相同（如角色组合相同）的用户拿到同一个视图对象
+     *
+     * @param userId 用户 ID
+     * @return 用户菜单视图
+     */
+    private UserMenuViews loadMenuViews(Long userId) {
+        log.info("[listMenuTreeByUserId] 计算用户菜单开始, userId={}", userId);
+
+        // 1-2. 授权菜单 → 过滤 + 补齐祖先
+        CatalogSnapshot catalog = authzEventBus.menuCatalog().snapshot();
+        Map<Long, Boolean> visible = resolveVisibleMenus(userId, catalog);
+        if (visible.isEmpty()) {
+            log.info("[listMenuTreeByUserId] 用户无任何可见菜单, userId={}", userId);
+            return UserMenuViews.EMPTY;
+        }
+
+        long implicitCount = visible.values().stream().filter(Boolean::booleanValue).count();
+        log.info("[listMenuTreeByUserId] 过滤后菜单数量={}, 自动补齐祖先数量={}, userId={}",
+                visible.size(), implicitCount, userId);
+
+        // 3. 裁剪规范树
+        UserMenuViews views = menuTreeProjector.project(catalog, visible);
+        log.info("[listMenuTreeByUserId] 构建菜单视图完成, 根节点数量={}, 侧边栏根节点数={}, 路由数={}, userId={}",
+                views.tree().size(), views.sidebar().size(), views.routes().size(), userId);
+        return views;
+    }
+
+    /**
+     * 用户菜单摘要（登录时返回）
+     *
+     * 说明：
+     * 1) 与 GET /api/auth/menus 返回的 ETag 为同一算法（ContentHash.ofMenus），
+     * 只取决于节点内容，与树的构建顺序无关
+     * 2) 只做可见性计算与 VO 转换，不排序、不构建树；结果按 userId 缓存，与菜单树一起失效
+     */
+    @Override
+    public String getMenuTreeHash(Long userId) {
+        if (userId == null) {
+            return ContentHash.ofMenus(List.of());
+        }
+        return userMenuTreeCache.getHash(userId, id -> {
+            CatalogSnapshot catalog = authzEventBus.menuCatalog().snapshot();
+            return ContentHash.ofMenus(toVisibleVOs(resolveVisibleMenus(id, catalog), catalog));
+        });
+    }
+
+    /**
+     * 用户按钮权限（按页面分组）
+     *
+     * 说明：
+     * 1) 单个页面：遍历该页面下的按钮（目录快照预先计算），与用户授权求交集
+     * 2) 全部页面：遍历用户授权中的按钮，按所属页面分组
+     * 3) 只保留路径已启用、且配置了 perms 的按钮
+     */
+    @Override
+    public List<PageButtonsVO> listPageButtons(Long userId, String routePath, Long menuId) {
+        if (userId == null) {
+            return Collections.emptyList();
+        }
+
+        CatalogSnapshot catalog = authzEventBus.menuCatalog().snapshot();
+        BitSet granted = rbacEngine.grantedSlots(catalog, authzEventBus.roleUserIndex().rolesOfUser(userId));
+
+        // 1. 单个页面
+        Long pageId = menuId != null ? menuId : catalog.pageByRoute(routePath);
+        if (menuId != null || routePath != null) {
+            if (pageId == null || catalog.menu(pageId) == null) {
+                log.debug("[listPageButtons] 页面不存在, userId={}, routePath={}, menuId={}", userId, routePath, menuId);
+                return Collections.emptyList();
+            }
+            List<String> perms = new ArrayList<>();
+            for (long buttonId : catalog.buttonsOf(pageId)) {
+                String perm = allowedButtonPerm(buttonId, granted, catalog);
+                if (perm != null) {
+                    perms.add(perm);
+                }
+            }
+            return List.of(pageButtons(catalog.menu(pageId), perms));
+        }
+
+        // 2. 全部页面
+        Map<Long, List<String>> byPage = new TreeMap<>();
+        for (int slot = granted.nextSetBit(0); slot >= 0; slot = granted.nextSetBit(slot + 1)) {
+            long buttonId = catalog.idAt(slot);
+            String perm = allowedButtonPerm(buttonId, granted, catalog);
+            Long page = perm == null ? null : catalog.pageOf(buttonId);
+            if (page != null) {
+                byPage.computeIfAbsent(page, k -> new ArrayList<>()).add(perm);
+            }
+        }
+
+        List<PageButtonsVO> result = new ArrayList<>(byPage.size());
+        byPage.forEach((page, perms) -> {
+            Collections.sort(perms);
+            result.add(pageButtons(catalog.menu(page), perms));
+        });
+        log.debug("[listPageButtons] 按钮权限清单, userId={}, 页面数={}", userId, result.size());
+        return result;
+    }
+
+    /**
+     * 已授权、路径已启用且配置了 perms 的按钮返回其 perms，否则返回 null
+     */
+    private String allowedButtonPerm(long buttonId, BitSet granted, CatalogSnapshot catalog) {
+        int slot = catalog.slotOf(buttonId);
+        if (slot < 0 || !granted.get(slot) || !catalog.isSlotEnabled(slot)) {
+            return null;
+        }
+        MenuDef button = catalog.menuAt(slot);
+        if (!button.isButton() || !button.permsDefined()) {
+            return null;
+        }
+        return button.perms();
+    }
+
+    private PageButtonsVO pageButtons(MenuDef page, List<String> perms) {
+        PageButtonsVO vo = new PageButtonsVO();
+        vo.setMenuId(page.id());
+        vo.setRoutePath(page.routePath());
+        vo.setPerms(perms);
+        return vo;
+    }
+
+    /**
+     * 可见菜单 → VO（补齐节点标记 implicit，未排序）
+     */
+    private List<MenuVO> toVisibleVOs(Map<Long, Boolean> visible, CatalogSnapshot catalog) {
+        List<MenuVO> voList = new ArrayList<>(visible.size());
+        for (Map.Entry<Long, Boolean> e : visible.entrySet()) {
+            voList.add(menuConvert.toVO(catalog.menu(e.getKey()), e.getValue()));
+        }
+        return voList;
+    }
+
+    /**
+     * 计算用户当前可见的菜单（目录 + 菜单）
+     *
+     * @param userId  用户 ID
+     * @param catalog 菜单目录快照
+     * @return menuId → 是否为自动补齐的祖先
+     */
+    private Map<Long, Boolean> resolveVisibleMenus(Long userId, CatalogSnapshot catalog) {
+        // 用户 → 角色 → 授权位图（多角色按位合并）→ 过滤 + 补齐祖先
+        Map<Long, Boolean> visible = rbacEngine.visibleMenus(catalog, authzEventBus.roleUserIndex().rolesOfUser(userId));
+        log.debug("[resolveVisibleMenus] 可见菜单数量={}, userId={}", visible.size(), userId);
+        return visible;
+    }
+
+    /**
+     * 用户菜单增量
+     *
+     * 说明：
+     * 1) 版本号取 AuthzChangeRing.safeVersion()：≤ 该版本的变更都已在本节点生效并记录
+     * 2) 期间涉及的菜单再补上其祖先（授权 / 禁用下级会让补齐的祖先出现或消失）；
+     * 祖先关系只在移动时变化，而移动事件已携带移动前的祖先
+     * 3) 涉及的菜单按当前可见性分为 upserted / removed，按钮不在菜单树中，直接忽略
+     */
+    @Override
+    public MenuDeltaVO getMenuDelta(Long userId, long since) {
+        AuthzChangeRing ring = authzEventBus.changeRing();
+        long version = ring.safeVersion();
+
+        MenuDeltaVO delta = new MenuDeltaVO();
+        delta.setVersion(Math.max(version, since));
+
+        Set<Long> touched = null;
+        if (since > 0) {
+            // 客户端可能刚从 watermark 更靠前的节点切过来：没有更新的内容，保持其版本号
+            touched = since >= version ? Set.of() : ring.touchedSince(since, version, userId);
+        }
+        if (touched == null) {
+            log.info("[getMenuDelta] 返回全量快照, userId={}, since={}, version={}", userId, since, version);
+            delta.setFull(true);
+            delta.setMenus(listMenuTreeByUserId(userId));
+            return delta;
+        }
+
+        CatalogSnapshot catalog = authzEventBus.menuCatalog().snapshot();
+        Set<Long> expanded = new HashSet<>(touched);
+        for (Long menuId : touched) {
+            for (long ancestorId : catalog.ancestorsOf(menuId)) {
+                expanded.add(ancestorId);
+            }
+        }
+
+        Map<Long, Boolean> visible = expanded.isEmpty() ? Map.of() : resolveVisibleMenus(userId, catalog);
+        List<MenuVO> upserted = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        for (Long menuId : expanded) {
+            Boolean implicit = visible.get(menuId);
+            if (implicit != null) {
+                upserted.add(menuConvert.toVO(catalog.menu(menuId), implicit));
+                continue;
+            }
+            MenuDef menu = catalog.menu(menuId);
+            if (menu == null || !menu.isButton()) {
+                removed.add(menuId);
+            }
+        }
+        upserted.sort(Comparator.comparing(MenuVO::getId));
+        Collections.sort(removed);
+
+        delta.setFull(false);
+        delta.setUpserted(upserted);
+        delta.setRemoved(removed);
+
+        log.info("[getMenuDelta] 返回增量, userId={}, since={}, version={}, upserted={}, removed={}",
+                userId, since, delta.getVersion(), upserted.size(), removed.size());
+        return delta;
+    }
+
+    /**
+     * 查询系统所有菜单树（后台菜单管理使用）
+     *
+     * 说明：
+     * 1) 一般用于“系统管理 → 菜单管理”页面，展示系统所有菜单
+     * 2) 菜单管理页面通常也会展示按钮，因此不做过滤
+     * 3) 与用户无关，不做权限过滤
+     * 4) 只查询节点需要的列，MenuTreeResultHandler 边读边生成最终节点（不经过 Menu 实体与 VO 复制）
+     *
+     * @return 系统全量菜单树
+     */
+    @Override
+    public List<MenuVO> listAllMenuTree() {
+        log.info("[listAllMenuTree] 查询系统全量菜单树开始");
+        long start = System.currentTimeMillis();
+
+        MenuTreeResultHandler handler = new MenuTreeResultHandler();
+        menuMapper.streamMenuTree(handler);
+        if (handler.size() == 0) {
+            log.warn("[listAllMenuTree] 系统当前无任何菜单数据");
+            return Collections.emptyList();
+        }
+
+        List<MenuVO> tree = handler.roots();
+        log.info("[listAllMenuTree] 构建系统菜单树完成, 菜单总数={}, 根节点数量={}, 耗时={}ms",
+                handler.size(), tree.size(), System.currentTimeMillis() - start);
+        return tree;
+    }
+
+    /**
+     * 按层查询系统菜单树（父 → 子 索引，每个节点 O(1) 取子节点与子节点数）
+     */
+    @Override
+    public List<MenuVO> listMenuTreeSlice(Long parentId, int depth) {
+        long pid = parentId == null ? 0L : parentId;
+        int levels = Math.max(1, Math.min(depth, MAX_SLICE_DEPTH));
+
+        CatalogSnapshot catalog = authzEventBus.menuCatalog().snapshot();
+        if (pid != 0 && catalog.menu(pid) == null) {
+            log.warn("[listMenuTreeSlice] 父节点不存在, parentId={}", pid);
+            return null;
+        }
+
+        List<MenuVO> slice = sliceChildren(catalog, pid, levels);
+        log.debug("[listMenuTreeSlice] 按层查询菜单树, parentId={}, depth={}, 顶层节点数={}", pid, levels, slice.size());
+        return slice;
+    }
+
+    /**
+     * 菜单搜索：索引给出命中的菜单 ID，祖先路径从菜单目录快照读取
+     */
+    @Override
+    public List<MenuSearchHitVO> searchMenus(String query, int limit) {
+        long start = System.nanoTime();
+        List<Long> ids = menuSearchIndex.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)));
+
+        CatalogSnapshot catalog = authzEventBus.menuCatalog().snapshot();
+        List<MenuSearchHitVO> hits = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            MenuDef menu = catalog.menu(id);
+            if (menu == null) {
+                continue;
+            }
+            MenuSearchHitVO hit = new MenuSearchHitVO();
+            hit.setId(id);
+            hit.setMenuName(menu.menuName());
+            hit.setMenuType(menu.menuType());
+            hit.setRoutePath(menu.routePath());
+            hit.setPerms(menu.perms());
+
+            long[] ancestors = catalog.ancestorsOf(id);
+            List<Long> pathIds = new ArrayList<>(ancestors.length);
+            List<String> pathNames = new ArrayList<>(ancestors.length);
+            for (long a : ancestors) {
+                pathIds.add(a);
+                pathNames.add(catalog.menu(a).menuName());
+            }
+            hit.setPathIds(pathIds);
+            hit.setPathNames(pathNames);
+            hits.add(hit);
+        }
+
+        log.debug("[searchMenus] 菜单搜索, query={}, hits={}, 耗时={}us", query, hits.size(), (System.nanoTime() - start) / 1000);
+        return hits;
+    }
+
+    private List<MenuVO> sliceChildren(CatalogSnapshot catalog, long parentId, int levels) {
+        long[] ids = catalog.childrenOf(parentId);
+        List<MenuVO> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            int childCount = catalog.childrenOf(id).length;
+            result.add(menuConvert.toVO(catalog.menu(id)).toBuilder()
+                    .childCount(childCount)
+                    .children(levels > 1 && childCount > 0 ? sliceChildren(catalog, id, levels - 1) : null)
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * 对外暴露的别名方法：
+     * - 语义上强调“根据 userId 查询用户菜单树”
+     * - 实现上直接复用 listMenuTreeByUserId
+     *
+     * @param userId 用户 ID
+     * @return 菜单树
+     */
+    @Override
+    public List<MenuVO> getMenuTreeByUserId(Long userId) {
+        log.debug("[getMenuTreeByUserId] 调用别名方法, userId={}", userId);
+        return listMenuTreeByUserId(userId);
+    }
+
+    @Override
+    public List<MenuVO> listSubtree(Long menuId) {
+        List<MenuVO> nodes = new ArrayList<>();
+        menuMapper.streamSubtree(menuId,
+                context -> nodes.add(MenuTreeResultHandler.toNode(context.getResultObject(), null)));
+        log.debug("[listSubtree] 查询子树完成, menuId={}, 节点数量={}", menuId, nodes.size());
+        return nodes;
+    }
+
+    @Override
+    public List<Long> listAncestorIds(Long menuId) {
+        return menuClosureMapper.listAncestorIds(menuId);
+    }
+
+    @Override
+    public long currentCatalogVersion() {
+        Long version = catalogVersionMapper.selectVersion();
+        return version == null ? 0 : version;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Long createMenu(Menu menu) {
+        long parentId = menu.getParentId() == null ? 0L : menu.getParentId();
+        log.info("[createMenu] 新增菜单, parentId={}, menuName={}", parentId, menu.getMenuName());
+
+        lockCatalogVersion();
+        if (parentId != 0 && menuMapper.lockByIds(List.of(parentId)).isEmpty()) {
+            log.warn("[createMenu] 父菜单不存在, parentId={}", parentId);
+            return null;
+        }
+
+        menu.setId(null);
+        menu.setParentId(parentId);
+        if (menu.getSortOrder() == null) {
+            menu.setSortOrder(nextSortOrder(parentId));
+        }
+        menuMapper.insert(menu);
+        menuClosureMapper.insertNode(menu.getId(), parentId);
+        long version = bumpCatalogVersion();
+        authzEventBus.publish(new MenuCatalogChangedEvent(List.of(menu.getId()), version));
+
+        log.info("[createMenu] 新增菜单完成, menuId={}, catalogVersion={}", menu.getId(), version);
+        return version;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Long updateMenu(Long menuId, Menu menu) {
+        log.info("[updateMenu] 修改菜单, menuId={}", menuId);
+
+        long current = lockCatalogVersion();
+        Menu existing = menuMapper.selectById(menuId);
+        if (existing == null) {
+            log.warn("[updateMenu] 菜单不存在, menuId={}", menuId);
+            return null;
+        }
+
+        Long newParentId = menu.getParentId();
+        boolean move = newParentId != null && !newParentId.equals(existing.getParentId());
+        boolean hasColumns = hasColumnChanges(menu);
+        if (!move && !hasColumns) {
+            log.info("[updateMenu] 没有需要修改的字段, menuId={}", menuId);
+            return current;
+        }
+
+        // 父节点变化走子树移动（闭包表同步更新）；新父节点不存在时不做任何修改
+        Set<Long> changedIds = new LinkedHashSet<>();
+        changedIds.add(menuId);
+        if (move) {
+            List<Long> moved = moveInternal(menuId, newParentId);
+            if (moved == null) {
+                return null;
+            }
+            changedIds.addAll(moved);
+        }
+
+        // 只带 parentId 的请求不能再 updateById：所有列为空时会生成 UPDATE ... SET WHERE id=?
+        if (hasColumns) {
+            menu.setId(menuId);
+            menu.setParentId(null);
+            menuMapper.updateById(menu);
+        }
+
+        // 状态 / 可见性影响整棵子树（路径启用、补齐祖先），与 updateSubtreeStatus 一样列出子树和祖先
+        if (changed(menu.getStatus(), existing.getStatus()) || changed(menu.getVisible(), existing.getVisible())) {
+            changedIds.addAll(withAncestors(menuClosureMapper.listSubtreeIds(menuId), menuId));
+        }
+
+        // perms 冗余在有效菜单物化表中，变化时重新物化该菜单
+        if (changed(menu.getPerms(), existing.getPerms())) {
+            effectiveMenuService.onMenusChanged(List.of(menuId));
+        }
+        long version = bumpCatalogVersion();
+        authzEventBus.publish(new MenuCatalogChangedEvent(List.copyOf(changedIds), version));
+
+        log.info("[updateMenu] 修改菜单完成, menuId={}, catalogVersion={}", menuId, version);
+        return version;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Long deleteMenu(Long menuId) {
+        log.info("[deleteMenu] 删除菜单子树, menuId={}", menuId);
+
+        lockCatalogVersion();
+        List<Long> ids = menuClosureMapper.listSubtreeIds(menuId);
+        if (ids.isEmpty()) {
+            log.warn("[deleteMenu] 菜单不存在, menuId={}", menuId);
+            return null;
+        }
+
+        // 被删节点的祖先可能不再需要补齐，一并列入变化（增量同步用）
+        List<Long> changedIds = withAncestors(ids, menuId);
+
+        // 先通知持有这些菜单的角色，再删除授权 / 物化行 / 菜单 / 闭包
+        List<Long> roleIds = roleMapper.listRoleIdsByMenuIds(ids);
+        int grantRows = roleMapper.deleteRoleMenusByMenuIds(ids);
+        effectiveMenuService.onMenusChanged(ids);
+        menuMapper.deleteByIds(ids);
+        menuClosureMapper.deleteByDescendantIds(ids);
+        long version = bumpCatalogVersion();
+
+        for (Long roleId : roleIds) {
+            authzEventBus.publish(new RoleMenusChangedEvent(roleId, List.of(), ids));
+        }
+        authzEventBus.publish(new MenuCatalogChangedEvent(changedIds, version));
+
+        log.info("[deleteMenu] 删除菜单子树完成, menuId={}, 菜单数={}, 授权行={}, 受影响角色数={}, catalogVersion={}",
+                menuId, ids.size(), grantRows, roleIds.size(), version);
+        return version;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Long reorderChildren(Long parentId, List<Long> orderedIds) {
+        long pid = parentId == null ? 0L : parentId;
+        log.info("[reorderChildren] 同级排序, parentId={}, count={}", pid, orderedIds == null ? 0 : orderedIds.size());
+
+        long catalogVersion = lockCatalogVersion();
+        List<Menu> siblings = menuMapper.listSiblingsForUpdate(pid);
+        Map<Long, Integer> current = new HashMap<>();
+        for (Menu m : siblings) {
+            current.put(m.getId(), m.getSortOrder());
+        }
+
+        // 新顺序必须恰好是全部同级节点（不多、不少、不重复）
+        if (orderedIds == null || orderedIds.size() != current.size()
+                || !current.keySet().equals(new HashSet<>(orderedIds))) {
+            throw new IllegalArgumentException("新顺序必须包含该父节点下的全部子节点且不能重复, parentId=" + pid);
+        }
+
+        Map<Long, Integer> changed = SparseOrdering.reorder(orderedIds, current, SparseOrdering.GAP);
+        if (changed.isEmpty()) {
+            log.info("[reorderChildren] 顺序未变化, parentId={}", pid);
+            return catalogVersion;
+        }
+
+        List<Menu> items = new ArrayList<>(changed.size());
+        changed.forEach((id, sortOrder) -> {
+            Menu item = new Menu();
+            item.setId(id);
+            item.setSortOrder(sortOrder);
+            items.add(item);
+        });
+        menuMapper.batchUpdateSortOrder(items);
+        long version = bumpCatalogVersion();
+        authzEventBus.publish(new MenuCatalogChangedEvent(List.copyOf(changed.keySet()), version));
+
+        log.info("[reorderChildren] 同级排序完成, parentId={}, 节点数={}, 实际更新={}, catalogVersion={}",
+                pid, orderedIds.size(), changed.size(), version);
+        log.debug("[reorderChildren] 排序号变化明细, parentId={}, changed={}", pid, changed);
+        return version;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Long updateSubtreeStatus(Long menuId, Integer status) {
+        log.info("[updateSubtreeStatus] 修改子树状态, menuId={}, status={}", menuId, status);
+
+        lockCatalogVersion();
+        List<Long> ids = menuClosureMapper.listSubtreeIds(menuId);
+        if (ids.isEmpty()) {
+            log.warn("[updateSubtreeStatus] 菜单不存在, menuId={}", menuId);
+            return null;
+        }
+
+        int rows = menuMapper.updateSubtreeStatus(menuId, status);
+        long version = bumpCatalogVersion();
+        authzEventBus.publish(new MenuCatalogChangedEvent(withAncestors(ids, menuId), version));
+
+        log.info("[updateSubtreeStatus] 子树状态修改完成, menuId={}, status={}, rows={}, catalogVersion={}",
+                menuId, status, rows, version);
+        return version;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Long moveSubtree(Long menuId, Long newParentId) {
+        lockCatalogVersion();
+        List<Long> changedIds = moveInternal(menuId, newParentId);
+        if (changedIds == null) {
+            return null;
+        }
+        long version = bumpCatalogVersion();
+        authzEventBus.publish(new MenuCatalogChangedEvent(changedIds, version));
+        return version;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int rebuildClosure() {
+        long start = System.currentTimeMillis();
+        long version = bumpCatalogVersion();
+        int deleted = menuClosureMapper.deleteAll();
+        int inserted = menuClosureMapper.insertAll();
+        authzEventBus.publish(new MenuCatalogChangedEvent(List.of(), version));
+
+        log.info("[rebuildClosure] 菜单闭包表全量重建完成, deleted={}, inserted={}, 耗时={}ms",
+                deleted, inserted, System.currentTimeMillis() - start);
+        return inserted;
+    }
+
+    /**
+     * 移动子树（调用方已在事务内锁住目录版本行）
+     *
+     * @return 子树节点 + 移动前的祖先（补齐祖先会随之变化）；节点或新父节点不存在返回 null
+     * @throws IllegalArgumentException 新父节点位于该子树内
+     */
+    private List<Long> moveInternal(Long menuId, Long newParentId) {
+        long parentId = newParentId == null ? 0L : newParentId;
+        log.info("[moveSubtree] 移动子树, menuId={}, newParentId={}", menuId, parentId);
+
+        // 1. 锁住源节点与目标父节点（目录版本行已串行化全部菜单写入，这里防止绕过版本行的写入）
+        List<Long> lockIds = parentId == 0 ? List.of(menuId) : List.of(menuId, parentId);
+        List<Long> locked = menuMapper.lockByIds(lockIds);
+        if (locked.size() != new HashSet<>(lockIds).size()) {
+            log.warn("[moveSubtree] 菜单或目标父节点不存在, menuId={}, newParentId={}", menuId, parentId);
+            return null;
+        }
+
+        // 2. 环检测：新父节点不能是自身或自身的后代
+        if (parentId != 0 && menuClosureMapper.countPathForUpdate(menuId, parentId) > 0) {
+            throw new IllegalArgumentException("不能把菜单移动到自身或其下级节点下, menuId=" + menuId
+                    + ", newParentId=" + parentId);
+        }
+
+        List<Long> changedIds = withAncestors(menuClosureMapper.listSubtreeIds(menuId), menuId);
+
+        // 3. parent_id + 排到新父节点的最后 + 闭包表：只改动子树外祖先相关的行
+        Menu update = new Menu();
+        update.setId(menuId);
+        update.setParentId(parentId);
+        update.setSortOrder(nextSortOrder(parentId));
+        menuMapper.updateById(update);
+
+        int detached = menuClosureMapper.detachSubtree(menuId);
+        int attached = parentId == 0 ? 0 : menuClosureMapper.attachSubtree(menuId, parentId);
+
+        log.info("[moveSubtree] 子树移动完成, menuId={}, newParentId={}, 闭包删除={}, 闭包新增={}",
+                menuId, parentId, detached, attached);
+        return changedIds;
+    }
+
+    /**
+     * ids 追加 menuId 的祖先（去重）
+     */
+    private List<Long> withAncestors(List<Long> ids, Long menuId) {
+        Set<Long> result = new LinkedHashSet<>(ids);
+        result.addAll(menuClosureMapper.listAncestorIds(menuId));
+        return List.copyOf(result);
+    }
+
+    /**
+     * 锁住菜单目录版本行并返回当前版本号
+     * ------------------------------------------------------------
+     * 版本行是全部菜单写入的串行化点，必须先于任何菜单行锁获取（颠倒加锁顺序会和其它写入互相死锁）。
+     * 持有该锁后再判断“不存在 / 无变化”：这种情况直接返回，不推进版本号；
+     * 确有写入时在发布事件前调用 bumpCatalogVersion。
+     *
+     * @return 当前（已提交的）版本号
+     */
+    private long lockCatalogVersion() {
+        Long version = catalogVersionMapper.selectVersionForUpdate();
+        if (version == null) {
+            throw new IllegalStateException("菜单目录版本行缺失（dynamicmenu_sys_catalog_version.id = 1）");
+        }
+        return version;
+    }
+
+    /**
+     * 推进菜单目录版本号（调用方已通过 lockCatalogVersion 持有版本行锁）
+     *
+     * @return 推进后的版本号
+     */
+    private long bumpCatalogVersion() {
+        if (catalogVersionMapper.bump() == 0) {
+            throw new IllegalStateException("菜单目录版本行缺失（dynamicmenu_sys_catalog_version.id = 1）");
+        }
+        return catalogVersionMapper.selectVersion();
+    }
+
+    /**
+     * 请求中是否带有 parentId 以外需要写入的列
+     */
+    private static boolean hasColumnChanges(Menu menu) {
+        return menu.getMenuName() != null || menu.getMenuIcon() != null || menu.getMenuType() != null
+                || menu.getRoutePath() != null || menu.getComponent() != null || menu.getPerms() != null
+                || menu.getVisible() != null || menu.getStatus() != null || menu.getSortOrder() != null;
+    }
+
+    /**
+     * 请求值非空且与当前值不同
+     */
+    private static boolean changed(Object requested, Object current) {
+        return requested != null && !requested.equals(current);
+    }
+
+    /**
+     * 追加到末尾时使用的排序号：当前最大值 + GAP
+     */
+    private int nextSortOrder(long parentId) {
+        Integer max = menuMapper.selectMaxSortOrder(parentId);
+        return max == null ? SparseOrdering.GAP : max + SparseOrdering.GAP;
+    }
+}
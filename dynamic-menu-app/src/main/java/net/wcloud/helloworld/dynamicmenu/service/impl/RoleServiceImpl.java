@@ -0,0 +1,229 @@
+package net.wcloud.helloworld.dynamicmenu.service.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.entity.Role;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzEventBus;
+import net.wcloud.helloworld.dynamicmenu.event.RoleChangedEvent;
+import net.wcloud.helloworld.dynamicmenu.event.RoleMenusChangedEvent;
+import net.wcloud.helloworld.dynamicmenu.mapper.RoleMapper;
+import net.wcloud.helloworld.dynamicmenu.service.EffectiveMenuService;
+import net.wcloud.helloworld.dynamicmenu.service.RoleService;
+import net.wcloud.helloworld.dynamicmenu.util.StripedLocks;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * 角色业务实现类
+ *
+ * 并发模型：
+ * ------------------------------------------------------------
+ * 1. 节点内：roleLocks 按 roleId 分段加锁，锁包住整个事务（含提交），
+ * 同一角色的“删旧 + 插新”不会交错；不同角色落在不同段上可并行
+ * 2. 跨节点：事务内先执行 version 条件更新（RoleMapper.bumpVersion / @Version），
+ * 该 UPDATE 同时持有角色行锁；更新 0 行即说明版本已被他人推进，抛出冲突并回滚
+ * 3. 授权写入为增量：只删除取消勾选的菜单、只插入新勾选的菜单，
+ * 配合 uk_role_menu 唯一约束，不会再出现重复行
+ *
+ * 缓存失效：
+ * ------------------------------------------------------------
+ * - 写操作在事务内向 AuthzEventBus 发布事件，提交后才分发，回滚则不分发
+ *
+ * 物化表：
+ * ------------------------------------------------------------
+ * - 同一事务内增量维护 dynamicmenu_sys_effective_user_menu（EffectiveMenuService）
+ *
+ * 日志说明：
+ * - info：写操作入口与结果
+ * - warn：角色不存在 / 版本冲突
+ * - debug：增量明细
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements RoleService {
+
+    /** 分段数：远大于常见并发管理员数，碰撞概率很低 */
+    private static final int LOCK_STRIPES = 64;
+
+    private final RoleMapper roleMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AuthzEventBus authzEventBus;
+
+    private final EffectiveMenuService effectiveMenuService;
+
+    /** 角色级写锁（节点内） */
+    private final StripedLocks roleLocks = new StripedLocks(LOCK_STRIPES);
+
+    @Override
+    public boolean createRole(Role role) {
+        log.info("[createRole] 新增角色, roleCode={}, roleName={}", role.getRoleCode(), role.getRoleName());
+
+        // 新角色尚无并发写入者，无需加锁；版本号从 0 开始
+        role.setId(null);
+        role.setVersion(0);
+        boolean ok = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (roleMapper.insert(role) == 0) {
+                return false;
+            }
+            authzEventBus.publish(new RoleChangedEvent(role.getId(), false));
+            return true;
+        }));
+
+        log.info("[createRole] 新增角色完成, roleId={}, success={}", role.getId(), ok);
+        return ok;
+    }
+
+    @Override
+    public boolean updateRole(Long id, Role role) {
+        log.info("[updateRole] 修改角色, roleId={}, expectedVersion={}", id, role.getVersion());
+
+        return roleLocks.runLocked(id, () -> Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Integer current = roleMapper.selectVersion(id);
+            if (current == null) {
+                log.warn("[updateRole] 角色不存在, roleId={}", id);
+                return false;
+            }
+
+            role.setId(id);
+            if (role.getVersion() == null) {
+                role.setVersion(current);
+            }
+
+            // @Version：追加 WHERE version = ? 并 +1
+            if (roleMapper.updateById(role) == 0) {
+                throw conflict(id, role.getVersion(), current);
+            }
+            authzEventBus.publish(new RoleChangedEvent(id, false));
+
+            log.info("[updateRole] 修改角色成功, roleId={}, newVersion={}", id, role.getVersion());
+            return true;
+        })));
+    }
+
+    @Override
+    public boolean deleteRole(Long id, Integer expectedVersion) {
+        log.info("[deleteRole] 删除角色, roleId={}, expectedVersion={}", id, expectedVersion);
+
+        return roleLocks.runLocked(id, () -> Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Integer current = roleMapper.selectVersion(id);
+            if (current == null) {
+                log.warn("[deleteRole] 角色不存在, roleId={}", id);
+                return false;
+            }
+
+            int expected = expectedVersion != null ? expectedVersion : current;
+            if (roleMapper.bumpVersion(id, expected) == 0) {
+                throw conflict(id, expected, current);
+            }
+
+            int menuRows = roleMapper.deleteRoleMenusByRoleId(id);
+            effectiveMenuService.onRoleDeleted(id);
+            int userRows = roleMapper.deleteUserRolesByRoleId(id);
+            roleMapper.deleteById(id);
+            authzEventBus.publish(new RoleChangedEvent(id, true));
+
+            log.info("[deleteRole] 删除角色成功, roleId={}, 清理 roleMenu={}, userRole={}", id, menuRows, userRows);
+            return true;
+        })));
+    }
+
+    @Override
+    public Integer assignMenus(Long roleId, List<Long> menuIds, Integer expectedVersion) {
+        log.info("[assignMenus] 角色授权菜单, roleId={}, menuCount={}, expectedVersion={}",
+                roleId, menuIds == null ? 0 : menuIds.size(), expectedVersion);
+
+        return roleLocks.runLocked(roleId, () -> transactionTemplate.execute(status -> {
+            Integer current = roleMapper.selectVersion(roleId);
+            if (current == null) {
+                log.warn("[assignMenus] 角色不存在, roleId={}", roleId);
+                return null;
+            }
+
+            // 1. 先推进版本号：拿到角色行锁，同时拦截跨节点的并发修改
+            int expected = expectedVersion != null ? expectedVersion : current;
+            if (roleMapper.bumpVersion(roleId, expected) == 0) {
+                throw conflict(roleId, expected, current);
+            }
+
+            // 2. 计算增量
+            Set<Long> target = new LinkedHashSet<>();
+            if (menuIds != null) {
+                menuIds.stream().filter(Objects::nonNull).forEach(target::add);
+            }
+            Set<Long> existing = new HashSet<>(roleMapper.listMenuIdsByRoleId(roleId));
+
+            List<Long> removed = existing.stream()
+                    .filter(m -> !target.contains(m))
+                    .toList();
+            List<Long> added = target.stream()
+                    .filter(m -> !existing.contains(m))
+                    .toList();
+
+            // 3. 只写变化的部分
+            if (!removed.isEmpty()) {
+                roleMapper.deleteRoleMenus(roleId, removed);
+            }
+            if (!added.isEmpty()) {
+                roleMapper.insertRoleMenus(roleId, added);
+            }
+            if (!added.isEmpty() || !removed.isEmpty()) {
+                effectiveMenuService.onRoleMenusChanged(roleId, added, removed);
+                authzEventBus.publish(new RoleMenusChangedEvent(roleId, added, removed));
+            }
+
+            log.info("[assignMenus] 授权完成, roleId={}, added={}, removed={}, newVersion={}",
+                    roleId, added.size(), removed.size(), expected + 1);
+            log.debug("[assignMenus] 授权增量明细, roleId={}, added={}, removed={}", roleId, added, removed);
+
+            return expected + 1;
+        }));
+    }
+
+    @Override
+    public Integer grantMenuSubtree(Long roleId, Long menuId, Integer expectedVersion) {
+        log.info("[grantMenuSubtree] 角色授权菜单子树, roleId={}, menuId={}, expectedVersion={}",
+                roleId, menuId, expectedVersion);
+
+        return roleLocks.runLocked(roleId, () -> transactionTemplate.execute(status -> {
+            Integer current = roleMapper.selectVersion(roleId);
+            if (current == null) {
+                log.warn("[grantMenuSubtree] 角色不存在, roleId={}", roleId);
+                return null;
+            }
+
+            int expected = expectedVersion != null ? expectedVersion : current;
+            if (roleMapper.bumpVersion(roleId, expected) == 0) {
+                throw conflict(roleId, expected, current);
+            }
+
+            // 闭包表一次查出子树中尚未授权的菜单，只插入这些
+            List<Long> added = roleMapper.listUngrantedSubtreeMenuIds(roleId, menuId);
+            if (!added.isEmpty()) {
+                roleMapper.insertRoleMenus(roleId, added);
+                effectiveMenuService.onRoleMenusChanged(roleId, added, List.of());
+                authzEventBus.publish(new RoleMenusChangedEvent(roleId, added, List.of()));
+            }
+
+            log.info("[grantMenuSubtree] 子树授权完成, roleId={}, menuId={}, added={}, newVersion={}",
+                    roleId, menuId, added.size(), expected + 1);
+            return expected + 1;
+        }));
+    }
+
+    /**
+     * 构造版本冲突异常（事务会随之回滚）
+     */
+    private OptimisticLockingFailureException conflict(Long roleId, Integer expected, Integer current) {
+        log.warn("[RoleServiceImpl] 角色版本冲突, roleId={}, expectedVersion={}, currentVersion={}",
+                roleId, expected, current);
+        return new OptimisticLockingFailureException(
+                "角色已被其他人修改, roleId=" + roleId + ", expectedVersion=" + expected);
+    }
+}
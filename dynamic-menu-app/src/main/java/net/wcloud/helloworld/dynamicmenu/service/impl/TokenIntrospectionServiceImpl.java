@@ -0,0 +1,182 @@
+package net.wcloud.helloworld.dynamicmenu.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.wcloud.helloworld.dynamicmenu.cache.VerifiedTokenCache;
+import net.wcloud.helloworld.dynamicmenu.config.JwtProperties;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzEventBus;
+import net.wcloud.helloworld.dynamicmenu.security.LoginUserDetails;
+import net.wcloud.helloworld.dynamicmenu.security.LoginUserDetailsService;
+import net.wcloud.helloworld.dynamicmenu.security.VerifiedToken;
+import net.wcloud.helloworld.dynamicmenu.service.TokenIntrospectionService;
+import net.wcloud.helloworld.dynamicmenu.vo.TokenIntrospectionVO;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量 token 内省实现
+ *
+ * 处理流程：
+ * ------------------------------------------------------------
+ * 1. 逐个查 VerifiedTokenCache（命中即完成）
+ * 2. 未命中的 token 较少时在请求线程上验签；较多时分片交给内省专用线程池并行验签
+ * （HMAC + JSON 解析是纯 CPU 计算，线程数默认等于 CPU 核数）
+ * 3. 验签通过的 token 写入缓存，同一网关后续批次直接命中
+ * 4. 验签通过后按 username 读取登录主体（PrincipalCache，同一批内每个用户只读一次）：
+ * 用户不存在、已被禁用，或 userId 与 token 不一致（用户被删除后重建）时判为无效
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 项目运行在 Java 17，没有虚拟线程；验签不阻塞，固定大小的平台线程池即可
+ * - authzVersion 先于验签读取，整批使用同一个值
+ */
+@Slf4j
+@Service
+public class TokenIntrospectionServiceImpl implements TokenIntrospectionService {
+
+    /** 未命中数不超过该值时在请求线程上验签（分片调度的开销不划算） */
+    private static final int INLINE_THRESHOLD = 32;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final AuthzEventBus authzEventBus;
+
+    private final JwtProperties jwtProperties;
+
+    private final LoginUserDetailsService loginUserDetailsService;
+
+    private final int parallelism;
+
+    private final ExecutorService executor;
+
+    public TokenIntrospectionServiceImpl(VerifiedTokenCache verifiedTokenCache, AuthzEventBus authzEventBus,
+                                         JwtProperties jwtProperties, LoginUserDetailsService loginUserDetailsService) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.authzEventBus = authzEventBus;
+        this.jwtProperties = jwtProperties;
+        this.loginUserDetailsService = loginUserDetailsService;
+        this.parallelism = jwtProperties.getIntrospectParallelism() > 0
+                ? jwtProperties.getIntrospectParallelism()
+                : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "token-introspect-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public List<TokenIntrospectionVO> introspect(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            throw new IllegalArgumentException("token 列表为空");
+        }
+        if (tokens.size() > jwtProperties.getIntrospectMaxBatch()) {
+            throw new IllegalArgumentException("单批最多 " + jwtProperties.getIntrospectMaxBatch()
+                    + " 个 token, 实际=" + tokens.size());
+        }
+
+        long start = System.nanoTime();
+        long authzVersion = authzEventBus.changeRing().safeVersion();
+
+        int size = tokens.size();
+        String[] raw = new String[size];
+        VerifiedToken[] verified = new VerifiedToken[size];
+        List<Integer> misses = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            raw[i] = stripPrefix(tokens.get(i));
+            if (raw[i] == null) {
+                continue;
+            }
+            verified[i] = verifiedTokenCache.getIfPresent(raw[i]);
+            if (verified[i] == null) {
+                misses.add(i);
+            }
+        }
+
+        if (misses.size() <= INLINE_THRESHOLD) {
+            verifyRange(misses, 0, misses.size(), raw, verified);
+        } else {
+            int chunks = Math.min(parallelism, (misses.size() + INLINE_THRESHOLD - 1) / INLINE_THRESHOLD);
+            int chunkSize = (misses.size() + chunks - 1) / chunks;
+            List<CompletableFuture<Void>> futures = new ArrayList<>(chunks);
+            for (int from = 0; from < misses.size(); from += chunkSize) {
+                int f = from;
+                int to = Math.min(misses.size(), from + chunkSize);
+                futures.add(CompletableFuture.runAsync(() -> verifyRange(misses, f, to, raw, verified), executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        }
+
+        Map<String, Boolean> activeByUser = new HashMap<>();
+        List<TokenIntrospectionVO> result = new ArrayList<>(size);
+        int valid = 0;
+        for (VerifiedToken v : verified) {
+            TokenIntrospectionVO vo = new TokenIntrospectionVO();
+            vo.setAuthzVersion(authzVersion);
+            if (v != null && activeByUser.computeIfAbsent(v.username() + "#" + v.userId(), k -> isActive(v))) {
+                vo.setValid(true);
+                vo.setUsername(v.username());
+                vo.setUserId(v.userId());
+                vo.setExpiresAt(v.expiresAt());
+                valid++;
+            }
+            result.add(vo);
+        }
+
+        log.debug("[TokenIntrospectionService] 批量内省完成, size={}, cacheMiss={}, valid={}, 耗时={}µs",
+                size, misses.size(), valid, (System.nanoTime() - start) / 1000);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * token 对应的用户是否存在、已启用且仍是签发时的那个用户
+     */
+    private boolean isActive(VerifiedToken token) {
+        if (!StringUtils.hasText(token.username())) {
+            return false;
+        }
+        try {
+            LoginUserDetails principal = loginUserDetailsService.loadPrincipal(token.username());
+            return principal != null && principal.isEnabled() && Objects.equals(principal.getUserId(), token.userId());
+        } catch (UsernameNotFoundException e) {
+            log.debug("[TokenIntrospectionService] 用户不存在, username={}", token.username());
+            return false;
+        }
+    }
+
+    private void verifyRange(List<Integer> misses, int from, int to, String[] raw, VerifiedToken[] verified) {
+        for (int k = from; k < to; k++) {
+            int i = misses.get(k);
+            verified[i] = verifiedTokenCache.verifyAndCache(raw[i]);
+        }
+    }
+
+    private String stripPrefix(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+        String prefix = jwtProperties.getTokenPrefix();
+        if (StringUtils.hasText(prefix) && token.startsWith(prefix)) {
+            return token.substring(prefix.length()).trim();
+        }
+        return token.trim();
+    }
+}
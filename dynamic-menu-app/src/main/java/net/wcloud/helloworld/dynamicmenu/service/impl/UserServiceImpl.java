@@ -5,16 +5,22 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.wcloud.helloworld.dynamicmenu.convert.UserConvert;
 import net.wcloud.helloworld.dynamicmenu.entity.User;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzEventBus;
+import net.wcloud.helloworld.dynamicmenu.event.UserRolesChangedEvent;
+import net.wcloud.helloworld.dynamicmenu.mapper.RoleMapper;
 import net.wcloud.helloworld.dynamicmenu.mapper.UserMapper;
+import net.wcloud.helloworld.dynamicmenu.mapper.UserRoleMapper;
+import net.wcloud.helloworld.dynamicmenu.service.EffectiveMenuService;
 import net.wcloud.helloworld.dynamicmenu.service.MenuService;
 import net.wcloud.helloworld.dynamicmenu.service.UserService;
+import net.wcloud.helloworld.dynamicmenu.util.StripedLocks;
 import net.wcloud.helloworld.dynamicmenu.vo.MenuVO;
 import net.wcloud.helloworld.dynamicmenu.vo.UserVO;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +32,7 @@ import java.util.stream.Collectors;
  * 2. 查询角色编码 / 角色名称 / 权限标识
  * 3. 查询单个用户详情（基础 + 角色 + 权限 + 菜单树）
  * 4. 查询用户列表（附带角色/权限信息）
+ * 5. 给用户分配角色（发布 UserRolesChangedEvent）
  *
  * 技术说明：
  * ----------------------------------------------------------
@@ -45,8 +52,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements UserService {
 
+    /** 分段数：与 RoleServiceImpl 一致 */
+    private static final int LOCK_STRIPES = 64;
+
     private final UserMapper userMapper;
+    private final UserRoleMapper userRoleMapper;
     private final MenuService menuService;
+    private final AuthzEventBus authzEventBus;
+    private final EffectiveMenuService effectiveMenuService;
+    private final RoleMapper roleMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /** 用户级写锁（节点内） */
+    private final StripedLocks userLocks = new StripedLocks(LOCK_STRIPES);
 
     /**
      * 根据用户名查询用户（用于登录）
@@ -158,6 +176,63 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         return voList;
     }
 
+    /**
+     * 给用户分配角色（增量写入 user_role）
+     *
+     * 并发：
+     * - 同一用户的分配在节点内用分段锁串行，锁包住整个事务（含提交）
+     * - 事务内先锁用户行（FOR UPDATE），跨节点的并发分配同样串行，不会重复插入同一 (user_id, role_id)
+     * - 目标角色加共享锁校验存在性，并发删除角色会等到本事务提交
+     */
+    @Override
+    public boolean assignRoles(Long userId, List<Long> roleIds) {
+        log.info("[assignRoles] 用户分配角色, userId={}, roleCount={}", userId, roleIds == null ? 0 : roleIds.size());
+
+        if (userId == null) {
+            log.warn("[assignRoles] 用户不存在, userId=null");
+            return false;
+        }
+
+        Set<Long> target = new LinkedHashSet<>();
+        if (roleIds != null) {
+            roleIds.stream().filter(Objects::nonNull).forEach(target::add);
+        }
+
+        return userLocks.runLocked(userId, () -> Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (userMapper.lockById(userId) == null) {
+                log.warn("[assignRoles] 用户不存在, userId={}", userId);
+                return false;
+            }
+
+            if (!target.isEmpty()) {
+                Set<Long> found = new HashSet<>(roleMapper.lockExistingIds(target));
+                List<Long> missing = target.stream().filter(r -> !found.contains(r)).toList();
+                if (!missing.isEmpty()) {
+                    log.warn("[assignRoles] 角色不存在, userId={}, roleIds={}", userId, missing);
+                    throw new IllegalArgumentException("角色不存在: " + missing);
+                }
+            }
+
+            Set<Long> existing = new HashSet<>(userRoleMapper.listRoleIdsByUserId(userId));
+            List<Long> removed = existing.stream().filter(r -> !target.contains(r)).toList();
+            List<Long> added = target.stream().filter(r -> !existing.contains(r)).toList();
+
+            if (!removed.isEmpty()) {
+                userRoleMapper.deleteUserRoles(userId, removed);
+            }
+            if (!added.isEmpty()) {
+                userRoleMapper.insertUserRoles(userId, added);
+            }
+            if (!added.isEmpty() || !removed.isEmpty()) {
+                effectiveMenuService.onUserRolesChanged(userId, added, removed);
+                authzEventBus.publish(new UserRolesChangedEvent(userId));
+            }
+
+            log.info("[assignRoles] 用户分配角色完成, userId={}, added={}, removed={}", userId, added, removed);
+            return true;
+        })));
+    }
+
     /**
      * 将 User 实体封装为 UserVO（附带 角色编码 + 角色名称 + 权限 + 菜单树）
      *
@@ -0,0 +1,107 @@
+package net.wcloud.helloworld.dynamicmenu.util;
+
+import net.wcloud.helloworld.dynamicmenu.vo.MenuVO;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * ContentHash（内容摘要）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 为用户菜单树 / 权限集合生成稳定的内容摘要，登录时只返回摘要，
+ * 客户端本地摘要一致就不必重新拉取；同时作为 HTTP ETag 使用
+ * - 只与内容有关：菜单按 id 排序、权限按字典序排序后再计算，
+ * 与树的构建顺序、集合的遍历顺序无关
+ *
+ * 算法：
+ * ------------------------------------------------------------
+ * - SHA-256 取前 16 字节（32 位十六进制），每个字段带分隔符，null 单独编码
+ */
+public final class ContentHash {
+
+    private static final int HASH_BYTES = 16;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private ContentHash() {
+    }
+
+    /**
+     * 菜单摘要（树或平铺列表均可，children 会被展开）
+     */
+    public static String ofMenus(Collection<MenuVO> menus) {
+        List<MenuVO> flat = new ArrayList<>();
+        flatten(menus, flat);
+        flat.sort(Comparator.comparing(MenuVO::getId, Comparator.nullsFirst(Long::compareTo)));
+
+        MessageDigest digest = sha256();
+        for (MenuVO m : flat) {
+            update(digest, m.getId());
+            update(digest, m.getParentId());
+            update(digest, m.getMenuName());
+            update(digest, m.getMenuIcon());
+            update(digest, m.getMenuType());
+            update(digest, m.getRoutePath());
+            update(digest, m.getComponent());
+            update(digest, m.getPerms());
+            update(digest, m.getVisible());
+            update(digest, m.getSortOrder());
+            update(digest, Boolean.TRUE.equals(m.getImplicit()));
+            digest.update((byte) '\n');
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * 字符串集合摘要（如权限标识，与顺序、重复无关）
+     */
+    public static String ofStrings(Collection<String> values) {
+        MessageDigest digest = sha256();
+        if (values != null) {
+            for (String v : new TreeSet<>(values.stream().filter(Objects::nonNull).toList())) {
+                update(digest, v);
+            }
+        }
+        return hex(digest.digest());
+    }
+
+    private static void flatten(Collection<MenuVO> nodes, List<MenuVO> out) {
+        if (nodes == null) {
+            return;
+        }
+        for (MenuVO node : nodes) {
+            out.add(node);
+            flatten(node.getChildren(), out);
+        }
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        if (value == null) {
+            digest.update((byte) 0);
+        } else {
+            digest.update(value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0x1f);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] out = new char[HASH_BYTES * 2];
+        for (int i = 0; i < HASH_BYTES; i++) {
+            out[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            out[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(out);
+    }
+}
@@ -0,0 +1,104 @@
+package net.wcloud.helloworld.dynamicmenu.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram（按批大小分组的延迟直方图）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 按批大小分组（1 / ≤10 / ≤100 / ≤1000 / 更大）记录每批的处理耗时
+ * - 耗时按 2 的幂分桶（1µs, 2µs, 4µs ... ≈1s），分位数取所在桶的上界（最多高估一倍）
+ *
+ * 线程安全：
+ * ------------------------------------------------------------
+ * - 计数全部是 LongAdder，记录时无锁，适合高 QPS 路径
+ */
+public class LatencyHistogram {
+
+    /** 批大小分组的上界（最后一组不设上界） */
+    private static final int[] SIZE_LIMITS = {1, 10, 100, 1000, Integer.MAX_VALUE};
+
+    private static final String[] SIZE_LABELS = {"1", "2-10", "11-100", "101-1000", ">1000"};
+
+    /** 耗时桶数：第 i 桶为 (2^(i-1), 2^i] 微秒，最后一桶收纳更大的值 */
+    private static final int BUCKETS = 22;
+
+    private final LongAdder[][] counts = new LongAdder[SIZE_LIMITS.length][BUCKETS];
+
+    private final LongAdder[] totalMicros = new LongAdder[SIZE_LIMITS.length];
+
+    private final LongAdder[] items = new LongAdder[SIZE_LIMITS.length];
+
+    public LatencyHistogram() {
+        for (int g = 0; g < SIZE_LIMITS.length; g++) {
+            for (int b = 0; b < BUCKETS; b++) {
+                counts[g][b] = new LongAdder();
+            }
+            totalMicros[g] = new LongAdder();
+            items[g] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录一批
+     *
+     * @param batchSize 批大小
+     * @param nanos     耗时（纳秒）
+     */
+    public void record(int batchSize, long nanos) {
+        int group = 0;
+        while (batchSize > SIZE_LIMITS[group]) {
+            group++;
+        }
+        long micros = Math.max(1, nanos / 1000);
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros - 1));
+        counts[group][bucket].increment();
+        totalMicros[group].add(micros);
+        items[group].add(batchSize);
+    }
+
+    /**
+     * 各分组的统计（没有记录的分组不输出）
+     *
+     * @return 批大小分组 → {batches, items, meanMicros, p50Micros, p99Micros, maxMicros}
+     */
+    public Map<String, Map<String, Long>> snapshot() {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        for (int g = 0; g < SIZE_LIMITS.length; g++) {
+            long[] c = new long[BUCKETS];
+            long batches = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                c[b] = counts[g][b].sum();
+                batches += c[b];
+            }
+            if (batches == 0) {
+                continue;
+            }
+
+            Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("batches", batches);
+            stats.put("items", items[g].sum());
+            stats.put("meanMicros", totalMicros[g].sum() / batches);
+            stats.put("p50Micros", quantile(c, batches, 0.50));
+            stats.put("p99Micros", quantile(c, batches, 0.99));
+            stats.put("maxMicros", quantile(c, batches, 1.0));
+            result.put(SIZE_LABELS[g], stats);
+        }
+        return result;
+    }
+
+    private static long quantile(long[] c, long total, double q) {
+        long rank = Math.max(1, (long) Math.ceil(total * q));
+        long seen = 0;
+        for (int b = 0; b < c.length; b++) {
+            seen += c[b];
+            if (seen >= rank) {
+                return 1L << b;
+            }
+        }
+        return 1L << (c.length - 1);
+    }
+}
@@ -0,0 +1,157 @@
+package net.wcloud.helloworld.dynamicmenu.util;
+
+import java.util.*;
+
+/**
+ * SparseOrdering（稀疏序号重排）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 同级节点的排序号之间留有间隔（GAP），调整顺序时只给“位置变了”的节点
+ * 在相邻节点之间挑一个空位，其他节点的 sort_order 不动
+ * - 保持不动的节点 = 新顺序中排序号严格递增的最长子序列（LIS），
+ * 这是在不改动它们的前提下能保留的最多节点
+ * - 空位不够时才整体按 GAP 重新编号
+ *
+ * 示例：
+ * ------------------------------------------------------------
+ * 当前 A=1024, B=2048, C=3072，新顺序 C, A, B
+ * → A、B 保持不动，只把 C 改为 0（1024 - GAP），只更新 1 行
+ */
+public final class SparseOrdering {
+
+    /** 默认间隔 */
+    public static final int GAP = 1024;
+
+    private SparseOrdering() {
+    }
+
+    /**
+     * 计算新顺序下需要修改的排序号
+     *
+     * @param orderedIds 新顺序（不能包含重复 ID）
+     * @param current    当前排序号（ID → sort_order，可为 null 值）
+     * @param gap        间隔
+     * @return 只包含需要修改的 ID → 新排序号（保持新顺序的插入顺序）
+     */
+    public static Map<Long, Integer> reorder(List<Long> orderedIds, Map<Long, Integer> current, int gap) {
+        int n = orderedIds.size();
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = current.get(orderedIds.get(i));
+        }
+
+        boolean[] keep = longestIncreasing(values);
+        long[] assigned = new long[n];
+        Long prev = null;
+        int i = 0;
+        while (i < n) {
+            if (keep[i]) {
+                assigned[i] = values[i];
+                prev = (long) values[i];
+                i++;
+                continue;
+            }
+
+            // [i, j) 为一段需要重新分配的节点，j 为下一个保持不动的节点（或末尾）
+            int j = i;
+            while (j < n && !keep[j]) {
+                j++;
+            }
+            int k = j - i;
+            Long next = j < n ? (long) values[j] : null;
+
+            long lo;
+            long step;
+            if (prev == null && next == null) {
+                lo = 0;
+                step = gap;
+            } else if (prev == null) {
+                lo = next - (long) gap * (k + 1);
+                step = gap;
+            } else if (next == null) {
+                lo = prev;
+                step = gap;
+            } else {
+                lo = prev;
+                step = (next - prev) / (k + 1);
+            }
+
+            if (step < 1 || !fitsInt(lo + step) || !fitsInt(lo + step * k)) {
+                return renumber(orderedIds, current, gap);
+            }
+            for (int t = 0; t < k; t++) {
+                assigned[i + t] = lo + step * (t + 1);
+            }
+            prev = assigned[j - 1];
+            i = j;
+        }
+
+        Map<Long, Integer> changed = new LinkedHashMap<>();
+        for (int t = 0; t < n; t++) {
+            if (!keep[t]) {
+                changed.put(orderedIds.get(t), (int) assigned[t]);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 整体按 gap 重新编号（只返回值真正变化的节点）
+     */
+    private static Map<Long, Integer> renumber(List<Long> orderedIds, Map<Long, Integer> current, int gap) {
+        Map<Long, Integer> changed = new LinkedHashMap<>();
+        for (int i = 0; i < orderedIds.size(); i++) {
+            int value = gap * (i + 1);
+            Long id = orderedIds.get(i);
+            if (!Objects.equals(current.get(id), value)) {
+                changed.put(id, value);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 严格递增最长子序列（O(n log n)），null 不参与
+     *
+     * @return keep[i] = true 表示第 i 个节点可以保持原排序号
+     */
+    private static boolean[] longestIncreasing(Integer[] values) {
+        int n = values.length;
+        int[] tailIdx = new int[n];
+        int[] parent = new int[n];
+        int len = 0;
+
+        for (int i = 0; i < n; i++) {
+            parent[i] = -1;
+            if (values[i] == null) {
+                continue;
+            }
+            int lo = 0;
+            int hi = len;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[tailIdx[mid]] < values[i]) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            parent[i] = lo > 0 ? tailIdx[lo - 1] : -1;
+            tailIdx[lo] = i;
+            if (lo == len) {
+                len++;
+            }
+        }
+
+        boolean[] keep = new boolean[n];
+        for (int i = len > 0 ? tailIdx[len - 1] : -1; i >= 0; i = parent[i]) {
+            keep[i] = true;
+        }
+        return keep;
+    }
+
+    private static boolean fitsInt(long v) {
+        return v >= Integer.MIN_VALUE && v <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,80 @@
+package net.wcloud.helloworld.dynamicmenu.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * StripedLocks（分段锁）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 按 key（如 roleId）把写操作串行化，但只锁住 key 所在的“段”
+ * - 不同 key 大概率落在不同段上，可以完全并行执行
+ * - 锁数量固定，不会随 key 数量增长，也不需要清理
+ *
+ * 使用场景：
+ * ------------------------------------------------------------
+ * - RoleServiceImpl：同一角色的“删旧 + 插新”授权操作必须串行
+ * - UserServiceImpl：同一用户的“读取现有角色 → 差量写入”必须串行
+ *
+ * 注意：
+ * ------------------------------------------------------------
+ * - 只在当前 JVM 内生效，跨节点的并发需要配合数据库乐观锁（version）
+ * - 锁必须包住整个事务（含提交），否则提交前释放锁仍可能交错
+ */
+public class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+
+    private final int mask;
+
+    /**
+     * @param stripes 期望段数，会向上取整为 2 的幂
+     */
+    public StripedLocks(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        }
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        if (size <= 0) {
+            size = 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 在 key 对应的段锁内执行 action
+     *
+     * @param key    串行化维度（如 roleId）
+     * @param action 需要串行执行的逻辑
+     * @return action 的返回值
+     */
+    public <T> T runLocked(Object key, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(key);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * key 对应的段锁（同一 key 永远返回同一把锁）
+     */
+    public ReentrantLock stripeFor(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        // 扰动一下，避免连续 ID 只落在低位相同的几个段
+        h ^= (h >>> 16);
+        return stripes[h & mask];
+    }
+
+    /** 段数 */
+    public int size() {
+        return stripes.length;
+    }
+}
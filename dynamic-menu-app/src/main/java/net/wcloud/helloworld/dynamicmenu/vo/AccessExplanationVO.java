@@ -0,0 +1,43 @@
+package net.wcloud.helloworld.dynamicmenu.vo;
+
+import lombok.Data;
+import net.wcloud.helloworld.dynamicmenu.core.AccessExplanation;
+
+import java.util.List;
+
+/**
+ * 用户访问来源说明（GET /api/authz/explain）
+ *
+ * 阅读方式：
+ * ------------------------------------------------------------
+ * - reason：GRANTED（角色直接授权）/ IMPLIED（授权了下级，作为祖先补齐）/ DISABLED（被禁用的节点挡住）
+ * / NOT_GRANTED / NOT_FOUND
+ * - targets[].grantedBy：直接授权该菜单的角色；targets[].path[].grantedBy 为空的祖先是补齐出来的
+ * - targets[].disabledAt：路径上第一个被禁用的菜单
+ * - targets[].impliedBy：使该菜单被补齐的已授权下级菜单
+ * - userDisabled = true 时 allowed 恒为 false，reason / targets 仍按角色说明授权来源
+ */
+@Data
+public class AccessExplanationVO {
+
+    /** 用户 ID */
+    private Long userId;
+
+    /** 判定时的授权版本号 */
+    private long authzVersion;
+
+    /** 是否可见 / 拥有（用户被禁用时为 false） */
+    private boolean allowed;
+
+    /** 用户是否已被禁用（status 不是 1） */
+    private boolean userDisabled;
+
+    /** 结论 */
+    private AccessExplanation.Reason reason;
+
+    /** 用户当前的角色 */
+    private List<Long> roleIds;
+
+    /** 被判定的菜单（按权限标识查询时为配置了该 perms 的全部菜单） */
+    private List<AccessExplanation.Target> targets;
+}
@@ -0,0 +1,31 @@
+package net.wcloud.helloworld.dynamicmenu.vo;
+
+import lombok.Data;
+
+/**
+ * 批量权限判定结果（POST /api/authz/decisions）
+ *
+ * 位向量格式：
+ * ------------------------------------------------------------
+ * - 第 i 个判定（请求顺序）对应 bits[i / 8] 的第 (i % 8) 位（低位在前，与 java.util.BitSet.valueOf 一致）
+ * - 字节数固定为 (size + 7) / 8；JSON 中为 Base64 字符串，Smile / CBOR 中为原始字节
+ *
+ * 缓存：
+ * ------------------------------------------------------------
+ * - version 与 /api/menu/delta、/api/authz/snapshot 同源，网关可按 version 缓存判定结果
+ */
+@Data
+public class AuthzDecisionVO {
+
+    /** 判定时的授权版本号 */
+    private long version;
+
+    /** 判定个数 */
+    private int size;
+
+    /** 允许的个数 */
+    private int granted;
+
+    /** 判定结果位向量 */
+    private byte[] bits;
+}
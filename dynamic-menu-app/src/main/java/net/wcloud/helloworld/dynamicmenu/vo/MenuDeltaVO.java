@@ -0,0 +1,33 @@
+package net.wcloud.helloworld.dynamicmenu.vo;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 用户菜单增量（GET /api/menu/delta）
+ *
+ * 客户端处理方式：
+ * ------------------------------------------------------------
+ * - full = true：用 menus（完整菜单树）整体替换本地菜单
+ * - full = false：按 id 用 upserted 覆盖本地节点（不含 children），删除 removed 中的节点
+ * - 保存 version，下次请求带上 since = version
+ */
+@Data
+public class MenuDeltaVO {
+
+    /** 本次结果对应的版本号 */
+    private Long version;
+
+    /** 是否为全量快照 */
+    private Boolean full;
+
+    /** 完整菜单树（仅 full = true 时有值） */
+    private List<MenuVO> menus;
+
+    /** 新增或内容变化的节点（平铺，children 为空） */
+    private List<MenuVO> upserted;
+
+    /** 已不可见的节点 ID */
+    private List<Long> removed;
+}
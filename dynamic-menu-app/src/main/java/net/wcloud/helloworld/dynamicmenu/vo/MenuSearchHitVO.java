@@ -0,0 +1,24 @@
+package net.wcloud.helloworld.dynamicmenu.vo;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 菜单搜索结果（GET /api/menu/search）
+ */
+@Data
+public class MenuSearchHitVO {
+
+    private Long id;
+    private String menuName;
+    private Integer menuType;
+    private String routePath;
+    private String perms;
+
+    /** 祖先 ID（从根到父） */
+    private List<Long> pathIds;
+
+    /** 祖先名称（从根到父），如：["系统管理", "用户管理"] */
+    private List<String> pathNames;
+}
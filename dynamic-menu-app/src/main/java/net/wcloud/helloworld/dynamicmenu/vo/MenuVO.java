@@ -0,0 +1,47 @@
+package net.wcloud.helloworld.dynamicmenu.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Value;
+import java.util.List;
+
+/**
+ * 菜单节点（不可变）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 构建后不能再修改，需要不同字段时用 toBuilder() 生成新节点
+ * - 用户菜单树是菜单目录规范树的投影（见 MenuTreeProjector）：
+ * 未被裁剪的子树直接引用规范树中的节点，多个用户 / 线程共享同一对象
+ * - children 为只读列表
+ */
+@Value
+@Builder(toBuilder = true)
+public class MenuVO {
+
+    Long id;
+    Long parentId;
+    String menuName;
+    String menuIcon;
+    Integer menuType;
+    String routePath;
+    String component;
+    String perms;
+    Integer visible;
+    Integer sortOrder;
+
+    /**
+     * 是否为自动补齐的祖先节点
+     * true：用户只被授权了下级菜单，该目录是为了挂载下级而补上的（本身未授权）
+     */
+    Boolean implicit;
+
+    /**
+     * 直接子节点数量（仅按层加载的菜单树返回）
+     * children 为 null 且 childCount > 0 表示下级尚未加载，可按 parentId 继续展开
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Integer childCount;
+
+    List<MenuVO> children;
+}
@@ -0,0 +1,26 @@
+package net.wcloud.helloworld.dynamicmenu.vo;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 页面按钮权限（GET /api/auth/buttons）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 按页面（按钮最近的非按钮祖先）分组，前端进入页面时按需获取
+ * - perms 只包含当前用户已授权、且路径已启用的按钮权限标识
+ */
+@Data
+public class PageButtonsVO {
+
+    /** 页面菜单 ID */
+    private Long menuId;
+
+    /** 页面路由 */
+    private String routePath;
+
+    /** 按钮权限标识，如：["sys:user:add", "sys:user:delete"] */
+    private List<String> perms;
+}
@@ -0,0 +1,33 @@
+package net.wcloud.helloworld.dynamicmenu.vo;
+
+import lombok.Data;
+
+/**
+ * 前端路由表条目（GET /api/auth/routes）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 平铺数组，前端直接注册路由，无需递归遍历菜单树
+ * - 包含隐藏菜单（visible = 0）：不在侧边栏显示，但路由仍然可以访问
+ */
+@Data
+public class RouteVO {
+
+    /** 菜单 ID */
+    private Long id;
+
+    /** 菜单名称（路由标题） */
+    private String menuName;
+
+    /** 菜单图标 */
+    private String menuIcon;
+
+    /** 前端路由路径 */
+    private String routePath;
+
+    /** 前端组件路径 */
+    private String component;
+
+    /** 自身或任一祖先隐藏（不在侧边栏显示） */
+    private Boolean hidden;
+}
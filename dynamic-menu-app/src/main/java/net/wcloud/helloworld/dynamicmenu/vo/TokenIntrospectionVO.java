@@ -0,0 +1,33 @@
+package net.wcloud.helloworld.dynamicmenu.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * 单个 token 的内省结果（POST /api/auth/introspect）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - valid = false 时只有 valid / authzVersion（不区分伪造、过期、格式错误、用户不存在或已被禁用）
+ * - authzVersion 与 /api/menu/delta、/api/authz/decisions 同源，
+ * 网关可据此判断本地缓存的权限判定是否仍然有效
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospectionVO {
+
+    /** 签名正确、未过期，且用户存在并已启用 */
+    private boolean valid;
+
+    /** 用户名（JWT 的 sub） */
+    private String username;
+
+    /** 用户 ID */
+    private Long userId;
+
+    /** 过期时间（毫秒时间戳） */
+    private Long expiresAt;
+
+    /** 内省时的授权版本号 */
+    private long authzVersion;
+}
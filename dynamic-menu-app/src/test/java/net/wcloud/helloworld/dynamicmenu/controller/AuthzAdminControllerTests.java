@@ -0,0 +1,73 @@
+package net.wcloud.helloworld.dynamicmenu.controller;
+
+import net.wcloud.helloworld.dynamicmenu.core.AccessExplanation;
+import net.wcloud.helloworld.dynamicmenu.service.AuthzExplainService;
+import net.wcloud.helloworld.dynamicmenu.vo.AccessExplanationVO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * AuthzAdminController 权限校验（角色编码为 ROLE_ADMIN）
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthzAdminControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /** 来源说明会读取被禁用的用户（数据库），这里只校验接口权限 */
+    @MockitoBean
+    private AuthzExplainService authzExplainService;
+
+    @Test
+    @WithMockUser(username = "admin", authorities = "ROLE_ADMIN")
+    void adminCanReadStats() throws Exception {
+        mockMvc.perform(get("/api/authz/menu-trees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/authz/push"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/authz/reconcile"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(0));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", authorities = "ROLE_ADMIN")
+    void adminCanExplain() throws Exception {
+        AccessExplanationVO vo = new AccessExplanationVO();
+        vo.setUserId(2L);
+        vo.setReason(AccessExplanation.Reason.GRANTED);
+        when(authzExplainService.explain(2L, 105L, null)).thenReturn(vo);
+
+        mockMvc.perform(get("/api/authz/explain").param("userId", "2").param("menuId", "105"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data.reason").value("GRANTED"));
+    }
+
+    @Test
+    @WithMockUser(username = "user", authorities = {"ROLE_USER", "sys:user:list"})
+    void nonAdminIsForbidden() throws Exception {
+        mockMvc.perform(get("/api/authz/menu-trees"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/authz/reconcile"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/authz/push"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/authz/explain").param("userId", "2").param("menuId", "105"))
+                .andExpect(status().isForbidden());
+    }
+}
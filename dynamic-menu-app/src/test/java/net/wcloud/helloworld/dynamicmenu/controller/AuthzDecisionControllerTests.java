@@ -0,0 +1,69 @@
+package net.wcloud.helloworld.dynamicmenu.controller;
+
+import net.wcloud.helloworld.dynamicmenu.service.AuthzDecisionService;
+import net.wcloud.helloworld.dynamicmenu.vo.AuthzDecisionVO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * AuthzDecisionController 权限校验（ROLE_ADMIN 或 authz:decide）
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthzDecisionControllerTests {
+
+    private static final String BODY = "{\"userId\": 1, \"perms\": [\"sys:user:list\"]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AuthzDecisionService authzDecisionService;
+
+    @Test
+    @WithMockUser(username = "admin", authorities = "ROLE_ADMIN")
+    void adminCanDecideAndReadStats() throws Exception {
+        when(authzDecisionService.decide(any())).thenReturn(new AuthzDecisionVO());
+        when(authzDecisionService.latencyStats()).thenReturn(Map.of());
+
+        mockMvc.perform(post("/api/authz/decisions").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(0));
+        mockMvc.perform(get("/api/authz/decisions/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(0));
+    }
+
+    @Test
+    @WithMockUser(username = "gateway", authorities = "authz:decide")
+    void serviceAccountCanDecideButNotReadStats() throws Exception {
+        when(authzDecisionService.decide(any())).thenReturn(new AuthzDecisionVO());
+
+        mockMvc.perform(post("/api/authz/decisions").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/authz/decisions/stats"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "user", authorities = {"ROLE_USER", "sys:user:list"})
+    void othersAreForbidden() throws Exception {
+        mockMvc.perform(post("/api/authz/decisions").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isForbidden());
+    }
+}
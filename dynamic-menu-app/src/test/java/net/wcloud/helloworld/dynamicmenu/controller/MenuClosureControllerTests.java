@@ -0,0 +1,50 @@
+package net.wcloud.helloworld.dynamicmenu.controller;
+
+import net.wcloud.helloworld.dynamicmenu.service.MenuService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 闭包表重建接口权限校验（ADMIN 角色，角色编码为 ROLE_ADMIN）
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MenuClosureControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MenuService menuService;
+
+    @Test
+    @WithMockUser(username = "admin", authorities = "ROLE_ADMIN")
+    void adminCanRebuildClosure() throws Exception {
+        when(menuService.rebuildClosure()).thenReturn(42);
+
+        mockMvc.perform(post("/api/menu/closure/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(0))
+                .andExpect(jsonPath("$.data").value(42));
+    }
+
+    @Test
+    @WithMockUser(username = "editor", authorities = {"ROLE_EDITOR", "sys:menu:update"})
+    void menuEditorCannotRebuildClosure() throws Exception {
+        mockMvc.perform(post("/api/menu/closure/rebuild"))
+                .andExpect(status().isForbidden());
+        verify(menuService, never()).rebuildClosure();
+    }
+}
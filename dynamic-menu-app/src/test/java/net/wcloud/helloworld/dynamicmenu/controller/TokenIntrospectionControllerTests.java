@@ -0,0 +1,61 @@
+package net.wcloud.helloworld.dynamicmenu.controller;
+
+import net.wcloud.helloworld.dynamicmenu.service.TokenIntrospectionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * TokenIntrospectionController 权限校验（ROLE_ADMIN 或 auth:introspect）
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenIntrospectionControllerTests {
+
+    private static final String BODY = "{\"tokens\": [\"eyJhbGciOiJIUzI1NiJ9.x.y\"]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    @Test
+    @WithMockUser(username = "admin", authorities = "ROLE_ADMIN")
+    void adminCanIntrospect() throws Exception {
+        when(tokenIntrospectionService.introspect(any())).thenReturn(List.of());
+
+        mockMvc.perform(post("/api/auth/introspect").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(0));
+    }
+
+    @Test
+    @WithMockUser(username = "gateway", authorities = "auth:introspect")
+    void gatewayCanIntrospect() throws Exception {
+        when(tokenIntrospectionService.introspect(any())).thenReturn(List.of());
+
+        mockMvc.perform(post("/api/auth/introspect").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(username = "user", authorities = {"ROLE_USER", "sys:user:list"})
+    void othersAreForbidden() throws Exception {
+        mockMvc.perform(post("/api/auth/introspect").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,77 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+import net.wcloud.helloworld.dynamicmenu.config.AuthzProperties;
+import net.wcloud.helloworld.dynamicmenu.entity.AuthzChangeLog;
+import net.wcloud.helloworld.dynamicmenu.mapper.AuthzChangeLogMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuthzChangeLogTailer：启动起点回退到空洞宽限期之前，晚提交的低 id 不会被跳过
+ */
+class AuthzChangeLogTailerTests {
+
+    private final AuthzChangeLogMapper mapper = mock(AuthzChangeLogMapper.class);
+
+    private final AuthzEventBus bus = mock(AuthzEventBus.class);
+
+    private final AuthzProperties properties = new AuthzProperties();
+
+    private final AuthzChangeLogTailer tailer = new AuthzChangeLogTailer(mapper, bus, properties);
+
+    AuthzChangeLogTailerTests() throws Exception {
+        when(bus.nodeId()).thenReturn("node-a");
+        when(bus.changeRing()).thenReturn(mock(AuthzChangeRing.class));
+        when(bus.decode(any())).thenAnswer(inv -> new UserRolesChangedEvent(inv.<AuthzChangeLog>getArgument(0).getId()));
+    }
+
+    @Test
+    void startsBeforeGapGraceWindowAndReplaysLateCommit() {
+        when(mapper.selectMaxIdCreatedBefore(properties.getChangeLogGapGraceSeconds())).thenReturn(10L);
+
+        tailer.pollOnce();
+        assertEquals(10L, tailer.currentVersion());
+        verify(bus).dispatch(any(FullResyncEvent.class));
+
+        // 12 已提交（启动时已存在），11 所在事务稍后才提交
+        when(mapper.listAfter(eq(10L), anyInt())).thenReturn(List.of(row(12L)));
+        tailer.pollOnce();
+        assertEquals(10L, tailer.currentVersion());
+
+        when(mapper.listAfter(eq(10L), anyInt())).thenReturn(List.of(row(11L), row(12L)));
+        tailer.pollOnce();
+        assertEquals(12L, tailer.currentVersion());
+
+        verify(bus).dispatch(new UserRolesChangedEvent(11L), 11L);
+        verify(bus).dispatch(new UserRolesChangedEvent(12L), 12L);
+        verify(bus, times(1)).dispatch(any(FullResyncEvent.class));
+    }
+
+    @Test
+    void ownRowsAreOnlyCounted() {
+        when(mapper.selectMaxIdCreatedBefore(anyLong())).thenReturn(0L);
+        tailer.pollOnce();
+
+        AuthzChangeLog own = row(1L);
+        own.setOriginNode("node-a");
+        when(mapper.listAfter(eq(0L), anyInt())).thenReturn(List.of(own));
+        tailer.pollOnce();
+
+        assertEquals(1L, tailer.currentVersion());
+        verify(bus, never()).dispatch(any(UserRolesChangedEvent.class), anyLong());
+    }
+
+    private static AuthzChangeLog row(long id) {
+        AuthzChangeLog row = new AuthzChangeLog();
+        row.setId(id);
+        row.setEventType(UserRolesChangedEvent.class.getSimpleName());
+        row.setPayload("{}");
+        row.setOriginNode("node-b");
+        return row;
+    }
+}
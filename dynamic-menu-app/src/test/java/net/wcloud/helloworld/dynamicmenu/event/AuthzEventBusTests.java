@@ -0,0 +1,62 @@
+package net.wcloud.helloworld.dynamicmenu.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.wcloud.helloworld.dynamicmenu.config.AuthzProperties;
+import net.wcloud.helloworld.dynamicmenu.entity.AuthzChangeLog;
+import net.wcloud.helloworld.dynamicmenu.mapper.AuthzChangeLogMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuthzEventBus：带序号的事件记入变更集，只有全量重同步清空变更集
+ */
+class AuthzEventBusTests {
+
+    private final AuthzChangeLogMapper changeLogMapper = mock(AuthzChangeLogMapper.class);
+
+    private final RoleMenuIndex roleMenuIndex = mock(RoleMenuIndex.class);
+
+    private final AuthzChangeRing ring = new AuthzChangeRing(new AuthzProperties());
+
+    private final AuthzEventBus bus = new AuthzEventBus(mock(ApplicationEventPublisher.class), mock(RoleUserIndex.class),
+            roleMenuIndex, mock(MenuCatalog.class), ring, changeLogMapper, new ObjectMapper(), new AuthzProperties());
+
+    AuthzEventBusTests() {
+        AtomicLong ids = new AtomicLong(5);
+        when(changeLogMapper.insert(any(AuthzChangeLog.class))).thenAnswer(inv -> {
+            inv.<AuthzChangeLog>getArgument(0).setId(ids.incrementAndGet());
+            return 1;
+        });
+        ring.advanceTo(5);
+    }
+
+    @Test
+    void publishedRepairIsRecordedAsDelta() {
+        // 对账修复：事务外发布，取得变更日志序号 6
+        bus.publish(new RoleMenusChangedEvent(3L, List.of(101L), List.of(102L)));
+        ring.advanceTo(6);
+
+        verify(roleMenuIndex).refreshRole(3L);
+        assertEquals(6, ring.safeVersion());
+        assertEquals(Set.of(101L, 102L), ring.touchedSince(5, 6, 1L));
+        assertEquals(Set.of(), ring.touchedSince(6, 6, 1L));
+    }
+
+    @Test
+    void onlyFullResyncClearsRing() {
+        bus.publish(new UserRolesChangedEvent(7L));
+        ring.advanceTo(6);
+        assertEquals(Set.of(), ring.touchedSince(5, 6, 1L));
+
+        bus.dispatch(new FullResyncEvent("test"));
+        assertNull(ring.touchedSince(5, 6, 1L));
+    }
+}
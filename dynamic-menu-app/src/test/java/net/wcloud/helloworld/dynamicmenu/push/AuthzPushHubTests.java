@@ -0,0 +1,116 @@
+package net.wcloud.helloworld.dynamicmenu.push;
+
+import net.wcloud.helloworld.dynamicmenu.config.AuthzProperties;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzChangeRing;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzEventBus;
+import net.wcloud.helloworld.dynamicmenu.event.MenuCatalogChangedEvent;
+import net.wcloud.helloworld.dynamicmenu.event.RoleUserIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuthzPushHub：发送队列有界，同一连接的通知合并，队列满时留到下次 flush
+ */
+class AuthzPushHubTests {
+
+    private final AuthzChangeRing ring = mock(AuthzChangeRing.class);
+
+    private final AuthzPushHub hub;
+
+    private final ThreadPoolExecutor sender;
+
+    AuthzPushHubTests() {
+        AuthzEventBus bus = mock(AuthzEventBus.class);
+        RoleUserIndex roleUserIndex = mock(RoleUserIndex.class);
+        when(bus.changeRing()).thenReturn(ring);
+        when(bus.roleUserIndex()).thenReturn(roleUserIndex);
+        when(roleUserIndex.rolesOfUser(any())).thenAnswer(inv -> Set.of(inv.<Long>getArgument(0)));
+
+        AuthzProperties properties = new AuthzProperties();
+        properties.setPushSendThreads(1);
+        properties.setPushSendQueueCapacity(1);
+        hub = new AuthzPushHub(bus, properties);
+        sender = (ThreadPoolExecutor) ReflectionTestUtils.getField(hub, "sender");
+    }
+
+    @AfterEach
+    void shutdown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void slowSenderNeverQueuesMoreThanCapacityAndLateSubscribersCatchUp() throws Exception {
+        List<SseEmitter> emitters = List.of(hub.subscribe(1L), hub.subscribe(2L), hub.subscribe(3L));
+
+        // 占住唯一的发送线程（模拟慢客户端）
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        sender.execute(() -> {
+            running.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        publish(5);
+        hub.flush();
+        assertEquals(1, sender.getQueue().size());
+
+        // 排队中的连接合并为最新版本，其余连接队列已满，仍不会堆积
+        publish(6);
+        hub.flush();
+        hub.flush();
+        assertEquals(1, sender.getQueue().size());
+        assertEquals(1, hub.stats().get("queuedSends"));
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitters.stream().anyMatch(e -> sent(e, 6) == 0) && System.nanoTime() < deadline) {
+            hub.flush();
+            Thread.sleep(20);
+        }
+
+        for (SseEmitter emitter : emitters) {
+            assertEquals(0, sent(emitter, 5));
+            assertEquals(1, sent(emitter, 6));
+        }
+    }
+
+    private void publish(long version) {
+        when(ring.latestSeq()).thenReturn(version);
+        when(ring.safeVersion()).thenReturn(version);
+        hub.onAuthzEvent(new MenuCatalogChangedEvent(List.of(), version));
+    }
+
+    /**
+     * 连接尚未交给 Servlet 容器时，SseEmitter 把写出的内容暂存起来；统计其中某个版本的通知条数
+     */
+    private static long sent(SseEmitter emitter, long version) {
+        Set<?> early = (Set<?>) ReflectionTestUtils.getField(emitter, "earlySendAttempts");
+        String payload = "{\"version\":" + version + "}";
+        synchronized (emitter) {
+            return early.stream()
+                    .map(item -> ReflectionTestUtils.getField(item, "data"))
+                    .filter(payload::equals)
+                    .count();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
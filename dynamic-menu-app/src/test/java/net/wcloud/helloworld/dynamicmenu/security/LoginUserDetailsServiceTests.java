@@ -0,0 +1,65 @@
+package net.wcloud.helloworld.dynamicmenu.security;
+
+import net.wcloud.helloworld.dynamicmenu.cache.PrincipalCache;
+import net.wcloud.helloworld.dynamicmenu.config.AuthzProperties;
+import net.wcloud.helloworld.dynamicmenu.entity.User;
+import net.wcloud.helloworld.dynamicmenu.service.UserService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * LoginUserDetailsService：密码登录使用数据库中的最新状态，缓存中的旧状态被失效
+ */
+class LoginUserDetailsServiceTests {
+
+    private final UserService userService = mock(UserService.class);
+
+    private final LoginUserDetailsService service =
+            new LoginUserDetailsService(userService, new PrincipalCache(new AuthzProperties()));
+
+    LoginUserDetailsServiceTests() {
+        when(userService.listRoleCodesByUserId(1L)).thenReturn(List.of("ROLE_USER"));
+        when(userService.listPermissionsByUserId(1L)).thenReturn(List.of("sys:user:list"));
+    }
+
+    @Test
+    void passwordLoginUsesFreshStatusAndEvictsStalePrincipal() {
+        when(userService.getByUsername("alice")).thenReturn(user(1));
+        assertTrue(service.loadPrincipal("alice").isEnabled());
+
+        // 用户被禁用（不发布事件），缓存中仍是启用状态
+        when(userService.getByUsername("alice")).thenReturn(user(0));
+        LoginUserDetails login = (LoginUserDetails) service.loadUserByUsername("alice");
+
+        assertFalse(login.isEnabled());
+        assertEquals("{noop}secret", login.getPassword());
+        assertFalse(service.loadPrincipal("alice").isEnabled());
+        verify(userService, times(2)).listRoleCodesByUserId(1L);
+    }
+
+    @Test
+    void unchangedStatusKeepsCachedPrincipal() {
+        when(userService.getByUsername("alice")).thenReturn(user(1));
+        LoginUserDetails cached = service.loadPrincipal("alice");
+
+        LoginUserDetails login = (LoginUserDetails) service.loadUserByUsername("alice");
+
+        assertTrue(login.isEnabled());
+        assertNull(cached.getPassword());
+        assertSame(cached, service.loadPrincipal("alice"));
+        verify(userService, times(1)).listRoleCodesByUserId(1L);
+    }
+
+    private static User user(int status) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("alice");
+        user.setPassword("{noop}secret");
+        user.setStatus(status);
+        return user;
+    }
+}
@@ -0,0 +1,105 @@
+package net.wcloud.helloworld.dynamicmenu.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import net.wcloud.helloworld.dynamicmenu.cache.DisabledUserCache;
+import net.wcloud.helloworld.dynamicmenu.core.MenuDef;
+import net.wcloud.helloworld.dynamicmenu.core.RbacEngine;
+import net.wcloud.helloworld.dynamicmenu.core.RbacLoader;
+import net.wcloud.helloworld.dynamicmenu.dto.AuthzSnapshotDTO;
+import net.wcloud.helloworld.dynamicmenu.entity.Role;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzChangeRing;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzEventBus;
+import net.wcloud.helloworld.dynamicmenu.event.RoleUserIndex;
+import net.wcloud.helloworld.dynamicmenu.mapper.RoleMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuthzSnapshotServiceImpl：角色的 perms 与 RbacEngine.hasPermission 同一口径（菜单路径被禁用时不产出）
+ */
+class AuthzSnapshotServiceImplTests {
+
+    /**
+     * 1 系统管理（目录）
+     * ├─ 2 用户管理（sys:user:list）
+     * │   └─ 3 新增用户（按钮，sys:user:add）
+     * └─ 4 角色管理（sys:role:list，已禁用）
+     *     └─ 5 新增角色（按钮，sys:role:add，自身启用）
+     */
+    private static final List<MenuDef> MENUS = List.of(
+            new MenuDef(1L, 0L, "系统管理", null, MenuDef.TYPE_DIRECTORY, null, null, null, 1, 1, null),
+            new MenuDef(2L, 1L, "用户管理", null, MenuDef.TYPE_MENU, "/system/user", null, "sys:user:list", 1, 1, null),
+            new MenuDef(3L, 2L, "新增用户", null, MenuDef.TYPE_BUTTON, null, null, "sys:user:add", 1, 1, null),
+            new MenuDef(4L, 1L, "角色管理", null, MenuDef.TYPE_MENU, "/system/role", null, "sys:role:list", 1, 0, null),
+            new MenuDef(5L, 4L, "新增角色", null, MenuDef.TYPE_BUTTON, null, null, "sys:role:add", 1, 1, null));
+
+    private static final Map<Long, List<Long>> GRANTS = Map.of(10L, List.of(2L, 3L, 4L, 5L));
+
+    private final RbacEngine rbacEngine = new RbacEngine(new RbacLoader() {
+        @Override
+        public long catalogVersion() {
+            return 1;
+        }
+
+        @Override
+        public Collection<MenuDef> loadMenus() {
+            return MENUS;
+        }
+
+        @Override
+        public void loadRoleMenus(BiConsumer<Long, Long> sink) {
+            GRANTS.forEach((roleId, menuIds) -> menuIds.forEach(menuId -> sink.accept(roleId, menuId)));
+        }
+
+        @Override
+        public Collection<Long> loadMenusOfRole(Long roleId) {
+            return GRANTS.getOrDefault(roleId, List.of());
+        }
+    });
+
+    private final AuthzEventBus authzEventBus = mock(AuthzEventBus.class);
+
+    private final RoleMapper roleMapper = mock(RoleMapper.class);
+
+    private final AuthzSnapshotServiceImpl service = new AuthzSnapshotServiceImpl(authzEventBus, rbacEngine,
+            roleMapper, mock(DisabledUserCache.class));
+
+    static {
+        // build() 用 lambdaQuery 选列，需要实体的表信息
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Role.class);
+    }
+
+    AuthzSnapshotServiceImplTests() {
+        AuthzChangeRing ring = mock(AuthzChangeRing.class);
+        when(ring.safeVersion()).thenReturn(3L);
+        RoleUserIndex roleUserIndex = mock(RoleUserIndex.class);
+        when(roleUserIndex.userRoles()).thenReturn(Map.of(100L, Set.of(10L)));
+        when(authzEventBus.changeRing()).thenReturn(ring);
+        when(authzEventBus.roleUserIndex()).thenReturn(roleUserIndex);
+
+        Role role = new Role();
+        role.setId(10L);
+        role.setRoleCode("ROLE_EDITOR");
+        when(roleMapper.selectList(any())).thenReturn(List.of(role));
+    }
+
+    @Test
+    void permsUnderDisabledPathAreNotExported() {
+        AuthzSnapshotDTO snapshot = service.getSnapshot(0);
+
+        List<String> perms = snapshot.getRoles().get(10L).getPerms();
+        assertEquals(List.of("sys:user:add", "sys:user:list"), perms);
+        for (String perm : List.of("sys:user:list", "sys:user:add", "sys:role:list", "sys:role:add")) {
+            assertEquals(rbacEngine.hasPermission(List.of(10L), perm), perms.contains(perm), perm);
+        }
+        assertEquals(Map.of(100L, List.of(10L)), snapshot.getUserRoles());
+    }
+}
@@ -0,0 +1,111 @@
+package net.wcloud.helloworld.dynamicmenu.service.impl;
+
+import net.wcloud.helloworld.dynamicmenu.cache.MenuTreeProjector;
+import net.wcloud.helloworld.dynamicmenu.cache.UserMenuTreeCache;
+import net.wcloud.helloworld.dynamicmenu.convert.MenuConvert;
+import net.wcloud.helloworld.dynamicmenu.entity.Menu;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzEventBus;
+import net.wcloud.helloworld.dynamicmenu.event.MenuCatalogChangedEvent;
+import net.wcloud.helloworld.dynamicmenu.event.MenuSearchIndex;
+import net.wcloud.helloworld.dynamicmenu.mapper.CatalogVersionMapper;
+import net.wcloud.helloworld.dynamicmenu.mapper.MenuClosureMapper;
+import net.wcloud.helloworld.dynamicmenu.mapper.MenuMapper;
+import net.wcloud.helloworld.dynamicmenu.mapper.RoleMapper;
+import net.wcloud.helloworld.dynamicmenu.service.EffectiveMenuService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * MenuServiceImpl 写入：只带 parentId 不生成空 UPDATE、状态变化列出子树、无变化不推进版本号
+ */
+class MenuServiceImplTests {
+
+    private final MenuMapper menuMapper = mock(MenuMapper.class);
+
+    private final MenuClosureMapper menuClosureMapper = mock(MenuClosureMapper.class);
+
+    private final AuthzEventBus authzEventBus = mock(AuthzEventBus.class);
+
+    private final CatalogVersionMapper catalogVersionMapper = mock(CatalogVersionMapper.class);
+
+    private final MenuServiceImpl service = new MenuServiceImpl(menuMapper, mock(MenuConvert.class),
+            mock(UserMenuTreeCache.class), menuClosureMapper, authzEventBus, catalogVersionMapper,
+            mock(RoleMapper.class), mock(EffectiveMenuService.class), mock(MenuSearchIndex.class),
+            mock(MenuTreeProjector.class), null);
+
+    MenuServiceImplTests() {
+        when(catalogVersionMapper.selectVersionForUpdate()).thenReturn(7L);
+        when(catalogVersionMapper.bump()).thenReturn(1);
+        when(catalogVersionMapper.selectVersion()).thenReturn(8L);
+        when(menuMapper.selectById(10L)).thenReturn(menu(10L, 1L, 1, 1, 1024));
+        when(menuClosureMapper.listSubtreeIds(10L)).thenReturn(List.of(10L, 11L, 12L));
+        when(menuClosureMapper.listAncestorIds(10L)).thenReturn(List.of(1L));
+    }
+
+    @Test
+    void parentOnlyUpdateMovesWithoutColumnUpdate() {
+        when(menuMapper.lockByIds(List.of(10L, 2L))).thenReturn(List.of(2L, 10L));
+        Menu body = new Menu();
+        body.setParentId(2L);
+
+        assertEquals(8L, service.updateMenu(10L, body));
+
+        // 只有 moveInternal 的 parent_id / sort_order 更新
+        ArgumentCaptor<Menu> updated = ArgumentCaptor.forClass(Menu.class);
+        verify(menuMapper, times(1)).updateById(updated.capture());
+        assertEquals(2L, updated.getValue().getParentId());
+        assertNotNull(updated.getValue().getSortOrder());
+        verify(menuClosureMapper).attachSubtree(10L, 2L);
+    }
+
+    @Test
+    void statusChangePublishesSubtreeAndAncestors() {
+        Menu body = new Menu();
+        body.setStatus(0);
+
+        assertEquals(8L, service.updateMenu(10L, body));
+
+        verify(menuMapper).updateById(body);
+        ArgumentCaptor<MenuCatalogChangedEvent> event = ArgumentCaptor.forClass(MenuCatalogChangedEvent.class);
+        verify(authzEventBus).publish(event.capture());
+        assertEquals(List.of(10L, 11L, 12L, 1L), event.getValue().menuIds());
+        assertEquals(8L, event.getValue().catalogVersion());
+    }
+
+    @Test
+    void emptyUpdateReturnsCurrentVersionWithoutBump() {
+        assertEquals(7L, service.updateMenu(10L, new Menu()));
+
+        verify(menuMapper, never()).updateById(any(Menu.class));
+        verify(catalogVersionMapper, never()).bump();
+        verifyNoInteractions(authzEventBus);
+    }
+
+    @Test
+    void unchangedReorderReturnsCurrentVersionWithoutBump() {
+        when(menuMapper.listSiblingsForUpdate(1L)).thenReturn(List.of(
+                menu(10L, 1L, 1, 1, 1024), menu(20L, 1L, 1, 1, 2048)));
+
+        assertEquals(7L, service.reorderChildren(1L, List.of(10L, 20L)));
+
+        verify(menuMapper, never()).batchUpdateSortOrder(anyList());
+        verify(catalogVersionMapper, never()).bump();
+        verifyNoInteractions(authzEventBus);
+    }
+
+    private static Menu menu(Long id, Long parentId, Integer status, Integer visible, Integer sortOrder) {
+        Menu menu = new Menu();
+        menu.setId(id);
+        menu.setParentId(parentId);
+        menu.setStatus(status);
+        menu.setVisible(visible);
+        menu.setSortOrder(sortOrder);
+        return menu;
+    }
+}
@@ -0,0 +1,76 @@
+package net.wcloud.helloworld.dynamicmenu.service.impl;
+
+import net.wcloud.helloworld.dynamicmenu.cache.VerifiedTokenCache;
+import net.wcloud.helloworld.dynamicmenu.config.JwtProperties;
+import net.wcloud.helloworld.dynamicmenu.entity.User;
+import net.wcloud.helloworld.dynamicmenu.event.AuthzEventBus;
+import net.wcloud.helloworld.dynamicmenu.security.LoginUserDetails;
+import net.wcloud.helloworld.dynamicmenu.security.LoginUserDetailsService;
+import net.wcloud.helloworld.dynamicmenu.security.VerifiedToken;
+import net.wcloud.helloworld.dynamicmenu.vo.TokenIntrospectionVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * TokenIntrospectionServiceImpl：验签通过后仍需用户存在、已启用且 userId 一致
+ */
+class TokenIntrospectionServiceImplTests {
+
+    private final VerifiedTokenCache tokenCache = mock(VerifiedTokenCache.class);
+
+    private final LoginUserDetailsService userDetailsService = mock(LoginUserDetailsService.class);
+
+    private final TokenIntrospectionServiceImpl service;
+
+    TokenIntrospectionServiceImplTests() {
+        AuthzEventBus eventBus = mock(AuthzEventBus.class, RETURNS_DEEP_STUBS);
+        when(eventBus.changeRing().safeVersion()).thenReturn(9L);
+        service = new TokenIntrospectionServiceImpl(tokenCache, eventBus, new JwtProperties(), userDetailsService);
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void onlyActiveUsersAreValid() {
+        token("t-active", "alice", 1L);
+        token("t-disabled", "bob", 2L);
+        token("t-deleted", "carol", 3L);
+        token("t-recreated", "dave", 4L);
+        token("t-active-2", "alice", 1L);
+        principal("alice", 1L, 1);
+        principal("bob", 2L, 0);
+        when(userDetailsService.loadPrincipal("carol")).thenThrow(new UsernameNotFoundException("carol"));
+        principal("dave", 40L, 1);
+
+        List<TokenIntrospectionVO> result = service.introspect(
+                List.of("t-active", "t-disabled", "t-deleted", "t-recreated", "t-active-2", "t-forged"));
+
+        assertEquals(List.of(true, false, false, false, true, false),
+                result.stream().map(TokenIntrospectionVO::isValid).toList());
+        assertEquals(1L, result.get(0).getUserId());
+        assertEquals(9L, result.get(1).getAuthzVersion());
+        // 同一批内同一用户只读取一次登录主体
+        verify(userDetailsService, times(1)).loadPrincipal("alice");
+    }
+
+    private void token(String raw, String username, Long userId) {
+        when(tokenCache.getIfPresent(raw)).thenReturn(new VerifiedToken(username, userId, Long.MAX_VALUE));
+    }
+
+    private void principal(String username, Long userId, int status) {
+        User user = new User();
+        user.setId(userId);
+        user.setUsername(username);
+        user.setStatus(status);
+        when(userDetailsService.loadPrincipal(username)).thenReturn(new LoginUserDetails(user, List.of(), List.of()));
+    }
+}
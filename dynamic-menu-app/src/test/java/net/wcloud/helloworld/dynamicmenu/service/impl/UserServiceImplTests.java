@@ -0,0 +1,110 @@
+package net.wcloud.helloworld.dynamicmenu.service.impl;
+
+import net.wcloud.helloworld.dynamicmenu.event.AuthzEventBus;
+import net.wcloud.helloworld.dynamicmenu.event.UserRolesChangedEvent;
+import net.wcloud.helloworld.dynamicmenu.mapper.RoleMapper;
+import net.wcloud.helloworld.dynamicmenu.mapper.UserMapper;
+import net.wcloud.helloworld.dynamicmenu.mapper.UserRoleMapper;
+import net.wcloud.helloworld.dynamicmenu.service.EffectiveMenuService;
+import net.wcloud.helloworld.dynamicmenu.service.MenuService;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * UserServiceImpl.assignRoles：同一用户串行写入、校验角色存在
+ */
+class UserServiceImplTests {
+
+    private final UserMapper userMapper = mock(UserMapper.class);
+
+    private final UserRoleMapper userRoleMapper = mock(UserRoleMapper.class);
+
+    private final RoleMapper roleMapper = mock(RoleMapper.class);
+
+    private final AuthzEventBus authzEventBus = mock(AuthzEventBus.class);
+
+    private final EffectiveMenuService effectiveMenuService = mock(EffectiveMenuService.class);
+
+    private final UserServiceImpl service = new UserServiceImpl(userMapper, userRoleMapper, mock(MenuService.class),
+            authzEventBus, effectiveMenuService, roleMapper,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+    /** 模拟 user_role 表（含 uk_user_role 唯一约束） */
+    private final Set<Long> userRoles = ConcurrentHashMap.newKeySet();
+
+    UserServiceImplTests() {
+        when(userMapper.lockById(1L)).thenReturn(1L);
+        when(roleMapper.lockExistingIds(any())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            return ids.stream().filter(id -> id < 100).sorted().toList();
+        });
+        when(userRoleMapper.listRoleIdsByUserId(1L)).thenAnswer(inv -> {
+            List<Long> snapshot = new ArrayList<>(userRoles);
+            // 放大“读取 → 写入”之间的窗口
+            Thread.sleep(50);
+            return snapshot;
+        });
+        when(userRoleMapper.insertUserRoles(eq(1L), anyList())).thenAnswer(inv -> {
+            List<Long> ids = inv.getArgument(1);
+            for (Long id : ids) {
+                if (!userRoles.add(id)) {
+                    throw new DuplicateKeyException("uk_user_role");
+                }
+            }
+            return ids.size();
+        });
+    }
+
+    @Test
+    void concurrentAssignmentsForSameUserAreSerialized() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Callable<Boolean> call = () -> {
+                start.await();
+                return service.assignRoles(1L, List.of(1L, 2L));
+            };
+            Future<Boolean> a = pool.submit(call);
+            Future<Boolean> b = pool.submit(call);
+            start.countDown();
+
+            assertTrue(a.get(5, TimeUnit.SECONDS));
+            assertTrue(b.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(Set.of(1L, 2L), userRoles);
+        verify(userRoleMapper, times(1)).insertUserRoles(eq(1L), anyList());
+        verify(authzEventBus, times(1)).publish(any(UserRolesChangedEvent.class));
+    }
+
+    @Test
+    void unknownRoleIdsAreRejectedWithoutWrites() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> service.assignRoles(1L, List.of(1L, 100L, 101L)));
+        assertTrue(e.getMessage().contains("[100, 101]"));
+
+        verify(userRoleMapper, never()).insertUserRoles(anyLong(), anyList());
+        verify(userRoleMapper, never()).deleteUserRoles(anyLong(), anyList());
+        verifyNoInteractions(authzEventBus, effectiveMenuService);
+    }
+
+    @Test
+    void missingUserReturnsFalse() {
+        when(userMapper.lockById(2L)).thenReturn(null);
+
+        assertFalse(service.assignRoles(2L, List.of(1L)));
+        assertFalse(service.assignRoles(null, List.of(1L)));
+        verifyNoInteractions(roleMapper, authzEventBus);
+    }
+}
@@ -0,0 +1,108 @@
+package net.wcloud.helloworld.dynamicmenu.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SparseOrdering：LIS 保留、空位分配、空位耗尽与溢出时整体重编号
+ */
+class SparseOrderingTests {
+
+    private static final int GAP = SparseOrdering.GAP;
+
+    @Test
+    void unchangedOrderWritesNothing() {
+        Map<Long, Integer> current = Map.of(1L, 1024, 2L, 2048, 3L, 3072);
+        assertEquals(Map.of(), SparseOrdering.reorder(List.of(1L, 2L, 3L), current, GAP));
+    }
+
+    @Test
+    void movingLastToFrontUpdatesOneRow() {
+        Map<Long, Integer> current = Map.of(1L, 1024, 2L, 2048, 3L, 3072);
+        assertEquals(Map.of(3L, 0), SparseOrdering.reorder(List.of(3L, 1L, 2L), current, GAP));
+    }
+
+    @Test
+    void movedNodeTakesMidpointBetweenKeptNeighbours() {
+        Map<Long, Integer> current = Map.of(1L, 1024, 2L, 2048, 3L, 3072);
+        assertEquals(Map.of(3L, 1536), SparseOrdering.reorder(List.of(1L, 3L, 2L), current, GAP));
+    }
+
+    @Test
+    void exhaustedGapRenumbersWholeLevel() {
+        Map<Long, Integer> current = Map.of(1L, 1, 2L, 2, 3L, 3);
+        Map<Long, Integer> changed = SparseOrdering.reorder(List.of(1L, 3L, 2L), current, GAP);
+
+        assertEquals(List.of(1L, 3L, 2L), List.copyOf(changed.keySet()));
+        assertEquals(List.of(1024, 2048, 3072), List.copyOf(changed.values()));
+    }
+
+    @Test
+    void renumberSkipsRowsAlreadyAtTarget() {
+        Map<Long, Integer> current = Map.of(1L, 1024, 2L, 1025, 3L, 1026);
+        // 3 插到 1、2 之间没有空位 → 整体重编号，1 已经是 1024 不需要更新
+        assertEquals(Map.of(3L, 2048, 2L, 3072), SparseOrdering.reorder(List.of(1L, 3L, 2L), current, GAP));
+    }
+
+    @Test
+    void nullSortOrdersAreAssignedFromGap() {
+        Map<Long, Integer> current = new HashMap<>();
+        current.put(1L, null);
+        current.put(2L, null);
+        assertEquals(Map.of(1L, 1024, 2L, 2048), SparseOrdering.reorder(List.of(1L, 2L), current, GAP));
+
+        current.put(3L, 5000);
+        Map<Long, Integer> changed = SparseOrdering.reorder(List.of(1L, 3L, 2L), current, GAP);
+        assertEquals(Map.of(1L, 5000 - GAP, 2L, 5000 + GAP), changed);
+    }
+
+    @Test
+    void intOverflowFallsBackToRenumber() {
+        Map<Long, Integer> current = new HashMap<>();
+        current.put(1L, Integer.MAX_VALUE - 10);
+        current.put(2L, null);
+        assertEquals(Map.of(1L, 1024, 2L, 2048), SparseOrdering.reorder(List.of(1L, 2L), current, GAP));
+    }
+
+    @Test
+    void randomPermutationsKeepLongestIncreasingRun() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int n = 1 + random.nextInt(40);
+            Map<Long, Integer> current = new HashMap<>();
+            List<Long> ids = new ArrayList<>();
+            for (long id = 1; id <= n; id++) {
+                ids.add(id);
+                current.put(id, (int) id * GAP);
+            }
+            Collections.shuffle(ids, random);
+
+            Map<Long, Integer> changed = SparseOrdering.reorder(ids, current, GAP);
+
+            // 应用后严格递增，且只改动了 LIS 以外的节点
+            Map<Long, Integer> result = new HashMap<>(current);
+            result.putAll(changed);
+            for (int i = 1; i < n; i++) {
+                assertTrue(result.get(ids.get(i - 1)) < result.get(ids.get(i)), "round " + round);
+            }
+            assertEquals(n - lisLength(ids), changed.size(), "round " + round);
+        }
+    }
+
+    private static int lisLength(List<Long> values) {
+        List<Long> tails = new ArrayList<>();
+        for (Long v : values) {
+            int pos = Collections.binarySearch(tails, v);
+            pos = pos < 0 ? -pos - 1 : pos;
+            if (pos == tails.size()) {
+                tails.add(v);
+            } else {
+                tails.set(pos, v);
+            }
+        }
+        return tails.size();
+    }
+}
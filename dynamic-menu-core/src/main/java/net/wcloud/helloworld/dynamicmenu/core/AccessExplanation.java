@@ -0,0 +1,72 @@
+package net.wcloud.helloworld.dynamicmenu.core;
+
+import java.util.List;
+
+/**
+ * 访问判定的来源说明（RbacEngine.explainMenu / explainPermission 的结果）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 回答“为什么能 / 不能看到某个菜单、为什么有 / 没有某个权限标识”：
+ * 哪些角色直接授权了它，路径上哪些祖先是自动补齐的，是否被禁用的祖先挡住
+ * - 全部由内存中的目录快照与角色位图计算，不访问数据库
+ *
+ * @param allowed 是否可见 / 拥有
+ * @param reason  结论
+ * @param roleIds 参与判定的角色
+ * @param targets 被判定的菜单（按菜单判定时 1 个；按权限标识判定时为配置了该 perms 的全部菜单）
+ */
+public record AccessExplanation(boolean allowed, Reason reason, List<Long> roleIds, List<Target> targets) {
+
+    /**
+     * 结论
+     */
+    public enum Reason {
+
+        /** 有角色直接授权，且路径已启用 */
+        GRANTED,
+
+        /** 未直接授权，但授权了下级菜单，作为祖先自动补齐（只适用于按菜单判定的目录 / 菜单） */
+        IMPLIED,
+
+        /** 已授权（或可补齐），但自身或某个祖先被禁用 */
+        DISABLED,
+
+        /** 没有任何角色授权 */
+        NOT_GRANTED,
+
+        /** 菜单 / 权限标识不存在 */
+        NOT_FOUND
+    }
+
+    /**
+     * 单个被判定的菜单
+     *
+     * @param menuId      菜单 ID
+     * @param menuName    菜单名称
+     * @param menuType    1=目录, 2=菜单, 3=按钮
+     * @param perms       权限标识
+     * @param pathEnabled 自身及全部祖先是否已启用
+     * @param disabledAt  路径上第一个（离根最近的）被禁用的菜单，全部启用时为 null
+     * @param grantedBy   直接授权该菜单的角色
+     * @param path        祖先链（从根到父）
+     * @param impliedBy   使其被补齐的已授权下级菜单（只在未直接授权时计算，最多 MAX_IMPLIED_BY 个）
+     */
+    public record Target(long menuId, String menuName, Integer menuType, String perms, boolean pathEnabled,
+                         Long disabledAt, List<Long> grantedBy, List<Step> path, List<Long> impliedBy) {
+
+        /** impliedBy 最多列出的下级菜单数 */
+        public static final int MAX_IMPLIED_BY = 20;
+    }
+
+    /**
+     * 祖先链上的一个节点
+     *
+     * @param menuId    菜单 ID
+     * @param menuName  菜单名称
+     * @param enabled   自身是否启用
+     * @param grantedBy 直接授权该节点的角色（为空表示该节点是自动补齐的）
+     */
+    public record Step(long menuId, String menuName, boolean enabled, List<Long> grantedBy) {
+    }
+}
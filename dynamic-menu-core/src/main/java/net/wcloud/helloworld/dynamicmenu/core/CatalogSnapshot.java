@@ -0,0 +1,330 @@
+package net.wcloud.helloworld.dynamicmenu.core;
+
+import java.lang.System.Logger.Level;
+import java.util.*;
+
+/**
+ * 菜单目录快照（不可变）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 保存全部菜单，以及每个菜单从根到父的祖先链（预先计算）
+ * - 计算用户菜单时，授权了子节点但未授权父目录的情况，
+ * 按祖先链补齐父目录，每个授权节点 O(depth)
+ * - 预先计算“整条路径是否启用”，祖先被禁用时其下级一并隐藏
+ * - 预先计算 页面 → 按钮 与 路由 → 页面 索引，按页面按需下发按钮权限
+ * - 预先计算 父 → 子 索引（按 sortOrder 排序），菜单树按层 / 按需展开
+ * - 预先计算 权限标识 → 菜单 索引，权限判定不遍历目录
+ *
+ * 槽位（slot）：
+ * ------------------------------------------------------------
+ * - 菜单按 ID 升序编号为 0..size-1，逐菜单的数据按槽位存放在数组里
+ * - 角色位图（RoleMenuBitmaps）的第 i 位即第 i 个槽位的菜单，
+ * 与 ID 的取值范围（自增 / 雪花）无关
+ *
+ * 线程安全：
+ * ------------------------------------------------------------
+ * - 创建后不再修改，读方拿到引用后可任意并发读取
+ */
+public final class CatalogSnapshot {
+
+    private static final System.Logger log = System.getLogger(CatalogSnapshot.class.getName());
+
+    private static final long[] EMPTY = new long[0];
+
+    /** 槽位 → 菜单 ID（升序） */
+    private final long[] ids;
+
+    /** 槽位 → 菜单 */
+    private final MenuDef[] menus;
+
+    /** 槽位 → 祖先链（从根到父） */
+    private final long[][] ancestors;
+
+    /** 自身及全部祖先均为启用状态的槽位 */
+    private final BitSet enabledPaths;
+
+    /** 页面（最近的非按钮祖先）menuId → 按钮 menuId */
+    private final Map<Long, long[]> buttonsByPage;
+
+    /** routePath → 页面 menuId */
+    private final Map<String, Long> pageByRoute;
+
+    /** parentId（根为 0）→ 子节点 menuId（按 sortOrder、id 排序） */
+    private final Map<Long, long[]> childrenByParent;
+
+    /** perms → 配置了该权限标识的 menuId（升序） */
+    private final Map<String, long[]> menusByPerm;
+
+    /** 加载时的菜单目录版本号（先读版本再读菜单，只会偏旧不会偏新） */
+    private final long version;
+
+    private CatalogSnapshot(long[] ids, MenuDef[] menus, long[][] ancestors, BitSet enabledPaths,
+                            Map<Long, long[]> buttonsByPage, Map<String, Long> pageByRoute,
+                            Map<Long, long[]> childrenByParent, Map<String, long[]> menusByPerm, long version) {
+        this.ids = ids;
+        this.menus = menus;
+        this.ancestors = ancestors;
+        this.enabledPaths = enabledPaths;
+        this.buttonsByPage = buttonsByPage;
+        this.pageByRoute = pageByRoute;
+        this.childrenByParent = childrenByParent;
+        this.menusByPerm = menusByPerm;
+        this.version = version;
+    }
+
+    /**
+     * 由全部菜单构建快照
+     *
+     * 说明：
+     * - ID 为 null 的菜单丢弃；ID 重复时保留后出现的
+     * - 图标 / 组件 / 权限标识驻留到 Interner.STRINGS（菜单树节点 / 路由表直接引用快照中的字符串）
+     * - 父菜单缺失或 parent_id 成环的菜单按根节点处理
+     *
+     * @param source  全部菜单
+     * @param version 目录版本号（未知时传 0）
+     * @return 快照
+     */
+    public static CatalogSnapshot of(Collection<MenuDef> source, long version) {
+        TreeMap<Long, MenuDef> sorted = new TreeMap<>();
+        for (MenuDef m : source) {
+            if (m != null && m.id() != null) {
+                sorted.put(m.id(), m.interned());
+            }
+        }
+
+        int n = sorted.size();
+        long[] ids = new long[n];
+        MenuDef[] menus = new MenuDef[n];
+        int slot = 0;
+        for (MenuDef m : sorted.values()) {
+            ids[slot] = m.id();
+            menus[slot++] = m;
+        }
+
+        long[][] ancestors = new long[n][];
+        for (int i = 0; i < n; i++) {
+            resolveAncestors(i, ids, menus, ancestors);
+        }
+
+        BitSet enabledPaths = new BitSet(n);
+        for (int i = 0; i < n; i++) {
+            boolean enabled = menus[i].isEnabled();
+            for (long a : ancestors[i]) {
+                if (!enabled) {
+                    break;
+                }
+                enabled = menus[Arrays.binarySearch(ids, a)].isEnabled();
+            }
+            if (enabled) {
+                enabledPaths.set(i);
+            }
+        }
+
+        // 页面 → 按钮：按钮挂在最近的非按钮祖先下；路由 → 页面：只收录非按钮节点
+        Map<Long, List<Long>> buttons = new HashMap<>();
+        Map<String, Long> pageByRoute = new HashMap<>();
+        Map<String, List<Long>> perms = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            MenuDef m = menus[i];
+            if (m.permsDefined()) {
+                perms.computeIfAbsent(m.perms(), k -> new ArrayList<>()).add(m.id());
+            }
+            if (!m.isButton()) {
+                if (m.routeDefined()) {
+                    pageByRoute.putIfAbsent(m.routePath(), m.id());
+                }
+                continue;
+            }
+            long[] chain = ancestors[i];
+            for (int j = chain.length - 1; j >= 0; j--) {
+                if (!menus[Arrays.binarySearch(ids, chain[j])].isButton()) {
+                    buttons.computeIfAbsent(chain[j], k -> new ArrayList<>()).add(m.id());
+                    break;
+                }
+            }
+        }
+
+        // 父 → 子：父节点取祖先链的最后一个（父节点缺失 / 成环的节点按根处理，与祖先链一致）
+        Map<Long, List<MenuDef>> children = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            long[] chain = ancestors[i];
+            long parentKey = chain.length == 0 ? 0L : chain[chain.length - 1];
+            children.computeIfAbsent(parentKey, k -> new ArrayList<>()).add(menus[i]);
+        }
+        Comparator<MenuDef> order = Comparator.comparing(MenuDef::sortOrder, Comparator.nullsLast(Integer::compareTo))
+                .thenComparing(MenuDef::id);
+        Map<Long, long[]> childrenByParent = new HashMap<>(children.size() * 2);
+        children.forEach((parentKey, siblings) -> {
+            siblings.sort(order);
+            childrenByParent.put(parentKey, siblings.stream().mapToLong(MenuDef::id).toArray());
+        });
+
+        return new CatalogSnapshot(ids, menus, ancestors, enabledPaths, toArrays(buttons),
+                Map.copyOf(pageByRoute), Map.copyOf(childrenByParent), toArrays(perms), version);
+    }
+
+    /** 加载时的菜单目录版本号 */
+    public long version() {
+        return version;
+    }
+
+    /** 菜单（不存在返回 null） */
+    public MenuDef menu(Long id) {
+        int slot = id == null ? -1 : slotOf(id);
+        return slot < 0 ? null : menus[slot];
+    }
+
+    /** 祖先链（从根到父，不含自身；根节点或不存在时为空数组） */
+    public long[] ancestorsOf(Long id) {
+        int slot = id == null ? -1 : slotOf(id);
+        return slot < 0 ? EMPTY : ancestors[slot];
+    }
+
+    /** 自身及全部祖先是否都已启用 */
+    public boolean isPathEnabled(Long id) {
+        int slot = id == null ? -1 : slotOf(id);
+        return slot >= 0 && enabledPaths.get(slot);
+    }
+
+    /** 页面下的按钮（不存在或无按钮时为空数组） */
+    public long[] buttonsOf(Long pageId) {
+        return buttonsByPage.getOrDefault(pageId, EMPTY);
+    }
+
+    /** 按钮所属页面（最近的非按钮祖先；不是按钮或无页面时返回 null） */
+    public Long pageOf(Long buttonId) {
+        MenuDef m = menu(buttonId);
+        if (m == null || !m.isButton()) {
+            return null;
+        }
+        long[] chain = ancestorsOf(buttonId);
+        for (int i = chain.length - 1; i >= 0; i--) {
+            if (!menu(chain[i]).isButton()) {
+                return chain[i];
+            }
+        }
+        return null;
+    }
+
+    /** 路由对应的页面（不存在返回 null） */
+    public Long pageByRoute(String routePath) {
+        return routePath == null ? null : pageByRoute.get(routePath);
+    }
+
+    /** 直接子节点（parentId = 0 表示根节点；无子节点时为空数组） */
+    public long[] childrenOf(Long parentId) {
+        return childrenByParent.getOrDefault(parentId == null ? 0L : parentId, EMPTY);
+    }
+
+    /** 配置了该权限标识的菜单（升序；不存在时为空数组） */
+    public long[] menusWithPerm(String perm) {
+        return perm == null ? EMPTY : menusByPerm.getOrDefault(perm, EMPTY);
+    }
+
+    /** 全部菜单（按 ID 升序，只读） */
+    public List<MenuDef> menus() {
+        return Collections.unmodifiableList(Arrays.asList(menus));
+    }
+
+    /** 菜单总数 */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * 菜单 ID → 槽位
+     *
+     * @return 不存在时返回负数
+     */
+    public int slotOf(long id) {
+        int slot = Arrays.binarySearch(ids, id);
+        return slot < 0 ? -1 : slot;
+    }
+
+    /** 槽位 → 菜单 ID */
+    public long idAt(int slot) {
+        return ids[slot];
+    }
+
+    /** 槽位 → 菜单 */
+    public MenuDef menuAt(int slot) {
+        return menus[slot];
+    }
+
+    /** 槽位对应的菜单自身及全部祖先是否都已启用 */
+    public boolean isSlotEnabled(int slot) {
+        return enabledPaths.get(slot);
+    }
+
+    private static <K> Map<K, long[]> toArrays(Map<K, List<Long>> grouped) {
+        Map<K, long[]> result = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((key, ids) -> result.put(key, ids.stream().mapToLong(Long::longValue).sorted().toArray()));
+        return Map.copyOf(result);
+    }
+
+    /**
+     * 沿 parent_id 计算祖先链（带记忆化，整体 O(n)；迭代实现，层级再深也不会栈溢出）
+     *
+     * 说明：
+     * ------------------------------------------------------------
+     * 1. 从 slot 向上走，直到根 / 父菜单缺失 / 已算过的节点 / 回到本次路径上的节点（成环）
+     * 2. 成环时环上的每个节点都按根节点处理（祖先链为空），只登记这一次，不会再被覆盖；
+     * 挂在环下的节点以它进入环的那个节点为根
+     * 3. 再沿路径由上到下逐个拼出祖先链
+     */
+    private static void resolveAncestors(int slot, long[] ids, MenuDef[] menus, long[][] memo) {
+        if (memo[slot] != null) {
+            return;
+        }
+
+        List<Integer> path = new ArrayList<>();
+        BitSet onPath = new BitSet();
+        int current = slot;
+        while (true) {
+            path.add(current);
+            onPath.set(current);
+
+            Long id = menus[current].id();
+            Long parentId = menus[current].parentId();
+            if (parentId == null || parentId == 0) {
+                memo[current] = EMPTY;
+                path.remove(path.size() - 1);
+                break;
+            }
+            int parentSlot = Arrays.binarySearch(ids, parentId);
+            if (parentSlot < 0) {
+                log.log(Level.WARNING, () -> "[CatalogSnapshot] 父菜单不存在, 按根节点处理, menuId=" + id
+                        + ", parentId=" + parentId);
+                memo[current] = EMPTY;
+                path.remove(path.size() - 1);
+                break;
+            }
+            if (memo[parentSlot] != null) {
+                break;
+            }
+            if (onPath.get(parentSlot)) {
+                List<Integer> cycle = path.subList(path.indexOf(parentSlot), path.size());
+                List<Long> cycleIds = new ArrayList<>(cycle.size());
+                for (int member : cycle) {
+                    memo[member] = EMPTY;
+                    cycleIds.add(ids[member]);
+                }
+                log.log(Level.WARNING, () -> "[CatalogSnapshot] parent_id 存在环, 环上节点按根节点处理, menuIds=" + cycleIds);
+                cycle.clear();
+                break;
+            }
+            current = parentSlot;
+        }
+
+        // 路径上剩余节点的父节点都已算过（路径末尾的父节点是循环的停止点）
+        for (int i = path.size() - 1; i >= 0; i--) {
+            int child = path.get(i);
+            int parentSlot = Arrays.binarySearch(ids, menus[child].parentId());
+            long[] parentChain = memo[parentSlot];
+            long[] result = Arrays.copyOf(parentChain, parentChain.length + 1);
+            result[parentChain.length] = ids[parentSlot];
+            memo[child] = result;
+        }
+    }
+}
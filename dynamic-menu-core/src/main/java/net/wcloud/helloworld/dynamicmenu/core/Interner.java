@@ -0,0 +1,68 @@
+package net.wcloud.helloworld.dynamicmenu.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interner（有界驻留池）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 相等的值只保留一份实例：菜单图标 / 组件路径 / 权限标识 / 角色编码
+ * 在菜单目录、用户菜单树、登录主体缓存中大量重复，JDBC 每次读取都会生成新的 String
+ * - 驻留后，缓存的菜单树与 LoginUserDetails 只持有引用
+ *
+ * 为什么不用 String.intern()：
+ * ------------------------------------------------------------
+ * - 池的大小可控、可观测；也能驻留 String 以外的不可变值（如 GrantedAuthority）
+ *
+ * 注意：
+ * ------------------------------------------------------------
+ * - 达到上限后不再登记，直接返回入参（结果仍正确，只是不再去重）
+ * - 登记的值不会被移除：只适合取值范围有限的字段（不要驻留菜单名称、路由、用户名、token 等）
+ * - 只能驻留不可变对象
+ */
+public final class Interner<T> {
+
+    /** 菜单 / 权限相关字符串共用的池 */
+    public static final Interner<String> STRINGS = new Interner<>(65_536);
+
+    private final ConcurrentHashMap<T, T> pool = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+
+    /**
+     * @param maxEntries 最多登记的不同值个数
+     */
+    public Interner(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 返回与 value 相等的共享实例
+     *
+     * @param value 待驻留的值（可为 null）
+     * @return 共享实例；value 为 null 或池已满时返回 value 本身
+     */
+    public T intern(T value) {
+        if (value == null) {
+            return null;
+        }
+        T existing = pool.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (pool.size() >= maxEntries) {
+            return value;
+        }
+        existing = pool.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    /** 已登记的值个数 */
+    public int size() {
+        return pool.size();
+    }
+}
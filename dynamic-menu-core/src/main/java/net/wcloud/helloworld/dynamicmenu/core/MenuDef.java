@@ -0,0 +1,64 @@
+package net.wcloud.helloworld.dynamicmenu.core;
+
+/**
+ * 菜单定义（引擎内部使用的不可变菜单，与持久层实体无关）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 由 RbacLoader 提供，只包含授权计算 / 菜单树需要的字段（不含创建 / 更新时间）
+ * - 字段取值与 dynamicmenu_sys_menu 一致，允许为 null（数据库中可空的列）
+ *
+ * @param id        菜单 ID
+ * @param parentId  父菜单 ID（根为 0 或 null）
+ * @param menuName  菜单名称
+ * @param menuIcon  图标
+ * @param menuType  1=目录, 2=菜单, 3=按钮
+ * @param routePath 前端路由
+ * @param component 前端组件路径
+ * @param perms     权限标识（如 sys:user:list）
+ * @param visible   是否在侧边栏显示（0=隐藏）
+ * @param status    1=启用
+ * @param sortOrder 同级排序（null 排在最后）
+ */
+public record MenuDef(Long id, Long parentId, String menuName, String menuIcon, Integer menuType,
+                      String routePath, String component, String perms, Integer visible, Integer status,
+                      Integer sortOrder) {
+
+    /** menuType: 1=目录, 2=菜单, 3=按钮 */
+    public static final int TYPE_DIRECTORY = 1;
+
+    public static final int TYPE_MENU = 2;
+
+    public static final int TYPE_BUTTON = 3;
+
+    /** 是否为按钮 */
+    public boolean isButton() {
+        return menuType != null && menuType == TYPE_BUTTON;
+    }
+
+    /** 自身是否启用（不考虑祖先） */
+    public boolean isEnabled() {
+        return status != null && status == 1;
+    }
+
+    /** 是否配置了路由 */
+    public boolean routeDefined() {
+        return routePath != null && !routePath.isBlank();
+    }
+
+    /** 是否配置了权限标识 */
+    public boolean permsDefined() {
+        return perms != null && !perms.isBlank();
+    }
+
+    /**
+     * 重复度高的字符串（图标 / 组件路径 / 权限标识）驻留到 Interner.STRINGS 后的副本
+     * ------------------------------------------------------------
+     * 菜单名称、路由几乎每个菜单各不相同，驻留只会占满有界池而去不了重，保持原样
+     */
+    MenuDef interned() {
+        return new MenuDef(id, parentId, menuName, Interner.STRINGS.intern(menuIcon),
+                menuType, routePath, Interner.STRINGS.intern(component),
+                Interner.STRINGS.intern(perms), visible, status, sortOrder);
+    }
+}
@@ -0,0 +1,377 @@
+package net.wcloud.helloworld.dynamicmenu.core;
+
+import java.lang.System.Logger.Level;
+import java.util.*;
+
+/**
+ * 内存 RBAC 引擎（不依赖 Spring / MyBatis / 任何第三方库）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 持有菜单目录快照（CatalogSnapshot）与角色授权位图（RoleMenuBitmaps），数据由 RbacLoader 提供
+ * - 本地判定：角色组合 → 可见菜单 / 是否拥有某个权限标识 / 是否可访问某个路由，
+ * 全部是内存计算（位测试 + 祖先链），不访问数据库
+ * - 菜单树投影见 TreeProjector（节点类型由嵌入方决定）
+ * - 来源说明（explainMenu / explainPermission）：由哪些角色授权、哪些祖先是补齐的、被哪个禁用节点挡住
+ *
+ * 嵌入方式：
+ * ------------------------------------------------------------
+ * 1. 实现 RbacLoader（从自己的数据源读取菜单与角色授权）
+ * 2. new RbacEngine(loader)，整个进程共用一个实例
+ * 3. 收到变更通知时调用 invalidateCatalog / grants().refreshRole / grants().removeRole / reset
+ *
+ * 加载与失效：
+ * ------------------------------------------------------------
+ * - 首次使用时加载；菜单目录变化后丢弃快照，下次使用时重新加载；
+ * 快照版本号已不低于变化后的版本号时（如本节点已重新加载）不再丢弃
+ * - 加载与丢弃互斥（synchronized），不会把旧数据装回去
+ *
+ * 线程安全：
+ * ------------------------------------------------------------
+ * - 快照不可变，判定方法无锁，可任意并发调用
+ */
+public final class RbacEngine {
+
+    private static final System.Logger log = System.getLogger(RbacEngine.class.getName());
+
+    private final RbacLoader loader;
+
+    private final RoleMenuBitmaps grants;
+
+    private volatile CatalogSnapshot catalog;
+
+    /**
+     * @param loader 数据加载 SPI
+     */
+    public RbacEngine(RbacLoader loader) {
+        this.loader = Objects.requireNonNull(loader, "loader");
+        this.grants = new RoleMenuBitmaps(loader);
+    }
+
+    // ------------------------------------------------------------
+    // 菜单目录
+    // ------------------------------------------------------------
+
+    /**
+     * 当前菜单目录快照（未加载时同步加载）
+     */
+    public CatalogSnapshot catalog() {
+        CatalogSnapshot s = catalog;
+        if (s != null) {
+            return s;
+        }
+        synchronized (this) {
+            if (catalog == null) {
+                catalog = loadCatalog();
+            }
+            return catalog;
+        }
+    }
+
+    /**
+     * 丢弃菜单目录快照，下次使用时重新加载
+     */
+    public synchronized void resetCatalog() {
+        if (catalog != null) {
+            catalog = null;
+            log.log(Level.INFO, "[RbacEngine] 菜单目录快照已丢弃");
+        }
+    }
+
+    /**
+     * 菜单目录变化：快照版本号低于 catalogVersion（或版本未知）时丢弃
+     *
+     * @param catalogVersion 变化后的目录版本号，0 表示未知
+     */
+    public synchronized void invalidateCatalog(long catalogVersion) {
+        CatalogSnapshot s = catalog;
+        if (s != null && catalogVersion > 0 && s.version() >= catalogVersion) {
+            log.log(Level.DEBUG, () -> "[RbacEngine] 快照已是最新, 跳过丢弃, snapshotVersion=" + s.version()
+                    + ", eventVersion=" + catalogVersion);
+            return;
+        }
+        resetCatalog();
+    }
+
+    // ------------------------------------------------------------
+    // 角色授权
+    // ------------------------------------------------------------
+
+    /**
+     * 角色 → 菜单 授权（含位图）
+     */
+    public RoleMenuBitmaps grants() {
+        return grants;
+    }
+
+    /**
+     * 丢弃全部数据（菜单目录 + 角色授权），下次使用时重新加载
+     */
+    public void reset() {
+        grants.reset();
+        resetCatalog();
+    }
+
+    // ------------------------------------------------------------
+    // 判定
+    // ------------------------------------------------------------
+
+    /**
+     * 角色组合的授权位图（多角色按位 OR）
+     *
+     * @param catalog 菜单目录快照
+     * @param roleIds 角色 ID
+     * @return 新位图（调用方可修改）
+     */
+    public BitSet grantedSlots(CatalogSnapshot catalog, Collection<Long> roleIds) {
+        BitSet granted = new BitSet(catalog.size());
+        for (Long roleId : roleIds) {
+            granted.or(grants.bitmapOf(catalog, roleId));
+        }
+        return granted;
+    }
+
+    /**
+     * 角色组合可见的菜单（目录 + 菜单）
+     *
+     * 说明：
+     * - 只保留存在、路径已启用的非按钮节点
+     * - 授权了子节点但未授权父目录时，按祖先链补齐父目录（标记为补齐节点）
+     *
+     * @param catalog 菜单目录快照
+     * @param roleIds 角色 ID
+     * @return menuId → 是否为自动补齐的祖先
+     */
+    public Map<Long, Boolean> visibleMenus(CatalogSnapshot catalog, Collection<Long> roleIds) {
+        BitSet granted = grantedSlots(catalog, roleIds);
+        Map<Long, Boolean> visible = new HashMap<>();
+        for (int slot = granted.nextSetBit(0); slot >= 0; slot = granted.nextSetBit(slot + 1)) {
+            if (!catalog.isSlotEnabled(slot) || catalog.menuAt(slot).isButton()) {
+                continue;
+            }
+
+            long menuId = catalog.idAt(slot);
+            visible.put(menuId, Boolean.FALSE);
+
+            // 由近到远补齐祖先；遇到已在结果中的祖先即可停止（其上级必然已补齐）
+            long[] ancestors = catalog.ancestorsOf(menuId);
+            for (int i = ancestors.length - 1; i >= 0; i--) {
+                if (visible.putIfAbsent(ancestors[i], Boolean.TRUE) != null) {
+                    break;
+                }
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * 角色组合是否拥有某个权限标识
+     *
+     * 说明：
+     * - 配置了该 perms 的任一菜单 / 按钮已授权、且路径已启用即为拥有
+     * - 每个候选菜单对每个角色做一次位测试，不合并位图
+     *
+     * @param roleIds 角色 ID
+     * @param perm    权限标识（如 sys:user:list）
+     */
+    public boolean hasPermission(Collection<Long> roleIds, String perm) {
+        CatalogSnapshot c = catalog();
+        for (long menuId : c.menusWithPerm(perm)) {
+            if (isGranted(c, roleIds, c.slotOf(menuId))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 已合并的授权位图是否拥有某个权限标识（批量判定用：同一主体的多个权限只合并一次位图）
+     *
+     * @param catalog 菜单目录快照（须与 granted 来自同一快照）
+     * @param granted grantedSlots 的结果
+     * @param perm    权限标识
+     */
+    public boolean hasPermission(CatalogSnapshot catalog, BitSet granted, String perm) {
+        for (long menuId : catalog.menusWithPerm(perm)) {
+            int slot = catalog.slotOf(menuId);
+            if (slot >= 0 && granted.get(slot) && catalog.isSlotEnabled(slot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 角色组合是否可访问某个路由（路由对应的页面已授权、且路径已启用）
+     *
+     * @param roleIds   角色 ID
+     * @param routePath 前端路由
+     */
+    public boolean canAccessRoute(Collection<Long> roleIds, String routePath) {
+        CatalogSnapshot c = catalog();
+        Long pageId = c.pageByRoute(routePath);
+        return pageId != null && isGranted(c, roleIds, c.slotOf(pageId));
+    }
+
+    /**
+     * 角色组合拥有的全部权限标识（已授权、路径已启用、配置了 perms）
+     *
+     * @param roleIds 角色 ID
+     * @return 权限标识（升序，只读）
+     */
+    public SortedSet<String> permissionsOf(Collection<Long> roleIds) {
+        CatalogSnapshot c = catalog();
+        BitSet granted = grantedSlots(c, roleIds);
+        TreeSet<String> perms = new TreeSet<>();
+        for (int slot = granted.nextSetBit(0); slot >= 0; slot = granted.nextSetBit(slot + 1)) {
+            MenuDef menu = c.menuAt(slot);
+            if (c.isSlotEnabled(slot) && menu.permsDefined()) {
+                perms.add(menu.perms());
+            }
+        }
+        return Collections.unmodifiableSortedSet(perms);
+    }
+
+    // ------------------------------------------------------------
+    // 来源说明
+    // ------------------------------------------------------------
+
+    /**
+     * 说明角色组合为什么能 / 不能看到某个菜单（与 visibleMenus 同一口径）
+     *
+     * 说明：
+     * - 目录 / 菜单：直接授权且路径已启用为 GRANTED；未直接授权但有已授权、路径已启用的非按钮下级时为 IMPLIED
+     * - 按钮：只看直接授权与路径启用
+     *
+     * @param roleIds 角色 ID
+     * @param menuId  菜单 ID
+     */
+    public AccessExplanation explainMenu(Collection<Long> roleIds, long menuId) {
+        CatalogSnapshot c = catalog();
+        List<Long> roles = List.copyOf(new TreeSet<>(roleIds));
+        int slot = c.slotOf(menuId);
+        if (slot < 0) {
+            return new AccessExplanation(false, AccessExplanation.Reason.NOT_FOUND, roles, List.of());
+        }
+
+        AccessExplanation.Target target = explainSlot(c, roles, slot, !c.menuAt(slot).isButton());
+        boolean enabled = target.pathEnabled();
+        AccessExplanation.Reason reason;
+        if (!target.grantedBy().isEmpty()) {
+            reason = enabled ? AccessExplanation.Reason.GRANTED : AccessExplanation.Reason.DISABLED;
+        } else if (!target.impliedBy().isEmpty()) {
+            reason = enabled ? AccessExplanation.Reason.IMPLIED : AccessExplanation.Reason.DISABLED;
+        } else {
+            reason = AccessExplanation.Reason.NOT_GRANTED;
+        }
+        boolean allowed = reason == AccessExplanation.Reason.GRANTED || reason == AccessExplanation.Reason.IMPLIED;
+        return new AccessExplanation(allowed, reason, roles, List.of(target));
+    }
+
+    /**
+     * 说明角色组合为什么有 / 没有某个权限标识（与 hasPermission 同一口径：只认直接授权，补齐的祖先不带来权限）
+     *
+     * @param roleIds 角色 ID
+     * @param perm    权限标识
+     */
+    public AccessExplanation explainPermission(Collection<Long> roleIds, String perm) {
+        CatalogSnapshot c = catalog();
+        List<Long> roles = List.copyOf(new TreeSet<>(roleIds));
+        long[] candidates = c.menusWithPerm(perm);
+        if (candidates.length == 0) {
+            return new AccessExplanation(false, AccessExplanation.Reason.NOT_FOUND, roles, List.of());
+        }
+
+        List<AccessExplanation.Target> targets = new ArrayList<>(candidates.length);
+        boolean granted = false;
+        boolean disabled = false;
+        for (long menuId : candidates) {
+            AccessExplanation.Target target = explainSlot(c, roles, c.slotOf(menuId), false);
+            targets.add(target);
+            if (!target.grantedBy().isEmpty()) {
+                granted |= target.pathEnabled();
+                disabled |= !target.pathEnabled();
+            }
+        }
+        AccessExplanation.Reason reason = granted ? AccessExplanation.Reason.GRANTED
+                : disabled ? AccessExplanation.Reason.DISABLED : AccessExplanation.Reason.NOT_GRANTED;
+        return new AccessExplanation(granted, reason, roles, List.copyOf(targets));
+    }
+
+    private AccessExplanation.Target explainSlot(CatalogSnapshot c, List<Long> roles, int slot, boolean withImplied) {
+        MenuDef menu = c.menuAt(slot);
+        long menuId = c.idAt(slot);
+
+        Long disabledAt = null;
+        long[] ancestors = c.ancestorsOf(menuId);
+        List<AccessExplanation.Step> path = new ArrayList<>(ancestors.length);
+        for (long ancestorId : ancestors) {
+            MenuDef a = c.menu(ancestorId);
+            if (disabledAt == null && !a.isEnabled()) {
+                disabledAt = ancestorId;
+            }
+            path.add(new AccessExplanation.Step(ancestorId, a.menuName(), a.isEnabled(),
+                    grantingRoles(c, roles, c.slotOf(ancestorId))));
+        }
+        if (disabledAt == null && !menu.isEnabled()) {
+            disabledAt = menuId;
+        }
+
+        List<Long> grantedBy = grantingRoles(c, roles, slot);
+        List<Long> impliedBy = List.of();
+        if (withImplied && grantedBy.isEmpty()) {
+            // 已授权的非按钮节点中，祖先链包含该菜单的即为补齐来源；
+            // 该菜单路径已启用时只认路径已启用的来源，已被禁用时列出全部来源（用于说明 DISABLED）
+            boolean targetEnabled = c.isSlotEnabled(slot);
+            List<Long> sources = new ArrayList<>();
+            BitSet granted = grantedSlots(c, roles);
+            for (int s = granted.nextSetBit(0); s >= 0 && sources.size() < AccessExplanation.Target.MAX_IMPLIED_BY;
+                 s = granted.nextSetBit(s + 1)) {
+                if (c.menuAt(s).isButton() || (targetEnabled && !c.isSlotEnabled(s))) {
+                    continue;
+                }
+                for (long a : c.ancestorsOf(c.idAt(s))) {
+                    if (a == menuId) {
+                        sources.add(c.idAt(s));
+                        break;
+                    }
+                }
+            }
+            impliedBy = List.copyOf(sources);
+        }
+
+        return new AccessExplanation.Target(menuId, menu.menuName(), menu.menuType(), menu.perms(),
+                c.isSlotEnabled(slot), disabledAt, grantedBy, List.copyOf(path), impliedBy);
+    }
+
+    private List<Long> grantingRoles(CatalogSnapshot c, List<Long> roles, int slot) {
+        List<Long> result = new ArrayList<>(1);
+        for (Long roleId : roles) {
+            if (grants.bitmapOf(c, roleId).get(slot)) {
+                result.add(roleId);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private boolean isGranted(CatalogSnapshot c, Collection<Long> roleIds, int slot) {
+        if (slot < 0 || !c.isSlotEnabled(slot)) {
+            return false;
+        }
+        for (Long roleId : roleIds) {
+            if (grants.bitmapOf(c, roleId).get(slot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CatalogSnapshot loadCatalog() {
+        long start = System.currentTimeMillis();
+        long version = loader.catalogVersion();
+        CatalogSnapshot snapshot = CatalogSnapshot.of(loader.loadMenus(), version);
+        log.log(Level.INFO, () -> "[RbacEngine] 菜单目录加载完成, 菜单数=" + snapshot.size()
+                + ", version=" + version + ", 耗时=" + (System.currentTimeMillis() - start) + "ms");
+        return snapshot;
+    }
+}
@@ -0,0 +1,50 @@
+package net.wcloud.helloworld.dynamicmenu.core;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+/**
+ * RBAC 数据加载 SPI（由嵌入方实现）
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 引擎不关心数据来源：JDBC / MyBatis / 远程配置中心 / 测试桩都可以
+ * - 引擎只在首次使用、或被告知数据变化（invalidate / refresh）后调用，
+ * 调用频率只与 RBAC 变更频率相关，与请求量无关
+ * - 实现需要线程安全；方法内抛出的异常原样传给引擎的调用方
+ */
+public interface RbacLoader {
+
+    /**
+     * 当前菜单目录版本号
+     *
+     * 说明：
+     * - 引擎先读版本再读菜单，快照的版本号只会偏旧不会偏新
+     * - 不维护版本号时返回 0（每次 invalidate 都会丢弃快照）
+     *
+     * @return 版本号
+     */
+    long catalogVersion();
+
+    /**
+     * 全部菜单
+     *
+     * @return 菜单定义（ID 为 null 的忽略）
+     */
+    Collection<MenuDef> loadMenus();
+
+    /**
+     * 全部 角色 → 菜单 授权（首次使用时一次性加载）
+     *
+     * @param sink 逐条接收 (roleId, menuId)，可边读边推送，不必先装入列表
+     */
+    void loadRoleMenus(BiConsumer<Long, Long> sink);
+
+    /**
+     * 单个角色的授权菜单（角色授权变化后调用）
+     *
+     * @param roleId 角色 ID
+     * @return 菜单 ID（角色不存在时为空）
+     */
+    Collection<Long> loadMenusOfRole(Long roleId);
+}
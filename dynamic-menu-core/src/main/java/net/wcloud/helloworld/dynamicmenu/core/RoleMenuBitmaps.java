@@ -0,0 +1,191 @@
+package net.wcloud.helloworld.dynamicmenu.core;
+
+import java.lang.System.Logger.Level;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 角色 → 菜单 授权（菜单 ID 集合 + 按目录槽位编译的位图）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 保存每个角色当前授权的菜单 ID 集合（不可变，更新时整体替换），供权限计算 / 对账使用
+ * - 按菜单目录快照把集合编译成位图（第 i 位 = 快照中第 i 个槽位的菜单）：
+ * 多角色合并是按字 OR，判定一个菜单是否授权是一次位测试
+ * - 位图按需编译并缓存；角色授权变化只丢弃该角色的位图，目录快照替换后全部重新编译
+ *
+ * 加载策略：
+ * ------------------------------------------------------------
+ * - 首次使用时通过 RbacLoader.loadRoleMenus 流式读取全部授权
+ * - 之后由调用方在授权变化时增量维护（refreshRole / removeRole）
+ *
+ * 线程安全：
+ * ------------------------------------------------------------
+ * - 读：无锁（ConcurrentHashMap + 不可变 Set；位图发布后不再修改）
+ * - 写：synchronized，写操作只在 RBAC 变更时发生，频率很低
+ * - 位图缓存项记录编译时的源集合（引用），源集合被替换后该项自动作废，不会读到旧位图
+ */
+public final class RoleMenuBitmaps {
+
+    private static final System.Logger log = System.getLogger(RoleMenuBitmaps.class.getName());
+
+    private final RbacLoader loader;
+
+    /** roleId → menuIds（不可变集合） */
+    private final Map<Long, Set<Long>> menusByRole = new ConcurrentHashMap<>();
+
+    /** 当前目录快照下编译好的位图 */
+    private volatile Compiled compiled;
+
+    private volatile boolean loaded;
+
+    RoleMenuBitmaps(RbacLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * 查询角色授权的全部菜单
+     *
+     * @param roleId 角色 ID
+     * @return 菜单 ID 集合（不可变）
+     */
+    public Set<Long> menusOfRole(Long roleId) {
+        ensureLoaded();
+        return menusByRole.getOrDefault(roleId, Set.of());
+    }
+
+    /**
+     * 角色在某个目录快照下的授权位图
+     *
+     * @param catalog 菜单目录快照
+     * @param roleId  角色 ID
+     * @return 位图（只读，调用方不得修改；目录中不存在的菜单不在位图中）
+     */
+    public BitSet bitmapOf(CatalogSnapshot catalog, Long roleId) {
+        Set<Long> source = menusOfRole(roleId);
+
+        Compiled c = compiled;
+        if (c == null || c.catalog != catalog) {
+            c = new Compiled(catalog);
+            compiled = c;
+        }
+
+        Bits bits = c.bitmaps.get(roleId);
+        if (bits != null && bits.source == source) {
+            return bits.bits;
+        }
+
+        BitSet bitmap = new BitSet(catalog.size());
+        for (Long menuId : source) {
+            int slot = catalog.slotOf(menuId);
+            if (slot >= 0) {
+                bitmap.set(slot);
+            }
+        }
+        c.bitmaps.put(roleId, new Bits(source, bitmap));
+        return bitmap;
+    }
+
+    /**
+     * 角色授权变化后，通过 RbacLoader 重新读取该角色的菜单
+     *
+     * @param roleId 角色 ID
+     */
+    public synchronized void refreshRole(Long roleId) {
+        if (!loaded) {
+            // 尚未加载过，下次使用时会整体加载最新数据
+            return;
+        }
+
+        Collection<Long> menuIds = loader.loadMenusOfRole(roleId);
+        if (menuIds == null || menuIds.isEmpty()) {
+            menusByRole.remove(roleId);
+        } else {
+            menusByRole.put(roleId, Set.copyOf(menuIds));
+        }
+
+        log.log(Level.DEBUG, () -> "[RoleMenuBitmaps] 刷新角色授权, roleId=" + roleId
+                + ", menuCount=" + (menuIds == null ? 0 : menuIds.size()));
+    }
+
+    /**
+     * 角色被删除后，移除该角色
+     *
+     * @param roleId 角色 ID
+     */
+    public synchronized void removeRole(Long roleId) {
+        if (loaded) {
+            menusByRole.remove(roleId);
+        }
+    }
+
+    /**
+     * 丢弃全部授权与位图，下次使用时重新加载
+     */
+    public synchronized void reset() {
+        menusByRole.clear();
+        compiled = null;
+        loaded = false;
+        log.log(Level.INFO, "[RoleMenuBitmaps] 角色授权已重置");
+    }
+
+    /**
+     * 是否已加载（未加载时内存中没有可对账的数据）
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 当前已加载的全部角色 ID（快照，未加载时为空）
+     */
+    public Set<Long> roleIds() {
+        return Set.copyOf(menusByRole.keySet());
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            Map<Long, List<Long>> grouped = new HashMap<>();
+            long[] rows = new long[1];
+            loader.loadRoleMenus((roleId, menuId) -> {
+                rows[0]++;
+                if (roleId != null && menuId != null) {
+                    grouped.computeIfAbsent(roleId, k -> new ArrayList<>()).add(menuId);
+                }
+            });
+            grouped.forEach((roleId, menuIds) -> menusByRole.put(roleId, Set.copyOf(menuIds)));
+            loaded = true;
+
+            log.log(Level.INFO, () -> "[RoleMenuBitmaps] 角色授权加载完成, 关联数=" + rows[0]
+                    + ", 角色数=" + menusByRole.size() + ", 耗时=" + (System.currentTimeMillis() - start) + "ms");
+        }
+    }
+
+    /**
+     * 某个目录快照下编译好的位图
+     */
+    private static final class Compiled {
+
+        private final CatalogSnapshot catalog;
+
+        private final Map<Long, Bits> bitmaps = new ConcurrentHashMap<>();
+
+        private Compiled(CatalogSnapshot catalog) {
+            this.catalog = catalog;
+        }
+    }
+
+    /**
+     * 位图及编译时的源集合（按引用判断是否过期）
+     */
+    private record Bits(Set<Long> source, BitSet bits) {
+    }
+}
@@ -0,0 +1,295 @@
+package net.wcloud.helloworld.dynamicmenu.core;
+
+import java.lang.System.Logger.Level;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 用户菜单树投影（结构共享）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 每个菜单目录快照只构建一次规范树：全部路径已启用的 目录 + 菜单，按 sortOrder、id 排序，
+ * 以及规范侧边栏（去掉隐藏节点及其下级）和规范路由表
+ * - 用户菜单树 = 规范树按用户可见菜单裁剪：
+ * 子树未被裁剪（且节点不是补齐节点）时直接引用规范树中的节点，只复制被裁剪路径上的节点
+ * - 复制出的节点按 (menuId, implicit, children 引用) 登记，不同用户裁剪出相同的子树时共用同一个节点
+ * - 完整的视图按可见菜单集合登记：角色组合相同的用户拿到同一个视图对象
+ *
+ * 节点类型：
+ * ------------------------------------------------------------
+ * - 引擎不规定节点 / 路由 / 视图的类型，由 NodeModel 创建与读取（如 Spring 应用中的 MenuVO / RouteVO）
+ * - 节点必须不可变：投影结果在用户之间共享
+ *
+ * 内存：
+ * ------------------------------------------------------------
+ * - 内存随不同的裁剪模式增长，而不是随用户数增长
+ * - 登记数量有上限（MAX_SHARED），超过后仍返回正确结果，只是不再登记
+ *
+ * 失效：
+ * ------------------------------------------------------------
+ * - 与菜单目录快照绑定：快照被替换后，下一次投影时重新构建规范树，旧的登记随之丢弃
+ * - 角色授权变化不影响规范树：变化后用户的可见菜单集合不同，自然落到另一个登记项上
+ *
+ * @param <N> 节点类型
+ * @param <R> 路由类型
+ * @param <V> 视图类型（树 + 侧边栏 + 路由表）
+ */
+public final class TreeProjector<N, R, V> {
+
+    private static final System.Logger log = System.getLogger(TreeProjector.class.getName());
+
+    /** 每个快照最多登记的视图 / 复制节点数 */
+    private static final int MAX_SHARED = 100_000;
+
+    private final NodeModel<N, R, V> model;
+
+    private volatile Canonical canonical;
+
+    /**
+     * @param model 节点的创建与读取方式
+     */
+    public TreeProjector(NodeModel<N, R, V> model) {
+        this.model = Objects.requireNonNull(model, "model");
+    }
+
+    /**
+     * 节点 / 路由 / 视图的创建与读取（由嵌入方实现）
+     */
+    public interface NodeModel<N, R, V> {
+
+        /** 规范树节点（implicit = false） */
+        N node(MenuDef menu, List<N> children);
+
+        /** 复制节点，替换 implicit 与子节点 */
+        N copy(N node, boolean implicit, List<N> children);
+
+        long id(N node);
+
+        boolean implicit(N node);
+
+        List<N> children(N node);
+
+        /** 节点 → 路由表条目 */
+        R route(N node, boolean hidden);
+
+        /** 组装视图 */
+        V views(List<N> tree, List<N> sidebar, List<R> routes);
+    }
+
+    /**
+     * 按用户可见菜单投影出三种视图
+     *
+     * @param catalog 菜单目录快照
+     * @param visible menuId → 是否为自动补齐的祖先（RbacEngine.visibleMenus 计算）
+     * @return 视图（共享只读对象）
+     */
+    public V project(CatalogSnapshot catalog, Map<Long, Boolean> visible) {
+        Canonical c = canonicalFor(catalog);
+
+        V views = c.views.get(visible);
+        if (views != null) {
+            return views;
+        }
+
+        views = model.views(c.project(c.tree, visible::get), c.project(c.sidebar, visible::get), c.routes(visible));
+        if (c.views.size() < MAX_SHARED) {
+            V existing = c.views.putIfAbsent(Map.copyOf(visible), views);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return views;
+    }
+
+    /**
+     * 当前快照已登记的视图数 / 复制节点数
+     */
+    public Map<String, Object> stats() {
+        Canonical c = canonical;
+        if (c == null) {
+            return Map.of("catalogVersion", -1L, "views", 0, "sharedNodes", 0);
+        }
+        return Map.of("catalogVersion", c.snapshot.version(), "views", c.views.size(), "sharedNodes", c.nodes.size());
+    }
+
+    private Canonical canonicalFor(CatalogSnapshot catalog) {
+        Canonical c = canonical;
+        if (c != null && c.snapshot == catalog) {
+            return c;
+        }
+        synchronized (this) {
+            c = canonical;
+            if (c == null || c.snapshot != catalog) {
+                c = build(catalog);
+                canonical = c;
+            }
+            return c;
+        }
+    }
+
+    /**
+     * 由菜单目录快照构建规范树 / 规范侧边栏 / 规范路由表
+     */
+    private Canonical build(CatalogSnapshot catalog) {
+        long start = System.nanoTime();
+
+        List<N> routeNodes = new ArrayList<>();
+        Set<Long> hidden = new HashSet<>();
+        List<N> tree = buildChildren(catalog, 0L, false, routeNodes, hidden);
+
+        Comparator<MenuDef> order = Comparator.comparing(MenuDef::sortOrder, Comparator.nullsLast(Integer::compareTo))
+                .thenComparing(MenuDef::id);
+        routeNodes.sort(Comparator.comparing(node -> catalog.menu(model.id(node)), order));
+        long[] routeIds = new long[routeNodes.size()];
+        List<R> routes = new ArrayList<>(routeNodes.size());
+        for (int i = 0; i < routeNodes.size(); i++) {
+            N node = routeNodes.get(i);
+            routeIds[i] = model.id(node);
+            routes.add(model.route(node, hidden.contains(routeIds[i])));
+        }
+
+        Canonical c = new Canonical(catalog, tree, routeIds, routes);
+        c.sidebar = c.project(tree, id -> hidden.contains(id) ? null : Boolean.FALSE);
+
+        log.log(Level.INFO, () -> "[TreeProjector] 规范菜单树构建完成, catalogVersion=" + catalog.version()
+                + ", 根节点数=" + tree.size() + ", 路由数=" + routes.size()
+                + ", 耗时=" + (System.nanoTime() - start) / 1_000_000 + "ms");
+        return c;
+    }
+
+    private List<N> buildChildren(CatalogSnapshot catalog, long parentId, boolean parentHidden,
+                                  List<N> routeNodes, Set<Long> hidden) {
+        long[] ids = catalog.childrenOf(parentId);
+        List<N> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            MenuDef menu = catalog.menu(id);
+            if (menu.isButton() || !catalog.isPathEnabled(id)) {
+                continue;
+            }
+
+            boolean isHidden = parentHidden || Objects.equals(menu.visible(), 0);
+            if (isHidden) {
+                hidden.add(id);
+            }
+            N node = model.node(menu, buildChildren(catalog, id, isHidden, routeNodes, hidden));
+            if (Objects.equals(menu.menuType(), MenuDef.TYPE_MENU) && menu.routeDefined()) {
+                routeNodes.add(node);
+            }
+            result.add(node);
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * 某个菜单目录快照对应的规范树与登记表
+     */
+    private final class Canonical {
+
+        private final CatalogSnapshot snapshot;
+
+        private final List<N> tree;
+
+        private List<N> sidebar;
+
+        /** 规范路由表（按 sortOrder、id 排序）及其 menuId */
+        private final long[] routeIds;
+
+        private final List<R> routes;
+
+        /** 可见菜单集合 → 视图 */
+        private final Map<Map<Long, Boolean>, V> views = new ConcurrentHashMap<>();
+
+        /** (menuId, implicit, children 引用) → 复制出的节点 */
+        private final Map<NodeKey, N> nodes = new ConcurrentHashMap<>();
+
+        private Canonical(CatalogSnapshot snapshot, List<N> tree, long[] routeIds, List<R> routes) {
+            this.snapshot = snapshot;
+            this.tree = tree;
+            this.routeIds = routeIds;
+            this.routes = routes;
+        }
+
+        /**
+         * 裁剪一组兄弟节点
+         *
+         * @param siblings   规范树（或已裁剪树）中的一组兄弟节点
+         * @param implicitOf menuId → 是否为补齐节点；null 表示裁掉（连同下级）
+         * @return 没有任何变化时返回 siblings 本身
+         */
+        private List<N> project(List<N> siblings, Function<Long, Boolean> implicitOf) {
+            List<N> result = null;
+            for (int i = 0; i < siblings.size(); i++) {
+                N node = siblings.get(i);
+                Boolean implicit = implicitOf.apply(model.id(node));
+                N projected = implicit == null ? null : projectNode(node, implicit, implicitOf);
+                if (projected != node && result == null) {
+                    result = new ArrayList<>(siblings.subList(0, i));
+                }
+                if (result != null && projected != null) {
+                    result.add(projected);
+                }
+            }
+            return result == null ? siblings : List.copyOf(result);
+        }
+
+        private N projectNode(N node, boolean implicit, Function<Long, Boolean> implicitOf) {
+            List<N> children = project(model.children(node), implicitOf);
+            if (children == model.children(node) && implicit == model.implicit(node)) {
+                return node;
+            }
+
+            NodeKey key = new NodeKey(model.id(node), implicit, children);
+            N shared = nodes.get(key);
+            if (shared != null) {
+                return shared;
+            }
+            N copy = model.copy(node, implicit, children);
+            if (nodes.size() >= MAX_SHARED) {
+                return copy;
+            }
+            shared = nodes.putIfAbsent(key, copy);
+            return shared != null ? shared : copy;
+        }
+
+        private List<R> routes(Map<Long, Boolean> visible) {
+            List<R> result = new ArrayList<>();
+            for (int i = 0; i < routeIds.length; i++) {
+                if (visible.containsKey(routeIds[i])) {
+                    result.add(routes.get(i));
+                }
+            }
+            return List.copyOf(result);
+        }
+    }
+
+    /**
+     * 复制节点的登记键：children 按引用比较（子节点本身已登记，引用相同即内容相同）
+     */
+    private record NodeKey(long id, boolean implicit, List<?> children) {
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof NodeKey other) || id != other.id || implicit != other.implicit
+                    || children.size() != other.children.size()) {
+                return false;
+            }
+            for (int i = 0; i < children.size(); i++) {
+                if (children.get(i) != other.children.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = Long.hashCode(id) * 31 + (implicit ? 1 : 0);
+            for (Object child : children) {
+                h = h * 31 + System.identityHashCode(child);
+            }
+            return h;
+        }
+    }
+}
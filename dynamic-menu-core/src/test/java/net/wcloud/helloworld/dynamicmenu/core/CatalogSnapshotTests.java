@@ -0,0 +1,133 @@
+package net.wcloud.helloworld.dynamicmenu.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.wcloud.helloworld.dynamicmenu.core.StubLoader.menu;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CatalogSnapshot：祖先链、路径启用、页面 / 按钮、路由、权限标识索引
+ */
+class CatalogSnapshotTests {
+
+    private final CatalogSnapshot catalog = CatalogSnapshot.of(StubLoader.sample().loadMenus(), 7);
+
+    @Test
+    void resolvesAncestorChains() {
+        assertEquals(7, catalog.version());
+        assertEquals(8, catalog.size());
+        assertArrayEquals(new long[0], catalog.ancestorsOf(1L));
+        assertArrayEquals(new long[]{1}, catalog.ancestorsOf(2L));
+        assertArrayEquals(new long[]{1, 2}, catalog.ancestorsOf(3L));
+        assertArrayEquals(new long[0], catalog.ancestorsOf(99L));
+    }
+
+    @Test
+    void pathEnabledRequiresEveryAncestor() {
+        assertTrue(catalog.isPathEnabled(3L));
+        assertFalse(catalog.isPathEnabled(4L));
+        assertFalse(catalog.isPathEnabled(5L));
+        assertFalse(catalog.isPathEnabled(8L));
+        assertFalse(catalog.isPathEnabled(99L));
+    }
+
+    @Test
+    void indexesPagesRoutesChildrenAndPerms() {
+        assertArrayEquals(new long[]{3}, catalog.buttonsOf(2L));
+        assertEquals(2L, catalog.pageOf(3L));
+        assertNull(catalog.pageOf(2L));
+        assertEquals(2L, catalog.pageByRoute("/system/user"));
+        assertNull(catalog.pageByRoute("/nope"));
+        assertArrayEquals(new long[]{1, 7}, catalog.childrenOf(0L));
+        assertArrayEquals(new long[]{2, 4, 6}, catalog.childrenOf(1L));
+        assertArrayEquals(new long[]{2, 8}, catalog.menusWithPerm("sys:user:list"));
+    }
+
+    @Test
+    void ordersChildrenBySortOrderThenId() {
+        List<MenuDef> menus = List.of(
+                new MenuDef(1L, 0L, "a", null, MenuDef.TYPE_MENU, null, null, null, 1, 1, 20),
+                new MenuDef(2L, 0L, "b", null, MenuDef.TYPE_MENU, null, null, null, 1, 1, 10),
+                new MenuDef(3L, 0L, "c", null, MenuDef.TYPE_MENU, null, null, null, 1, 1, null),
+                new MenuDef(4L, 0L, "d", null, MenuDef.TYPE_MENU, null, null, null, 1, 1, 10));
+        assertArrayEquals(new long[]{2, 4, 1, 3}, CatalogSnapshot.of(menus, 0).childrenOf(0L));
+    }
+
+    @Test
+    void missingParentIsTreatedAsRoot() {
+        CatalogSnapshot c = CatalogSnapshot.of(List.of(
+                menu(1L, 42L, "orphan", MenuDef.TYPE_MENU, null, null),
+                menu(2L, 1L, "child", MenuDef.TYPE_MENU, null, null)), 0);
+        assertArrayEquals(new long[0], c.ancestorsOf(1L));
+        assertArrayEquals(new long[]{1}, c.ancestorsOf(2L));
+        assertArrayEquals(new long[]{1}, c.childrenOf(0L));
+    }
+
+    @Test
+    void everyMemberOfTwoNodeCycleBecomesRoot() {
+        // A(1) → B(2) → A(1)，C(3) 挂在 B 下
+        CatalogSnapshot c = CatalogSnapshot.of(List.of(
+                menu(1L, 2L, "A", MenuDef.TYPE_DIRECTORY, null, null),
+                menu(2L, 1L, "B", MenuDef.TYPE_DIRECTORY, null, null),
+                menu(3L, 2L, "C", MenuDef.TYPE_MENU, null, null)), 0);
+
+        assertArrayEquals(new long[0], c.ancestorsOf(1L));
+        assertArrayEquals(new long[0], c.ancestorsOf(2L));
+        assertArrayEquals(new long[]{2}, c.ancestorsOf(3L));
+        assertArrayEquals(new long[]{1, 2}, c.childrenOf(0L));
+        assertArrayEquals(new long[]{3}, c.childrenOf(2L));
+        assertArrayEquals(new long[0], c.childrenOf(1L));
+    }
+
+    @Test
+    void cycleEnteredFromTailKeepsTailChain() {
+        // 先解析到的是环外的 1：1 → 2 → 3 → 4 → 2
+        CatalogSnapshot c = CatalogSnapshot.of(List.of(
+                menu(1L, 2L, "tail", MenuDef.TYPE_MENU, null, null),
+                menu(2L, 3L, "x", MenuDef.TYPE_DIRECTORY, null, null),
+                menu(3L, 4L, "y", MenuDef.TYPE_DIRECTORY, null, null),
+                menu(4L, 2L, "z", MenuDef.TYPE_DIRECTORY, null, null)), 0);
+
+        assertArrayEquals(new long[0], c.ancestorsOf(2L));
+        assertArrayEquals(new long[0], c.ancestorsOf(3L));
+        assertArrayEquals(new long[0], c.ancestorsOf(4L));
+        assertArrayEquals(new long[]{2}, c.ancestorsOf(1L));
+    }
+
+    @Test
+    void selfParentIsTreatedAsRoot() {
+        CatalogSnapshot c = CatalogSnapshot.of(List.of(menu(1L, 1L, "self", MenuDef.TYPE_MENU, null, null)), 0);
+        assertArrayEquals(new long[0], c.ancestorsOf(1L));
+        assertArrayEquals(new long[]{1}, c.childrenOf(0L));
+    }
+
+    @Test
+    void resolvesDeepChainIteratively() {
+        int depth = 3_000;
+        List<MenuDef> menus = new ArrayList<>(depth);
+        for (long id = 1; id <= depth; id++) {
+            menus.add(menu(id, id - 1, "m" + id, MenuDef.TYPE_DIRECTORY, null, null));
+        }
+        CatalogSnapshot c = CatalogSnapshot.of(menus, 0);
+        assertEquals(depth - 1, c.ancestorsOf((long) depth).length);
+        assertTrue(c.isPathEnabled((long) depth));
+    }
+
+    @Test
+    void internsOnlyLowCardinalityStrings() {
+        MenuDef a = new MenuDef(1L, 0L, new String("名称"), new String("icon"), MenuDef.TYPE_MENU,
+                new String("/a"), new String("views/a"), new String("p:a"), 1, 1, null);
+        MenuDef b = new MenuDef(2L, 0L, new String("名称"), new String("icon"), MenuDef.TYPE_MENU,
+                new String("/a"), new String("views/a"), new String("p:a"), 1, 1, null);
+        CatalogSnapshot c = CatalogSnapshot.of(List.of(a, b), 0);
+
+        assertSame(c.menu(1L).menuIcon(), c.menu(2L).menuIcon());
+        assertSame(c.menu(1L).component(), c.menu(2L).component());
+        assertSame(c.menu(1L).perms(), c.menu(2L).perms());
+        assertNotSame(c.menu(1L).menuName(), c.menu(2L).menuName());
+        assertNotSame(c.menu(1L).routePath(), c.menu(2L).routePath());
+    }
+}
@@ -0,0 +1,125 @@
+package net.wcloud.helloworld.dynamicmenu.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RbacEngine：可见菜单补齐、权限 / 路由判定、来源说明、快照失效
+ */
+class RbacEngineTests {
+
+    private final StubLoader loader = StubLoader.sample();
+
+    private final RbacEngine engine = new RbacEngine(loader);
+
+    @Test
+    void visibleMenusAddImplicitAncestorsAndSkipButtonsAndDisabled() {
+        loader.grant(10L, 2L, 3L, 4L, 8L);
+
+        Map<Long, Boolean> visible = engine.visibleMenus(engine.catalog(), List.of(10L));
+        assertEquals(Map.of(2L, false, 1L, true), visible);
+    }
+
+    @Test
+    void multipleRolesAreMerged() {
+        loader.grant(10L, 2L);
+        loader.grant(11L, 1L, 6L);
+
+        Map<Long, Boolean> visible = engine.visibleMenus(engine.catalog(), List.of(10L, 11L));
+        assertEquals(Map.of(1L, false, 2L, false, 6L, false), visible);
+    }
+
+    @Test
+    void permissionsRequireGrantAndEnabledPath() {
+        loader.grant(10L, 2L, 3L, 5L, 8L);
+
+        assertTrue(engine.hasPermission(List.of(10L), "sys:user:list"));
+        assertTrue(engine.hasPermission(List.of(10L), "sys:user:add"));
+        assertFalse(engine.hasPermission(List.of(10L), "sys:role:add"));
+        assertFalse(engine.hasPermission(List.of(11L), "sys:user:list"));
+        assertFalse(engine.hasPermission(List.of(10L), "nope"));
+        assertEquals(Set.of("sys:user:list", "sys:user:add"), engine.permissionsOf(List.of(10L)));
+
+        CatalogSnapshot c = engine.catalog();
+        var granted = engine.grantedSlots(c, List.of(10L));
+        assertTrue(engine.hasPermission(c, granted, "sys:user:add"));
+        assertFalse(engine.hasPermission(c, granted, "sys:role:add"));
+    }
+
+    @Test
+    void routeAccessFollowsPageGrant() {
+        loader.grant(10L, 2L, 4L);
+
+        assertTrue(engine.canAccessRoute(List.of(10L), "/system/user"));
+        assertFalse(engine.canAccessRoute(List.of(10L), "/system/role"));
+        assertFalse(engine.canAccessRoute(List.of(10L), "/system/log"));
+        assertFalse(engine.canAccessRoute(List.of(10L), "/nope"));
+    }
+
+    @Test
+    void explainMenuReportsGrantImpliedAndDisabled() {
+        loader.grant(10L, 2L);
+        loader.grant(11L, 5L);
+
+        AccessExplanation granted = engine.explainMenu(List.of(10L), 2L);
+        assertTrue(granted.allowed());
+        assertEquals(AccessExplanation.Reason.GRANTED, granted.reason());
+        assertEquals(List.of(10L), granted.targets().get(0).grantedBy());
+
+        AccessExplanation implied = engine.explainMenu(List.of(10L), 1L);
+        assertTrue(implied.allowed());
+        assertEquals(AccessExplanation.Reason.IMPLIED, implied.reason());
+        assertEquals(List.of(2L), implied.targets().get(0).impliedBy());
+
+        AccessExplanation disabled = engine.explainMenu(List.of(11L), 5L);
+        assertFalse(disabled.allowed());
+        assertEquals(AccessExplanation.Reason.DISABLED, disabled.reason());
+        assertEquals(4L, disabled.targets().get(0).disabledAt());
+
+        assertEquals(AccessExplanation.Reason.NOT_GRANTED, engine.explainMenu(List.of(10L), 6L).reason());
+        assertEquals(AccessExplanation.Reason.NOT_FOUND, engine.explainMenu(List.of(10L), 99L).reason());
+    }
+
+    @Test
+    void explainPermissionListsEveryCandidate() {
+        loader.grant(10L, 8L);
+
+        AccessExplanation e = engine.explainPermission(List.of(10L), "sys:user:list");
+        assertFalse(e.allowed());
+        assertEquals(AccessExplanation.Reason.DISABLED, e.reason());
+        assertEquals(List.of(2L, 8L), e.targets().stream().map(AccessExplanation.Target::menuId).toList());
+
+        assertEquals(AccessExplanation.Reason.NOT_FOUND, engine.explainPermission(List.of(10L), "nope").reason());
+    }
+
+    @Test
+    void invalidateCatalogSkipsUpToDateSnapshot() {
+        loader.version = 5;
+        CatalogSnapshot first = engine.catalog();
+        assertSame(first, engine.catalog());
+        assertEquals(1, loader.catalogLoads);
+
+        engine.invalidateCatalog(5);
+        assertSame(first, engine.catalog());
+
+        loader.version = 6;
+        engine.invalidateCatalog(6);
+        assertNotSame(first, engine.catalog());
+        assertEquals(2, loader.catalogLoads);
+    }
+
+    @Test
+    void refreshRoleIsVisibleToDecisions() {
+        loader.grant(10L, 2L);
+        assertFalse(engine.hasPermission(List.of(10L), "sys:user:add"));
+
+        loader.grant(10L, 3L);
+        engine.grants().refreshRole(10L);
+        assertTrue(engine.hasPermission(List.of(10L), "sys:user:add"));
+    }
+}
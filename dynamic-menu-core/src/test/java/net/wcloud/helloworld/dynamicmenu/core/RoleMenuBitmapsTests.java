@@ -0,0 +1,79 @@
+package net.wcloud.helloworld.dynamicmenu.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RoleMenuBitmaps：加载、位图编译与缓存、增量维护
+ */
+class RoleMenuBitmapsTests {
+
+    private final StubLoader loader = StubLoader.sample();
+
+    private final RoleMenuBitmaps grants = new RoleMenuBitmaps(loader);
+
+    private final CatalogSnapshot catalog = CatalogSnapshot.of(loader.loadMenus(), 0);
+
+    @Test
+    void compilesBitmapBySlotAndSkipsUnknownMenus() {
+        loader.grant(10L, 2L, 3L, 99L);
+
+        BitSet bits = grants.bitmapOf(catalog, 10L);
+        assertEquals(2, bits.cardinality());
+        assertTrue(bits.get(catalog.slotOf(2L)));
+        assertTrue(bits.get(catalog.slotOf(3L)));
+        assertTrue(grants.isLoaded());
+        assertEquals(Set.of(2L, 3L, 99L), grants.menusOfRole(10L));
+    }
+
+    @Test
+    void reusesBitmapUntilRoleChanges() {
+        loader.grant(10L, 2L);
+        BitSet first = grants.bitmapOf(catalog, 10L);
+        assertSame(first, grants.bitmapOf(catalog, 10L));
+
+        loader.grant(10L, 6L);
+        grants.refreshRole(10L);
+        BitSet second = grants.bitmapOf(catalog, 10L);
+        assertNotSame(first, second);
+        assertTrue(second.get(catalog.slotOf(6L)));
+    }
+
+    @Test
+    void recompilesForNewCatalog() {
+        loader.grant(10L, 2L);
+        BitSet first = grants.bitmapOf(catalog, 10L);
+        CatalogSnapshot next = CatalogSnapshot.of(loader.loadMenus(), 1);
+        assertNotSame(first, grants.bitmapOf(next, 10L));
+    }
+
+    @Test
+    void removeAndReset() {
+        loader.grant(10L, 2L);
+        loader.grant(11L, 6L);
+        assertEquals(Set.of(2L), grants.menusOfRole(10L));
+        assertEquals(Set.of(10L, 11L), grants.roleIds());
+
+        grants.removeRole(10L);
+        assertTrue(grants.bitmapOf(catalog, 10L).isEmpty());
+        assertEquals(Set.of(11L), grants.roleIds());
+
+        grants.reset();
+        assertFalse(grants.isLoaded());
+        assertEquals(Set.of(), grants.roleIds());
+        assertEquals(Set.of(2L), grants.menusOfRole(10L));
+    }
+
+    @Test
+    void refreshBeforeLoadIsDeferred() {
+        grants.refreshRole(10L);
+        assertFalse(grants.isLoaded());
+
+        loader.grant(10L, 2L);
+        assertEquals(Set.of(2L), grants.menusOfRole(10L));
+    }
+}
@@ -0,0 +1,85 @@
+package net.wcloud.helloworld.dynamicmenu.core;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * 测试用 RbacLoader：菜单与授权都在内存中，可随时修改
+ *
+ * 默认目录（sample）：
+ * ------------------------------------------------------------
+ * 1 系统管理（目录）
+ * ├─ 2 用户管理（菜单，/system/user，sys:user:list）
+ * │   └─ 3 新增用户（按钮，sys:user:add）
+ * ├─ 4 角色管理（菜单，/system/role，sys:role:list，已禁用）
+ * │   └─ 5 新增角色（按钮，sys:role:add）
+ * └─ 6 操作日志（菜单，/system/log，隐藏）
+ * 7 系统监控（目录，已禁用）
+ * └─ 8 在线用户（菜单，/monitor/online，sys:user:list）
+ */
+final class StubLoader implements RbacLoader {
+
+    final Map<Long, MenuDef> menus = new LinkedHashMap<>();
+
+    final Map<Long, Set<Long>> grants = new HashMap<>();
+
+    long version;
+
+    int catalogLoads;
+
+    static StubLoader sample() {
+        StubLoader loader = new StubLoader();
+        loader.add(menu(1L, 0L, "系统管理", MenuDef.TYPE_DIRECTORY, null, null));
+        loader.add(menu(2L, 1L, "用户管理", MenuDef.TYPE_MENU, "/system/user", "sys:user:list"));
+        loader.add(menu(3L, 2L, "新增用户", MenuDef.TYPE_BUTTON, null, "sys:user:add"));
+        loader.add(disabled(menu(4L, 1L, "角色管理", MenuDef.TYPE_MENU, "/system/role", "sys:role:list")));
+        loader.add(menu(5L, 4L, "新增角色", MenuDef.TYPE_BUTTON, null, "sys:role:add"));
+        loader.add(hidden(menu(6L, 1L, "操作日志", MenuDef.TYPE_MENU, "/system/log", null)));
+        loader.add(disabled(menu(7L, 0L, "系统监控", MenuDef.TYPE_DIRECTORY, null, null)));
+        loader.add(menu(8L, 7L, "在线用户", MenuDef.TYPE_MENU, "/monitor/online", "sys:user:list"));
+        return loader;
+    }
+
+    static MenuDef menu(Long id, Long parentId, String name, int type, String routePath, String perms) {
+        return new MenuDef(id, parentId, name, null, type, routePath, null, perms, 1, 1, null);
+    }
+
+    static MenuDef disabled(MenuDef m) {
+        return new MenuDef(m.id(), m.parentId(), m.menuName(), m.menuIcon(), m.menuType(), m.routePath(),
+                m.component(), m.perms(), m.visible(), 0, m.sortOrder());
+    }
+
+    static MenuDef hidden(MenuDef m) {
+        return new MenuDef(m.id(), m.parentId(), m.menuName(), m.menuIcon(), m.menuType(), m.routePath(),
+                m.component(), m.perms(), 0, m.status(), m.sortOrder());
+    }
+
+    void add(MenuDef menu) {
+        menus.put(menu.id(), menu);
+    }
+
+    void grant(Long roleId, Long... menuIds) {
+        grants.computeIfAbsent(roleId, k -> new LinkedHashSet<>()).addAll(List.of(menuIds));
+    }
+
+    @Override
+    public long catalogVersion() {
+        return version;
+    }
+
+    @Override
+    public Collection<MenuDef> loadMenus() {
+        catalogLoads++;
+        return List.copyOf(menus.values());
+    }
+
+    @Override
+    public void loadRoleMenus(BiConsumer<Long, Long> sink) {
+        grants.forEach((roleId, menuIds) -> menuIds.forEach(menuId -> sink.accept(roleId, menuId)));
+    }
+
+    @Override
+    public Collection<Long> loadMenusOfRole(Long roleId) {
+        return List.copyOf(grants.getOrDefault(roleId, Set.of()));
+    }
+}
@@ -0,0 +1,111 @@
+package net.wcloud.helloworld.dynamicmenu.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TreeProjector：规范树裁剪、侧边栏 / 路由表、结构共享
+ */
+class TreeProjectorTests {
+
+    record Node(long id, boolean implicit, List<Node> children) {
+    }
+
+    record Route(long id, boolean hidden) {
+    }
+
+    record Views(List<Node> tree, List<Node> sidebar, List<Route> routes) {
+    }
+
+    private static final TreeProjector.NodeModel<Node, Route, Views> MODEL = new TreeProjector.NodeModel<>() {
+
+        @Override
+        public Node node(MenuDef menu, List<Node> children) {
+            return new Node(menu.id(), false, children);
+        }
+
+        @Override
+        public Node copy(Node node, boolean implicit, List<Node> children) {
+            return new Node(node.id(), implicit, children);
+        }
+
+        @Override
+        public long id(Node node) {
+            return node.id();
+        }
+
+        @Override
+        public boolean implicit(Node node) {
+            return node.implicit();
+        }
+
+        @Override
+        public List<Node> children(Node node) {
+            return node.children();
+        }
+
+        @Override
+        public Route route(Node node, boolean hidden) {
+            return new Route(node.id(), hidden);
+        }
+
+        @Override
+        public Views views(List<Node> tree, List<Node> sidebar, List<Route> routes) {
+            return new Views(tree, sidebar, routes);
+        }
+    };
+
+    private final CatalogSnapshot catalog = CatalogSnapshot.of(StubLoader.sample().loadMenus(), 0);
+
+    private final TreeProjector<Node, Route, Views> projector = new TreeProjector<>(MODEL);
+
+    @Test
+    void projectsTreeSidebarAndRoutes() {
+        // 1 为补齐的祖先；6 隐藏：在树与路由表中，不在侧边栏
+        Views views = projector.project(catalog, Map.of(1L, true, 2L, false, 6L, false));
+
+        assertEquals(1, views.tree().size());
+        Node root = views.tree().get(0);
+        assertEquals(1L, root.id());
+        assertTrue(root.implicit());
+        assertEquals(List.of(2L, 6L), root.children().stream().map(Node::id).toList());
+
+        assertEquals(List.of(2L), views.sidebar().get(0).children().stream().map(Node::id).toList());
+        assertEquals(List.of(new Route(2L, false), new Route(6L, true)), views.routes());
+    }
+
+    @Test
+    void disabledAndButtonNodesAreNeverProjected() {
+        Views views = projector.project(catalog, Map.of(1L, false, 3L, false, 4L, false, 7L, false, 8L, false));
+
+        assertEquals(List.of(1L), views.tree().stream().map(Node::id).toList());
+        assertEquals(List.of(), views.tree().get(0).children());
+        assertEquals(List.of(), views.routes());
+    }
+
+    @Test
+    void sameVisibleSetSharesViewAndUntouchedSubtrees() {
+        Views a = projector.project(catalog, Map.of(1L, false, 2L, false, 6L, false));
+        Views b = projector.project(catalog, Map.of(1L, false, 2L, false, 6L, false));
+        assertSame(a, b);
+
+        // 未裁剪的子树直接引用规范树节点
+        Views c = projector.project(catalog, Map.of(1L, true, 2L, false));
+        assertSame(a.tree().get(0).children().get(0), c.tree().get(0).children().get(0));
+        assertEquals(2, projector.stats().get("views"));
+    }
+
+    @Test
+    void newCatalogRebuildsCanonicalTree() {
+        projector.project(catalog, Map.of(1L, false));
+        CatalogSnapshot next = CatalogSnapshot.of(StubLoader.sample().loadMenus(), 1);
+        projector.project(next, Map.of(1L, false));
+
+        assertEquals(1L, projector.stats().get("catalogVersion"));
+        assertEquals(1, projector.stats().get("views"));
+    }
+}
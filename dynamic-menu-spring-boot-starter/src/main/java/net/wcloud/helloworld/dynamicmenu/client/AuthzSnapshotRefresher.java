@@ -0,0 +1,120 @@
+package net.wcloud.helloworld.dynamicmenu.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 授权快照同步（定时按版本号拉取 GET /api/authz/snapshot?since=N）
+ *
+ * 同步规则：
+ * ------------------------------------------------------------
+ * - 携带本地版本号拉取：服务端版本未变化时只返回版本号与被禁用的用户（changed = false），
+ * 本地只更新被禁用的用户
+ * - 有变化时返回完整的 角色 → 权限 与 用户 → 角色，本地整体替换
+ * - 拉取失败（网络 / 401 / 服务端异常）只打 warn，继续使用上一份快照，下一轮重试
+ *
+ * 线程：
+ * ------------------------------------------------------------
+ * - 独立的单线程守护调度器，不依赖应用是否开启 @EnableScheduling
+ * - 随 Spring 容器启动 / 关闭（SmartLifecycle）
+ */
+@Slf4j
+public class AuthzSnapshotRefresher implements SmartLifecycle {
+
+    private static final String SNAPSHOT_PATH = "/api/authz/snapshot";
+
+    private final DynamicMenuClientProperties properties;
+
+    private final DynamicMenuAuthzSnapshot snapshot;
+
+    private final RestClient restClient;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public AuthzSnapshotRefresher(DynamicMenuClientProperties properties, DynamicMenuAuthzSnapshot snapshot,
+                                  RestClient.Builder builder) {
+        this.properties = properties;
+        this.snapshot = snapshot;
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getTimeout());
+        requestFactory.setReadTimeout(properties.getTimeout());
+        this.restClient = builder.clone()
+                .baseUrl(properties.getBaseUrl())
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    /**
+     * 立即同步一次
+     *
+     * @return 同步成功（含“未变化”）返回 true
+     */
+    public boolean refresh() {
+        long since = snapshot.version();
+        try {
+            RestClient.RequestHeadersSpec<?> request = restClient.get()
+                    .uri(uri -> uri.path(SNAPSHOT_PATH).queryParam("since", since).build());
+            if (StringUtils.hasText(properties.getServiceToken())) {
+                request = request.header(properties.getJwt().getHeader(),
+                        properties.getJwt().getTokenPrefix() + properties.getServiceToken());
+            }
+            AuthzSnapshotResponse response = request.retrieve().body(AuthzSnapshotResponse.class);
+
+            if (response == null || response.code() != 0 || response.data() == null) {
+                log.warn("[AuthzSnapshotRefresher] 授权快照拉取失败, since={}, code={}, message={}", since,
+                        response == null ? null : response.code(), response == null ? null : response.message());
+                return false;
+            }
+
+            if (response.data().changed()) {
+                snapshot.replace(response.data());
+            } else {
+                snapshot.updateDisabledUsers(response.data());
+                log.debug("[AuthzSnapshotRefresher] 授权快照未变化, version={}", since);
+            }
+            return true;
+
+        } catch (Exception e) {
+            log.warn("[AuthzSnapshotRefresher] 授权快照拉取异常, since={}, error={}", since, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void start() {
+        long intervalMs = Math.max(1000L, properties.getRefreshInterval().toMillis());
+        ScheduledExecutorService s = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dynamic-menu-authz-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        s.scheduleWithFixedDelay(this::refresh, 0, intervalMs, TimeUnit.MILLISECONDS);
+        scheduler = s;
+
+        log.info("[AuthzSnapshotRefresher] 授权快照同步已启动, baseUrl={}, interval={}ms",
+                properties.getBaseUrl(), intervalMs);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService s = scheduler;
+        if (s != null) {
+            s.shutdownNow();
+            scheduler = null;
+            log.info("[AuthzSnapshotRefresher] 授权快照同步已停止");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
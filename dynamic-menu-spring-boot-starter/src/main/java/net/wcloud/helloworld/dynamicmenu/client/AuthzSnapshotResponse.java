@@ -0,0 +1,33 @@
+package net.wcloud.helloworld.dynamicmenu.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /api/authz/snapshot 的响应（对应 dynamic-menu 的 Result&lt;AuthzSnapshotDTO&gt;）
+ *
+ * @param code    0 表示成功
+ * @param message 提示信息
+ * @param data    快照
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+record AuthzSnapshotResponse(int code, String message, Data data) {
+
+    /**
+     * @param version       快照版本号
+     * @param changed       相对请求的 since 是否有变化（false 时 roles / userRoles 为空）
+     * @param roles         roleId → 角色编码 + 权限标识
+     * @param userRoles     userId → 角色 ID
+     * @param disabledUsers 被禁用的用户 ID（changed = false 时也返回；旧版服务端不返回时为 null）
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Data(long version, boolean changed, Map<Long, RoleGrant> roles, Map<Long, List<Long>> userRoles,
+                List<Long> disabledUsers) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record RoleGrant(String roleCode, List<String> perms) {
+    }
+}
@@ -0,0 +1,146 @@
+package net.wcloud.helloworld.dynamicmenu.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.*;
+
+/**
+ * 本地 角色 → 权限 快照（由 AuthzSnapshotRefresher 按版本号从 dynamic-menu 同步）
+ *
+ * 作用：
+ * ------------------------------------------------------------
+ * - 用户的 GrantedAuthority = 角色编码 + 角色授权菜单的 perms，与 dynamic-menu 登录主体的权限同一口径，
+ * 因此 @PreAuthorize("hasAuthority('sys:user:list')") 在两边含义相同
+ * - 权限判定全部在内存中完成，不调用 dynamic-menu
+ * - 被禁用的用户没有任何权限（authoritiesOf 为空），LocalJwtAuthenticationFilter 也不为其建立认证；
+ * 用户状态变化不推进版本号，被禁用的用户随每次拉取单独更新
+ *
+ * 内存：
+ * ------------------------------------------------------------
+ * - 权限集合按角色组合共享：角色相同的用户引用同一个不可变集合
+ *
+ * 线程安全：
+ * ------------------------------------------------------------
+ * - 每次同步整体替换不可变的 State，读方无锁
+ */
+@Slf4j
+public class DynamicMenuAuthzSnapshot {
+
+    private volatile State state = new State(-1L, Map.of(), Set.of());
+
+    /**
+     * 当前快照版本号（尚未同步成功时为 -1）
+     */
+    public long version() {
+        return state.version;
+    }
+
+    /**
+     * 是否已至少同步成功一次
+     */
+    public boolean isLoaded() {
+        return state.version >= 0;
+    }
+
+    /**
+     * 用户是否已被禁用
+     */
+    public boolean isDisabled(Long userId) {
+        return userId != null && state.disabled.contains(userId);
+    }
+
+    /**
+     * 用户的全部权限（角色编码 + 权限标识；不存在或已被禁用时为空集合）
+     */
+    public Set<GrantedAuthority> authoritiesOf(Long userId) {
+        Authorities a = authorities(userId);
+        return a == null ? Set.of() : a.granted;
+    }
+
+    /**
+     * 用户是否拥有某个权限标识或角色编码（已被禁用的用户总是 false）
+     *
+     * @param userId 用户 ID
+     * @param perm   权限标识（如 sys:user:list）或角色编码（如 ROLE_ADMIN）
+     */
+    public boolean hasPermission(Long userId, String perm) {
+        Authorities a = authorities(userId);
+        return a != null && perm != null && a.names.contains(perm);
+    }
+
+    /**
+     * 用完整快照替换当前数据
+     *
+     * @param data 服务端返回的快照（changed = true）
+     */
+    void replace(AuthzSnapshotResponse.Data data) {
+        Map<Long, AuthzSnapshotResponse.RoleGrant> roles = data.roles() == null ? Map.of() : data.roles();
+        Map<Long, List<Long>> userRoles = data.userRoles() == null ? Map.of() : data.userRoles();
+
+        Map<List<Long>, Authorities> byRoles = new HashMap<>();
+        Map<Long, Authorities> byUser = new HashMap<>(userRoles.size() * 2);
+        userRoles.forEach((userId, roleIds) -> {
+            List<Long> key = roleIds.stream().sorted().distinct().toList();
+            byUser.put(userId, byRoles.computeIfAbsent(key, k -> Authorities.of(k, roles)));
+        });
+
+        Set<Long> disabled = disabledOf(data);
+        state = new State(data.version(), byUser, disabled);
+        log.info("[DynamicMenuAuthzSnapshot] 授权快照已更新, version={}, 用户数={}, 角色组合数={}, 禁用用户数={}",
+                data.version(), byUser.size(), byRoles.size(), disabled.size());
+    }
+
+    /**
+     * 版本未变化时只更新被禁用的用户
+     *
+     * @param data 服务端返回的快照（changed = false）
+     */
+    void updateDisabledUsers(AuthzSnapshotResponse.Data data) {
+        State current = state;
+        Set<Long> disabled = disabledOf(data);
+        if (current.version < 0 || disabled.equals(current.disabled)) {
+            return;
+        }
+        state = new State(current.version, current.byUser, disabled);
+        log.info("[DynamicMenuAuthzSnapshot] 禁用用户已更新, version={}, 禁用用户数={}", current.version, disabled.size());
+    }
+
+    private Authorities authorities(Long userId) {
+        State s = state;
+        return userId == null || s.disabled.contains(userId) ? null : s.byUser.get(userId);
+    }
+
+    private static Set<Long> disabledOf(AuthzSnapshotResponse.Data data) {
+        return data.disabledUsers() == null ? Set.of() : Set.copyOf(data.disabledUsers());
+    }
+
+    private record State(long version, Map<Long, Authorities> byUser, Set<Long> disabled) {
+    }
+
+    /**
+     * 一个角色组合的权限（名称集合用于 hasPermission，GrantedAuthority 集合用于 SecurityContext）
+     */
+    private record Authorities(Set<String> names, Set<GrantedAuthority> granted) {
+
+        static Authorities of(List<Long> roleIds, Map<Long, AuthzSnapshotResponse.RoleGrant> roles) {
+            Set<String> names = new LinkedHashSet<>();
+            for (Long roleId : roleIds) {
+                AuthzSnapshotResponse.RoleGrant grant = roles.get(roleId);
+                if (grant == null) {
+                    continue;
+                }
+                if (grant.roleCode() != null) {
+                    names.add(grant.roleCode());
+                }
+                if (grant.perms() != null) {
+                    names.addAll(grant.perms());
+                }
+            }
+            List<GrantedAuthority> granted = new ArrayList<>(names.size());
+            names.forEach(name -> granted.add(new SimpleGrantedAuthority(name)));
+            return new Authorities(Set.copyOf(names), Set.copyOf(granted));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package net.wcloud.helloworld.dynamicmenu.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.ConditionalOnDefaultWebSecurity;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestClientAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.web.client.RestClient;
+
+/**
+ * dynamic-menu 客户端自动配置
+ *
+ * 注册内容：
+ * ------------------------------------------------------------
+ * 1. LocalTokenVerifier：本地验签 + 已验签 token 缓存
+ * 2. DynamicMenuAuthzSnapshot：本地 角色 → 权限 快照
+ * 3. AuthzSnapshotRefresher：按版本号定时同步快照
+ * 4. LocalJwtAuthenticationFilter：只挂在 Spring Security 过滤链中（不作为普通 Servlet 过滤器注册）
+ * 5. 应用未声明 SecurityFilterChain 时，提供默认过滤链：无状态、全部请求需要认证、未认证返回 401
+ *
+ * 生效条件：
+ * ------------------------------------------------------------
+ * - Servlet Web 应用，且 dynamic-menu.client.enabled 不为 false
+ * - 各组件均可由应用声明同类型 Bean 覆盖
+ */
+@Slf4j
+@AutoConfiguration(before = SecurityAutoConfiguration.class, after = RestClientAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "dynamic-menu.client", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(DynamicMenuClientProperties.class)
+public class DynamicMenuClientAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LocalTokenVerifier localTokenVerifier(DynamicMenuClientProperties properties) {
+        return new LocalTokenVerifier(properties.getJwt().getSecret(), properties.getTokenCache().getMaxSize());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DynamicMenuAuthzSnapshot dynamicMenuAuthzSnapshot() {
+        return new DynamicMenuAuthzSnapshot();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthzSnapshotRefresher authzSnapshotRefresher(DynamicMenuClientProperties properties,
+                                                         DynamicMenuAuthzSnapshot snapshot,
+                                                         RestClient.Builder restClientBuilder) {
+        return new AuthzSnapshotRefresher(properties, snapshot, restClientBuilder);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LocalJwtAuthenticationFilter localJwtAuthenticationFilter(DynamicMenuClientProperties properties,
+                                                                     LocalTokenVerifier verifier,
+                                                                     DynamicMenuAuthzSnapshot snapshot) {
+        return new LocalJwtAuthenticationFilter(properties.getJwt(), verifier, snapshot);
+    }
+
+    /**
+     * 过滤器只在 Security 过滤链中执行，禁止 Spring Boot 把它再注册成普通 Servlet 过滤器（否则每个请求执行两次）
+     */
+    @Bean
+    public FilterRegistrationBean<LocalJwtAuthenticationFilter> localJwtAuthenticationFilterRegistration(
+            LocalJwtAuthenticationFilter filter) {
+        FilterRegistrationBean<LocalJwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /**
+     * 默认过滤链（应用自己声明了 SecurityFilterChain 时不生效，改用 DynamicMenuClientConfigurer 挂载）
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnDefaultWebSecurity
+    static class DefaultSecurityFilterChainConfiguration {
+
+        @Bean
+        SecurityFilterChain dynamicMenuClientSecurityFilterChain(HttpSecurity http) throws Exception {
+            http
+                    .csrf(csrf -> csrf.disable())
+                    .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                    .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
+                    // 未认证返回 401（与 dynamic-menu 一致），而不是默认的 403
+                    .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                    .httpBasic(basic -> basic.disable())
+                    .formLogin(form -> form.disable())
+                    .with(DynamicMenuClientConfigurer.dynamicMenuClient(), Customizer.withDefaults());
+
+            log.info("[DynamicMenuClientAutoConfiguration] 已注册默认 SecurityFilterChain（无状态 + 本地 JWT 认证）");
+            return http.build();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package net.wcloud.helloworld.dynamicmenu.client;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+/**
+ * 把本地 JWT 认证挂到应用自己的 SecurityFilterChain 上
+ *
+ * 使用示例：
+ * ------------------------------------------------------------
+ * http.with(DynamicMenuClientConfigurer.dynamicMenuClient(), Customizer.withDefaults());
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - 应用没有声明 SecurityFilterChain 时，自动配置会提供一个默认的（无状态 + 全部需要认证 + 本过滤器），
+ * 不需要手动使用本类
+ */
+public class DynamicMenuClientConfigurer extends AbstractHttpConfigurer<DynamicMenuClientConfigurer, HttpSecurity> {
+
+    public static DynamicMenuClientConfigurer dynamicMenuClient() {
+        return new DynamicMenuClientConfigurer();
+    }
+
+    @Override
+    public void configure(HttpSecurity http) {
+        ApplicationContext context = http.getSharedObject(ApplicationContext.class);
+        LocalJwtAuthenticationFilter filter = context.getBean(LocalJwtAuthenticationFilter.class);
+        http.addFilterBefore(filter, UsernamePasswordAuthenticationFilter.class);
+    }
+}
@@ -0,0 +1,87 @@
+package net.wcloud.helloworld.dynamicmenu.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * dynamic-menu 客户端配置（从 application.yml 中加载）
+ *
+ * 配置前缀：dynamic-menu.client
+ *
+ * 示例配置：
+ * ------------------------------------------------------------
+ * dynamic-menu:
+ * client:
+ * base-url: http://dynamic-menu:8080
+ * service-token: eyJhbGciOiJIUzI1NiJ9...
+ * jwt:
+ * secret: helloworld-dynamicmenu-secret-1234567890
+ * refresh-interval: 30s
+ *
+ * 说明：
+ * ------------------------------------------------------------
+ * - jwt.* 必须与 dynamic-menu 的 app.jwt.* 一致（同一个 secret 才能在本地验签）
+ * - service-token 是 dynamic-menu 为服务账号签发的 token，
+ * 该账号需要 ADMIN 角色（角色编码 ROLE_ADMIN）或 authz:snapshot 权限（用于拉取 /api/authz/snapshot）
+ */
+@Data
+@ConfigurationProperties(prefix = "dynamic-menu.client")
+public class DynamicMenuClientProperties {
+
+    /**
+     * 是否启用客户端（关闭后不注册过滤器 / 不拉取快照）
+     */
+    private boolean enabled = true;
+
+    /**
+     * dynamic-menu 服务地址
+     */
+    private String baseUrl = "http://localhost:8080";
+
+    /**
+     * 拉取授权快照时携带的 token（不含前缀）
+     */
+    private String serviceToken;
+
+    /**
+     * 授权快照拉取间隔（版本未变化时只返回版本号，开销很小）
+     */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * 拉取授权快照的连接 / 读取超时
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    private Jwt jwt = new Jwt();
+
+    private TokenCache tokenCache = new TokenCache();
+
+    /**
+     * JWT 配置（与 dynamic-menu 的 app.jwt 对应）
+     */
+    @Data
+    public static class Jwt {
+
+        /** 请求头中携带 Token 的字段名 */
+        private String header = "Authorization";
+
+        /** Token 前缀（通常带空格） */
+        private String tokenPrefix = "Bearer ";
+
+        /** HS256 签名秘钥（必须 >= 32 字节） */
+        private String secret = "helloworld-dynamicmenu-secret-1234567890";
+    }
+
+    /**
+     * 已验签 token 的缓存
+     */
+    @Data
+    public static class TokenCache {
+
+        /** 最大条目数（超过后淘汰最久未使用的 token） */
+        private int maxSize = 10_000;
+    }
+}
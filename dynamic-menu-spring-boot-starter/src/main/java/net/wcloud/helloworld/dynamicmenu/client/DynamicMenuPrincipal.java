@@ -0,0 +1,17 @@
+package net.wcloud.helloworld.dynamicmenu.client;
+
+import java.security.Principal;
+
+/**
+ * 客户端服务中的登录主体（来自 token，不含密码 / 状态）
+ *
+ * @param userId   用户 ID（token 中的 userId）
+ * @param username 用户名（token 中的 sub）
+ */
+public record DynamicMenuPrincipal(Long userId, String username) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
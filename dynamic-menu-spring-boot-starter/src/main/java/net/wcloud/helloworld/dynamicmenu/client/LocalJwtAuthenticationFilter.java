@@ -0,0 +1,85 @@
+package net.wcloud.helloworld.dynamicmenu.client;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 本地 JWT 认证过滤器（客户端服务使用）
+ *
+ * 与 dynamic-menu 的 JwtAuthenticationFilter 的区别：
+ * ------------------------------------------------------------
+ * - 不查数据库 / 不调用 dynamic-menu：验签在本地完成（LocalTokenVerifier，带缓存），
+ * 权限取自本地授权快照（DynamicMenuAuthzSnapshot）
+ * - Principal 为 DynamicMenuPrincipal（userId + username）
+ * - 用户状态取自快照中的被禁用用户：被禁用用户的 token 不建立认证（按未登录处理），
+ * 生效延迟为服务端的 cache-ttl-seconds + 本地的 refresh-interval
+ *
+ * 行为与服务端一致：
+ * ------------------------------------------------------------
+ * - 不带 token、token 无效时不写 SecurityContext，直接放行，交给授权规则返回 401
+ * - Header 不带前缀时直接把整个 Header 当作 token
+ */
+@Slf4j
+public class LocalJwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final DynamicMenuClientProperties.Jwt jwt;
+
+    private final LocalTokenVerifier verifier;
+
+    private final DynamicMenuAuthzSnapshot snapshot;
+
+    public LocalJwtAuthenticationFilter(DynamicMenuClientProperties.Jwt jwt, LocalTokenVerifier verifier,
+                                        DynamicMenuAuthzSnapshot snapshot) {
+        this.jwt = jwt;
+        this.verifier = verifier;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String token = resolveToken(request.getHeader(jwt.getHeader()));
+        if (StringUtils.hasText(token) && SecurityContextHolder.getContext().getAuthentication() == null) {
+            VerifiedToken verified = verifier.verify(token);
+            if (verified != null && snapshot.isDisabled(verified.userId())) {
+                log.debug("[LocalJwtAuthenticationFilter] 用户已被禁用, username={}, uri={}",
+                        verified.username(), request.getRequestURI());
+            } else if (verified != null && StringUtils.hasText(verified.username())) {
+                DynamicMenuPrincipal principal = new DynamicMenuPrincipal(verified.userId(), verified.username());
+                UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                        principal, null, snapshot.authoritiesOf(verified.userId()));
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                log.debug("[LocalJwtAuthenticationFilter] 用户认证成功, username={}, uri={}",
+                        verified.username(), request.getRequestURI());
+            } else {
+                log.debug("[LocalJwtAuthenticationFilter] Token 无效或已过期, uri={}", request.getRequestURI());
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String resolveToken(String header) {
+        if (!StringUtils.hasText(header)) {
+            return null;
+        }
+        String prefix = jwt.getTokenPrefix();
+        if (StringUtils.hasText(prefix) && header.startsWith(prefix)) {
+            return header.substring(prefix.length()).trim();
+        }
+        return header.trim();
+    }
+}
@@ -0,0 +1,109 @@
+package net.wcloud.helloworld.dynamicmenu.client;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 本地 JWT 校验（不调用 dynamic-menu）
+ *
+ * 兼容性：
+ * ------------------------------------------------------------
+ * - 与 dynamic-menu 的 JwtTokenUtil 一致：HS256，sub = username，自定义 claim userId
+ * - 签名错误 / 过期 / 格式错误均视为无效，返回 null
+ *
+ * 缓存：
+ * ------------------------------------------------------------
+ * - 验签通过的 token 按原文缓存（LRU，容量 dynamic-menu.client.token-cache.max-size），
+ * 同一 token 的后续请求不再做 HMAC 与 JSON 解析
+ * - 命中时仍检查过期时间；无效 token 不缓存（避免伪造 token 挤占缓存）
+ */
+@Slf4j
+public class LocalTokenVerifier {
+
+    private final JwtParser parser;
+
+    private final Map<String, VerifiedToken> cache;
+
+    /**
+     * @param secret       HS256 秘钥（与签发端一致）
+     * @param cacheMaxSize 缓存容量（<= 0 表示不缓存）
+     */
+    public LocalTokenVerifier(String secret, int cacheMaxSize) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > cacheMaxSize;
+            }
+        };
+    }
+
+    /**
+     * 校验 token
+     *
+     * @param token JWT 字符串（不含前缀）
+     * @return 校验通过返回解析结果，否则返回 null
+     */
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached;
+        synchronized (cache) {
+            cached = cache.get(token);
+        }
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return cached;
+            }
+            synchronized (cache) {
+                cache.remove(token);
+            }
+            log.debug("[LocalTokenVerifier] Token 已过期, username={}", cached.username());
+            return null;
+        }
+
+        VerifiedToken verified = parse(token);
+        if (verified != null && !verified.isExpired(now)) {
+            synchronized (cache) {
+                cache.put(token, verified);
+            }
+            return verified;
+        }
+        return null;
+    }
+
+    /** 当前缓存的 token 数 */
+    public int cachedTokens() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private VerifiedToken parse(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() == null) {
+                log.warn("[LocalTokenVerifier] Token 缺少过期时间, username={}", claims.getSubject());
+                return null;
+            }
+            Object userId = claims.get("userId");
+            return new VerifiedToken(claims.getSubject(),
+                    userId == null ? null : Long.valueOf(userId.toString()),
+                    claims.getExpiration().getTime());
+
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("[LocalTokenVerifier] Token 校验失败: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package net.wcloud.helloworld.dynamicmenu.client;
+
+/**
+ * 已验签的 token（只保留鉴权需要的字段）
+ *
+ * @param username  JWT 的 sub
+ * @param userId    自定义 claim userId（缺失时为 null）
+ * @param expiresAt 过期时间（毫秒时间戳）
+ */
+public record VerifiedToken(String username, Long userId, long expiresAt) {
+
+    /** 当前时刻是否已过期 */
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+}
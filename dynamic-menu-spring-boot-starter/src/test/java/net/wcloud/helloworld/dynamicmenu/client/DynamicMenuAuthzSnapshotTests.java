@@ -0,0 +1,81 @@
+package net.wcloud.helloworld.dynamicmenu.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DynamicMenuAuthzSnapshot：整体替换、角色组合共享权限集合、被禁用用户单独更新
+ */
+class DynamicMenuAuthzSnapshotTests {
+
+    private static final Map<Long, AuthzSnapshotResponse.RoleGrant> ROLES = Map.of(
+            1L, new AuthzSnapshotResponse.RoleGrant("ROLE_ADMIN", List.of("sys:user:list", "sys:role:list")),
+            2L, new AuthzSnapshotResponse.RoleGrant("ROLE_EDITOR", List.of("sys:user:list")));
+
+    private final DynamicMenuAuthzSnapshot snapshot = new DynamicMenuAuthzSnapshot();
+
+    @Test
+    void replaceBuildsAuthoritiesPerUser() {
+        assertFalse(snapshot.isLoaded());
+        assertEquals(-1L, snapshot.version());
+
+        snapshot.replace(new AuthzSnapshotResponse.Data(5L, true, ROLES,
+                Map.of(10L, List.of(2L, 1L), 11L, List.of(1L, 2L), 12L, List.of(2L, 99L)), List.of()));
+
+        assertTrue(snapshot.isLoaded());
+        assertEquals(5L, snapshot.version());
+        assertTrue(snapshot.hasPermission(10L, "sys:role:list"));
+        assertTrue(snapshot.hasPermission(10L, "ROLE_ADMIN"));
+        assertTrue(snapshot.hasPermission(12L, "sys:user:list"));
+        assertFalse(snapshot.hasPermission(12L, "sys:role:list"));
+        assertFalse(snapshot.hasPermission(13L, "sys:user:list"));
+        assertFalse(snapshot.hasPermission(null, "sys:user:list"));
+        assertFalse(snapshot.hasPermission(10L, null));
+
+        assertEquals(Set.copyOf(AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_EDITOR",
+                "sys:user:list", "sys:role:list")), snapshot.authoritiesOf(10L));
+        // 角色组合相同（顺序不同）的用户共享同一个集合
+        assertSame(snapshot.authoritiesOf(10L), snapshot.authoritiesOf(11L));
+        assertEquals(Set.of(), snapshot.authoritiesOf(13L));
+    }
+
+    @Test
+    void replaceDropsUsersMissingFromNewSnapshot() {
+        snapshot.replace(new AuthzSnapshotResponse.Data(5L, true, ROLES, Map.of(10L, List.of(1L)), null));
+        snapshot.replace(new AuthzSnapshotResponse.Data(6L, true, ROLES, Map.of(11L, List.of(2L)), null));
+
+        assertEquals(6L, snapshot.version());
+        assertFalse(snapshot.hasPermission(10L, "sys:user:list"));
+        assertTrue(snapshot.hasPermission(11L, "sys:user:list"));
+    }
+
+    @Test
+    void disabledUsersLoseAllAuthorities() {
+        snapshot.replace(new AuthzSnapshotResponse.Data(5L, true, ROLES, Map.of(10L, List.of(1L)), List.of()));
+
+        snapshot.updateDisabledUsers(new AuthzSnapshotResponse.Data(5L, false, null, null, List.of(10L)));
+        assertEquals(5L, snapshot.version());
+        assertTrue(snapshot.isDisabled(10L));
+        assertFalse(snapshot.hasPermission(10L, "sys:user:list"));
+        assertEquals(Set.of(), snapshot.authoritiesOf(10L));
+
+        // 重新启用：授权数据保留
+        snapshot.updateDisabledUsers(new AuthzSnapshotResponse.Data(5L, false, null, null, null));
+        assertFalse(snapshot.isDisabled(10L));
+        assertTrue(snapshot.hasPermission(10L, "sys:user:list"));
+    }
+
+    @Test
+    void disabledUsersBeforeFirstLoadAreIgnored() {
+        snapshot.updateDisabledUsers(new AuthzSnapshotResponse.Data(5L, false, null, null, List.of(10L)));
+
+        assertFalse(snapshot.isLoaded());
+        assertFalse(snapshot.isDisabled(10L));
+    }
+}
@@ -0,0 +1,127 @@
+package net.wcloud.helloworld.dynamicmenu.client;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestClientAutoConfiguration;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * DynamicMenuClientAutoConfiguration：默认过滤链（无状态、未认证 401、本地 JWT 认证）与退让条件
+ */
+class DynamicMenuClientAutoConfigurationTests {
+
+    private final WebApplicationContextRunner runner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class,
+                    HttpMessageConvertersAutoConfiguration.class, RestClientAutoConfiguration.class,
+                    SecurityAutoConfiguration.class, DynamicMenuClientAutoConfiguration.class))
+            // 不在测试中拉取快照
+            .withBean(AuthzSnapshotRefresher.class, () -> mock(AuthzSnapshotRefresher.class));
+
+    @Test
+    void defaultChainAuthenticatesLocalTokens() {
+        runner.run(context -> {
+            assertTrue(context.containsBean("dynamicMenuClientSecurityFilterChain"));
+            assertFalse(context.getBean(FilterRegistrationBean.class).isEnabled());
+
+            DynamicMenuAuthzSnapshot snapshot = context.getBean(DynamicMenuAuthzSnapshot.class);
+            snapshot.replace(new AuthzSnapshotResponse.Data(1L, true,
+                    Map.of(2L, new AuthzSnapshotResponse.RoleGrant("ROLE_EDITOR", List.of("sys:user:list"))),
+                    Map.of(1L, List.of(2L)), List.of(3L)));
+            FilterChainProxy proxy = context.getBean(FilterChainProxy.class);
+
+            // 不带 token / 其它秘钥签名 / 被禁用用户：401，不进入业务
+            assertEquals(401, call(proxy, null, new AtomicReference<>()));
+            assertEquals(401, call(proxy, LocalTokenVerifierTests.token(
+                    "another-secret-another-secret-1234567890", "alice", 1L, 60_000), new AtomicReference<>()));
+            assertEquals(401, call(proxy, LocalTokenVerifierTests.token(
+                    LocalTokenVerifierTests.SECRET, "bob", 3L, 60_000), new AtomicReference<>()));
+
+            AtomicReference<Authentication> seen = new AtomicReference<>();
+            assertEquals(200, call(proxy, LocalTokenVerifierTests.token(
+                    LocalTokenVerifierTests.SECRET, "alice", 1L, 60_000), seen));
+            assertEquals(new DynamicMenuPrincipal(1L, "alice"), seen.get().getPrincipal());
+            assertEquals(Set.copyOf(AuthorityUtils.createAuthorityList("ROLE_EDITOR", "sys:user:list")),
+                    Set.copyOf(seen.get().getAuthorities()));
+        });
+    }
+
+    @Test
+    void applicationChainReplacesDefault() {
+        runner.withUserConfiguration(ApplicationSecurity.class).run(context -> {
+            assertFalse(context.containsBean("dynamicMenuClientSecurityFilterChain"));
+            assertTrue(context.containsBean("applicationChain"));
+            assertNotNull(context.getBean(LocalJwtAuthenticationFilter.class));
+        });
+    }
+
+    @Test
+    void disabledClientRegistersNothing() {
+        runner.withPropertyValues("dynamic-menu.client.enabled=false").run(context -> {
+            assertTrue(context.getBeansOfType(LocalTokenVerifier.class).isEmpty());
+            assertTrue(context.getBeansOfType(LocalJwtAuthenticationFilter.class).isEmpty());
+            assertFalse(context.containsBean("dynamicMenuClientSecurityFilterChain"));
+        });
+    }
+
+    /**
+     * 经过安全过滤链请求一次，返回状态码；进入业务时记下当前认证
+     */
+    private static int call(FilterChainProxy proxy, String token, AtomicReference<Authentication> seen)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                seen.set(SecurityContextHolder.getContext().getAuthentication());
+            }
+        };
+        try {
+            proxy.doFilter(request, response, chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class ApplicationSecurity {
+
+        @Bean
+        SecurityFilterChain applicationChain(HttpSecurity http) throws Exception {
+            return http
+                    .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                    .with(DynamicMenuClientConfigurer.dynamicMenuClient(), Customizer.withDefaults())
+                    .build();
+        }
+    }
+}
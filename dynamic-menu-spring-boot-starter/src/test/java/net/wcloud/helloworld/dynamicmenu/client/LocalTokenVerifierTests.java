@@ -0,0 +1,87 @@
+package net.wcloud.helloworld.dynamicmenu.client;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LocalTokenVerifier：只接受本秘钥签名、未过期、带过期时间的 token，无效 token 不进入缓存
+ */
+class LocalTokenVerifierTests {
+
+    static final String SECRET = "helloworld-dynamicmenu-secret-1234567890";
+
+    private final LocalTokenVerifier verifier = new LocalTokenVerifier(SECRET, 2);
+
+    @Test
+    void validTokenIsParsedAndCached() {
+        String token = token(SECRET, "alice", 1L, 60_000);
+
+        VerifiedToken verified = verifier.verify(token);
+        assertEquals("alice", verified.username());
+        assertEquals(1L, verified.userId());
+        assertSame(verified, verifier.verify(token));
+        assertEquals(1, verifier.cachedTokens());
+    }
+
+    @Test
+    void invalidTokensAreRejectedAndNotCached() {
+        // 其它秘钥签名
+        assertNull(verifier.verify(token("another-secret-another-secret-1234567890", "alice", 1L, 60_000)));
+        // 已过期
+        assertNull(verifier.verify(token(SECRET, "alice", 1L, -1_000)));
+        // 未签名（alg = none）
+        assertNull(verifier.verify(Jwts.builder().setSubject("alice").claim("userId", 1L)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000)).compact()));
+        // 没有过期时间
+        assertNull(verifier.verify(Jwts.builder().setSubject("alice").signWith(key(SECRET), SignatureAlgorithm.HS256)
+                .compact()));
+        // 格式错误
+        assertNull(verifier.verify("not-a-jwt"));
+        assertNull(verifier.verify(token(SECRET, "alice", 1L, 60_000) + "x"));
+
+        assertEquals(0, verifier.cachedTokens());
+    }
+
+    @Test
+    void cacheEvictsLeastRecentlyUsed() {
+        String a = token(SECRET, "a", 1L, 60_000);
+        String b = token(SECRET, "b", 2L, 60_000);
+        String c = token(SECRET, "c", 3L, 60_000);
+
+        VerifiedToken first = verifier.verify(a);
+        verifier.verify(b);
+        verifier.verify(a);
+        verifier.verify(c);
+
+        assertEquals(2, verifier.cachedTokens());
+        assertSame(first, verifier.verify(a));
+    }
+
+    /**
+     * 与 dynamic-menu 的 JwtTokenUtil 相同格式的 token
+     *
+     * @param ttlMillis 有效期（负数表示已过期）
+     */
+    static String token(String secret, String username, Long userId, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(username)
+                .claim("userId", userId)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttlMillis))
+                .signWith(key(secret), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static Key key(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
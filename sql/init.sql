@@ -329,4 +329,26 @@ VALUES
 INSERT INTO
     `dynamicmenu_sys_user_role` (`user_id`, `role_id`)
 VALUES
-    (1, 1);
\ No newline at end of file
+    (1, 1);
+
+-- 5. 物化用户有效菜单（之后由应用在授权写入时增量维护，
+-- 也可调用 POST /api/authz/effective-menus/rebuild 全量重建）
+INSERT INTO
+    `dynamicmenu_sys_effective_user_menu` (`user_id`, `menu_id`, `perms`)
+SELECT DISTINCT ur.user_id, m.id, m.perms
+FROM `dynamicmenu_sys_user_role` ur
+INNER JOIN `dynamicmenu_sys_role_menu` rm ON rm.role_id = ur.role_id
+INNER JOIN `dynamicmenu_sys_menu` m ON m.id = rm.menu_id;
+
+-- 6. 由 parent_id 生成菜单闭包表（之后由应用在菜单写入时维护，
+-- 也可调用 POST /api/menu/closure/rebuild 全量重建）
+INSERT INTO
+    `dynamicmenu_sys_menu_closure` (`ancestor_id`, `descendant_id`, `depth`)
+WITH RECURSIVE t (ancestor_id, descendant_id, depth) AS (
+    SELECT id, id, 0 FROM `dynamicmenu_sys_menu`
+    UNION ALL
+    SELECT t.ancestor_id, m.id, t.depth + 1
+    FROM t
+    INNER JOIN `dynamicmenu_sys_menu` m ON m.parent_id = t.descendant_id
+)
+SELECT ancestor_id, descendant_id, depth FROM t;
@@ -31,6 +31,7 @@ CREATE TABLE `dynamicmenu_sys_role` (
     `role_name` VARCHAR(50) NOT NULL COMMENT '角色名称',
     `description` VARCHAR(200) DEFAULT NULL COMMENT '角色描述',
     `status` TINYINT DEFAULT '1' COMMENT '状态：0-禁用，1-启用',
+    `version` INT NOT NULL DEFAULT '0' COMMENT '乐观锁版本号（角色及其授权每次写入 +1）',
     `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     PRIMARY KEY (`id`),
@@ -66,7 +67,7 @@ CREATE TABLE `dynamicmenu_sys_role_menu` (
     `menu_id` BIGINT NOT NULL COMMENT '菜单ID',
     `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     PRIMARY KEY (`id`),
-    KEY `idx_role_id` (`role_id`),
+    UNIQUE KEY `uk_role_menu` (`role_id`, `menu_id`),
     KEY `idx_menu_id` (`menu_id`)
 ) ENGINE = InnoDB COMMENT = '角色菜单关联表';
 
@@ -79,6 +80,52 @@ CREATE TABLE `dynamicmenu_sys_user_role` (
     `role_id` BIGINT NOT NULL COMMENT '角色ID',
     `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     PRIMARY KEY (`id`),
-    KEY `idx_user_id` (`user_id`),
+    UNIQUE KEY `uk_user_role` (`user_id`, `role_id`),
     KEY `idx_role_id` (`role_id`)
-) ENGINE = InnoDB COMMENT = '用户角色关联表';
\ No newline at end of file
+) ENGINE = InnoDB COMMENT = '用户角色关联表';
+-- =========================
+-- 6. RBAC 变更日志表：多节点缓存一致性（各节点按 id 递增轮询）
+-- =========================
+CREATE TABLE `dynamicmenu_sys_authz_change_log` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '变更序号（单调递增）',
+    `event_type` VARCHAR(64) NOT NULL COMMENT '事件类型（AuthzEvent 实现类名）',
+    `payload` MEDIUMTEXT NOT NULL COMMENT '事件内容（JSON）',
+    `origin_node` VARCHAR(64) NOT NULL COMMENT '产生该变更的节点 ID',
+    `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    PRIMARY KEY (`id`),
+    KEY `idx_create_time` (`create_time`)
+) ENGINE = InnoDB COMMENT = 'RBAC 变更日志表';
+
+-- =========================
+-- 7. 用户有效菜单物化表：user → role → menu 展开结果（授权写入时同一事务内增量维护）
+-- =========================
+CREATE TABLE `dynamicmenu_sys_effective_user_menu` (
+    `user_id` BIGINT NOT NULL COMMENT '用户ID',
+    `menu_id` BIGINT NOT NULL COMMENT '菜单ID',
+    `perms` VARCHAR(100) DEFAULT NULL COMMENT '权限标识（冗余自菜单表）',
+    `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`user_id`, `menu_id`),
+    KEY `idx_menu_id` (`menu_id`)
+) ENGINE = InnoDB COMMENT = '用户有效菜单物化表';
+
+-- =========================
+-- 8. 菜单闭包表：菜单的全部 (祖先, 后代) 关系，子树 / 祖先查询与子树移动使用
+-- =========================
+CREATE TABLE `dynamicmenu_sys_menu_closure` (
+    `ancestor_id` BIGINT NOT NULL COMMENT '祖先菜单ID（含自身）',
+    `descendant_id` BIGINT NOT NULL COMMENT '后代菜单ID',
+    `depth` INT NOT NULL COMMENT '层级差：0 表示自身，1 表示直接子节点',
+    PRIMARY KEY (`ancestor_id`, `descendant_id`),
+    KEY `idx_descendant_depth` (`descendant_id`, `depth`)
+) ENGINE = InnoDB COMMENT = '菜单闭包表';
+
+-- =========================
+-- 9. 菜单目录版本号：每次菜单写入 +1（只有 id = 1 一行），下游缓存据此判断菜单是否变化
+-- =========================
+CREATE TABLE `dynamicmenu_sys_catalog_version` (
+    `id` TINYINT NOT NULL COMMENT '固定为 1',
+    `version` BIGINT NOT NULL DEFAULT '0' COMMENT '菜单目录版本号',
+    PRIMARY KEY (`id`)
+) ENGINE = InnoDB COMMENT = '菜单目录版本号';
+
+INSERT INTO `dynamicmenu_sys_catalog_version` (`id`, `version`) VALUES (1, 0);